@@ -1,22 +1,34 @@
 package com.homihq.db2rest.jdbc.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.auth.ResourceAuthorizer;
 import com.homihq.db2rest.bulk.DataProcessor;
 import com.homihq.db2rest.bulk.FileSubject;
+import com.homihq.db2rest.config.BulkIngestProperties;
 import com.homihq.db2rest.config.Db2RestConfigProperties;
 import com.homihq.db2rest.jdbc.JdbcManager;
 import com.homihq.db2rest.jdbc.JdbcOperationService;
+import com.homihq.db2rest.jdbc.bulk.AdaptiveBatchSizer;
+import com.homihq.db2rest.jdbc.bulk.BulkIngestMetrics;
+import com.homihq.db2rest.jdbc.bulk.BulkLoadJobRegistry;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
 import com.homihq.db2rest.jdbc.config.dialect.*;
 import com.homihq.db2rest.jdbc.config.jinjava.DisabledExpressionTokenScannerSymbols;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
 import com.homihq.db2rest.jdbc.core.service.*;
 import com.homihq.db2rest.jdbc.multidb.RoutingDataSource;
+import com.homihq.db2rest.jdbc.plan.ReadPlanCache;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
 import com.homihq.db2rest.jdbc.processor.*;
+import com.homihq.db2rest.jdbc.rest.ArrowRowStreamWriter;
+import com.homihq.db2rest.jdbc.rest.JsonRowStreamWriter;
 import com.homihq.db2rest.jdbc.rest.create.BulkCreateController;
+import com.homihq.db2rest.jdbc.rest.create.BulkLoadJobController;
 import com.homihq.db2rest.jdbc.rest.create.CreateController;
 import com.homihq.db2rest.jdbc.rest.delete.DeleteController;
 import com.homihq.db2rest.jdbc.rest.meta.db.DbInfoController;
 import com.homihq.db2rest.jdbc.rest.meta.schema.SchemaController;
+import com.homihq.db2rest.jdbc.rest.read.BatchReadController;
 import com.homihq.db2rest.jdbc.rest.read.CountQueryController;
 import com.homihq.db2rest.jdbc.rest.read.ExistsQueryController;
 import com.homihq.db2rest.jdbc.rest.read.FindOneController;
@@ -24,8 +36,11 @@ import com.homihq.db2rest.jdbc.rest.read.ReadController;
 import com.homihq.db2rest.jdbc.rest.rpc.FunctionController;
 import com.homihq.db2rest.jdbc.rest.rpc.ProcedureController;
 import com.homihq.db2rest.jdbc.rest.sql.SQLTemplateController;
+import com.homihq.db2rest.jdbc.rest.update.BulkUpdateController;
 import com.homihq.db2rest.jdbc.rest.update.UpdateController;
 import com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate;
+import com.homihq.db2rest.jdbc.sql.SqlTextMetrics;
+import com.homihq.db2rest.jdbc.sql.ast.SqlAstRenderer;
 import com.homihq.db2rest.jdbc.tsid.TSIDProcessor;
 import com.homihq.db2rest.jdbc.validator.CustomPlaceholderValidators;
 import com.homihq.db2rest.multidb.DatabaseConnectionDetail;
@@ -38,6 +53,7 @@ import gg.jte.CodeResolver;
 import gg.jte.ContentType;
 import gg.jte.TemplateEngine;
 import gg.jte.resolve.ResourceCodeResolver;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -103,7 +119,7 @@ public class JdbcConfiguration {
     }
 
     @Bean
-    public JdbcManager jdbcManager() {
+    public JdbcManager jdbcManager(Db2RestConfigProperties db2RestConfigProperties) {
 
         List<Dialect> dialects = List.of(
                 new PostGreSQLDialect(objectMapper),
@@ -112,6 +128,8 @@ public class JdbcConfiguration {
                 new OracleDialect(objectMapper),
                 new MsSQLServerDialect(objectMapper)
         );
+        int inListThreshold = db2RestConfigProperties.getInList().getLargeThreshold();
+        dialects.forEach(dialect -> dialect.setInListThreshold(inListThreshold));
 
         return new JdbcManager(dataSource(), dialects, databaseProperties);
     }
@@ -123,8 +141,45 @@ public class JdbcConfiguration {
 
 
     @Bean
-    public SqlCreatorTemplate sqlCreatorTemplate(TemplateEngine templateEngine, JdbcManager jdbcManager) {
-        return new SqlCreatorTemplate(templateEngine, jdbcManager);
+    public SqlCreatorTemplate sqlCreatorTemplate(TemplateEngine templateEngine, JdbcManager jdbcManager,
+                                                 SqlAstRenderer sqlAstRenderer) {
+        return new SqlCreatorTemplate(templateEngine, jdbcManager, sqlAstRenderer);
+    }
+
+    @Bean
+    public SqlAstRenderer sqlAstRenderer(Db2RestConfigProperties db2RestConfigProperties) {
+        return new SqlAstRenderer(db2RestConfigProperties.getSqlRenderer().isAstEnabled());
+    }
+
+    @Bean
+    public SqlTextMetrics sqlTextMetrics(MeterRegistry meterRegistry) {
+        return new SqlTextMetrics(meterRegistry);
+    }
+
+    @Bean
+    public RsqlFilterCache rsqlFilterCache(JdbcManager jdbcManager, MeterRegistry meterRegistry,
+                                           Db2RestConfigProperties db2RestConfigProperties) {
+        return new RsqlFilterCache(jdbcManager, meterRegistry,
+                db2RestConfigProperties.getFilterCache().isEnabled(),
+                db2RestConfigProperties.getFilterCache().isOptimize(),
+                db2RestConfigProperties.getFilterCache().getMaxSize());
+    }
+
+    @Bean
+    public ReadPlanCache readPlanCache(JdbcManager jdbcManager, MeterRegistry meterRegistry,
+                                       SqlTextMetrics sqlTextMetrics,
+                                       RsqlFilterCache rsqlFilterCache,
+                                       Db2RestConfigProperties db2RestConfigProperties) {
+        return new ReadPlanCache(jdbcManager, meterRegistry, sqlTextMetrics, rsqlFilterCache,
+                db2RestConfigProperties.getReadPlanCache().isEnabled(),
+                db2RestConfigProperties.getReadPlanCache().getMaxSize());
+    }
+
+    @Bean
+    public ResponseCache responseCache(JdbcManager jdbcManager, MeterRegistry meterRegistry,
+                                       Db2RestConfigProperties db2RestConfigProperties) {
+        return new ResponseCache(jdbcManager, meterRegistry, objectMapper,
+                db2RestConfigProperties.getResponseCache());
     }
 
     @Bean
@@ -152,8 +207,8 @@ public class JdbcConfiguration {
     }
 
     @Bean
-    public JoinProcessor joinProcessor(JdbcManager jdbcManager) {
-        return new JoinProcessor(jdbcManager);
+    public JoinProcessor joinProcessor(JdbcManager jdbcManager, RsqlFilterCache rsqlFilterCache) {
+        return new JoinProcessor(jdbcManager, rsqlFilterCache);
     }
 
     @Bean
@@ -161,6 +216,11 @@ public class JdbcConfiguration {
         return new OrderByProcessor();
     }
 
+    @Bean
+    public KeysetProcessor keysetProcessor(JdbcManager jdbcManager) {
+        return new KeysetProcessor(jdbcManager);
+    }
+
     @Bean
     public RootTableFieldProcessor rootTableFieldProcessor() {
         return new RootTableFieldProcessor();
@@ -172,8 +232,8 @@ public class JdbcConfiguration {
     }
 
     @Bean
-    public RootWhereProcessor rootWhereProcessor(JdbcManager jdbcManager) {
-        return new RootWhereProcessor(jdbcManager);
+    public RootWhereProcessor rootWhereProcessor(RsqlFilterCache rsqlFilterCache) {
+        return new RootWhereProcessor(rsqlFilterCache);
     }
 
     //END ::: Processors
@@ -195,16 +255,42 @@ public class JdbcConfiguration {
                                                JdbcManager jdbcManager,
                                                DbOperationService dbOperationService,
                                                List<DataProcessor> dataProcessors,
-                                               FileSubject fileSubject) {
-        return new JdbcBulkCreateService(tsidProcessor, sqlCreatorTemplate, jdbcManager, dbOperationService, fileSubject);
+                                               List<FileSubject> fileSubjects,
+                                               ResponseCache responseCache,
+                                               Db2RestConfigProperties db2RestConfigProperties,
+                                               BulkIngestMetrics bulkIngestMetrics,
+                                               BulkLoadJobRegistry bulkLoadJobRegistry,
+                                               AdaptiveBatchSizer batchSizer) {
+        return new JdbcBulkCreateService(tsidProcessor, sqlCreatorTemplate, jdbcManager, dbOperationService, fileSubjects,
+                responseCache, db2RestConfigProperties.getBulkIngest(), bulkIngestMetrics, bulkLoadJobRegistry,
+                batchSizer);
+    }
+
+    @Bean
+    public BulkLoadJobRegistry bulkLoadJobRegistry(Db2RestConfigProperties db2RestConfigProperties) {
+        BulkIngestProperties bulkIngest = db2RestConfigProperties.getBulkIngest();
+        return new BulkLoadJobRegistry(bulkIngest.getJobs(), bulkIngest.getJobQueue(),
+                bulkIngest.getJobRetentionMinutes());
+    }
+
+    @Bean
+    public BulkIngestMetrics bulkIngestMetrics(MeterRegistry meterRegistry) {
+        return new BulkIngestMetrics(meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveBatchSizer batchSizer(Db2RestConfigProperties db2RestConfigProperties,
+                                         BulkIngestMetrics bulkIngestMetrics) {
+        return new AdaptiveBatchSizer(db2RestConfigProperties.getBulkIngest(), bulkIngestMetrics);
     }
 
     @Bean
     public CreateService createService(TSIDProcessor tsidProcessor,
                                        SqlCreatorTemplate sqlCreatorTemplate,
                                        JdbcManager jdbcManager,
-                                       DbOperationService dbOperationService) {
-        return new JdbcCreateService(tsidProcessor, sqlCreatorTemplate, jdbcManager, dbOperationService);
+                                       DbOperationService dbOperationService,
+                                       ResponseCache responseCache) {
+        return new JdbcCreateService(tsidProcessor, sqlCreatorTemplate, jdbcManager, dbOperationService, responseCache);
     }
 
     //QUERY SERVICE
@@ -213,10 +299,11 @@ public class JdbcConfiguration {
             JdbcManager jdbcManager,
             SqlCreatorTemplate sqlCreatorTemplate,
             List<ReadProcessor> processorList,
-            DbOperationService dbOperationService) {
+            DbOperationService dbOperationService,
+            ReadPlanCache readPlanCache) {
         return new JdbcCountQueryService(
                 jdbcManager,
-                dbOperationService, processorList, sqlCreatorTemplate);
+                dbOperationService, processorList, sqlCreatorTemplate, readPlanCache);
     }
 
     @Bean
@@ -224,8 +311,9 @@ public class JdbcConfiguration {
             JdbcManager jdbcManager,
             SqlCreatorTemplate sqlCreatorTemplate,
             List<ReadProcessor> processorList,
-            DbOperationService dbOperationService) {
-        return new JdbcExistsQueryService(jdbcManager, dbOperationService, processorList, sqlCreatorTemplate);
+            DbOperationService dbOperationService,
+            ReadPlanCache readPlanCache) {
+        return new JdbcExistsQueryService(jdbcManager, dbOperationService, processorList, sqlCreatorTemplate, readPlanCache);
     }
 
     @Bean
@@ -233,8 +321,9 @@ public class JdbcConfiguration {
             JdbcManager jdbcManager,
             SqlCreatorTemplate sqlCreatorTemplate,
             List<ReadProcessor> processorList,
-            DbOperationService dbOperationService) {
-        return new JdbcFindOneService(jdbcManager, sqlCreatorTemplate, processorList, dbOperationService);
+            DbOperationService dbOperationService,
+            ReadPlanCache readPlanCache) {
+        return new JdbcFindOneService(jdbcManager, sqlCreatorTemplate, processorList, dbOperationService, readPlanCache);
     }
 
     @Bean
@@ -242,8 +331,19 @@ public class JdbcConfiguration {
             JdbcManager jdbcManager,
             SqlCreatorTemplate sqlCreatorTemplate,
             List<ReadProcessor> processorList,
-            DbOperationService dbOperationService) {
-        return new JdbcReadService(jdbcManager, dbOperationService, processorList, sqlCreatorTemplate);
+            DbOperationService dbOperationService,
+            ReadPlanCache readPlanCache,
+            Db2RestConfigProperties db2RestConfigProperties) {
+        return new JdbcReadService(jdbcManager, dbOperationService, processorList, sqlCreatorTemplate, readPlanCache,
+                db2RestConfigProperties.getTotalCount().getEstimateThreshold());
+    }
+
+    @Bean
+    public BatchReadService batchReadService(ReadService readService,
+                                             Db2RestConfigProperties db2RestConfigProperties) {
+        return new JdbcBatchReadService(readService,
+                db2RestConfigProperties.getBatchRead().getParallelism(),
+                db2RestConfigProperties.getBatchRead().getMaxItems());
     }
 
     //UPDATE SERVICE
@@ -251,8 +351,13 @@ public class JdbcConfiguration {
     public UpdateService updateService(
             JdbcManager jdbcManager,
             SqlCreatorTemplate sqlCreatorTemplate,
-            DbOperationService dbOperationService) {
-        return new JdbcUpdateService(jdbcManager, sqlCreatorTemplate, dbOperationService);
+            DbOperationService dbOperationService,
+            SqlTextMetrics sqlTextMetrics,
+            ResponseCache responseCache,
+            JdbcChunkedWriter chunkedWriter,
+            RsqlFilterCache rsqlFilterCache) {
+        return new JdbcUpdateService(jdbcManager, sqlCreatorTemplate, dbOperationService, sqlTextMetrics, responseCache,
+                chunkedWriter, rsqlFilterCache);
     }
 
 
@@ -261,8 +366,25 @@ public class JdbcConfiguration {
     public DeleteService deleteService(
             JdbcManager jdbcManager,
             SqlCreatorTemplate sqlCreatorTemplate,
-            DbOperationService dbOperationService) {
-        return new JdbcDeleteService(jdbcManager, sqlCreatorTemplate, dbOperationService);
+            DbOperationService dbOperationService,
+            SqlTextMetrics sqlTextMetrics,
+            ResponseCache responseCache,
+            JdbcChunkedWriter chunkedWriter,
+            RsqlFilterCache rsqlFilterCache) {
+        return new JdbcDeleteService(jdbcManager, sqlCreatorTemplate, dbOperationService, sqlTextMetrics, responseCache,
+                chunkedWriter, rsqlFilterCache);
+    }
+
+    @Bean
+    public JdbcChunkedWriter chunkedWriter(
+            JdbcManager jdbcManager,
+            SqlCreatorTemplate sqlCreatorTemplate,
+            ResponseCache responseCache,
+            Db2RestConfigProperties db2RestConfigProperties,
+            BulkLoadJobRegistry bulkLoadJobRegistry,
+            RsqlFilterCache rsqlFilterCache) {
+        return new JdbcChunkedWriter(jdbcManager, sqlCreatorTemplate, responseCache,
+                db2RestConfigProperties.getBulkIngest(), bulkLoadJobRegistry, rsqlFilterCache);
     }
 
     //RPC
@@ -282,14 +404,16 @@ public class JdbcConfiguration {
             Db2RestConfigProperties db2RestConfigProperties,
             DbOperationService dbOperationService,
             JdbcManager jdbcManager,
-            CustomPlaceholderValidators customPlaceholderValidators
+            CustomPlaceholderValidators customPlaceholderValidators,
+            ResponseCache responseCache
     ) {
         return new JinJavaTemplateExecutorService(
                 jinjava,
                 db2RestConfigProperties,
                 dbOperationService,
                 jdbcManager,
-                customPlaceholderValidators
+                customPlaceholderValidators,
+                responseCache
         );
     }
 
@@ -306,6 +430,13 @@ public class JdbcConfiguration {
         return new BulkCreateController(bulkCreateService, dataProcessors);
     }
 
+    @Bean
+    @ConditionalOnBean(BulkCreateService.class)
+    public BulkLoadJobController bulkLoadJobController(BulkCreateService bulkCreateService,
+                                                       ResourceAuthorizer resourceAuthorizer) {
+        return new BulkLoadJobController(bulkCreateService, resourceAuthorizer);
+    }
+
 
     @Bean
     @ConditionalOnBean(CreateService.class)
@@ -316,8 +447,8 @@ public class JdbcConfiguration {
     //READ API
     @Bean
     @ConditionalOnBean(CountQueryService.class)
-    public CountQueryController countQueryController(CountQueryService countQueryService) {
-        return new CountQueryController(countQueryService);
+    public CountQueryController countQueryController(CountQueryService countQueryService, ResponseCache responseCache) {
+        return new CountQueryController(countQueryService, responseCache);
     }
 
     @Bean
@@ -328,16 +459,37 @@ public class JdbcConfiguration {
 
     @Bean
     @ConditionalOnBean(FindOneService.class)
-    public FindOneController findOneController(FindOneService findOneService) {
-        return new FindOneController(findOneService);
+    public FindOneController findOneController(FindOneService findOneService, ResponseCache responseCache) {
+        return new FindOneController(findOneService, responseCache);
+    }
+
+    @Bean
+    public JsonRowStreamWriter jsonRowStreamWriter() {
+        return new JsonRowStreamWriter(objectMapper);
+    }
+
+    @Bean
+    public ArrowRowStreamWriter arrowRowStreamWriter(Db2RestConfigProperties configProperties) {
+        return new ArrowRowStreamWriter(objectMapper, configProperties.getArrow().getBatchSize());
     }
 
     @Bean
     @ConditionalOnBean(ReadService.class)
-    public ReadController readController(ReadService readService, Db2RestConfigProperties configProperties) {
-        return new ReadController(readService, configProperties);
+    public ReadController readController(ReadService readService, Db2RestConfigProperties configProperties,
+                                         JsonRowStreamWriter jsonRowStreamWriter,
+                                         ArrowRowStreamWriter arrowRowStreamWriter,
+                                         ResponseCache responseCache) {
+        return new ReadController(readService, configProperties, jsonRowStreamWriter, arrowRowStreamWriter,
+                responseCache);
     }
 
+    @Bean
+    @ConditionalOnBean(BatchReadService.class)
+    public BatchReadController batchReadController(BatchReadService batchReadService,
+                                                   Db2RestConfigProperties configProperties,
+                                                   ResourceAuthorizer resourceAuthorizer) {
+        return new BatchReadController(batchReadService, configProperties, resourceAuthorizer);
+    }
 
     //UPDATE API
     @Bean
@@ -346,6 +498,12 @@ public class JdbcConfiguration {
         return new UpdateController(updateService);
     }
 
+    @Bean
+    @ConditionalOnBean(UpdateService.class)
+    public BulkUpdateController bulkUpdateController(UpdateService updateService, List<DataProcessor> dataProcessors) {
+        return new BulkUpdateController(updateService, dataProcessors);
+    }
+
     //DELETE API
     @Bean
     @ConditionalOnBean(DeleteService.class)
@@ -375,9 +533,11 @@ public class JdbcConfiguration {
     @Bean
     @ConditionalOnBean(SQLTemplateExecutorService.class)
     public SQLTemplateController sqlTemplateController(
-            SQLTemplateExecutorService sqlTemplateExecutorService
+            SQLTemplateExecutorService sqlTemplateExecutorService,
+            JsonRowStreamWriter jsonRowStreamWriter,
+            ArrowRowStreamWriter arrowRowStreamWriter
     ) {
-        return new SQLTemplateController(sqlTemplateExecutorService);
+        return new SQLTemplateController(sqlTemplateExecutorService, jsonRowStreamWriter, arrowRowStreamWriter);
     }
 
     @ConditionalOnBean(JdbcManager.class)
@@ -0,0 +1,43 @@
+package com.homihq.db2rest.jdbc.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.jdbc.core.RowStream;
+import com.homihq.db2rest.jdbc.rest.arrow.ArrowStreamEncoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes the rows of a {@link RowStream} to the response as an Arrow IPC stream, one record batch
+ * at a time as the rows are read from the database.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ArrowRowStreamWriter {
+
+    public static final String APPLICATION_ARROW_STREAM_VALUE = "application/vnd.apache.arrow.stream";
+    public static final MediaType APPLICATION_ARROW_STREAM = MediaType.parseMediaType(APPLICATION_ARROW_STREAM_VALUE);
+
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public ResponseEntity<StreamingResponseBody> write(RowStream rowStream) {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                ArrowStreamEncoder encoder = new ArrowStreamEncoder(outputStream, batchSize, objectMapper);
+                rowStream.forEach(encoder);
+                encoder.finish();
+            } catch (RuntimeException e) {
+                //response is already committed, leave the stream without end marker
+                log.error("Error while streaming rows : ", e);
+                throw e;
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ARROW_STREAM)
+                .body(body);
+    }
+}
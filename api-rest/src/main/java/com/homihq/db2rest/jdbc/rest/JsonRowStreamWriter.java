@@ -0,0 +1,102 @@
+package com.homihq.db2rest.jdbc.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.homihq.db2rest.jdbc.core.RowStream;
+import com.homihq.db2rest.jdbc.core.row.Row;
+import com.homihq.db2rest.jdbc.core.row.RowDecoder;
+import com.homihq.db2rest.jdbc.core.row.RowHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the rows of a {@link RowStream} to the response as they are read from the database,
+ * either as a JSON array or as newline delimited JSON.
+ */
+@Slf4j
+public class JsonRowStreamWriter {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public JsonRowStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public ResponseEntity<StreamingResponseBody> write(RowStream rowStream, String accept) {
+        boolean ndjson = StringUtils.contains(accept, APPLICATION_NDJSON_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                //a failed stream must not be closed into a well-formed document
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT, false);
+
+                if (!ndjson) {
+                    generator.writeStartArray();
+                }
+
+                rowStream.forEach(new RowWriter(generator, ndjson));
+
+                if (!ndjson) {
+                    generator.writeEndArray();
+                }
+            } catch (RuntimeException e) {
+                //response is already committed, nothing left but to cut it short
+                log.error("Error while streaming rows : ", e);
+                throw e;
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private class RowWriter implements RowHandler {
+        private final JsonGenerator generator;
+        private final boolean ndjson;
+        private String[] columns;
+        private boolean first = true;
+
+        RowWriter(JsonGenerator generator, boolean ndjson) {
+            this.generator = generator;
+            this.ndjson = ndjson;
+        }
+
+        @Override
+        public void start(RowDecoder rowDecoder) {
+            columns = rowDecoder.columns();
+        }
+
+        @Override
+        public void row(Object[] values) {
+            try {
+                rowWriter.writeValue(generator, new Row(columns, values));
+
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                if (first) {
+                    //get the first row to the client without waiting for the buffer to fill up
+                    generator.flush();
+                    first = false;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
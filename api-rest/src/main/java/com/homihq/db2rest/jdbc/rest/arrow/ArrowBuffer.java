@@ -0,0 +1,122 @@
+package com.homihq.db2rest.jdbc.rest.arrow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable little endian byte buffer, reused from batch to batch.
+ */
+final class ArrowBuffer {
+
+    private byte[] data;
+    private int size;
+
+    ArrowBuffer(int capacity) {
+        this.data = new byte[Math.max(capacity, 8)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(data, 0, size, (byte) 0);
+        size = 0;
+    }
+
+    void putByte(int value) {
+        ensure(1);
+        data[size++] = (byte) value;
+    }
+
+    void putShort(int value) {
+        ensure(2);
+        data[size++] = (byte) value;
+        data[size++] = (byte) (value >>> 8);
+    }
+
+    void putInt(int value) {
+        ensure(4);
+        setInt(size, value);
+        size += 4;
+    }
+
+    void putLong(long value) {
+        ensure(8);
+        for (int i = 0; i < 8; i++) {
+            data[size++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    void putBytes(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, data, size, bytes.length);
+        size += bytes.length;
+    }
+
+    void setInt(int position, int value) {
+        data[position] = (byte) value;
+        data[position + 1] = (byte) (value >>> 8);
+        data[position + 2] = (byte) (value >>> 16);
+        data[position + 3] = (byte) (value >>> 24);
+    }
+
+    void setShort(int position, int value) {
+        data[position] = (byte) value;
+        data[position + 1] = (byte) (value >>> 8);
+    }
+
+    void setByte(int position, int value) {
+        data[position] = (byte) value;
+    }
+
+    void setLong(int position, long value) {
+        for (int i = 0; i < 8; i++) {
+            data[position + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    /**
+     * Sets bit {@code index} of a bitmap, growing the buffer with zero bytes as needed.
+     */
+    void setBit(int index) {
+        int bytes = (index >>> 3) + 1;
+        if (bytes > size) {
+            ensure(bytes - size);
+            size = bytes;
+        }
+        data[index >>> 3] |= (byte) (1 << (index & 7));
+    }
+
+    /**
+     * Grows a bitmap to hold {@code bits} bits without setting any.
+     */
+    void ensureBits(int bits) {
+        int bytes = (bits + 7) >>> 3;
+        if (bytes > size) {
+            ensure(bytes - size);
+            size = bytes;
+        }
+    }
+
+    void align(int alignment) {
+        while (size % alignment != 0) {
+            putByte(0);
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(data, 0, size);
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+        }
+    }
+}
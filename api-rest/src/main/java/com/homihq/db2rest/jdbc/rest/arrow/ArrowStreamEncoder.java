@@ -0,0 +1,179 @@
+package com.homihq.db2rest.jdbc.rest.arrow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.jdbc.core.row.RowDecoder;
+import com.homihq.db2rest.jdbc.core.row.RowHandler;
+import com.homihq.db2rest.jdbc.rest.arrow.FlatBufferWriter.Refs;
+import com.homihq.db2rest.jdbc.rest.arrow.FlatBufferWriter.Str;
+import com.homihq.db2rest.jdbc.rest.arrow.FlatBufferWriter.Structs;
+import com.homihq.db2rest.jdbc.rest.arrow.FlatBufferWriter.Table;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes rows in the Arrow IPC streaming format: a schema message, one record batch message per
+ * {@code batchSize} rows and the end of stream marker. Column types come from the result set
+ * metadata, so the schema is known before the first row is read.
+ */
+public class ArrowStreamEncoder implements RowHandler {
+
+    private static final int CONTINUATION = 0xFFFFFFFF;
+    private static final int METADATA_VERSION_V5 = 4;
+
+    //MessageHeader union
+    private static final int SCHEMA = 1;
+    private static final int RECORD_BATCH = 3;
+
+    private static final byte[] PADDING = new byte[8];
+
+    private final OutputStream out;
+    private final int batchSize;
+    private final ObjectMapper objectMapper;
+
+    private ArrowVector[] vectors;
+    private int rows;
+    private boolean flushed;
+
+    public ArrowStreamEncoder(OutputStream out, int batchSize, ObjectMapper objectMapper) {
+        this.out = out;
+        this.batchSize = Math.max(batchSize, 1);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void start(RowDecoder rowDecoder) {
+        String[] columns = rowDecoder.columns();
+        vectors = new ArrowVector[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            vectors[i] = ArrowVector.of(columns[i], rowDecoder.sqlType(i),
+                    rowDecoder.precision(i), rowDecoder.scale(i), objectMapper);
+        }
+
+        writeMessage(SCHEMA, schema(), 0, List.of());
+    }
+
+    @Override
+    public void row(Object[] values) {
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i].append(values[i]);
+        }
+
+        if (++rows == batchSize) {
+            writeBatch();
+        }
+    }
+
+    /**
+     * Writes the last partial batch and the end of stream marker.
+     */
+    public void finish() {
+        if (Objects.nonNull(vectors) && rows > 0) {
+            writeBatch();
+        }
+        try {
+            writeInt(CONTINUATION);
+            writeInt(0);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Table schema() {
+        List<Table> fields = new ArrayList<>(vectors.length);
+
+        for (ArrowVector vector : vectors) {
+            fields.add(new Table()
+                    .addRef(0, new Str(vector.name()))
+                    .addBoolean(1, true)
+                    .addByte(2, vector.typeId())
+                    .addRef(3, vector.type())
+                    .addRef(5, new Refs(List.of())));
+        }
+
+        //little endian
+        return new Table().addShort(0, 0).addRef(1, new Refs(fields));
+    }
+
+    private void writeBatch() {
+        List<ArrowBuffer> buffers = new ArrayList<>();
+        long[] nodes = new long[vectors.length * 2];
+
+        for (int i = 0; i < vectors.length; i++) {
+            ArrowVector vector = vectors[i];
+            nodes[2 * i] = vector.count();
+            nodes[2 * i + 1] = vector.nullCount();
+
+            buffers.add(vector.validity());
+            buffers.addAll(vector.dataBuffers());
+        }
+
+        long[] bufferLayout = new long[buffers.size() * 2];
+        long bodyLength = 0;
+        for (int i = 0; i < buffers.size(); i++) {
+            int size = buffers.get(i).size();
+            bufferLayout[2 * i] = bodyLength;
+            bufferLayout[2 * i + 1] = size;
+            bodyLength += padded(size);
+        }
+
+        Table recordBatch = new Table()
+                .addLong(0, rows)
+                .addRef(1, new Structs(nodes))
+                .addRef(2, new Structs(bufferLayout));
+
+        writeMessage(RECORD_BATCH, recordBatch, bodyLength, buffers);
+
+        for (ArrowVector vector : vectors) {
+            vector.clear();
+        }
+        rows = 0;
+    }
+
+    private void writeMessage(int headerType, Table header, long bodyLength, List<ArrowBuffer> body) {
+        Table message = new Table()
+                .addShort(0, METADATA_VERSION_V5)
+                .addByte(1, headerType)
+                .addRef(2, header)
+                .addLong(3, bodyLength);
+
+        //padded to 8 bytes, so the body that follows the 8 byte prefix is aligned too
+        byte[] metadata = FlatBufferWriter.finish(message);
+
+        try {
+            writeInt(CONTINUATION);
+            writeInt(metadata.length);
+            out.write(metadata);
+
+            for (ArrowBuffer buffer : body) {
+                buffer.writeTo(out);
+                out.write(PADDING, 0, padded(buffer.size()) - buffer.size());
+            }
+
+            if (!flushed && bodyLength > 0) {
+                //get the first batch to the client without waiting for the buffer to fill up
+                out.flush();
+                flushed = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    private static int padded(int size) {
+        return (size + 7) & ~7;
+    }
+}
@@ -0,0 +1,598 @@
+package com.homihq.db2rest.jdbc.rest.arrow;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import com.homihq.db2rest.jdbc.rest.arrow.FlatBufferWriter.Str;
+import com.homihq.db2rest.jdbc.rest.arrow.FlatBufferWriter.Table;
+import com.homihq.db2rest.jdbc.sql.JdbcTypeJavaClassMappings;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One column of a record batch. The Arrow type is picked once from the JDBC type of the column,
+ * every value is then appended to plain buffers that are reused for the next batch.
+ */
+abstract class ArrowVector {
+
+    //Arrow Type union
+    static final int INT = 2;
+    static final int FLOATING_POINT = 3;
+    static final int BINARY = 4;
+    static final int UTF8 = 5;
+    static final int BOOL = 6;
+    static final int DECIMAL = 7;
+    static final int DATE = 8;
+    static final int TIME = 9;
+    static final int TIMESTAMP = 10;
+
+    private static final int MICROSECOND = 2;
+    private static final int MAX_DECIMAL_PRECISION = 38;
+
+    private final String name;
+    private final ArrowBuffer validity = new ArrowBuffer(64);
+    private int count;
+    private int nullCount;
+
+    ArrowVector(String name) {
+        this.name = name;
+    }
+
+    static ArrowVector of(String name, int sqlType, int precision, int scale, ObjectMapper objectMapper) {
+        Class<?> type = JdbcTypeJavaClassMappings.INSTANCE.determineJavaClassForJdbcTypeCode(sqlType);
+
+        if (type == Byte.class || type == Short.class || type == Integer.class) {
+            return new IntVector(name, 32);
+        }
+        if (type == Long.class) {
+            return new IntVector(name, 64);
+        }
+        if (type == Float.class) {
+            return new FloatVector(name, false);
+        }
+        if (type == Double.class) {
+            return new FloatVector(name, true);
+        }
+        if (type == BigDecimal.class) {
+            //unconstrained numerics have no fixed scale to store them with
+            return precision > 0 && precision <= MAX_DECIMAL_PRECISION && scale >= 0 && scale <= precision
+                    ? new DecimalVector(name, precision, scale)
+                    : new FloatVector(name, true);
+        }
+        if (type == Boolean.class) {
+            return new BoolVector(name);
+        }
+        if (type == byte[].class || type == Blob.class) {
+            return new BinaryVector(name);
+        }
+        if (type == java.sql.Date.class) {
+            return new DateVector(name);
+        }
+        if (type == Time.class) {
+            return new TimeVector(name);
+        }
+        if (type == Timestamp.class) {
+            return new TimestampVector(name, false);
+        }
+        if (type == OffsetDateTime.class) {
+            return new TimestampVector(name, true);
+        }
+        return new Utf8Vector(name, objectMapper);
+    }
+
+    final void append(Object value) {
+        if (value == null) {
+            validity.ensureBits(count + 1);
+            appendNull();
+            nullCount++;
+        } else {
+            validity.setBit(count);
+            appendValue(value, count);
+        }
+        count++;
+    }
+
+    final void clear() {
+        validity.clear();
+        count = 0;
+        nullCount = 0;
+        clearData();
+    }
+
+    final String name() {
+        return name;
+    }
+
+    final int count() {
+        return count;
+    }
+
+    final int nullCount() {
+        return nullCount;
+    }
+
+    final ArrowBuffer validity() {
+        return validity;
+    }
+
+    abstract void appendValue(Object value, int index);
+
+    abstract void appendNull();
+
+    abstract void clearData();
+
+    /**
+     * Buffers following the validity bitmap, in the order the format defines for the type.
+     */
+    abstract List<ArrowBuffer> dataBuffers();
+
+    abstract int typeId();
+
+    abstract Table type();
+
+    static final class IntVector extends ArrowVector {
+        private final int bitWidth;
+        private final ArrowBuffer data = new ArrowBuffer(1024);
+
+        IntVector(String name, int bitWidth) {
+            super(name);
+            this.bitWidth = bitWidth;
+        }
+
+        @Override
+        void appendValue(Object value, int index) {
+            long number = switch (value) {
+                case Number n -> n.longValue();
+                case Boolean b -> b ? 1 : 0;
+                default -> Long.parseLong(value.toString());
+            };
+            if (bitWidth == 32) {
+                data.putInt((int) number);
+            } else {
+                data.putLong(number);
+            }
+        }
+
+        @Override
+        void appendNull() {
+            appendValue(0, 0);
+        }
+
+        @Override
+        void clearData() {
+            data.clear();
+        }
+
+        @Override
+        List<ArrowBuffer> dataBuffers() {
+            return List.of(data);
+        }
+
+        @Override
+        int typeId() {
+            return INT;
+        }
+
+        @Override
+        Table type() {
+            return new Table().addInt(0, bitWidth).addBoolean(1, true);
+        }
+    }
+
+    static final class FloatVector extends ArrowVector {
+        private final boolean doublePrecision;
+        private final ArrowBuffer data = new ArrowBuffer(1024);
+
+        FloatVector(String name, boolean doublePrecision) {
+            super(name);
+            this.doublePrecision = doublePrecision;
+        }
+
+        @Override
+        void appendValue(Object value, int index) {
+            double number = value instanceof Number n ? n.doubleValue() : Double.parseDouble(value.toString());
+            if (doublePrecision) {
+                data.putLong(Double.doubleToRawLongBits(number));
+            } else {
+                data.putInt(Float.floatToRawIntBits((float) number));
+            }
+        }
+
+        @Override
+        void appendNull() {
+            appendValue(0, 0);
+        }
+
+        @Override
+        void clearData() {
+            data.clear();
+        }
+
+        @Override
+        List<ArrowBuffer> dataBuffers() {
+            return List.of(data);
+        }
+
+        @Override
+        int typeId() {
+            return FLOATING_POINT;
+        }
+
+        @Override
+        Table type() {
+            //Precision enum - HALF, SINGLE, DOUBLE
+            return new Table().addShort(0, doublePrecision ? 2 : 1);
+        }
+    }
+
+    static final class DecimalVector extends ArrowVector {
+        private final int precision;
+        private final int scale;
+        private final ArrowBuffer data = new ArrowBuffer(2048);
+
+        DecimalVector(String name, int precision, int scale) {
+            super(name);
+            this.precision = precision;
+            this.scale = scale;
+        }
+
+        @Override
+        void appendValue(Object value, int index) {
+            BigDecimal decimal = value instanceof BigDecimal d ? d : new BigDecimal(value.toString());
+            BigInteger unscaled = decimal.setScale(scale, RoundingMode.HALF_UP).unscaledValue();
+
+            if (unscaled.bitLength() > 127) {
+                throw new GenericDataAccessException("Value does not fit column " + name() + " - " + value);
+            }
+
+            //128 bit two's complement, little endian
+            byte[] bigEndian = unscaled.toByteArray();
+            byte sign = (byte) (unscaled.signum() < 0 ? -1 : 0);
+            for (int i = 0; i < 16; i++) {
+                int source = bigEndian.length - 1 - i;
+                data.putByte(source >= 0 ? bigEndian[source] : sign);
+            }
+        }
+
+        @Override
+        void appendNull() {
+            data.putLong(0);
+            data.putLong(0);
+        }
+
+        @Override
+        void clearData() {
+            data.clear();
+        }
+
+        @Override
+        List<ArrowBuffer> dataBuffers() {
+            return List.of(data);
+        }
+
+        @Override
+        int typeId() {
+            return DECIMAL;
+        }
+
+        @Override
+        Table type() {
+            return new Table().addInt(0, precision).addInt(1, scale).addInt(2, 128);
+        }
+    }
+
+    static final class BoolVector extends ArrowVector {
+        private final ArrowBuffer data = new ArrowBuffer(128);
+
+        BoolVector(String name) {
+            super(name);
+        }
+
+        @Override
+        void appendValue(Object value, int index) {
+            boolean bool = switch (value) {
+                case Boolean b -> b;
+                case Number n -> n.intValue() != 0;
+                default -> Boolean.parseBoolean(value.toString());
+            };
+            if (bool) {
+                data.setBit(index);
+            } else {
+                data.ensureBits(index + 1);
+            }
+        }
+
+        @Override
+        void appendNull() {
+            data.ensureBits(count() + 1);
+        }
+
+        @Override
+        void clearData() {
+            data.clear();
+        }
+
+        @Override
+        List<ArrowBuffer> dataBuffers() {
+            return List.of(data);
+        }
+
+        @Override
+        int typeId() {
+            return BOOL;
+        }
+
+        @Override
+        Table type() {
+            return new Table();
+        }
+    }
+
+    static final class DateVector extends ArrowVector {
+        private final ArrowBuffer data = new ArrowBuffer(512);
+
+        DateVector(String name) {
+            super(name);
+        }
+
+        @Override
+        void appendValue(Object value, int index) {
+            LocalDate date = switch (value) {
+                case java.sql.Date d -> d.toLocalDate();
+                case LocalDate d -> d;
+                case Timestamp t -> t.toLocalDateTime().toLocalDate();
+                case LocalDateTime t -> t.toLocalDate();
+                case java.util.Date d -> d.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+                default -> LocalDate.parse(value.toString());
+            };
+            data.putInt((int) date.toEpochDay());
+        }
+
+        @Override
+        void appendNull() {
+            data.putInt(0);
+        }
+
+        @Override
+        void clearData() {
+            data.clear();
+        }
+
+        @Override
+        List<ArrowBuffer> dataBuffers() {
+            return List.of(data);
+        }
+
+        @Override
+        int typeId() {
+            return DATE;
+        }
+
+        @Override
+        Table type() {
+            //DateUnit enum - DAY, MILLISECOND
+            return new Table().addShort(0, 0);
+        }
+    }
+
+    static final class TimeVector extends ArrowVector {
+        private final ArrowBuffer data = new ArrowBuffer(1024);
+
+        TimeVector(String name) {
+            super(name);
+        }
+
+        @Override
+        void appendValue(Object value, int index) {
+            LocalTime time = switch (value) {
+                case Time t -> t.toLocalTime();
+                case LocalTime t -> t;
+                case OffsetTime t -> t.toLocalTime();
+                default -> LocalTime.parse(value.toString());
+            };
+            data.putLong(time.toNanoOfDay() / 1_000);
+        }
+
+        @Override
+        void appendNull() {
+            data.putLong(0);
+        }
+
+        @Override
+        void clearData() {
+            data.clear();
+        }
+
+        @Override
+        List<ArrowBuffer> dataBuffers() {
+            return List.of(data);
+        }
+
+        @Override
+        int typeId() {
+            return TIME;
+        }
+
+        @Override
+        Table type() {
+            return new Table().addShort(0, MICROSECOND).addInt(1, 64);
+        }
+    }
+
+    /**
+     * Microseconds since epoch. Without time zone the wall clock time is stored as if it was UTC,
+     * as the format defines for naive timestamps.
+     */
+    static final class TimestampVector extends ArrowVector {
+        private final boolean utc;
+        private final ArrowBuffer data = new ArrowBuffer(1024);
+
+        TimestampVector(String name, boolean utc) {
+            super(name);
+            this.utc = utc;
+        }
+
+        @Override
+        void appendValue(Object value, int index) {
+            Instant instant = utc ? instant(value) : localDateTime(value).toInstant(ZoneOffset.UTC);
+            data.putLong(Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L),
+                    instant.getNano() / 1_000));
+        }
+
+        private static Instant instant(Object value) {
+            return switch (value) {
+                case OffsetDateTime t -> t.toInstant();
+                case ZonedDateTime t -> t.toInstant();
+                case Instant t -> t;
+                case Timestamp t -> t.toInstant();
+                case LocalDateTime t -> t.toInstant(ZoneOffset.UTC);
+                default -> OffsetDateTime.parse(value.toString()).toInstant();
+            };
+        }
+
+        private static LocalDateTime localDateTime(Object value) {
+            return switch (value) {
+                case Timestamp t -> t.toLocalDateTime();
+                case LocalDateTime t -> t;
+                case OffsetDateTime t -> t.toLocalDateTime();
+                case java.sql.Date d -> d.toLocalDate().atStartOfDay();
+                case LocalDate d -> d.atStartOfDay();
+                case java.util.Date d -> LocalDateTime.ofInstant(d.toInstant(), ZoneId.systemDefault());
+                default -> LocalDateTime.parse(value.toString());
+            };
+        }
+
+        @Override
+        void appendNull() {
+            data.putLong(0);
+        }
+
+        @Override
+        void clearData() {
+            data.clear();
+        }
+
+        @Override
+        List<ArrowBuffer> dataBuffers() {
+            return List.of(data);
+        }
+
+        @Override
+        int typeId() {
+            return TIMESTAMP;
+        }
+
+        @Override
+        Table type() {
+            Table type = new Table().addShort(0, MICROSECOND);
+            return utc ? type.addRef(1, new Str("UTC")) : type;
+        }
+    }
+
+    abstract static class VariableWidthVector extends ArrowVector {
+        private final ArrowBuffer offsets = new ArrowBuffer(1024);
+        private final ArrowBuffer data = new ArrowBuffer(8192);
+
+        VariableWidthVector(String name) {
+            super(name);
+            offsets.putInt(0);
+        }
+
+        abstract byte[] bytes(Object value);
+
+        @Override
+        final void appendValue(Object value, int index) {
+            data.putBytes(bytes(value));
+            offsets.putInt(data.size());
+        }
+
+        @Override
+        final void appendNull() {
+            offsets.putInt(data.size());
+        }
+
+        @Override
+        final void clearData() {
+            offsets.clear();
+            offsets.putInt(0);
+            data.clear();
+        }
+
+        @Override
+        final List<ArrowBuffer> dataBuffers() {
+            return List.of(offsets, data);
+        }
+    }
+
+    static final class Utf8Vector extends VariableWidthVector {
+        private final ObjectMapper objectMapper;
+
+        Utf8Vector(String name, ObjectMapper objectMapper) {
+            super(name);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        byte[] bytes(Object value) {
+            if (value instanceof Map<?, ?> || value instanceof Collection<?> || value.getClass().isArray()) {
+                //json columns and arrays, same text the JSON endpoints produce
+                try {
+                    return objectMapper.writeValueAsBytes(value);
+                } catch (JsonProcessingException e) {
+                    throw new GenericDataAccessException("Failed to write column " + name() + " - " + e.getMessage());
+                }
+            }
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        int typeId() {
+            return UTF8;
+        }
+
+        @Override
+        Table type() {
+            return new Table();
+        }
+    }
+
+    static final class BinaryVector extends VariableWidthVector {
+
+        BinaryVector(String name) {
+            super(name);
+        }
+
+        @Override
+        byte[] bytes(Object value) {
+            return value instanceof byte[] bytes ? bytes : value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        int typeId() {
+            return BINARY;
+        }
+
+        @Override
+        Table type() {
+            return new Table();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.homihq.db2rest.jdbc.rest.arrow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Just enough of a flatbuffers builder to write the Arrow IPC metadata (schema and record batch
+ * messages). Objects are written front to back: a table comes first, the strings, vectors and
+ * tables it refers to follow it, so every offset points forward as the format requires.
+ */
+final class FlatBufferWriter {
+
+    private FlatBufferWriter() {
+    }
+
+    static byte[] finish(Table root) {
+        ArrowBuffer out = new ArrowBuffer(256);
+        out.putInt(0);
+        int rootPosition = write(out, root);
+        out.setInt(0, rootPosition);
+        out.align(8);
+        return out.toByteArray();
+    }
+
+    private static int write(ArrowBuffer out, Node node) {
+        return switch (node) {
+            case Table table -> writeTable(out, table);
+            case Str str -> writeString(out, str.value());
+            case Refs refs -> writeRefs(out, refs.items());
+            case Structs structs -> writeStructs(out, structs.values());
+        };
+    }
+
+    private static int writeTable(ArrowBuffer out, Table table) {
+        List<Slot> slots = new ArrayList<>(table.slots);
+        slots.sort(Comparator.comparingInt(Slot::size).reversed());
+
+        int maxId = -1;
+        int inlineSize = 4;
+        int[] offsets = new int[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            maxId = Math.max(maxId, slot.id());
+            inlineSize = alignUp(inlineSize, slot.size());
+            offsets[i] = inlineSize;
+            inlineSize += slot.size();
+        }
+
+        //vtable
+        out.align(2);
+        int vtablePosition = out.size();
+        out.putShort(4 + 2 * (maxId + 1));
+        out.putShort(inlineSize);
+        int fieldOffsets = out.size();
+        for (int i = 0; i <= maxId; i++) {
+            out.putShort(0);
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            out.setShort(fieldOffsets + 2 * slots.get(i).id(), offsets[i]);
+        }
+
+        //table, 8 byte aligned so every field is aligned to its size
+        out.align(8);
+        int tablePosition = out.size();
+        out.putInt(tablePosition - vtablePosition);
+        while (out.size() < tablePosition + inlineSize) {
+            out.putByte(0);
+        }
+
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            int position = tablePosition + offsets[i];
+            switch (slot.size()) {
+                case 1 -> out.setByte(position, (int) slot.value());
+                case 2 -> out.setShort(position, (int) slot.value());
+                case 4 -> out.setInt(position, (int) slot.value());
+                default -> out.setLong(position, slot.value());
+            }
+        }
+
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            if (slot.ref() != null) {
+                int position = tablePosition + offsets[i];
+                out.setInt(position, write(out, slot.ref()) - position);
+            }
+        }
+
+        return tablePosition;
+    }
+
+    private static int writeString(ArrowBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.align(4);
+        int position = out.size();
+        out.putInt(bytes.length);
+        out.putBytes(bytes);
+        out.putByte(0);
+        return position;
+    }
+
+    private static int writeRefs(ArrowBuffer out, List<? extends Node> items) {
+        out.align(4);
+        int position = out.size();
+        out.putInt(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            out.putInt(0);
+        }
+        for (int i = 0; i < items.size(); i++) {
+            int slot = position + 4 + 4 * i;
+            out.setInt(slot, write(out, items.get(i)) - slot);
+        }
+        return position;
+    }
+
+    private static int writeStructs(ArrowBuffer out, long[] values) {
+        //length prefix at 4 mod 8, so the 8 byte struct members that follow are aligned
+        out.align(4);
+        if (out.size() % 8 == 0) {
+            out.putInt(0);
+        }
+        int position = out.size();
+        out.putInt(values.length / 2);
+        for (long value : values) {
+            out.putLong(value);
+        }
+        return position;
+    }
+
+    private static int alignUp(int position, int alignment) {
+        return (position + alignment - 1) / alignment * alignment;
+    }
+
+    sealed interface Node permits Table, Str, Refs, Structs {
+    }
+
+    record Str(String value) implements Node {
+    }
+
+    /**
+     * Vector of tables or strings.
+     */
+    record Refs(List<? extends Node> items) implements Node {
+    }
+
+    /**
+     * Vector of structs made of two longs, e.g. {@code FieldNode} or {@code Buffer}.
+     */
+    record Structs(long[] values) implements Node {
+    }
+
+    private record Slot(int id, int size, long value, Node ref) {
+    }
+
+    static final class Table implements Node {
+        private final List<Slot> slots = new ArrayList<>();
+
+        Table addByte(int id, int value) {
+            slots.add(new Slot(id, 1, value, null));
+            return this;
+        }
+
+        Table addBoolean(int id, boolean value) {
+            return addByte(id, value ? 1 : 0);
+        }
+
+        Table addShort(int id, int value) {
+            slots.add(new Slot(id, 2, value, null));
+            return this;
+        }
+
+        Table addInt(int id, int value) {
+            slots.add(new Slot(id, 4, value, null));
+            return this;
+        }
+
+        Table addLong(int id, long value) {
+            slots.add(new Slot(id, 8, value, null));
+            return this;
+        }
+
+        Table addRef(int id, Node node) {
+            slots.add(new Slot(id, 4, 0, node));
+            return this;
+        }
+    }
+}
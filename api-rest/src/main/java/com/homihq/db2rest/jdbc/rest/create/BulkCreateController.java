@@ -1,10 +1,14 @@
 package com.homihq.db2rest.jdbc.rest.create;
 
 import com.homihq.db2rest.bulk.DataProcessor;
+import com.homihq.db2rest.bulk.FileSubject;
+import com.homihq.db2rest.bulk.MediaTypes;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
 import com.homihq.db2rest.core.dto.CreateBulkResponse;
 import com.homihq.db2rest.core.dto.CreateResponse;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.dtos.FileUploadContext;
+import com.homihq.db2rest.dtos.UpsertOptions;
 import com.homihq.db2rest.jdbc.core.service.BulkCreateService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +17,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -34,6 +39,10 @@ public class BulkCreateController implements BulkCreateRestApi {
             List<String> includeColumns,
             List<String> sequences,
             boolean tsIdEnabled,
+            Boolean copy,
+            boolean upsert,
+            List<String> conflictColumns,
+            List<String> updateColumns,
             HttpServletRequest request) throws Exception {
 
         DataProcessor dataProcessor = dataProcessors.stream()
@@ -41,12 +50,22 @@ public class BulkCreateController implements BulkCreateRestApi {
                 .findFirst().orElseThrow(() -> new GenericDataAccessException("Unable to process content type : "
                         + request.getContentType()));
 
+        InputStream body = MediaTypes.decode(request.getInputStream(), request.getHeader("Content-Encoding"));
+
+        //streaming processors hand the rows over chunk by chunk instead of reading the whole body
+        if (dataProcessor instanceof FileSubject fileSubject) {
+            return bulkCreateService.saveBulkStream(dbId, schemaName, tableName, includeColumns,
+                    fileSubject, body, tsIdEnabled, sequences, copy,
+                    upsertOptions(upsert, conflictColumns, updateColumns));
+        }
+
         List<Map<String, Object>> data =
-                dataProcessor.getData(request.getInputStream());
+                dataProcessor.getData(body);
 
 
         return
-                bulkCreateService.saveBulk(dbId, schemaName, tableName, includeColumns, data, tsIdEnabled, sequences);
+                bulkCreateService.saveBulk(dbId, schemaName, tableName, includeColumns, data, tsIdEnabled, sequences, copy,
+                        upsertOptions(upsert, conflictColumns, updateColumns));
 
     }
 
@@ -58,8 +77,35 @@ public class BulkCreateController implements BulkCreateRestApi {
             List<String> includeColumns,
             List<String> sequences,
             boolean tsIdEnabled,
+            Boolean copy,
+            boolean upsert,
+            List<String> conflictColumns,
+            List<String> updateColumns,
             MultipartFile file) {
-        FileUploadContext context = new FileUploadContext(dbId, schemaName, tableName, includeColumns, tsIdEnabled, sequences, 0);
+        FileUploadContext context = new FileUploadContext(dbId, schemaName, tableName, includeColumns, tsIdEnabled, sequences,
+                copy, upsertOptions(upsert, conflictColumns, updateColumns), 0);
         return bulkCreateService.saveMultipartFile(context, file);
     }
+
+    @Override
+    public BulkLoadJobStatus submitMultipartFile(
+            String dbId,
+            String tableName,
+            String schemaName,
+            List<String> includeColumns,
+            List<String> sequences,
+            boolean tsIdEnabled,
+            Boolean copy,
+            boolean upsert,
+            List<String> conflictColumns,
+            List<String> updateColumns,
+            MultipartFile file) {
+        FileUploadContext context = new FileUploadContext(dbId, schemaName, tableName, includeColumns, tsIdEnabled, sequences,
+                copy, upsertOptions(upsert, conflictColumns, updateColumns), 0);
+        return bulkCreateService.submitMultipartFile(context, file);
+    }
+
+    private static UpsertOptions upsertOptions(boolean upsert, List<String> conflictColumns, List<String> updateColumns) {
+        return upsert ? new UpsertOptions(conflictColumns, updateColumns) : null;
+    }
 }
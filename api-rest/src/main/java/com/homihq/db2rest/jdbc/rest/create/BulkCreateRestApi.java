@@ -1,5 +1,6 @@
 package com.homihq.db2rest.jdbc.rest.create;
 
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
 import com.homihq.db2rest.core.dto.CreateBulkResponse;
 import com.homihq.db2rest.core.dto.CreateResponse;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,7 +20,7 @@ import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
 public interface BulkCreateRestApi {
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping(value = VERSION + "/{dbId}/{tableName}/bulk",
-            consumes = {"application/json", "text/csv"}
+            consumes = {"application/json", "application/x-ndjson", "text/csv"}
     )
     CreateBulkResponse save(@PathVariable String dbId,
                             @PathVariable String tableName,
@@ -27,6 +28,10 @@ public interface BulkCreateRestApi {
                             @RequestParam(name = "columns", required = false) List<String> includeColumns,
                             @RequestParam(name = "sequences", required = false) List<String> sequences,
                             @RequestParam(name = "tsIdEnabled", required = false, defaultValue = "false") boolean tsIdEnabled,
+                            @RequestParam(name = "copy", required = false) Boolean copy,
+                            @RequestParam(name = "upsert", required = false, defaultValue = "false") boolean upsert,
+                            @RequestParam(name = "conflictColumns", required = false) List<String> conflictColumns,
+                            @RequestParam(name = "updateColumns", required = false) List<String> updateColumns,
                             HttpServletRequest request) throws Exception;
 
 
@@ -39,5 +44,25 @@ public interface BulkCreateRestApi {
             @RequestParam(name = "columns", required = false) List<String> includeColumns,
             @RequestParam(name = "sequences", required = false) List<String> sequences,
             @RequestParam(name = "tsIdEnabled", required = false, defaultValue = "false") boolean tsIdEnabled,
+            @RequestParam(name = "copy", required = false) Boolean copy,
+            @RequestParam(name = "upsert", required = false, defaultValue = "false") boolean upsert,
+            @RequestParam(name = "conflictColumns", required = false) List<String> conflictColumns,
+            @RequestParam(name = "updateColumns", required = false) List<String> updateColumns,
             @RequestParam("file") MultipartFile file) throws Exception;
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping(value = VERSION + "/{dbId}/{tableName}/upload", params = "async=true",
+            consumes = "multipart/form-data")
+    BulkLoadJobStatus submitMultipartFile(
+            @PathVariable String dbId,
+            @PathVariable String tableName,
+            @RequestHeader(name = "Content-Profile", required = false) String schemaName,
+            @RequestParam(name = "columns", required = false) List<String> includeColumns,
+            @RequestParam(name = "sequences", required = false) List<String> sequences,
+            @RequestParam(name = "tsIdEnabled", required = false, defaultValue = "false") boolean tsIdEnabled,
+            @RequestParam(name = "copy", required = false) Boolean copy,
+            @RequestParam(name = "upsert", required = false, defaultValue = "false") boolean upsert,
+            @RequestParam(name = "conflictColumns", required = false) List<String> conflictColumns,
+            @RequestParam(name = "updateColumns", required = false) List<String> updateColumns,
+            @RequestParam("file") MultipartFile file);
 }
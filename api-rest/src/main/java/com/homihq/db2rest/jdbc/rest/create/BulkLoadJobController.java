@@ -0,0 +1,79 @@
+package com.homihq.db2rest.jdbc.rest.create;
+
+import com.homihq.db2rest.auth.ResourceAuthorizer;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+import com.homihq.db2rest.core.exception.AuthenticationFailedException;
+import com.homihq.db2rest.jdbc.core.service.BulkCreateService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+
+/**
+ * Progress, cancellation and resume of the uploads submitted with {@code async=true} and of
+ * the deletes and updates submitted with {@code chunked=true}.
+ * <p>
+ * The table of a job is not in the path where the auth filter could see it. Reading the status
+ * of a job is authorized as a {@code GET} of its table, cancelling or resuming it as the request
+ * that started it.
+ */
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+public class BulkLoadJobController {
+
+    private final BulkCreateService bulkCreateService;
+    private final ResourceAuthorizer resourceAuthorizer;
+
+    @GetMapping(value = VERSION + "/{dbId}/_jobs/{jobId}", produces = "application/json")
+    public BulkLoadJobStatus get(@PathVariable String dbId, @PathVariable String jobId, HttpServletRequest request) {
+        BulkLoadJobStatus job = bulkCreateService.getJob(dbId, jobId);
+        authorize(request, job, false);
+        return job;
+    }
+
+    @DeleteMapping(value = VERSION + "/{dbId}/_jobs/{jobId}", produces = "application/json")
+    public BulkLoadJobStatus cancel(@PathVariable String dbId, @PathVariable String jobId,
+                                    HttpServletRequest request) {
+        authorize(request, bulkCreateService.getJob(dbId, jobId), true);
+        return bulkCreateService.cancelJob(dbId, jobId);
+    }
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping(value = VERSION + "/{dbId}/_jobs/{jobId}/resume", produces = "application/json")
+    public BulkLoadJobStatus resume(@PathVariable String dbId, @PathVariable String jobId,
+                                    HttpServletRequest request) {
+        authorize(request, bulkCreateService.getJob(dbId, jobId), true);
+        return bulkCreateService.resumeJob(dbId, jobId);
+    }
+
+    private void authorize(HttpServletRequest request, BulkLoadJobStatus job, boolean write) {
+        String tableUri = StringUtils.substringBefore(resourceAuthorizer.getRequestUri(request), "/_jobs/")
+                + "/" + job.tableName();
+
+        boolean authorized;
+        if (!write) {
+            authorized = resourceAuthorizer.isAuthorized(request, tableUri, "GET");
+        } else {
+            authorized = switch (job.operation()) {
+                case "upload" -> resourceAuthorizer.isAuthorized(request, tableUri + "/upload", "POST");
+                case "delete" -> resourceAuthorizer.isAuthorized(request, tableUri, "DELETE");
+                default -> resourceAuthorizer.isAuthorized(request, tableUri, "PATCH");
+            };
+        }
+
+        if (!authorized) {
+            log.debug("Not authorized for job {} of {}", job.jobId(), job.tableName());
+            throw new AuthenticationFailedException("Authorization failure.");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.homihq.db2rest.jdbc.rest.delete;
 
 import com.homihq.db2rest.config.Db2RestConfigProperties;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
 import com.homihq.db2rest.core.dto.DeleteResponse;
 import com.homihq.db2rest.jdbc.core.service.DeleteService;
 import lombok.RequiredArgsConstructor;
@@ -29,4 +30,19 @@ public class DeleteController implements DeleteRestApi {
         log.debug("Number of rows deleted - {}", rows);
         return DeleteResponse.builder().rows(rows).build();
     }
+
+    @Override
+    public BulkLoadJobStatus deleteChunked(
+            String dbId,
+            String schemaName,
+            String tableName,
+            String filter,
+            Integer batchSize,
+            Long pauseMillis
+    ) {
+
+        db2RestConfigProperties.checkDeleteAllowed(filter);
+
+        return deleteService.deleteChunked(dbId, schemaName, tableName, filter, batchSize, pauseMillis);
+    }
 }
@@ -1,5 +1,6 @@
 package com.homihq.db2rest.jdbc.rest.delete;
 
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
 import com.homihq.db2rest.core.dto.DeleteResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,4 +19,14 @@ public interface DeleteRestApi {
             @RequestHeader(name = "Content-Profile", required = false) String schemaName,
             @PathVariable String tableName,
             @RequestParam(required = false, defaultValue = "") String filter);
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @DeleteMapping(value = VERSION + "/{dbId}/{tableName}", params = "chunked=true")
+    BulkLoadJobStatus deleteChunked(
+            @PathVariable String dbId,
+            @RequestHeader(name = "Content-Profile", required = false) String schemaName,
+            @PathVariable String tableName,
+            @RequestParam(required = false, defaultValue = "") String filter,
+            @RequestParam(name = "batchSize", required = false) Integer batchSize,
+            @RequestParam(name = "pauseMillis", required = false) Long pauseMillis);
 }
@@ -0,0 +1,81 @@
+package com.homihq.db2rest.jdbc.rest.read;
+
+import com.homihq.db2rest.auth.ResourceAuthorizer;
+import com.homihq.db2rest.config.Db2RestConfigProperties;
+import com.homihq.db2rest.core.dto.BatchReadResult;
+import com.homihq.db2rest.jdbc.core.service.BatchReadService;
+import com.homihq.db2rest.jdbc.dto.BatchReadRequest;
+import com.homihq.db2rest.jdbc.dto.JoinDetail;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+
+/**
+ * Runs many reads in one request. The tables of a batch are in its body where the auth filter
+ * does not see them, every read is authorized as a {@code GET} of its tables before it runs.
+ */
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+public class BatchReadController {
+
+    private final BatchReadService batchReadService;
+    private final Db2RestConfigProperties db2RestConfigProperties;
+    private final ResourceAuthorizer resourceAuthorizer;
+
+    @PostMapping(value = VERSION + "/{dbId}/_batch", produces = "application/json")
+    public List<BatchReadResult> findAll(
+            @PathVariable String dbId,
+            @RequestHeader(name = "Accept-Profile", required = false) String schemaName,
+            @RequestBody List<BatchReadRequest> reads,
+            HttpServletRequest request) {
+
+        log.debug("Batch of {} reads", Objects.isNull(reads) ? 0 : reads.size());
+
+        List<ReadContext> readContexts = Objects.isNull(reads) ? List.of() : reads.stream()
+                .map(read -> toReadContext(dbId, schemaName, read))
+                .toList();
+
+        String baseUri = StringUtils.removeEnd(resourceAuthorizer.getRequestUri(request), "/_batch");
+
+        return batchReadService.findAll(readContexts, readContext -> tables(readContext).stream()
+                .allMatch(table -> resourceAuthorizer.isAuthorized(request, baseUri + "/" + table, "GET")));
+    }
+
+    private List<String> tables(ReadContext readContext) {
+        List<String> tables = new ArrayList<>();
+        tables.add(readContext.getTableName());
+        if (Objects.nonNull(readContext.getJoins())) {
+            readContext.getJoins().stream().map(JoinDetail::table).forEach(tables::add);
+        }
+        return tables;
+    }
+
+    private ReadContext toReadContext(String dbId, String schemaName, BatchReadRequest read) {
+        return ReadContext.builder()
+                .dbId(dbId)
+                .schemaName(Objects.isNull(read.schemaName()) ? schemaName : read.schemaName())
+                .tableName(read.table())
+                .fields(Objects.isNull(read.fields()) ? "*" : read.fields())
+                .filter(Objects.isNull(read.filter()) ? "" : read.filter())
+                .sorts(Objects.isNull(read.sort()) ? List.of() : read.sort())
+                .limit(Objects.isNull(read.limit()) ? -1 : read.limit())
+                .defaultFetchLimit(db2RestConfigProperties.getDefaultFetchLimit())
+                .offset(Objects.isNull(read.offset()) ? -1 : read.offset())
+                .joins(read.joins())
+                .build();
+    }
+}
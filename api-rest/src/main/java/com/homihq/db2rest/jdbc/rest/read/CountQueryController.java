@@ -1,6 +1,8 @@
 package com.homihq.db2rest.jdbc.rest.read;
 
 import com.homihq.db2rest.core.dto.CountResponse;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
+import com.homihq.db2rest.jdbc.cache.ResponseCache.CachedResponse;
 import com.homihq.db2rest.jdbc.core.service.CountQueryService;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +12,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.Objects;
 
 import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
 
@@ -19,23 +25,31 @@ import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
 public class CountQueryController {
 
     private final CountQueryService countQueryService;
+    private final ResponseCache responseCache;
 
     @GetMapping(VERSION + "/{dbId}/{tableName}/count")
     public CountResponse count(@PathVariable String dbId,
                                @PathVariable String tableName,
                                @RequestHeader(name = "Accept-Profile", required = false) String schemaName,
-                               @RequestParam(name = "filter", required = false, defaultValue = "") String filter) {
+                               @RequestParam(name = "filter", required = false, defaultValue = "") String filter,
+                               WebRequest webRequest) {
 
         log.debug("tableName - {}", tableName);
         log.debug("filter - {}", filter);
 
-        ReadContext readContext = ReadContext.builder()
-                .dbId(dbId)
-                .schemaName(schemaName)
-                .tableName(tableName)
-                .filter(filter)
-                .build();
+        CachedResponse<CountResponse> response = responseCache.get(dbId, tableName,
+                Arrays.asList("count", schemaName, filter),
+                () -> countQueryService.count(ReadContext.builder()
+                        .dbId(dbId)
+                        .schemaName(schemaName)
+                        .tableName(tableName)
+                        .filter(filter)
+                        .build()));
+
+        if (Objects.nonNull(response.etag()) && webRequest.checkNotModified(response.etag())) {
+            return null;
+        }
 
-        return countQueryService.count(readContext);
+        return response.body();
     }
 }
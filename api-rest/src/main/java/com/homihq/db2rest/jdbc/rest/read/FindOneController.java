@@ -1,5 +1,7 @@
 package com.homihq.db2rest.jdbc.rest.read;
 
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
+import com.homihq.db2rest.jdbc.cache.ResponseCache.CachedResponse;
 import com.homihq.db2rest.jdbc.core.service.FindOneService;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
 import lombok.RequiredArgsConstructor;
@@ -9,8 +11,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Objects;
 
 import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
 
@@ -20,29 +25,37 @@ import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
 public class FindOneController {
 
     private final FindOneService findOneService;
+    private final ResponseCache responseCache;
 
     @GetMapping(VERSION + "/{dbId}/{tableName}/one")
     public Map<String, Object> findOne(@PathVariable String dbId,
                                        @PathVariable String tableName,
                                        @RequestHeader(name = "Accept-Profile", required = false) String schemaName,
                                        @RequestParam(name = "fields", required = false, defaultValue = "*") String fields,
-                                       @RequestParam(name = "filter", required = false, defaultValue = "") String filter) {
+                                       @RequestParam(name = "filter", required = false, defaultValue = "") String filter,
+                                       WebRequest webRequest) {
 
 
         log.debug("tableName - {}", tableName);
         log.debug("fields - {}", fields);
         log.debug("filter - {}", filter);
 
-        ReadContext readContext = ReadContext.builder()
-                .dbId(dbId)
-                .defaultFetchLimit(100) //todo update with config
-                .schemaName(schemaName)
-                .tableName(tableName)
-                .filter(filter)
-                .fields(fields)
-                .build();
-
-        return this.findOneService.findOne(readContext);
+        CachedResponse<Map<String, Object>> response = responseCache.get(dbId, tableName,
+                Arrays.asList("one", schemaName, fields, filter),
+                () -> this.findOneService.findOne(ReadContext.builder()
+                        .dbId(dbId)
+                        .defaultFetchLimit(100) //todo update with config
+                        .schemaName(schemaName)
+                        .tableName(tableName)
+                        .filter(filter)
+                        .fields(fields)
+                        .build()));
+
+        if (Objects.nonNull(response.etag()) && webRequest.checkNotModified(response.etag())) {
+            return null;
+        }
+
+        return response.body();
     }
 
 
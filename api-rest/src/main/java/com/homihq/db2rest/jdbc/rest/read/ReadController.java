@@ -1,11 +1,20 @@
 package com.homihq.db2rest.jdbc.rest.read;
 
 import com.homihq.db2rest.config.Db2RestConfigProperties;
+import com.homihq.db2rest.core.dto.CursorPageResponse;
+import com.homihq.db2rest.core.dto.PageResponse;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
+import com.homihq.db2rest.jdbc.cache.ResponseCache.CachedResponse;
 import com.homihq.db2rest.jdbc.core.service.ReadService;
 import com.homihq.db2rest.jdbc.dto.JoinDetail;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.pagination.TotalStrategy;
+import com.homihq.db2rest.jdbc.rest.ArrowRowStreamWriter;
+import com.homihq.db2rest.jdbc.rest.JsonRowStreamWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,8 +22,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
 
@@ -25,6 +38,9 @@ public class ReadController {
 
     private final ReadService readService;
     private final Db2RestConfigProperties db2RestConfigProperties;
+    private final JsonRowStreamWriter jsonRowStreamWriter;
+    private final ArrowRowStreamWriter arrowRowStreamWriter;
+    private final ResponseCache responseCache;
 
     @GetMapping(value = VERSION + "/{dbId}/{tableName}", produces = "application/json")
     public Object findAll(
@@ -35,10 +51,49 @@ public class ReadController {
             @RequestParam(required = false, defaultValue = "") String filter,
             @RequestParam(name = "sort", required = false, defaultValue = "") List<String> sorts,
             @RequestParam(required = false, defaultValue = "-1") int limit,
-            @RequestParam(required = false, defaultValue = "-1") long offset) {
+            @RequestParam(required = false, defaultValue = "-1") long offset,
+            WebRequest webRequest) {
 
         log.debug("filter - {}", filter);
 
+        CachedResponse<Object> response = responseCache.get(dbId, tableName,
+                Arrays.asList("read", schemaName, fields, filter, List.copyOf(sorts), limit, offset),
+                () -> readService.findAll(ReadContext.builder()
+                        .dbId(dbId)
+                        .schemaName(schemaName)
+                        .tableName(tableName)
+                        .fields(fields)
+                        .filter(filter)
+                        .sorts(sorts)
+                        .limit(limit)
+                        .defaultFetchLimit(db2RestConfigProperties.getDefaultFetchLimit())
+                        .offset(offset)
+                        .build()));
+
+        if (Objects.nonNull(response.etag()) && webRequest.checkNotModified(response.etag())) {
+            return null;
+        }
+
+        return response.body();
+    }
+
+    @GetMapping(value = VERSION + "/{dbId}/{tableName}", params = "cursor", produces = "application/json")
+    public CursorPageResponse findPage(
+            @PathVariable String dbId,
+            @PathVariable String tableName,
+            @RequestHeader(name = "Accept-Profile", required = false) String schemaName,
+            @RequestParam(required = false, defaultValue = "*") String fields,
+            @RequestParam(required = false, defaultValue = "") String filter,
+            @RequestParam(name = "sort", required = false, defaultValue = "") List<String> sorts,
+            @RequestParam(required = false, defaultValue = "-1") int limit,
+            @RequestParam String cursor,
+            @RequestParam(required = false) String total) {
+
+        //counting the rows would cost the full scan the cursor avoids
+        if (Objects.nonNull(total)) {
+            throw new GenericDataAccessException("A total is not available with a cursor, use offset pagination.");
+        }
+
         ReadContext readContext = ReadContext.builder()
                 .dbId(dbId)
                 .schemaName(schemaName)
@@ -48,11 +103,39 @@ public class ReadController {
                 .sorts(sorts)
                 .limit(limit)
                 .defaultFetchLimit(db2RestConfigProperties.getDefaultFetchLimit())
-                .offset(offset)
+                .offset(-1)
+                .keyset(true)
+                .cursor(cursor)
                 .build();
 
+        return readService.findPage(readContext);
+    }
+
+    @GetMapping(value = VERSION + "/{dbId}/{tableName}", params = {"total", "!cursor"}, produces = "application/json")
+    public PageResponse findAllWithTotal(
+            @PathVariable String dbId,
+            @PathVariable String tableName,
+            @RequestHeader(name = "Accept-Profile", required = false) String schemaName,
+            @RequestParam(required = false, defaultValue = "*") String fields,
+            @RequestParam(required = false, defaultValue = "") String filter,
+            @RequestParam(name = "sort", required = false, defaultValue = "") List<String> sorts,
+            @RequestParam(required = false, defaultValue = "-1") int limit,
+            @RequestParam(required = false, defaultValue = "-1") long offset,
+            @RequestParam String total) {
 
-        return readService.findAll(readContext);
+        ReadContext readContext = ReadContext.builder()
+                .dbId(dbId)
+                .schemaName(schemaName)
+                .tableName(tableName)
+                .fields(fields)
+                .filter(filter)
+                .sorts(sorts)
+                .limit(limit)
+                .defaultFetchLimit(db2RestConfigProperties.getDefaultFetchLimit())
+                .offset(offset)
+                .build();
+
+        return readService.findAllWithTotal(readContext, TotalStrategy.of(total));
     }
 
     @PostMapping(value = VERSION + "/{dbId}/{tableName}/_expand", produces = "application/json")
@@ -83,4 +166,120 @@ public class ReadController {
         return readService.findAll(readContext);
     }
 
+    @GetMapping(value = VERSION + "/{dbId}/{tableName}", params = "stream=true",
+            produces = {"application/json", JsonRowStreamWriter.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamAll(
+            @PathVariable String dbId,
+            @PathVariable String tableName,
+            @RequestHeader(name = "Accept-Profile", required = false) String schemaName,
+            @RequestHeader(name = "Accept", required = false) String accept,
+            @RequestParam(required = false, defaultValue = "*") String fields,
+            @RequestParam(required = false, defaultValue = "") String filter,
+            @RequestParam(name = "sort", required = false, defaultValue = "") List<String> sorts,
+            @RequestParam(required = false, defaultValue = "-1") int limit,
+            @RequestParam(required = false, defaultValue = "-1") long offset) {
+
+        ReadContext readContext = ReadContext.builder()
+                .dbId(dbId)
+                .schemaName(schemaName)
+                .tableName(tableName)
+                .fields(fields)
+                .filter(filter)
+                .sorts(sorts)
+                .limit(limit)
+                .defaultFetchLimit(db2RestConfigProperties.getDefaultFetchLimit())
+                .fetchSize(db2RestConfigProperties.getStreaming().getFetchSize())
+                .offset(offset)
+                .build();
+
+        return jsonRowStreamWriter.write(readService.stream(readContext), accept);
+    }
+
+    @PostMapping(value = VERSION + "/{dbId}/{tableName}/_expand", params = "stream=true",
+            produces = {"application/json", JsonRowStreamWriter.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> stream(
+            @PathVariable String dbId,
+            @PathVariable String tableName,
+            @RequestHeader(name = "Accept-Profile", required = false) String schemaName,
+            @RequestHeader(name = "Accept", required = false) String accept,
+            @RequestParam(required = false, defaultValue = "*") String fields,
+            @RequestParam(required = false, defaultValue = "") String filter,
+            @RequestParam(name = "sort", required = false, defaultValue = "") List<String> sorts,
+            @RequestParam(required = false, defaultValue = "-1") int limit,
+            @RequestParam(required = false, defaultValue = "-1") long offset,
+            @RequestBody List<JoinDetail> joins
+    ) {
+        ReadContext readContext = ReadContext.builder()
+                .dbId(dbId)
+                .schemaName(schemaName)
+                .tableName(tableName)
+                .fields(fields)
+                .filter(filter)
+                .sorts(sorts)
+                .limit(limit)
+                .defaultFetchLimit(db2RestConfigProperties.getDefaultFetchLimit())
+                .fetchSize(db2RestConfigProperties.getStreaming().getFetchSize())
+                .offset(offset)
+                .joins(joins)
+                .build();
+
+        return jsonRowStreamWriter.write(readService.stream(readContext), accept);
+    }
+
+    @GetMapping(value = VERSION + "/{dbId}/{tableName}", produces = ArrowRowStreamWriter.APPLICATION_ARROW_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> findAllArrow(
+            @PathVariable String dbId,
+            @PathVariable String tableName,
+            @RequestHeader(name = "Accept-Profile", required = false) String schemaName,
+            @RequestParam(required = false, defaultValue = "*") String fields,
+            @RequestParam(required = false, defaultValue = "") String filter,
+            @RequestParam(name = "sort", required = false, defaultValue = "") List<String> sorts,
+            @RequestParam(required = false, defaultValue = "-1") int limit,
+            @RequestParam(required = false, defaultValue = "-1") long offset) {
+
+        ReadContext readContext = ReadContext.builder()
+                .dbId(dbId)
+                .schemaName(schemaName)
+                .tableName(tableName)
+                .fields(fields)
+                .filter(filter)
+                .sorts(sorts)
+                .limit(limit)
+                .defaultFetchLimit(db2RestConfigProperties.getDefaultFetchLimit())
+                .fetchSize(db2RestConfigProperties.getStreaming().getFetchSize())
+                .offset(offset)
+                .build();
+
+        return arrowRowStreamWriter.write(readService.stream(readContext));
+    }
+
+    @PostMapping(value = VERSION + "/{dbId}/{tableName}/_expand", produces = ArrowRowStreamWriter.APPLICATION_ARROW_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> findArrow(
+            @PathVariable String dbId,
+            @PathVariable String tableName,
+            @RequestHeader(name = "Accept-Profile", required = false) String schemaName,
+            @RequestParam(required = false, defaultValue = "*") String fields,
+            @RequestParam(required = false, defaultValue = "") String filter,
+            @RequestParam(name = "sort", required = false, defaultValue = "") List<String> sorts,
+            @RequestParam(required = false, defaultValue = "-1") int limit,
+            @RequestParam(required = false, defaultValue = "-1") long offset,
+            @RequestBody List<JoinDetail> joins
+    ) {
+        ReadContext readContext = ReadContext.builder()
+                .dbId(dbId)
+                .schemaName(schemaName)
+                .tableName(tableName)
+                .fields(fields)
+                .filter(filter)
+                .sorts(sorts)
+                .limit(limit)
+                .defaultFetchLimit(db2RestConfigProperties.getDefaultFetchLimit())
+                .fetchSize(db2RestConfigProperties.getStreaming().getFetchSize())
+                .offset(offset)
+                .joins(joins)
+                .build();
+
+        return arrowRowStreamWriter.write(readService.stream(readContext));
+    }
+
 }
@@ -3,16 +3,20 @@ package com.homihq.db2rest.jdbc.rest.sql;
 import com.homihq.db2rest.core.exception.PathVariableNamesMissingException;
 import com.homihq.db2rest.core.exception.PathVariableValuesMissingException;
 import com.homihq.db2rest.jdbc.core.service.SQLTemplateExecutorService;
+import com.homihq.db2rest.jdbc.rest.ArrowRowStreamWriter;
+import com.homihq.db2rest.jdbc.rest.JsonRowStreamWriter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.MatrixVariable;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -27,6 +31,8 @@ import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
 @Tag(name = "Parameterized SQL Template  ", description = "Details about schemas and tables")
 public class SQLTemplateController {
     private final SQLTemplateExecutorService sqlTemplateExecutorService;
+    private final JsonRowStreamWriter jsonRowStreamWriter;
+    private final ArrowRowStreamWriter arrowRowStreamWriter;
 
     @GetMapping({
             VERSION + "/{dbId}/sql/{fileName}/{*userPathVariable}"
@@ -46,6 +52,42 @@ public class SQLTemplateController {
 
     }
 
+    @GetMapping(value = {
+            VERSION + "/{dbId}/sql/{fileName}/{*userPathVariable}"
+    }, params = "stream=true", produces = {"application/json", JsonRowStreamWriter.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamSqlTemplate(@PathVariable String dbId,
+                                                                   @PathVariable String fileName,
+                                                                   @PathVariable(name = "userPathVariable") String userPathVariable,
+                                                                   @RequestParam Map<String, String> requestParams,
+                                                                   @RequestHeader Map<String, String> requestHeaders,
+                                                                   @RequestHeader(name = "Accept", required = false) String accept,
+                                                                   @MatrixVariable Map<String, String> matrixVariables
+    ) {
+        final Map<String, Object> context = createContext(userPathVariable, requestParams, requestHeaders, matrixVariables);
+
+        log.debug("context - {}", context);
+
+        return jsonRowStreamWriter.write(
+                sqlTemplateExecutorService.stream(dbId, fileName, context), accept);
+    }
+
+    @GetMapping(value = {
+            VERSION + "/{dbId}/sql/{fileName}/{*userPathVariable}"
+    }, produces = ArrowRowStreamWriter.APPLICATION_ARROW_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> sqlTemplateArrow(@PathVariable String dbId,
+                                                                  @PathVariable String fileName,
+                                                                  @PathVariable(name = "userPathVariable") String userPathVariable,
+                                                                  @RequestParam Map<String, String> requestParams,
+                                                                  @RequestHeader Map<String, String> requestHeaders,
+                                                                  @MatrixVariable Map<String, String> matrixVariables
+    ) {
+        final Map<String, Object> context = createContext(userPathVariable, requestParams, requestHeaders, matrixVariables);
+
+        log.debug("context - {}", context);
+
+        return arrowRowStreamWriter.write(sqlTemplateExecutorService.stream(dbId, fileName, context));
+    }
+
     private Map<String, Object> createContext(
             String userPathVariable,
             Map<String, String> requestParams,
@@ -0,0 +1,56 @@
+package com.homihq.db2rest.jdbc.rest.update;
+
+import com.homihq.db2rest.bulk.DataProcessor;
+import com.homihq.db2rest.bulk.FileSubject;
+import com.homihq.db2rest.bulk.MediaTypes;
+import com.homihq.db2rest.core.dto.UpdateBulkResponse;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import com.homihq.db2rest.jdbc.core.service.UpdateService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+
+/**
+ * Updates many rows in one request, every row carries its primary key and the columns it changes.
+ */
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+public class BulkUpdateController {
+
+    private final UpdateService updateService;
+    private final List<DataProcessor> dataProcessors;
+
+    @PatchMapping(value = VERSION + "/{dbId}/{tableName}/bulk", consumes = {"application/json", "application/x-ndjson", "text/csv"})
+    public UpdateBulkResponse save(@PathVariable String dbId,
+                                   @PathVariable String tableName,
+                                   @RequestHeader(name = "Content-Profile", required = false) String schemaName,
+                                   HttpServletRequest request) throws Exception {
+
+        DataProcessor dataProcessor = dataProcessors.stream()
+                .filter(d -> d.handle(request.getContentType()))
+                .findFirst().orElseThrow(() -> new GenericDataAccessException("Unable to process content type : "
+                        + request.getContentType()));
+
+        InputStream body = MediaTypes.decode(request.getInputStream(), request.getHeader("Content-Encoding"));
+
+        //streaming processors hand the rows over chunk by chunk instead of reading the whole body
+        if (dataProcessor instanceof FileSubject fileSubject) {
+            return updateService.patchBulkStream(dbId, schemaName, tableName, fileSubject, body);
+        }
+
+        List<Map<String, Object>> data = dataProcessor.getData(body);
+
+        return updateService.patchBulk(dbId, schemaName, tableName, data);
+    }
+}
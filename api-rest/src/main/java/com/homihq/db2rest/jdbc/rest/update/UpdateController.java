@@ -1,14 +1,17 @@
 package com.homihq.db2rest.jdbc.rest.update;
 
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
 import com.homihq.db2rest.core.dto.UpdateResponse;
 import com.homihq.db2rest.jdbc.core.service.UpdateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
@@ -33,4 +36,17 @@ public class UpdateController {
         int rows = updateService.patch(dbId, schemaName, tableName, data, filter);
         return new UpdateResponse(rows);
     }
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PatchMapping(value = VERSION + "/{dbId}/{tableName}", params = "chunked=true")
+    public BulkLoadJobStatus saveChunked(@PathVariable String dbId,
+                                         @PathVariable String tableName,
+                                         @RequestHeader(name = "Content-Profile", required = false) String schemaName,
+                                         @RequestBody Map<String, Object> data,
+                                         @RequestParam(name = "filter", required = false, defaultValue = "") String filter,
+                                         @RequestParam(name = "batchSize", required = false) Integer batchSize,
+                                         @RequestParam(name = "pauseMillis", required = false) Long pauseMillis) {
+
+        return updateService.patchChunked(dbId, schemaName, tableName, data, filter, batchSize, pauseMillis);
+    }
 }
@@ -0,0 +1,86 @@
+package com.homihq.db2rest.jdbc.bulk;
+
+import com.homihq.db2rest.config.BulkIngestProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveBatchSizerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BulkIngestProperties properties = new BulkIngestProperties();
+
+    private AdaptiveBatchSizer sizer() {
+        return new AdaptiveBatchSizer(properties, new BulkIngestMetrics(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("Fast batches grow the size by doubling up to the maximum")
+    void growsForFastBatches() {
+        AdaptiveBatchSizer sizer = sizer();
+        assertEquals(500, sizer.rows("db", "film"));
+
+        sizer.written("db", "film", 500, 500, MILLIS);
+        assertEquals(1000, sizer.rows("db", "film"));
+
+        for (int i = 0; i < 10; i++) {
+            sizer.written("db", "film", sizer.rows("db", "film"), 500, MILLIS);
+        }
+        assertEquals(10_000, sizer.rows("db", "film"));
+        assertEquals(10_000, meterRegistry.get("db2rest.bulk.ingest.batch.size")
+                .tag("table", "film").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Slow batches shrink the size towards the target duration")
+    void shrinksForSlowBatches() {
+        AdaptiveBatchSizer sizer = sizer();
+
+        //1 ms per row, 250 rows take the 250 ms target
+        sizer.written("db", "film", 500, 500, 500 * MILLIS);
+        assertEquals(250, sizer.rows("db", "film"));
+
+        sizer.written("db", "film", 250, 250, 250 * MILLIS);
+        assertEquals(250, sizer.rows("db", "film"));
+        assertEquals(500, sizer.rows("db", "actor"));
+    }
+
+    @Test
+    @DisplayName("Wide rows are limited by the bytes of a batch")
+    void limitsBytes() {
+        properties.setBatchMaxBytes(1024 * 1024);
+        AdaptiveBatchSizer sizer = sizer();
+
+        sizer.written("db", "film", 500, 500 * 16 * 1024L, MILLIS);
+        assertEquals(64, sizer.rows("db", "film"));
+    }
+
+    @Test
+    @DisplayName("Batches of multi row inserts are whole statements")
+    void roundsToStatements() {
+        AdaptiveBatchSizer sizer = sizer();
+
+        assertEquals(480, sizer.rows("db", "film", 120));
+        assertEquals(700, sizer.rows("db", "film", 700));
+    }
+
+    @Test
+    @DisplayName("Bytes are estimated from the bound values")
+    void estimatesBytes() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("title", "ACADEMY");
+        row.put("length", 86);
+        row.put("poster", new byte[100]);
+        row.put("rating", null);
+
+        assertEquals(2 * (7 + 8 + 100 + 1), AdaptiveBatchSizer.estimateBytes(List.of(row, row)));
+    }
+}
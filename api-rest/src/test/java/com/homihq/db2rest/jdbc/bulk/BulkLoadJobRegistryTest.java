@@ -0,0 +1,84 @@
+package com.homihq.db2rest.jdbc.bulk;
+
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkLoadJobRegistryTest {
+
+    @Test
+    @DisplayName("A resumed job the executor rejects keeps its state and can be resumed later")
+    void rejectedResume() throws Exception {
+        BulkLoadJobRegistry registry = new BulkLoadJobRegistry(1, 1, 60);
+
+        TestJob failing = registry.submit(new TestJob(new CountDownLatch(0), 1));
+        awaitFinished(failing);
+        assertEquals(BackgroundJob.State.FAILED, failing.getState());
+
+        //one job runs, one waits, the queue is full
+        CountDownLatch release = new CountDownLatch(1);
+        TestJob running = registry.submit(new TestJob(release, 0));
+        for (int i = 0; i < 500 && running.getState() != BackgroundJob.State.RUNNING; i++) {
+            Thread.sleep(10);
+        }
+        TestJob waiting = registry.submit(new TestJob(release, 0));
+
+        assertThrows(GenericDataAccessException.class, () -> registry.resume("db", failing.getId()));
+        assertEquals(BackgroundJob.State.FAILED, failing.getState());
+        assertEquals("failed run 1", failing.status().error());
+
+        release.countDown();
+        awaitFinished(running);
+        awaitFinished(waiting);
+
+        registry.resume("db", failing.getId());
+        awaitFinished(failing);
+        assertEquals(BackgroundJob.State.COMPLETED, failing.getState());
+        assertEquals(2, failing.runs.get());
+    }
+
+    private static void awaitFinished(BackgroundJob job) throws InterruptedException {
+        for (int i = 0; i < 500 && !job.getState().isFinished(); i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class TestJob extends BackgroundJob {
+
+        private final CountDownLatch release;
+        private final int failedRuns;
+        private final AtomicInteger runs = new AtomicInteger();
+
+        TestJob(CountDownLatch release, int failedRuns) {
+            super("db", "film", "upload");
+            this.release = release;
+            this.failedRuns = failedRuns;
+        }
+
+        @Override
+        protected void execute() {
+            int run = runs.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (run <= failedRuns) {
+                throw new GenericDataAccessException("failed run " + run);
+            }
+        }
+
+        @Override
+        public BulkLoadJobStatus status() {
+            return new BulkLoadJobStatus(getId(), getDbId(), getTableName(), getOperation(), getState().name(),
+                    rowsCommitted.get(), 0, 0, 0, 0, null, getError());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.homihq.db2rest.jdbc.core.row;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.dialect.PostGreSQLDialect;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares decoding a wide result set with the per result set {@link RowDecoder} against the
+ * previous per cell mapping (metadata lookup and type name check for every value).
+ * <p>
+ * Runs only with {@code -Dbenchmark=true}, it needs no database.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RowDecoderBenchmarkTest {
+
+    private static final int COLUMNS = 40;
+    private static final int ROWS = 2_000;
+    private static final int ROUNDS = 200;
+
+    private final Dialect dialect = new PostGreSQLDialect(new ObjectMapper());
+
+    @Test
+    @DisplayName("Row decoder produces the same rows with less work per cell")
+    void compareWithPerCellMapping() throws Exception {
+        LegacyRowMapper legacyRowMapper = new LegacyRowMapper(dialect);
+
+        List<Map<String, Object>> legacyRows = readLegacy(legacyRowMapper);
+        RowSet rowSet = readDecoded();
+
+        assertEquals(legacyRows.size(), rowSet.size());
+        for (int i = 0; i < legacyRows.size(); i++) {
+            assertArrayEquals(legacyRows.get(i).values().toArray(), rowSet.rows().get(i));
+        }
+
+        Result legacy = measure(() -> readLegacy(legacyRowMapper));
+        Result decoded = measure(this::readDecoded);
+
+        System.out.printf("legacy  : %,d rows/s, %,d bytes/row%n", legacy.rowsPerSecond(), legacy.bytesPerRow());
+        System.out.printf("decoder : %,d rows/s, %,d bytes/row%n", decoded.rowsPerSecond(), decoded.bytesPerRow());
+    }
+
+    private List<Map<String, Object>> readLegacy(LegacyRowMapper rowMapper) throws SQLException {
+        ResultSet rs = resultSet();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        int rowNum = 0;
+        while (rs.next()) {
+            rows.add(rowMapper.mapRow(rs, rowNum++));
+        }
+        return rows;
+    }
+
+    private RowSet readDecoded() throws SQLException {
+        return new RowSetExtractor(dialect).extractData(resultSet());
+    }
+
+    private Result measure(Read read) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < ROUNDS / 4; i++) {
+            read.run();
+        }
+
+        long bytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            read.run();
+        }
+        long nanos = System.nanoTime() - start;
+        bytes = threadMXBean.getThreadAllocatedBytes(threadId) - bytes;
+
+        long rows = (long) ROWS * ROUNDS;
+        return new Result(rows * 1_000_000_000L / Math.max(nanos, 1), bytes / rows);
+    }
+
+    /*
+     * Wide synthetic result set, columns alternate between int, varchar and timestamp.
+     * Metadata calls are answered the same way a driver would, without caching.
+     */
+    private ResultSet resultSet() {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> COLUMNS;
+                    case "getColumnLabel", "getColumnName" -> "column_" + args[0];
+                    case "getColumnType" -> sqlType((int) args[0]);
+                    case "getColumnTypeName" -> typeName((int) args[0]);
+                    case "getColumnClassName" -> Object.class.getName();
+                    case "getPrecision", "getScale" -> 0;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        Timestamp timestamp = new Timestamp(0);
+        int[] row = {0};
+
+        return (ResultSet) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++row[0] <= ROWS;
+                    case "getMetaData" -> metaData;
+                    case "getObject", "getString" -> value((int) args[0], row[0], timestamp);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static int sqlType(int index) {
+        return switch (index % 3) {
+            case 0 -> Types.INTEGER;
+            case 1 -> Types.VARCHAR;
+            default -> Types.TIMESTAMP;
+        };
+    }
+
+    private static String typeName(int index) {
+        return switch (index % 3) {
+            case 0 -> "int4";
+            case 1 -> "varchar";
+            default -> "timestamp";
+        };
+    }
+
+    private static Object value(int index, int row, Timestamp timestamp) {
+        return switch (index % 3) {
+            case 0 -> row;
+            case 1 -> "value";
+            default -> timestamp;
+        };
+    }
+
+    @FunctionalInterface
+    private interface Read {
+        Object run() throws Exception;
+    }
+
+    private record Result(long rowsPerSecond, long bytesPerRow) {
+    }
+
+    //the mapping rows went through before the row decoder
+    private static class LegacyRowMapper extends ColumnMapRowMapper {
+
+        private final Dialect dialect;
+
+        LegacyRowMapper(Dialect dialect) {
+            this.dialect = dialect;
+        }
+
+        @Override
+        protected Object getColumnValue(ResultSet rs, int index) throws SQLException {
+            String columnType = rs.getMetaData().getColumnTypeName(index);
+
+            if ("_varchar".equalsIgnoreCase(columnType)) {
+                return dialect.convertToStringArray(rs.getArray(index));
+            }
+            if ("json".equalsIgnoreCase(columnType) || "jsonb".equalsIgnoreCase(columnType)) {
+                return dialect.convertJsonToVO(rs.getObject(index));
+            }
+
+            return super.getColumnValue(rs, index);
+        }
+    }
+}
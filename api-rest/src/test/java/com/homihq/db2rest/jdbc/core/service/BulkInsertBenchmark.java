@@ -0,0 +1,78 @@
+package com.homihq.db2rest.jdbc.core.service;
+
+import com.homihq.db2rest.config.BulkIngestProperties;
+import com.homihq.db2rest.core.dto.CreateBulkResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares bulk creating director rows with multi row inserts against the JDBC batch of
+ * single row inserts. Directors have TSID keys, so every dialect can use multi row inserts.
+ * <p>
+ * Driven by the per dialect benchmark tests, which run only with {@code -Dbenchmark=true}.
+ */
+public final class BulkInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int ROUNDS = 3;
+    private static final String LAST_NAME = "Benchmark";
+
+    private BulkInsertBenchmark() {
+    }
+
+    public static void run(String dbId, String tableName,
+                           BulkCreateService bulkCreateService, BulkIngestProperties bulkIngestProperties,
+                           JdbcTemplate jdbcTemplate) {
+        boolean multiRowInsert = bulkIngestProperties.isMultiRowInsert();
+        try {
+            bulkIngestProperties.setMultiRowInsert(false);
+            long batch = measure(dbId, tableName, bulkCreateService, jdbcTemplate);
+
+            bulkIngestProperties.setMultiRowInsert(true);
+            long multiRow = measure(dbId, tableName, bulkCreateService, jdbcTemplate);
+
+            System.out.printf("%s single row batch : %,d rows/s%n", dbId, batch);
+            System.out.printf("%s multi row insert : %,d rows/s%n", dbId, multiRow);
+        } finally {
+            bulkIngestProperties.setMultiRowInsert(multiRowInsert);
+        }
+    }
+
+    private static long measure(String dbId, String tableName,
+                                BulkCreateService bulkCreateService, JdbcTemplate jdbcTemplate) {
+        //warm up
+        insert(dbId, tableName, bulkCreateService, jdbcTemplate, ROWS / 10);
+
+        long nanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            nanos += insert(dbId, tableName, bulkCreateService, jdbcTemplate, ROWS);
+        }
+        return (long) ROWS * ROUNDS * 1_000_000_000L / Math.max(nanos, 1);
+    }
+
+    private static long insert(String dbId, String tableName,
+                               BulkCreateService bulkCreateService, JdbcTemplate jdbcTemplate, int rows) {
+        List<Map<String, Object>> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("first_name", "Director " + i);
+            row.put("last_name", LAST_NAME);
+            data.add(row);
+        }
+
+        long start = System.nanoTime();
+        CreateBulkResponse response =
+                bulkCreateService.saveBulk(dbId, null, tableName, null, data, true, null, false, null);
+        long nanos = System.nanoTime() - start;
+
+        assertEquals(rows, response.rows().length);
+        jdbcTemplate.update("DELETE FROM " + tableName + " WHERE last_name = ?", LAST_NAME);
+        return nanos;
+    }
+}
@@ -0,0 +1,143 @@
+package com.homihq.db2rest.jdbc.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.config.BulkIngestProperties;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.bulk.BackgroundJob;
+import com.homihq.db2rest.jdbc.bulk.BulkLoadJobRegistry;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
+import com.homihq.db2rest.jdbc.config.dialect.MsSQLServerDialect;
+import com.homihq.db2rest.jdbc.config.dialect.PostGreSQLDialect;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
+import com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JdbcChunkedWriterTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final List<String> KEYS = List.of("actor_id", "film_id");
+
+    @Test
+    @DisplayName("Batches of composite keys fit in the bind parameters of the database")
+    void batchSizeLimit() {
+        List<DbColumn> keyColumns = List.of(column("actor_id"), column("film_id"));
+        MsSQLServerDialect msSQLServerDialect = new MsSQLServerDialect(OBJECT_MAPPER);
+
+        assertEquals(JdbcChunkedWriter.MAX_BATCH_SIZE,
+                JdbcChunkedWriter.maxBatchSize(msSQLServerDialect, List.of(column("film_id")), Map.of()));
+        assertEquals(JdbcChunkedWriter.MAX_BATCH_SIZE,
+                JdbcChunkedWriter.maxBatchSize(new PostGreSQLDialect(OBJECT_MAPPER), keyColumns, Map.of()));
+        assertEquals(1000, JdbcChunkedWriter.maxBatchSize(msSQLServerDialect, keyColumns, Map.of()));
+
+        //the filter and the statement take their share, a collection one parameter per element
+        assertEquals(949, JdbcChunkedWriter.maxBatchSize(msSQLServerDialect, keyColumns,
+                Map.of("f_film_id", Collections.nCopies(100, 1), "last_update", "now")));
+        assertEquals(0, JdbcChunkedWriter.maxBatchSize(msSQLServerDialect, keyColumns,
+                Map.of("f_film_id", Collections.nCopies(2000, 1))));
+    }
+
+    @Test
+    @DisplayName("Keys after the last one are a range on the leading key column")
+    void afterKey() {
+        assertEquals("(actor_id, film_id) > (:chunk_last_0, :chunk_last_1)",
+                JdbcChunkedWriter.renderAfterKey(new PostGreSQLDialect(OBJECT_MAPPER), KEYS));
+        assertEquals("actor_id >= :chunk_last_0 AND ((actor_id > :chunk_last_0) "
+                        + "OR (actor_id = :chunk_last_0 AND film_id > :chunk_last_1))",
+                JdbcChunkedWriter.renderAfterKey(new MsSQLServerDialect(OBJECT_MAPPER), KEYS));
+        assertEquals("film_id > :chunk_last_0",
+                JdbcChunkedWriter.renderAfterKey(new MsSQLServerDialect(OBJECT_MAPPER), List.of("film_id")));
+    }
+
+    @Test
+    @DisplayName("A row changed after its keys were selected is only written while it still matches the filter")
+    void concurrentChange() throws Exception {
+        //film_id -> rental_rate
+        Map<Integer, Integer> rates = new ConcurrentHashMap<>(Map.of(1, 3, 2, 4, 3, 5));
+
+        JdbcManager jdbcManager = mock(JdbcManager.class);
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        TransactionTemplate txnTemplate = mock(TransactionTemplate.class);
+        when(jdbcManager.getDialect("db")).thenReturn(new PostGreSQLDialect(OBJECT_MAPPER));
+        when(jdbcManager.getNamedParameterJdbcTemplate("db")).thenReturn(jdbcTemplate);
+        when(jdbcManager.getTxnTemplate("db")).thenReturn(txnTemplate);
+        when(txnTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        SqlCreatorTemplate sqlCreatorTemplate = mock(SqlCreatorTemplate.class);
+        when(sqlCreatorTemplate.chunkKeys(eq("db"), any(), any(), any()))
+                .thenAnswer(invocation -> "SELECT film_id FROM film WHERE " + invocation.getArgument(3));
+
+        //the keys of every film rated above 2 are selected, then film 2 is marked down by another transaction
+        when(jdbcTemplate.queryForList(anyString(), anyMap())).thenAnswer(invocation -> {
+            List<Map<String, Object>> keys = rates.keySet().stream().sorted()
+                    .map(filmId -> Map.<String, Object>of("film_id", filmId))
+                    .toList();
+            rates.put(2, 1);
+            return keys;
+        });
+        //rows by their keys, and by the rental rate when the statement repeats the filter
+        when(jdbcTemplate.update(anyString(), anyMap())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            Map<String, Object> params = invocation.getArgument(1);
+            int rows = 0;
+            for (Object filmId : (List<?>) params.get("chunk_keys")) {
+                if (!sql.contains("rental_rate > :f_rental_rate")
+                        || rates.get(filmId) > ((Number) params.get("f_rental_rate")).intValue()) {
+                    rates.remove(filmId);
+                    rows++;
+                }
+            }
+            return rows;
+        });
+
+        BulkLoadJobRegistry registry = new BulkLoadJobRegistry(1, 1, 60);
+        JdbcChunkedWriter chunkedWriter = new JdbcChunkedWriter(jdbcManager, sqlCreatorTemplate,
+                mock(ResponseCache.class), new BulkIngestProperties(), registry,
+                new RsqlFilterCache(jdbcManager, new SimpleMeterRegistry(), true, false, 16));
+
+        DbTable film = new DbTable("public", "film", "public.film", "f",
+                List.of(filmColumn("film_id", true), filmColumn("rental_rate", false)), "TABLE", "\"");
+        BulkLoadJobStatus submitted = chunkedWriter.submit("db", film, "delete", "rental_rate=gt=2", 10, 0L,
+                keyWhere -> "DELETE FROM film WHERE " + keyWhere, Map.of());
+
+        BackgroundJob job = registry.get("db", submitted.jobId());
+        for (int i = 0; i < 500 && job.getState() != BackgroundJob.State.COMPLETED
+                && job.getState() != BackgroundJob.State.FAILED; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(BackgroundJob.State.COMPLETED, job.getState());
+        assertEquals(2, job.status().rowsCommitted());
+        assertEquals(Map.of(2, 1), rates);
+    }
+
+    private static DbColumn column(String name) {
+        return new DbColumn("film_actor", name, "", "fa", true, "int4", false, false,
+                Integer.class, "\"", "");
+    }
+
+    private static DbColumn filmColumn(String name, boolean pk) {
+        return new DbColumn("film", name, "", "f", pk, "int4", false, false, Integer.class, "\"", "");
+    }
+}
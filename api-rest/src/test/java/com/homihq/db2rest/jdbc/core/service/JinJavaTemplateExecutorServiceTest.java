@@ -0,0 +1,101 @@
+package com.homihq.db2rest.jdbc.core.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.config.Db2RestConfigProperties;
+import com.homihq.db2rest.config.ResponseCacheProperties;
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
+import com.homihq.db2rest.jdbc.core.DbOperationService;
+import com.homihq.db2rest.jdbc.validator.CustomPlaceholderValidators;
+import com.hubspot.jinjava.Jinjava;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class JinJavaTemplateExecutorServiceTest {
+
+    @TempDir
+    Path templates;
+
+    private ResponseCache responseCache;
+    private JinJavaTemplateExecutorService templateService;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(templates.resolve("raise_rates.sql"), "UPDATE film SET rental_rate = rental_rate * 2");
+        Files.writeString(templates.resolve("films.sql"), "-- all films\nSELECT * FROM film");
+
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        properties.setTables(List.of("*"));
+        responseCache = new ResponseCache(mock(JdbcManager.class), new SimpleMeterRegistry(), new ObjectMapper(),
+                properties);
+
+        Db2RestConfigProperties db2RestConfigProperties = new Db2RestConfigProperties();
+        db2RestConfigProperties.setTemplates(templates.toString());
+        templateService = new JinJavaTemplateExecutorService(new Jinjava(), db2RestConfigProperties,
+                mock(DbOperationService.class), mock(JdbcManager.class), new CustomPlaceholderValidators(),
+                responseCache);
+    }
+
+    @Test
+    @DisplayName("Templates that write drop the cached responses of their database")
+    void writeInvalidates() {
+        read("db");
+        read("other");
+        assertEquals(2, loads.get());
+
+        templateService.execute("db", "films", context());
+        read("db");
+        assertEquals(2, loads.get());
+
+        templateService.execute("db", "raise_rates", context());
+        read("db");
+        read("other");
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Only plain reads are taken as reads")
+    void writes() {
+        assertFalse(JinJavaTemplateExecutorService.isWrite("select * from film"));
+        assertFalse(JinJavaTemplateExecutorService.isWrite("/* films */ SELECT * FROM film FOR UPDATE"));
+        assertFalse(JinJavaTemplateExecutorService.isWrite("WITH f AS (SELECT * FROM film) SELECT * FROM f"));
+
+        assertTrue(JinJavaTemplateExecutorService.isWrite("update film set title = :params.title"));
+        assertTrue(JinJavaTemplateExecutorService.isWrite("-- SELECT\nDELETE FROM film"));
+        assertTrue(JinJavaTemplateExecutorService.isWrite("WITH d AS (DELETE FROM film RETURNING *) SELECT * FROM d"));
+        assertTrue(JinJavaTemplateExecutorService.isWrite("EXPLAIN ANALYZE DELETE FROM film"));
+    }
+
+    private void read(String dbId) {
+        responseCache.get(dbId, "film", List.of("read"), () -> {
+            loads.incrementAndGet();
+            return List.of(Map.of("film_id", 1));
+        });
+    }
+
+    private static Map<String, Object> context() {
+        Map<String, Object> context = new HashMap<>();
+        context.put("paths", Map.of());
+        context.put("params", Map.of());
+        context.put("headers", Map.of());
+        context.put("matrix", Map.of());
+        return context;
+    }
+}
@@ -0,0 +1,67 @@
+package com.homihq.db2rest.jdbc.processor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.dialect.MsSQLServerDialect;
+import com.homihq.db2rest.jdbc.config.dialect.MySQLDialect;
+import com.homihq.db2rest.jdbc.config.dialect.PostGreSQLDialect;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class KeysetProcessorTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final List<DbColumn> COLUMNS = List.of(column("rental_rate"), column("film_id"));
+
+    private final KeysetProcessor keysetProcessor = new KeysetProcessor(mock(JdbcManager.class));
+
+    @Test
+    @DisplayName("Row value comparison where the database scans it as an index range")
+    void rowValue() {
+        assertEquals("((f.rental_rate, f.film_id) > (:keyset_0, :keyset_1))",
+                seek(new PostGreSQLDialect(OBJECT_MAPPER), "ASC", "ASC"));
+        assertEquals("((f.rental_rate, f.film_id) < (:keyset_0, :keyset_1))",
+                seek(new MySQLDialect(OBJECT_MAPPER), "DESC", "DESC"));
+    }
+
+    @Test
+    @DisplayName("Expanded seek is bounded on its leading column")
+    void leadingBound() {
+        assertEquals("(f.rental_rate >= :keyset_0 AND ((f.rental_rate > :keyset_0) "
+                        + "OR (f.rental_rate = :keyset_0 AND f.film_id > :keyset_1)))",
+                seek(new MsSQLServerDialect(OBJECT_MAPPER), "ASC", "ASC"));
+        //mixed directions cannot be one row value comparison
+        assertEquals("(f.rental_rate <= :keyset_0 AND ((f.rental_rate < :keyset_0) "
+                        + "OR (f.rental_rate = :keyset_0 AND f.film_id > :keyset_1)))",
+                seek(new PostGreSQLDialect(OBJECT_MAPPER), "DESC", "ASC"));
+    }
+
+    @Test
+    @DisplayName("Single column seek is a plain comparison")
+    void singleColumn() {
+        assertEquals("((f.film_id > :keyset_0))", keysetProcessor.seekPredicate(new PostGreSQLDialect(OBJECT_MAPPER),
+                List.of(column("film_id")), List.of(sort("film_id", "ASC"))));
+    }
+
+    private String seek(Dialect dialect, String leadingDirection, String direction) {
+        return keysetProcessor.seekPredicate(dialect, COLUMNS,
+                List.of(sort("rental_rate", leadingDirection), sort("film_id", direction)));
+    }
+
+    private static DbSort sort(String column, String direction) {
+        return new DbSort("film", "f", column, direction);
+    }
+
+    private static DbColumn column(String name) {
+        return new DbColumn("film", name, "", "f", name.equals("film_id"), "int4", false, false,
+                Integer.class, "\"", "");
+    }
+}
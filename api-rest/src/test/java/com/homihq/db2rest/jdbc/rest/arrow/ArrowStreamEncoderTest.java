@@ -0,0 +1,367 @@
+package com.homihq.db2rest.jdbc.rest.arrow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.core.row.RowDecoder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The stream is read back with a decoder written from the Arrow columnar format and flatbuffers
+ * specifications, the buffers are compared to bytes worked out by hand from the same documents.
+ */
+class ArrowStreamEncoderTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    //Message, Schema, Field and RecordBatch field ids
+    private static final int MESSAGE_VERSION = 0;
+    private static final int MESSAGE_HEADER_TYPE = 1;
+    private static final int MESSAGE_HEADER = 2;
+    private static final int MESSAGE_BODY_LENGTH = 3;
+    private static final int SCHEMA_FIELDS = 1;
+    private static final int FIELD_NAME = 0;
+    private static final int FIELD_NULLABLE = 1;
+    private static final int FIELD_TYPE_TYPE = 2;
+    private static final int FIELD_TYPE = 3;
+    private static final int FIELD_CHILDREN = 5;
+    private static final int BATCH_LENGTH = 0;
+    private static final int BATCH_NODES = 1;
+    private static final int BATCH_BUFFERS = 2;
+
+    private static final String[] NAMES = {"small", "big", "real", "dbl", "price", "amount", "flag", "data",
+            "day", "at", "ts", "tstz", "name"};
+    private static final int[][] TYPES = {
+            {Types.SMALLINT, 5, 0}, {Types.BIGINT, 19, 0}, {Types.REAL, 8, 8}, {Types.DOUBLE, 17, 17},
+            {Types.NUMERIC, 10, 2}, {Types.NUMERIC, 0, 0}, {Types.BOOLEAN, 1, 0}, {Types.VARBINARY, 0, 0},
+            {Types.DATE, 13, 0}, {Types.TIME, 15, 6}, {Types.TIMESTAMP, 29, 6},
+            {Types.TIMESTAMP_WITH_TIMEZONE, 35, 6}, {Types.VARCHAR, 10, 0}};
+
+    @Test
+    @DisplayName("Every mapped type is written in the layout the format defines")
+    void everyType() throws Exception {
+        List<Message> messages = encode(NAMES, TYPES, 10,
+                new Object[]{(short) 1, 1L << 40, 1.5f, -2.25d, new BigDecimal("123.45"), new BigDecimal("0.5"),
+                        true, new byte[]{1, 2}, LocalDate.of(1970, 1, 2), LocalTime.of(0, 0, 1, 2_000),
+                        LocalDateTime.of(1970, 1, 1, 0, 0, 1, 1_000),
+                        OffsetDateTime.parse("1970-01-01T01:00:01+01:00"), "a"},
+                new Object[NAMES.length],
+                new Object[]{(short) -2, -1L, -0.5f, 1.0d, new BigDecimal("-0.01"), new BigDecimal("2"),
+                        false, new byte[0], LocalDate.of(1969, 12, 31), LocalTime.of(23, 59, 59, 999_999_000),
+                        LocalDateTime.of(1969, 12, 31, 23, 59, 59),
+                        OffsetDateTime.parse("1970-01-01T00:00:00Z"), "héllo"});
+
+        assertEquals(2, messages.size());
+
+        List<FlatTable> fields = messages.get(0).header().tables(SCHEMA_FIELDS);
+        assertEquals(NAMES.length, fields.size());
+        for (int i = 0; i < NAMES.length; i++) {
+            assertEquals(NAMES[i], fields.get(i).string(FIELD_NAME));
+            assertEquals(1, fields.get(i).getByte(FIELD_NULLABLE, 0));
+            assertEquals(0, fields.get(i).tables(FIELD_CHILDREN).size());
+        }
+
+        //Int - bitWidth, is_signed
+        assertInt(fields.get(0), 32);
+        assertInt(fields.get(1), 64);
+        //FloatingPoint - precision SINGLE, DOUBLE
+        assertEquals(1, fields.get(2).table(FIELD_TYPE).getShort(0, 0));
+        assertEquals(2, fields.get(3).table(FIELD_TYPE).getShort(0, 0));
+        //Decimal - precision, scale, bitWidth
+        assertEquals(ArrowVector.DECIMAL, fields.get(4).getByte(FIELD_TYPE_TYPE, 0));
+        assertEquals(10, fields.get(4).table(FIELD_TYPE).getInt(0, 0));
+        assertEquals(2, fields.get(4).table(FIELD_TYPE).getInt(1, 0));
+        assertEquals(128, fields.get(4).table(FIELD_TYPE).getInt(2, 128));
+        //unconstrained numeric
+        assertEquals(ArrowVector.FLOATING_POINT, fields.get(5).getByte(FIELD_TYPE_TYPE, 0));
+        assertEquals(2, fields.get(5).table(FIELD_TYPE).getShort(0, 0));
+        assertEquals(ArrowVector.BOOL, fields.get(6).getByte(FIELD_TYPE_TYPE, 0));
+        assertEquals(ArrowVector.BINARY, fields.get(7).getByte(FIELD_TYPE_TYPE, 0));
+        //Date - unit DAY, the default is MILLISECOND so it must be present
+        assertEquals(ArrowVector.DATE, fields.get(8).getByte(FIELD_TYPE_TYPE, 0));
+        assertEquals(0, fields.get(8).table(FIELD_TYPE).getShort(0, 1));
+        //Time - unit MICROSECOND, bitWidth 64
+        assertEquals(ArrowVector.TIME, fields.get(9).getByte(FIELD_TYPE_TYPE, 0));
+        assertEquals(2, fields.get(9).table(FIELD_TYPE).getShort(0, 1));
+        assertEquals(64, fields.get(9).table(FIELD_TYPE).getInt(1, 32));
+        //Timestamp - unit MICROSECOND, time zone only when the column has one
+        assertEquals(ArrowVector.TIMESTAMP, fields.get(10).getByte(FIELD_TYPE_TYPE, 0));
+        assertEquals(2, fields.get(10).table(FIELD_TYPE).getShort(0, 1));
+        assertNull(fields.get(10).table(FIELD_TYPE).string(1));
+        assertEquals(2, fields.get(11).table(FIELD_TYPE).getShort(0, 1));
+        assertEquals("UTC", fields.get(11).table(FIELD_TYPE).string(1));
+        assertEquals(ArrowVector.UTF8, fields.get(12).getByte(FIELD_TYPE_TYPE, 0));
+
+        Message batch = messages.get(1);
+        assertEquals(3, batch.header().getLong(BATCH_LENGTH, 0));
+
+        //FieldNode - length, null_count
+        long[] nodes = batch.header().structs(BATCH_NODES);
+        for (int i = 0; i < NAMES.length; i++) {
+            assertEquals(3, nodes[2 * i]);
+            assertEquals(1, nodes[2 * i + 1]);
+        }
+
+        List<String> buffers = batch.buffers();
+        assertEquals(List.of(
+                //validity then values of each column, rows 0 and 2 valid
+                "05", "01000000" + "00000000" + "feffffff",
+                "05", "0000000000010000" + "0000000000000000" + "ffffffffffffffff",
+                "05", "0000c03f" + "00000000" + "000000bf",
+                "05", "00000000000002c0" + "0000000000000000" + "000000000000f03f",
+                //12345 and -1 unscaled, 128 bit two's complement little endian
+                "05", "3930" + "00".repeat(14) + "00".repeat(16) + "ff".repeat(16),
+                "05", "000000000000e03f" + "0000000000000000" + "0000000000000040",
+                "05", "01",
+                "05", "00000000" + "02000000" + "02000000" + "02000000", "0102",
+                //days since epoch
+                "05", "01000000" + "00000000" + "ffffffff",
+                //microseconds since midnight, 1_000_002 and 86_399_999_999
+                "05", "42420f0000000000" + "0000000000000000" + "ff5fd71d14000000",
+                //microseconds since epoch of the wall clock time, 1_000_001 and -1_000_000
+                "05", "41420f0000000000" + "0000000000000000" + "c0bdf0ffffffffff",
+                //1_000_000 and 0, normalized to UTC
+                "05", "40420f0000000000" + "0000000000000000" + "0000000000000000",
+                "05", "00000000" + "01000000" + "01000000" + "07000000", "61" + "68c3a96c6c6f"),
+                buffers);
+    }
+
+    @Test
+    @DisplayName("Each batch starts with empty buffers")
+    void batches() throws Exception {
+        List<Message> messages = encode(new String[]{"id", "name"},
+                new int[][]{{Types.INTEGER, 10, 0}, {Types.VARCHAR, 10, 0}}, 2,
+                new Object[]{1, "ab"}, new Object[]{null, null}, new Object[]{3, null});
+
+        assertEquals(3, messages.size());
+
+        Message first = messages.get(1);
+        assertEquals(2, first.header().getLong(BATCH_LENGTH, 0));
+        assertArrayEquals(new long[]{2, 1, 2, 1}, first.header().structs(BATCH_NODES));
+        assertEquals(List.of("01", "01000000" + "00000000", "01", "00000000" + "02000000" + "02000000", "6162"),
+                first.buffers());
+
+        Message second = messages.get(2);
+        assertEquals(1, second.header().getLong(BATCH_LENGTH, 0));
+        assertArrayEquals(new long[]{1, 0, 1, 1}, second.header().structs(BATCH_NODES));
+        assertEquals(List.of("01", "03000000", "00", "00000000" + "00000000", ""), second.buffers());
+    }
+
+    @Test
+    @DisplayName("Decimals are rounded to the scale of the column and must fit 128 bits")
+    void decimals() {
+        ArrowVector.DecimalVector vector = new ArrowVector.DecimalVector("price", 38, 2);
+        vector.append(new BigDecimal("1.005"));
+        vector.append(new BigDecimal("-1.005"));
+        vector.append(new BigDecimal(BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE), 2));
+        vector.append(new BigDecimal(BigInteger.ONE.shiftLeft(127).negate(), 2));
+
+        assertEquals("65" + "00".repeat(15)
+                        + "9b" + "ff".repeat(15)
+                        + "ff".repeat(15) + "7f"
+                        + "00".repeat(15) + "80",
+                HexFormat.of().formatHex(vector.dataBuffers().get(0).toByteArray()));
+
+        assertThrows(GenericDataAccessException.class,
+                () -> vector.append(new BigDecimal(BigInteger.ONE.shiftLeft(127), 2)));
+    }
+
+    private static void assertInt(FlatTable field, int bitWidth) {
+        assertEquals(ArrowVector.INT, field.getByte(FIELD_TYPE_TYPE, 0));
+        assertEquals(bitWidth, field.table(FIELD_TYPE).getInt(0, 0));
+        assertEquals(1, field.table(FIELD_TYPE).getByte(1, 0));
+    }
+
+    private static List<Message> encode(String[] names, int[][] types, int batchSize, Object[]... rows)
+            throws Exception {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(names.length);
+        for (int i = 0; i < names.length; i++) {
+            when(metaData.getColumnLabel(i + 1)).thenReturn(names[i]);
+            when(metaData.getColumnType(i + 1)).thenReturn(types[i][0]);
+            when(metaData.getPrecision(i + 1)).thenReturn(types[i][1]);
+            when(metaData.getScale(i + 1)).thenReturn(types[i][2]);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArrowStreamEncoder encoder = new ArrowStreamEncoder(out, batchSize, OBJECT_MAPPER);
+        encoder.start(RowDecoder.of(metaData, mock(Dialect.class)));
+        for (Object[] row : rows) {
+            encoder.row(row);
+        }
+        encoder.finish();
+
+        return read(out.toByteArray());
+    }
+
+    /**
+     * Encapsulated messages up to the end of stream marker - continuation, metadata length,
+     * flatbuffer Message padded to 8 bytes, body of bodyLength bytes.
+     */
+    private static List<Message> read(byte[] stream) {
+        ByteBuffer in = ByteBuffer.wrap(stream).order(ByteOrder.LITTLE_ENDIAN);
+        List<Message> messages = new ArrayList<>();
+
+        while (true) {
+            assertEquals(0, in.position() % 8);
+            assertEquals(0xFFFFFFFF, in.getInt());
+            int length = in.getInt();
+            if (length == 0) {
+                assertEquals(stream.length, in.position());
+                return messages;
+            }
+            assertEquals(0, length % 8);
+
+            FlatTable message = FlatTable.root(slice(in, length));
+            //MetadataVersion V5
+            assertEquals(4, message.getShort(MESSAGE_VERSION, 0));
+            int bodyLength = (int) message.getLong(MESSAGE_BODY_LENGTH, 0);
+
+            messages.add(new Message(message.getByte(MESSAGE_HEADER_TYPE, 0), message.table(MESSAGE_HEADER),
+                    slice(in, bodyLength)));
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer in, int length) {
+        ByteBuffer slice = in.slice(in.position(), length).order(ByteOrder.LITTLE_ENDIAN);
+        in.position(in.position() + length);
+        return slice;
+    }
+
+    private record Message(int headerType, FlatTable header, ByteBuffer body) {
+
+        /**
+         * Buffers of a record batch as hex, checked to be 8 byte aligned and laid out one after
+         * the other in the body.
+         */
+        List<String> buffers() {
+            //MessageHeader RecordBatch
+            assertEquals(3, headerType);
+
+            long[] layout = header.structs(BATCH_BUFFERS);
+            List<String> buffers = new ArrayList<>();
+            int end = 0;
+            for (int i = 0; i < layout.length; i += 2) {
+                int offset = (int) layout[i];
+                int length = (int) layout[i + 1];
+                assertEquals(0, offset % 8);
+                assertEquals((end + 7) & ~7, offset);
+
+                byte[] bytes = new byte[length];
+                body.get(offset, bytes);
+                buffers.add(HexFormat.of().formatHex(bytes));
+                end = offset + length;
+            }
+            assertEquals((end + 7) & ~7, body.limit());
+            return buffers;
+        }
+    }
+
+    /**
+     * Table of a flatbuffer - soffset to its vtable first, the vtable lists the offset of every
+     * field present, absent fields take their default.
+     */
+    private record FlatTable(ByteBuffer bb, int position) {
+
+        static FlatTable root(ByteBuffer bb) {
+            return new FlatTable(bb, bb.getInt(0));
+        }
+
+        private int field(int id) {
+            int vtable = position - bb.getInt(position);
+            int vtableSize = Short.toUnsignedInt(bb.getShort(vtable));
+            return 4 + 2 * id < vtableSize ? Short.toUnsignedInt(bb.getShort(vtable + 4 + 2 * id)) : 0;
+        }
+
+        int getByte(int id, int defaultValue) {
+            int field = field(id);
+            return field == 0 ? defaultValue : Byte.toUnsignedInt(bb.get(position + field));
+        }
+
+        int getShort(int id, int defaultValue) {
+            int field = field(id);
+            return field == 0 ? defaultValue : bb.getShort(position + field);
+        }
+
+        int getInt(int id, int defaultValue) {
+            int field = field(id);
+            return field == 0 ? defaultValue : bb.getInt(position + field);
+        }
+
+        long getLong(int id, long defaultValue) {
+            int field = field(id);
+            assertTrue(field == 0 || (position + field) % 8 == 0);
+            return field == 0 ? defaultValue : bb.getLong(position + field);
+        }
+
+        FlatTable table(int id) {
+            return new FlatTable(bb, target(id));
+        }
+
+        String string(int id) {
+            if (field(id) == 0) {
+                return null;
+            }
+            int string = target(id);
+            byte[] bytes = new byte[bb.getInt(string)];
+            bb.get(string + 4, bytes);
+            assertEquals(0, bb.get(string + 4 + bytes.length));
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        List<FlatTable> tables(int id) {
+            int vector = target(id);
+            List<FlatTable> tables = new ArrayList<>();
+            for (int i = 0; i < bb.getInt(vector); i++) {
+                int slot = vector + 4 + 4 * i;
+                tables.add(new FlatTable(bb, slot + bb.getInt(slot)));
+            }
+            return tables;
+        }
+
+        /**
+         * Vector of structs of two longs, the structs aligned to 8 bytes.
+         */
+        long[] structs(int id) {
+            int vector = target(id);
+            assertEquals(0, (vector + 4) % 8);
+            long[] values = new long[2 * bb.getInt(vector)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = bb.getLong(vector + 4 + 8 * i);
+            }
+            return values;
+        }
+
+        private int target(int id) {
+            int field = field(id);
+            assertTrue(field != 0);
+            int offset = position + field;
+            return offset + bb.getInt(offset);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.homihq.db2rest.jdbc.rest.create;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.auth.AuthFilter;
+import com.homihq.db2rest.auth.ResourceAuthorizer;
+import com.homihq.db2rest.auth.apikey.ApiKeyAuthProvider;
+import com.homihq.db2rest.auth.common.AbstractAuthProvider;
+import com.homihq.db2rest.auth.common.ApiKey;
+import com.homihq.db2rest.auth.common.AuthDataProvider;
+import com.homihq.db2rest.auth.common.ResourceRole;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+import com.homihq.db2rest.exception.GlobalExceptionHandler;
+import com.homihq.db2rest.jdbc.core.service.BulkCreateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BulkLoadJobControllerTest {
+
+    private static final String API_KEY = "operator-key";
+
+    private final BulkCreateService bulkCreateService = mock(BulkCreateService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AuthDataProvider authDataProvider = mock(AuthDataProvider.class);
+        when(authDataProvider.getApiKeys()).thenReturn(List.of(new ApiKey(API_KEY, List.of("operator"), true)));
+        when(authDataProvider.getExcludedResources()).thenReturn(List.of());
+        //the operator may use every job end point, but only read and delete the film table
+        when(authDataProvider.getApiResourceRoles()).thenReturn(List.of(
+                new ResourceRole(VERSION + "/db/_jobs/**", "GET", List.of("operator")),
+                new ResourceRole(VERSION + "/db/_jobs/**", "DELETE", List.of("operator")),
+                new ResourceRole(VERSION + "/db/_jobs/**", "POST", List.of("operator")),
+                new ResourceRole(VERSION + "/db/film", "GET", List.of("operator")),
+                new ResourceRole(VERSION + "/db/film", "DELETE", List.of("operator"))));
+        AbstractAuthProvider authProvider = new ApiKeyAuthProvider(authDataProvider, new AntPathMatcher());
+
+        when(bulkCreateService.getJob("db", "film-delete")).thenReturn(job("film-delete", "film", "delete"));
+        when(bulkCreateService.getJob("db", "film-upload")).thenReturn(job("film-upload", "film", "upload"));
+        when(bulkCreateService.getJob("db", "actor-delete")).thenReturn(job("actor-delete", "actor", "delete"));
+        when(bulkCreateService.cancelJob("db", "film-delete")).thenReturn(job("film-delete", "film", "delete"));
+
+        BulkLoadJobController controller = new BulkLoadJobController(bulkCreateService,
+                new ResourceAuthorizer(Optional.of(authProvider)));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(new AuthFilter(authProvider, new ObjectMapper()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Jobs are authorized against the rules of their table")
+    void authorizedByTable() throws Exception {
+        mockMvc.perform(get(VERSION + "/db/_jobs/film-delete").header("X-API-KEY", API_KEY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tableName").value("film"));
+        mockMvc.perform(delete(VERSION + "/db/_jobs/film-delete").header("X-API-KEY", API_KEY))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(VERSION + "/db/_jobs/actor-delete").header("X-API-KEY", API_KEY))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete(VERSION + "/db/_jobs/actor-delete").header("X-API-KEY", API_KEY))
+                .andExpect(status().isUnauthorized());
+
+        //the operator may not upload to the film table
+        mockMvc.perform(post(VERSION + "/db/_jobs/film-upload/resume").header("X-API-KEY", API_KEY))
+                .andExpect(status().isUnauthorized());
+
+        verify(bulkCreateService, never()).cancelJob("db", "actor-delete");
+        verify(bulkCreateService, never()).resumeJob(any(), any());
+    }
+
+    private static BulkLoadJobStatus job(String jobId, String tableName, String operation) {
+        return new BulkLoadJobStatus(jobId, "db", tableName, operation, "FAILED", 0, 0, 0, 0, 0, null, null);
+    }
+}
@@ -0,0 +1,110 @@
+package com.homihq.db2rest.jdbc.rest.read;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.auth.AuthFilter;
+import com.homihq.db2rest.auth.ResourceAuthorizer;
+import com.homihq.db2rest.auth.apikey.ApiKeyAuthProvider;
+import com.homihq.db2rest.auth.common.AbstractAuthProvider;
+import com.homihq.db2rest.auth.common.ApiKey;
+import com.homihq.db2rest.auth.common.AuthDataProvider;
+import com.homihq.db2rest.auth.common.ResourceRole;
+import com.homihq.db2rest.config.Db2RestConfigProperties;
+import com.homihq.db2rest.jdbc.core.service.JdbcBatchReadService;
+import com.homihq.db2rest.jdbc.core.service.ReadService;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BatchReadControllerTest {
+
+    private static final String API_KEY = "reader-key";
+
+    private final ReadService readService = mock(ReadService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AuthDataProvider authDataProvider = mock(AuthDataProvider.class);
+        when(authDataProvider.getApiKeys()).thenReturn(List.of(new ApiKey(API_KEY, List.of("reader"), true)));
+        when(authDataProvider.getExcludedResources()).thenReturn(List.of());
+        //the reader may post to any path of the database, but only read the film table
+        when(authDataProvider.getApiResourceRoles()).thenReturn(List.of(
+                new ResourceRole(VERSION + "/db/*", "POST", List.of("reader")),
+                new ResourceRole(VERSION + "/db/film", "GET", List.of("reader"))));
+        AbstractAuthProvider authProvider = new ApiKeyAuthProvider(authDataProvider, new AntPathMatcher());
+
+        when(readService.findAll(any(ReadContext.class))).thenReturn(List.of(Map.of("film_id", 1)));
+
+        BatchReadController controller = new BatchReadController(new JdbcBatchReadService(readService, 4, 10),
+                new Db2RestConfigProperties(), new ResourceAuthorizer(Optional.of(authProvider)));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addFilters(new AuthFilter(authProvider, new ObjectMapper()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Reads of tables the caller may not GET fail in place without being run")
+    void forbiddenTable() throws Exception {
+        String reads = """
+                [
+                  {"table": "film"},
+                  {"table": "actor"},
+                  {"table": "film", "joins": [{"table": "actor", "on": ["actor_id==actor_id"]}]}
+                ]
+                """;
+
+        mockMvc.perform(post(VERSION + "/db/_batch")
+                        .header("X-API-KEY", API_KEY)
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content(reads))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].data", hasSize(1)))
+                .andExpect(jsonPath("$[0].error", nullValue()))
+                .andExpect(jsonPath("$[1].table").value("actor"))
+                .andExpect(jsonPath("$[1].data", nullValue()))
+                .andExpect(jsonPath("$[1].error").value("Not authorized to read actor"))
+                .andExpect(jsonPath("$[2].data", nullValue()))
+                .andExpect(jsonPath("$[2].error").value("Not authorized to read film"));
+
+        verify(readService, never()).findAll(argThat((ReadContext readContext) ->
+                "actor".equals(readContext.getTableName()) || readContext.getJoins() != null));
+    }
+
+    @Test
+    @DisplayName("Every table can be read when auth is disabled")
+    void authDisabled() throws Exception {
+        BatchReadController controller = new BatchReadController(new JdbcBatchReadService(readService, 4, 10),
+                new Db2RestConfigProperties(), new ResourceAuthorizer(Optional.empty()));
+
+        MockMvcBuilders.standaloneSetup(controller).build()
+                .perform(post(VERSION + "/db/_batch")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content("[{\"table\": \"film\"}, {\"table\": \"actor\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].error", nullValue()))
+                .andExpect(jsonPath("$[1].error", nullValue()));
+    }
+}
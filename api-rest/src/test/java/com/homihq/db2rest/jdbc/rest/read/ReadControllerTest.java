@@ -0,0 +1,61 @@
+package com.homihq.db2rest.jdbc.rest.read;
+
+import com.homihq.db2rest.config.Db2RestConfigProperties;
+import com.homihq.db2rest.exception.GlobalExceptionHandler;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
+import com.homihq.db2rest.jdbc.core.service.ReadService;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.pagination.TotalStrategy;
+import com.homihq.db2rest.jdbc.rest.ArrowRowStreamWriter;
+import com.homihq.db2rest.jdbc.rest.JsonRowStreamWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReadControllerTest {
+
+    private final ReadService readService = mock(ReadService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReadController controller = new ReadController(readService, new Db2RestConfigProperties(),
+                mock(JsonRowStreamWriter.class), mock(ArrowRowStreamWriter.class), mock(ResponseCache.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("A total with a cursor is rejected as a bad request")
+    void cursorWithTotal() throws Exception {
+        mockMvc.perform(get(VERSION + "/db/film").param("cursor", "abc").param("total", "exact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("A total is not available with a cursor, use offset pagination."));
+
+        verifyNoInteractions(readService);
+    }
+
+    @Test
+    @DisplayName("Cursor and total each select their own handler")
+    void cursorOrTotal() throws Exception {
+        mockMvc.perform(get(VERSION + "/db/film").param("total", "exact"))
+                .andExpect(status().isOk());
+        verify(readService).findAllWithTotal(any(ReadContext.class), any(TotalStrategy.class));
+
+        mockMvc.perform(get(VERSION + "/db/film").param("cursor", ""))
+                .andExpect(status().isOk());
+        verify(readService).findPage(any(ReadContext.class));
+    }
+}
@@ -0,0 +1,110 @@
+package com.homihq.db2rest.jdbc.rsql;
+
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.config.model.DbWhere;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures rendering and running a count filtered by an IN list against the size of the list,
+ * with the configured IN list threshold and with the threshold off, where only the limits of the
+ * database select the large IN list strategy. Rendering includes parsing the filter and expanding
+ * the named parameters.
+ * <p>
+ * Driven by the per dialect benchmark tests, which run only with {@code -Dbenchmark=true}.
+ */
+public final class LargeInListBenchmark {
+
+    private static final int[] SIZES = {100, 1_000, 5_000, 20_000};
+    private static final int ROUNDS = 5;
+
+    private LargeInListBenchmark() {
+    }
+
+    public static void run(String dbId, String tableName, String columnName,
+                           JdbcManager jdbcManager, RsqlFilterCache filterCache, int threshold) {
+        Dialect dialect = jdbcManager.getDialect(dbId);
+        try {
+            for (int size : SIZES) {
+                dialect.setInListThreshold(threshold);
+                Result withThreshold = measure(dbId, tableName, columnName, size, jdbcManager, filterCache);
+
+                dialect.setInListThreshold(Integer.MAX_VALUE);
+                Result withoutThreshold = measure(dbId, tableName, columnName, size, jdbcManager, filterCache);
+
+                System.out.printf("%s %,6d values, threshold %,d : %s%n", dbId, size, threshold, withThreshold);
+                System.out.printf("%s %,6d values, no threshold : %s%n", dbId, size, withoutThreshold);
+            }
+        } finally {
+            dialect.setInListThreshold(threshold);
+        }
+    }
+
+    private static Result measure(String dbId, String tableName, String columnName, int size,
+                                  JdbcManager jdbcManager, RsqlFilterCache filterCache) {
+        DbTable table = jdbcManager.getTable(dbId, null, tableName);
+        NamedParameterJdbcTemplate jdbcTemplate = jdbcManager.getNamedParameterJdbcTemplate(dbId);
+
+        long renderNanos = 0;
+        long executeNanos = 0;
+        int binds = 0;
+        for (int round = 0; round <= ROUNDS; round++) {
+            //a new filter text every round so that it is parsed every time
+            int first = round + 1;
+            String filter = IntStream.range(first, first + size)
+                    .mapToObj(String::valueOf)
+                    .collect(Collectors.joining(",", columnName + "=in=(", ")"));
+
+            long start = System.nanoTime();
+            Map<String, Object> params = new HashMap<>();
+            String where = filterCache.render(dbId, filter,
+                    new DbWhere(table.name(), table, table.buildColumns(), params, "read"));
+            String sql = "SELECT COUNT(*) FROM " + jdbcManager.getDialect(dbId).renderTableName(table, true, false)
+                    + " WHERE " + where;
+            MapSqlParameterSource parameterSource = new MapSqlParameterSource(params);
+            binds = StringUtils.countMatches(NamedParameterUtils.substituteNamedParameters(sql, parameterSource), '?');
+            long rendered = System.nanoTime();
+
+            try {
+                jdbcTemplate.queryForObject(sql, parameterSource, Long.class);
+            } catch (DataAccessException e) {
+                return Result.failed(e.getMostSpecificCause().getMessage());
+            }
+            long executed = System.nanoTime();
+
+            //the first round warms up
+            if (round > 0) {
+                renderNanos += rendered - start;
+                executeNanos += executed - rendered;
+            }
+        }
+        return new Result(renderNanos / ROUNDS / 1000, executeNanos / ROUNDS / 1000, binds, null);
+    }
+
+    private record Result(long renderMicros, long executeMicros, int binds, String error) {
+
+        static Result failed(String error) {
+            return new Result(0, 0, 0, error);
+        }
+
+        @Override
+        public String toString() {
+            if (Objects.nonNull(error)) {
+                return "fails - " + error;
+            }
+            return String.format("render %,d us, execute %,d us, %,d parameters", renderMicros, executeMicros, binds);
+        }
+    }
+}
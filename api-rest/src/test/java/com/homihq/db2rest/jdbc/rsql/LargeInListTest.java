@@ -0,0 +1,169 @@
+package com.homihq.db2rest.jdbc.rsql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.dialect.MariaDBDialect;
+import com.homihq.db2rest.jdbc.config.dialect.MsSQLServerDialect;
+import com.homihq.db2rest.jdbc.config.dialect.MySQLDialect;
+import com.homihq.db2rest.jdbc.config.dialect.OracleDialect;
+import com.homihq.db2rest.jdbc.config.dialect.PostGreSQLDialect;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.config.model.DbWhere;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.plan.ReadShape;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Renders IN lists above and below the threshold with the strategy of every dialect, the
+ * statements have to stay within the limits of the database.
+ */
+class LargeInListTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final DbTable FILM = table();
+    private static final int SIZE = 20_000;
+
+    @Test
+    @DisplayName("Oracle matches a large list as IN lists of at most 1000 values")
+    void oracle() {
+        Rendered in = render(new OracleDialect(OBJECT_MAPPER), "film_id=in=", SIZE);
+        Rendered notIn = render(new OracleDialect(OBJECT_MAPPER), "film_id=out=", 1_500);
+
+        assertEquals(20, StringUtils.countMatches(in.where(), " IN ("));
+        assertEquals(19, StringUtils.countMatches(in.where(), " OR "));
+        assertEquals(SIZE, in.binds());
+        in.params().values().forEach(chunk -> assertEquals(1_000, ((List<?>) chunk).size()));
+
+        assertEquals("(f.film_id NOT IN (:f_film_id_0) AND f.film_id NOT IN (:f_film_id_1))", notIn.where());
+        assertEquals(1_500, ((List<?>) notIn.params().get("f_film_id_1")).get(999));
+    }
+
+    @Test
+    @DisplayName("SQL Server matches a large list as one JSON parameter")
+    void msSql() {
+        Rendered id = render(new MsSQLServerDialect(OBJECT_MAPPER), "film_id=in=", SIZE);
+        Rendered title = render(new MsSQLServerDialect(OBJECT_MAPPER), "title=out=", SIZE);
+
+        assertEquals("f.film_id IN (SELECT value FROM OPENJSON(:f_film_id_0) WITH (value int '$'))", id.where());
+        assertEquals(1, id.binds());
+        assertTrue(((String) id.params().get("f_film_id_0")).startsWith("[1,2,3,"));
+
+        assertEquals("f.title NOT IN (SELECT value FROM OPENJSON(:f_title_0) WITH (value varchar(8000) '$'))",
+                title.where());
+        assertEquals(1, title.binds());
+    }
+
+    @Test
+    @DisplayName("MySQL and MariaDB match a large list against a derived table of its values")
+    void mySqlAndMariaDb() {
+        Rendered mySql = render(new MySQLDialect(OBJECT_MAPPER), "film_id=in=", SIZE);
+        Rendered mariaDb = render(new MariaDBDialect(OBJECT_MAPPER), "film_id=in=", SIZE);
+
+        assertTrue(mySql.where().startsWith("f.film_id IN (SELECT * FROM (VALUES ROW(:f_film_id_0), ROW("),
+                mySql.where().substring(0, 100));
+        assertTrue(mySql.where().endsWith(") AS in_list)"));
+        assertEquals(SIZE, mySql.binds());
+
+        assertEquals("f.film_id IN (SELECT * FROM (VALUES :f_film_id_0) AS in_list)", mariaDb.where());
+        assertEquals(SIZE, mariaDb.binds());
+        assertTrue(mariaDb.expanded().contains("VALUES (?), (?), (?)"));
+    }
+
+    @Test
+    @DisplayName("PostgreSQL keeps binding the list as one array")
+    void postgreSql() {
+        Rendered rendered = render(new PostGreSQLDialect(OBJECT_MAPPER), "title=in=", SIZE);
+
+        assertEquals("f.title = ANY(:f_title) ", rendered.where());
+        assertEquals(1, rendered.binds());
+    }
+
+    @Test
+    @DisplayName("Lists up to the threshold are bound as one IN list")
+    void threshold() {
+        Dialect dialect = new MySQLDialect(OBJECT_MAPPER);
+
+        assertEquals("f.film_id in  ( :f_film_id ) ", render(dialect, "film_id=in=", 1_000).where());
+
+        dialect.setInListThreshold(10);
+        assertEquals("f.film_id in  ( :f_film_id ) ", render(dialect, "film_id=in=", 10).where());
+        assertTrue(render(dialect, "film_id=in=", 11).where().contains("VALUES ROW("));
+
+        //the limit of the database applies whatever the threshold
+        Dialect oracle = new OracleDialect(OBJECT_MAPPER);
+        oracle.setInListThreshold(Integer.MAX_VALUE);
+        assertTrue(oracle.isLargeInList(1_001));
+        assertFalse(oracle.isLargeInList(1_000));
+        assertFalse(new PostGreSQLDialect(OBJECT_MAPPER).isLargeInList(SIZE));
+    }
+
+    @Test
+    @DisplayName("Read shapes with a large list are recognized, their plans are not cached")
+    void readShape() {
+        Dialect dialect = new OracleDialect(OBJECT_MAPPER);
+        RsqlFilterCache filterCache = filterCache(dialect);
+
+        assertTrue(ReadShape.of(readContext(filter("film_id=in=", 1_001)), filterCache).hasLargeInList(dialect));
+        assertFalse(ReadShape.of(readContext(filter("film_id=in=", 1_000)), filterCache).hasLargeInList(dialect));
+    }
+
+    private static Rendered render(Dialect dialect, String operator, int size) {
+        Map<String, Object> params = new HashMap<>();
+        String where = filterCache(dialect).render("db", filter(operator, size),
+                new DbWhere(FILM.name(), FILM, FILM.buildColumns(), params, "read"));
+        String expanded = NamedParameterUtils.substituteNamedParameters(where, new MapSqlParameterSource(params));
+
+        return new Rendered(where, params, expanded, StringUtils.countMatches(expanded, '?'));
+    }
+
+    private static String filter(String operator, int size) {
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(",", operator + "(", ")"));
+    }
+
+    private static RsqlFilterCache filterCache(Dialect dialect) {
+        JdbcManager jdbcManager = mock(JdbcManager.class);
+        when(jdbcManager.getDialect("db")).thenReturn(dialect);
+        when(jdbcManager.getTable("db", null, "film")).thenReturn(FILM);
+        return new RsqlFilterCache(jdbcManager, new SimpleMeterRegistry(), true, true, 100);
+    }
+
+    private static ReadContext readContext(String filter) {
+        return ReadContext.builder()
+                .dbId("db")
+                .tableName("film")
+                .filter(filter)
+                .build();
+    }
+
+    private static DbTable table() {
+        List<DbColumn> columns = List.of(
+                new DbColumn("film", "film_id", "", "f", true, "int", false, false, Integer.class, "\"", ""),
+                new DbColumn("film", "title", "", "f", false, "varchar", false, false, String.class, "\"", ""));
+        return new DbTable("public", "film", "public.film", "f", columns, "TABLE", "\"");
+    }
+
+    private record Rendered(String where, Map<String, Object> params, String expanded, int binds) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.homihq.db2rest.jdbc.rsql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.dialect.PostGreSQLDialect;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.config.model.DbWhere;
+import com.homihq.db2rest.jdbc.rsql.parser.RSQLParserBuilder;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
+import com.homihq.db2rest.jdbc.rsql.visitor.BaseRSQLVisitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares rendering a filter with a new parser and column lookups per request against the
+ * {@link RsqlFilterCache}, for requests that only differ in their values.
+ * <p>
+ * Runs only with {@code -Dbenchmark=true}, it needs no database.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RsqlFilterCacheBenchmarkTest {
+
+    private static final int COLUMNS = 40;
+    private static final int ROUNDS = 200_000;
+
+    private final Dialect dialect = new PostGreSQLDialect(new ObjectMapper());
+    private final DbTable table = table();
+
+    @Test
+    @DisplayName("Filter cache renders the same where condition with less work per request")
+    void compareWithParsePerRequest() throws Exception {
+        JdbcManager jdbcManager = mock(JdbcManager.class);
+        when(jdbcManager.getDialect("db")).thenReturn(dialect);
+        RsqlFilterCache filterCache = new RsqlFilterCache(jdbcManager, new SimpleMeterRegistry(), true, false, 1000);
+
+        Function<String, Rendered> legacy = filter -> {
+            Map<String, Object> params = new HashMap<>();
+            String where = RSQLParserBuilder.newRSQLParser().parse(filter)
+                    .accept(new BaseRSQLVisitor(dbWhere(params), dialect));
+            return new Rendered(where, params);
+        };
+        Function<String, Rendered> cached = filter -> {
+            Map<String, Object> params = new HashMap<>();
+            return new Rendered(filterCache.render("db", filter, dbWhere(params)), params);
+        };
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(legacy.apply(filter(i)), cached.apply(filter(i)));
+        }
+
+        Result before = measure(legacy);
+        Result after = measure(cached);
+
+        System.out.printf("parse per request : %,d filters/s, %,d bytes/filter%n",
+                before.filtersPerSecond(), before.bytesPerFilter());
+        System.out.printf("filter cache      : %,d filters/s, %,d bytes/filter%n",
+                after.filtersPerSecond(), after.bytesPerFilter());
+    }
+
+    //a handful of distinct filters as sent by a busy client, the same ones over and over
+    private static String filter(int i) {
+        return "column_1==" + (i % 8) + ";column_2=like=\"abc%\";(column_4=gt=10,column_7=in=(1,2,3))";
+    }
+
+    private DbWhere dbWhere(Map<String, Object> params) {
+        return new DbWhere(table.name(), table, table.buildColumns(), params, "read");
+    }
+
+    private Result measure(Function<String, Rendered> render) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < ROUNDS / 4; i++) {
+            render.apply(filter(i));
+        }
+
+        long bytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            render.apply(filter(i));
+        }
+        long nanos = System.nanoTime() - start;
+        bytes = threadMXBean.getThreadAllocatedBytes(threadId) - bytes;
+
+        return new Result(ROUNDS * 1_000_000_000L / Math.max(nanos, 1), bytes / ROUNDS);
+    }
+
+    private static DbTable table() {
+        List<DbColumn> columns = new ArrayList<>();
+        for (int i = 0; i < COLUMNS; i++) {
+            Class<?> type = switch (i % 3) {
+                case 0 -> String.class;
+                case 1 -> Integer.class;
+                default -> Timestamp.class;
+            };
+            columns.add(new DbColumn("film", "column_" + i, "", "f", i == 0, "varchar", false, false,
+                    type, "\"", ""));
+        }
+        return new DbTable("public", "film", "public.film", "f", columns, "TABLE", "\"");
+    }
+
+    private record Rendered(String where, Map<String, Object> params) {
+    }
+
+    private record Result(long filtersPerSecond, long bytesPerFilter) {
+    }
+}
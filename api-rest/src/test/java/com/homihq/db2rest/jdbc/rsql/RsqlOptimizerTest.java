@@ -0,0 +1,250 @@
+package com.homihq.db2rest.jdbc.rsql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.config.dialect.PostGreSQLDialect;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.config.model.DbWhere;
+import com.homihq.db2rest.jdbc.rsql.parser.RSQLParserBuilder;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlOptimizer;
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.LogicalOperator;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLOperators;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The optimized filter has to match the same rows as the filter it was rewritten from. Random
+ * filters are evaluated with SQL's three valued logic on every combination of column values.
+ */
+class RsqlOptimizerTest {
+
+    private static final DbTable FILM = table();
+
+    private static final List<String> IDS = Arrays.asList(null, "1", "2", "3", "4", "5", "6");
+    private static final List<String> STATUSES = Arrays.asList(null, "A", "B", "C", "D");
+    private static final List<String> PRICES = Arrays.asList(null, "1", "1.5", "2", "2.50");
+    private static final Map<String, List<String>> VALUES = Map.of(
+            "id", IDS,
+            "status", STATUSES,
+            "price", PRICES);
+    //values as sent by clients, with other spellings of the same number
+    private static final Map<String, List<String>> ARGUMENTS = Map.of(
+            "id", List.of("1", "2", "3", "4", "5", "6", "03"),
+            "status", List.of("A", "B", "C", "D"),
+            "price", List.of("1", "1.5", "2", "2.5", "2.50", "1.0"));
+    private static final List<ComparisonOperator> OPERATORS = List.of(RSQLOperators.EQUAL,
+            RSQLOperators.NOT_EQUAL, RSQLOperators.IN, RSQLOperators.NOT_IN, RSQLOperators.GREATER_THAN,
+            RSQLOperators.GREATER_THAN_OR_EQUAL, RSQLOperators.LESS_THAN, RSQLOperators.LESS_THAN_OR_EQUAL);
+
+    private static final int FILTERS = 5_000;
+
+    @Test
+    @DisplayName("Optimized random filters match the same rows as the original ones")
+    void equivalence() {
+        Random random = new Random(24);
+        List<Map<String, String>> rows = rows();
+
+        for (int i = 0; i < FILTERS; i++) {
+            Node filter = filter(random, 3);
+            Node optimized = RsqlOptimizer.optimize(filter, FILM);
+
+            for (Map<String, String> row : rows) {
+                assertEquals(evaluate(filter, row), evaluate(optimized, row),
+                        () -> filter + " optimized to " + optimized + " on " + row);
+            }
+            assertTrue(comparisons(optimized) <= comparisons(filter), () -> filter + " optimized to " + optimized);
+            assertEquals(optimized, RsqlOptimizer.optimize(optimized, FILM), filter::toString);
+        }
+    }
+
+    @Test
+    @DisplayName("Equalities are merged, bounds folded and primary key comparisons moved first")
+    void rewrites() {
+        assertOptimized("(status==A,status==B,status==C);id=gt=5;id=gt=10", "id=gt=10;status=in=(A,B,C)");
+        assertOptimized("status==A,status=in=(B,A),id==1", "status=in=(A,B),id==1");
+        assertOptimized("price=ge=2;price=gt=2.0;price=lt=3;price=le=2.5", "price=gt=2.0;price=le=2.5");
+        assertOptimized("price=ge=2,price=gt=1.5,price=lt=1", "price=gt=1.5,price=lt=1");
+        assertOptimized("status==A;(status==A;(name==x;name==x))", "status==A;name==x");
+        assertOptimized("((id==1))", "id==1");
+    }
+
+    @Test
+    @DisplayName("Bounds that cannot be compared are kept")
+    void keepsIncomparableBounds() {
+        assertOptimized("status=gt=A;status=gt=B", "status=gt=A;status=gt=B");
+        assertOptimized("id=gt=5;id=gt=x", "id=gt=5;id=gt=x");
+        assertOptimized("id=lt=5;id=lt=99999999999", "id=lt=5;id=lt=99999999999");
+        assertOptimized("unknown==1,unknown==2", "unknown==1,unknown==2");
+    }
+
+    @Test
+    @DisplayName("The optimized filter binds fewer parameters")
+    void fewerParameters() {
+        String filter = "(status==A,status==B,status==C);id=gt=5;id=gt=10";
+
+        Map<String, Object> params = new HashMap<>();
+        String where = filterCache(true).render("db", filter, dbWhere(params));
+        Map<String, Object> unoptimizedParams = new HashMap<>();
+        filterCache(false).render("db", filter, dbWhere(unoptimizedParams));
+
+        assertEquals(2, params.size(), where);
+        assertEquals(5, unoptimizedParams.size());
+    }
+
+    private static void assertOptimized(String filter, String expected) {
+        assertEquals(parse(expected), RsqlOptimizer.optimize(parse(filter), FILM), filter);
+    }
+
+    private static Node parse(String filter) {
+        return RSQLParserBuilder.newRSQLParser().parse(filter);
+    }
+
+    private static RsqlFilterCache filterCache(boolean optimize) {
+        JdbcManager jdbcManager = mock(JdbcManager.class);
+        when(jdbcManager.getDialect("db")).thenReturn(new PostGreSQLDialect(new ObjectMapper()));
+        return new RsqlFilterCache(jdbcManager, new SimpleMeterRegistry(), true, optimize, 100);
+    }
+
+    private static DbWhere dbWhere(Map<String, Object> params) {
+        return new DbWhere(FILM.name(), FILM, FILM.buildColumns(), params, "read");
+    }
+
+    private static Node filter(Random random, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            return comparison(random);
+        }
+
+        List<Node> children = new ArrayList<>();
+        int size = 1 + random.nextInt(4);
+        for (int i = 0; i < size; i++) {
+            children.add(filter(random, depth - 1));
+        }
+        return random.nextBoolean() ? new AndNode(children) : new OrNode(children);
+    }
+
+    private static ComparisonNode comparison(Random random) {
+        String selector = List.of("id", "status", "price").get(random.nextInt(3));
+        ComparisonOperator operator = OPERATORS.get(random.nextInt(OPERATORS.size()));
+        List<String> arguments = ARGUMENTS.get(selector);
+
+        List<String> values = new ArrayList<>();
+        int size = operator.isMultiValue() ? 1 + random.nextInt(3) : 1;
+        for (int i = 0; i < size; i++) {
+            values.add(arguments.get(random.nextInt(arguments.size())));
+        }
+        return new ComparisonNode(operator, selector, values);
+    }
+
+    private static List<Map<String, String>> rows() {
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (String id : IDS) {
+            for (String status : STATUSES) {
+                for (String price : PRICES) {
+                    Map<String, String> row = new HashMap<>();
+                    row.put("id", id);
+                    row.put("status", status);
+                    row.put("price", price);
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * @return null for unknown, as SQL evaluates comparisons with NULL
+     */
+    private static Boolean evaluate(Node node, Map<String, String> row) {
+        if (node instanceof LogicalNode logicalNode) {
+            boolean and = logicalNode.getOperator() == LogicalOperator.AND;
+            Boolean result = and;
+            for (Node child : logicalNode.getChildren()) {
+                Boolean value = evaluate(child, row);
+                if (Objects.equals(value, !and)) {
+                    return !and;
+                }
+                if (Objects.isNull(value)) {
+                    result = null;
+                }
+            }
+            return result;
+        }
+
+        ComparisonNode comparison = (ComparisonNode) node;
+        String value = row.get(comparison.getSelector());
+        if (Objects.isNull(value)) {
+            return null;
+        }
+
+        String selector = comparison.getSelector();
+        List<Integer> results = comparison.getArguments().stream()
+                .map(argument -> compare(selector, value, argument))
+                .toList();
+        ComparisonOperator operator = comparison.getOperator();
+        int result = results.get(0);
+
+        if (RSQLOperators.EQUAL.equals(operator)) {
+            return result == 0;
+        } else if (RSQLOperators.NOT_EQUAL.equals(operator)) {
+            return result != 0;
+        } else if (RSQLOperators.IN.equals(operator)) {
+            return results.contains(0);
+        } else if (RSQLOperators.NOT_IN.equals(operator)) {
+            return !results.contains(0);
+        } else if (RSQLOperators.GREATER_THAN.equals(operator)) {
+            return result > 0;
+        } else if (RSQLOperators.GREATER_THAN_OR_EQUAL.equals(operator)) {
+            return result >= 0;
+        } else if (RSQLOperators.LESS_THAN.equals(operator)) {
+            return result < 0;
+        }
+        return result <= 0;
+    }
+
+    private static int compare(String selector, String value, String argument) {
+        return switch (selector) {
+            case "id" -> Integer.compare(Integer.parseInt(value), Integer.parseInt(argument));
+            case "price" -> new BigDecimal(value).compareTo(new BigDecimal(argument));
+            default -> value.compareTo(argument);
+        };
+    }
+
+    private static int comparisons(Node node) {
+        if (node instanceof LogicalNode logicalNode) {
+            return logicalNode.getChildren().stream().mapToInt(RsqlOptimizerTest::comparisons).sum();
+        }
+        return 1;
+    }
+
+    private static DbTable table() {
+        List<DbColumn> columns = List.of(
+                new DbColumn("film", "id", "", "f", true, "int4", false, false, Integer.class, "\"", ""),
+                new DbColumn("film", "status", "", "f", false, "varchar", false, false, String.class, "\"", ""),
+                new DbColumn("film", "price", "", "f", false, "numeric", false, false, BigDecimal.class, "\"", ""),
+                new DbColumn("film", "name", "", "f", false, "varchar", false, false, String.class, "\"", ""));
+        return new DbTable("public", "film", "public.film", "f", columns, "TABLE", "\"");
+    }
+}
@@ -0,0 +1,109 @@
+package com.homihq.db2rest.jdbc.sql;
+
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbJoin;
+import com.homihq.db2rest.jdbc.config.model.DbSort;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.sql.ast.SqlAstRenderer;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Page;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Select;
+import gg.jte.ContentType;
+import gg.jte.TemplateEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares rendering a paged read with two joins through the JTE template, parameter map
+ * included, against the {@link SqlAstRenderer}.
+ * <p>
+ * Runs only with {@code -Dbenchmark=true}, it needs no database.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SqlAstRendererBenchmarkTest {
+
+    private static final int COLUMNS = 20;
+    private static final int ROUNDS = 200_000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"read", "read-mssql", "read-ora-12"})
+    @DisplayName("AST renderer renders the same read query with less work per request")
+    void compareWithTemplate(String template) {
+        TemplateEngine templateEngine = TemplateEngine.createPrecompiled(ContentType.Plain);
+        SqlCreatorTemplate jte = new SqlCreatorTemplate(templateEngine, null, new SqlAstRenderer(false));
+        SqlCreatorTemplate ast = new SqlCreatorTemplate(templateEngine, null, new SqlAstRenderer(true));
+
+        Select select = select();
+        assertEquals(jte.render(template, select), ast.render(template, select));
+
+        Result before = measure(s -> jte.render(template, s), select);
+        Result after = measure(s -> ast.render(template, s), select);
+
+        System.out.printf("%-11s jte : %,d queries/s, %,d bytes/query%n",
+                template, before.queriesPerSecond(), before.bytesPerQuery());
+        System.out.printf("%-11s ast : %,d queries/s, %,d bytes/query%n",
+                template, after.queriesPerSecond(), after.bytesPerQuery());
+    }
+
+    private Result measure(Function<Select, String> render, Select select) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < ROUNDS / 4; i++) {
+            render.apply(select);
+        }
+
+        long bytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            render.apply(select);
+        }
+        long nanos = System.nanoTime() - start;
+        bytes = threadMXBean.getThreadAllocatedBytes(threadId) - bytes;
+
+        return new Result(ROUNDS * 1_000_000_000L / Math.max(nanos, 1), bytes / ROUNDS);
+    }
+
+    private static Select select() {
+        DbTable film = table("film", "f");
+        DbTable language = table("language", "l");
+        DbTable category = table("category", "c");
+
+        return new Select(film.buildColumns(), false, film.render(),
+                List.of(join(film, language), join(film, category)),
+                "(f.column_1 = :f_column_1 AND f.column_2 LIKE :f_column_2)",
+                List.of(new DbSort("film", "f", "column_1", "ASC"), new DbSort("film", "f", "column_2", "DESC")),
+                new Page(50, 100L));
+    }
+
+    private static DbJoin join(DbTable left, DbTable right) {
+        DbJoin join = new DbJoin();
+        join.setTableName(right.fullName());
+        join.setAlias(right.alias());
+        join.setJoinType("INNER");
+        join.addOn(left.lookupColumn("column_0"), "=", right.lookupColumn("column_0"));
+        join.addAdditionalWhere(right.alias() + ".column_3 = :" + right.alias() + "_column_3");
+        return join;
+    }
+
+    private static DbTable table(String name, String alias) {
+        List<DbColumn> columns = new ArrayList<>();
+        for (int i = 0; i < COLUMNS; i++) {
+            columns.add(new DbColumn(name, "column_" + i, "", alias, i == 0, "varchar", false, false,
+                    String.class, "\"", ""));
+        }
+        return new DbTable("public", name, "public." + name, alias, columns, "TABLE", "\"");
+    }
+
+    private record Result(long queriesPerSecond, long bytesPerQuery) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.homihq.db2rest.jdbc.sql;
+
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.model.DbAlias;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbJoin;
+import com.homihq.db2rest.jdbc.config.model.DbSort;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.dto.CreateContext;
+import com.homihq.db2rest.jdbc.dto.DeleteContext;
+import com.homihq.db2rest.jdbc.dto.InsertableColumn;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.dto.UpdateContext;
+import com.homihq.db2rest.jdbc.sql.ast.SqlAstRenderer;
+import gg.jte.ContentType;
+import gg.jte.TemplateEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Renders the same statements with the {@link SqlAstRenderer} and with the JTE templates, the
+ * SQL text has to be the same to the character.
+ */
+class SqlAstRendererTest {
+
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngine.createPrecompiled(ContentType.Plain);
+
+    private static final DbTable FILM = table("film", "f");
+    private static final DbTable LANGUAGE = table("language", "l");
+
+    private final Dialect dialect = mock(Dialect.class);
+    private final SqlCreatorTemplate ast = sqlCreatorTemplate(true);
+    private final SqlCreatorTemplate jte = sqlCreatorTemplate(false);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"read", "read-mssql", "read-ora-12", "read-ora-9"})
+    @DisplayName("Read renders like its template for every combination of clauses")
+    void read(String template) {
+        when(dialect.getReadSqlTemplate()).thenReturn(template);
+
+        for (ReadContext readContext : readContexts()) {
+            assertEquals(jte.query(readContext), ast.query(readContext), readContext::toString);
+            assertEquals(jte.queryWithTotal(readContext), ast.queryWithTotal(readContext), readContext::toString);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"exists", "exists-mssql"})
+    @DisplayName("Exists renders like its template")
+    void exists(String template) {
+        when(dialect.getExistSqlTemplate()).thenReturn(template);
+
+        for (ReadContext readContext : readContexts()) {
+            assertEquals(jte.exists(readContext), ast.exists(readContext), readContext::toString);
+        }
+    }
+
+    @Test
+    @DisplayName("Count and find one render like their templates")
+    void countAndFindOne() {
+        when(dialect.getCountSqlTemplate()).thenReturn("count");
+        when(dialect.getFindOneSqlTemplate()).thenReturn("find-one");
+
+        for (ReadContext readContext : readContexts()) {
+            assertEquals(jte.count(readContext), ast.count(readContext), readContext::toString);
+            assertEquals(jte.findOne(readContext), ast.findOne(readContext), readContext::toString);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"update", "update-mssql"})
+    @DisplayName("Update renders like its template")
+    void update(String template) {
+        when(dialect.getUpdateSqlTemplate()).thenReturn(template);
+
+        for (boolean supportAlias : new boolean[]{true, false}) {
+            when(dialect.supportAlias()).thenReturn(supportAlias);
+            for (String where : Arrays.asList(null, "f.film_id = :film_id")) {
+                UpdateContext updateContext = UpdateContext.builder()
+                        .dbId("db")
+                        .table(FILM)
+                        .where(where)
+                        .updatableColumns(List.of("title", "rating"))
+                        .build();
+
+                assertEquals(jte.updateQuery(updateContext), ast.updateQuery(updateContext));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"delete", "delete-mssql"})
+    @DisplayName("Delete renders like its template")
+    void delete(String template) {
+        when(dialect.getDeleteSqlTemplate()).thenReturn(template);
+
+        for (String where : Arrays.asList(null, "", "f.film_id = :film_id")) {
+            when(dialect.renderTableName(FILM, where != null && !where.isEmpty(), true))
+                    .thenReturn("public.film f");
+            DeleteContext deleteContext = DeleteContext.builder()
+                    .dbId("db")
+                    .table(FILM)
+                    .where(where)
+                    .build();
+
+            assertEquals(jte.deleteQuery(deleteContext), ast.deleteQuery(deleteContext));
+        }
+    }
+
+    @Test
+    @DisplayName("Insert renders like its template")
+    void insert() {
+        when(dialect.getInsertSqlTemplate()).thenReturn("insert");
+
+        CreateContext createContext = new CreateContext("db", FILM, List.of("film_id", "title"),
+                List.of(new InsertableColumn("film_id", "film_seq.nextval"), new InsertableColumn("title", null)));
+
+        assertEquals(jte.create(createContext), ast.create(createContext));
+    }
+
+    @Test
+    @DisplayName("Templates without a layout and a disabled renderer are left to JTE")
+    void supports() {
+        assertTrue(new SqlAstRenderer(true).supports("read-mssql"));
+        assertFalse(new SqlAstRenderer(true).supports("chunk-keys"));
+        assertFalse(new SqlAstRenderer(true).supports("upsert-pg"));
+        assertFalse(new SqlAstRenderer(false).supports("read"));
+    }
+
+    private SqlCreatorTemplate sqlCreatorTemplate(boolean astEnabled) {
+        JdbcManager jdbcManager = mock(JdbcManager.class);
+        when(jdbcManager.getDialect("db")).thenReturn(dialect);
+
+        return new SqlCreatorTemplate(TEMPLATE_ENGINE, jdbcManager, new SqlAstRenderer(astEnabled));
+    }
+
+    private static List<ReadContext> readContexts() {
+        List<List<DbColumn>> columnLists = List.of(
+                List.of(FILM.lookupColumn("title")),
+                List.of(FILM.lookupColumn("film_id"),
+                        FILM.lookupColumn("title").copyWithAlias(new DbAlias("title", "name", "")),
+                        FILM.lookupColumn("rating").copyWithAlias(new DbAlias("rating", "", "->'code'"))));
+        List<List<DbJoin>> joinLists = Arrays.asList(null, List.of(), List.of(join(false)),
+                List.of(join(true), join(false)));
+        List<String> wheres = Arrays.asList(null, "", "f.rating = :rating");
+        List<List<DbSort>> sortLists = Arrays.asList(null, List.of(),
+                List.of(new DbSort("film", "f", "title", "ASC")),
+                List.of(new DbSort("film", "f", "title", "ASC"), new DbSort("film", "f", "film_id", "DESC")));
+        int[] limits = {-2, -1, 10};
+        long[] offsets = {-1, 0, 20};
+
+        List<ReadContext> readContexts = new ArrayList<>();
+        for (List<DbColumn> columns : columnLists) {
+            for (List<DbJoin> joins : joinLists) {
+                for (String where : wheres) {
+                    for (List<DbSort> sorts : sortLists) {
+                        for (int limit : limits) {
+                            for (long offset : offsets) {
+                                readContexts.add(ReadContext.builder()
+                                        .dbId("db")
+                                        .root(FILM)
+                                        .cols(columns)
+                                        .dbJoins(joins)
+                                        .rootWhere(where)
+                                        .dbSortList(sorts)
+                                        .limit(limit)
+                                        .offset(offset)
+                                        .defaultFetchLimit(100)
+                                        .build());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return readContexts;
+    }
+
+    private static DbJoin join(boolean conditions) {
+        DbJoin join = new DbJoin();
+        join.setTableName(LANGUAGE.fullName());
+        join.setAlias(LANGUAGE.alias());
+        join.setJoinType("LEFT");
+        join.addOn(FILM.lookupColumn("language_id"), "=", LANGUAGE.lookupColumn("language_id"));
+        if (conditions) {
+            join.addAndCondition(FILM.lookupColumn("film_id"), ">", LANGUAGE.lookupColumn("language_id"));
+            join.addAdditionalWhere("l.name = :name");
+        }
+        return join;
+    }
+
+    private static DbTable table(String name, String alias) {
+        List<DbColumn> columns = new ArrayList<>();
+        for (String column : List.of(name + "_id", "title", "rating", "language_id", "name")) {
+            columns.add(new DbColumn(name, column, "", alias, column.equals(name + "_id"), "varchar", false, false,
+                    String.class, "\"", ""));
+        }
+        return new DbTable("public", name, "public." + name, alias, columns, "TABLE", "\"");
+    }
+}
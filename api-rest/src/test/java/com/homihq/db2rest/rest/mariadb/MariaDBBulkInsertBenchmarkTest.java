@@ -0,0 +1,27 @@
+package com.homihq.db2rest.rest.mariadb;
+
+import com.homihq.db2rest.MariaDBBaseIntegrationTest;
+import com.homihq.db2rest.jdbc.core.service.BulkCreateService;
+import com.homihq.db2rest.jdbc.core.service.BulkInsertBenchmark;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MariaDBBulkInsertBenchmarkTest extends MariaDBBaseIntegrationTest {
+
+    @Autowired
+    private BulkCreateService bulkCreateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Multi row inserts against the single row batch")
+    void compareWithBatch() {
+        BulkInsertBenchmark.run("mariadb", "director", bulkCreateService,
+                db2RestConfigProperties.getBulkIngest(), jdbcTemplate);
+    }
+}
@@ -0,0 +1,26 @@
+package com.homihq.db2rest.rest.mssql;
+
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.rsql.LargeInListBenchmark;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MsSQLLargeInListBenchmarkTest extends MsSQLBaseIntegrationTest {
+
+    @Autowired
+    private JdbcManager jdbcManager;
+
+    @Autowired
+    private RsqlFilterCache rsqlFilterCache;
+
+    @Test
+    @DisplayName("Filtering by IN lists of growing size")
+    void compareByListSize() {
+        LargeInListBenchmark.run("mssql", "film", "film_id", jdbcManager, rsqlFilterCache,
+                db2RestConfigProperties.getInList().getLargeThreshold());
+    }
+}
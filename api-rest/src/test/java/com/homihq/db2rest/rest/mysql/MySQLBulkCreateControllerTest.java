@@ -133,6 +133,24 @@ class MySQLBulkCreateControllerTest extends MySQLBaseIntegrationTest {
                 .andDo(document("mysql-bulk-create-directors"));
     }
 
+    @Test
+    @DisplayName("Create many directors with their own ids.")
+    void createDirectorWithIds() throws Exception {
+        //no auto increment key, so the driver has no generated keys to report
+        mockMvc.perform(post(VERSION + "/mysqldb/director/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .param("tsIdEnabled", "false")
+                        .content(objectMapper.writeValueAsString(List.of(
+                                Map.of("director_id", 9001, "first_name", "Satyajit", "last_name", "Ray"),
+                                Map.of("director_id", 9002, "first_name", "Mira", "last_name", "Nair"))))
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows", hasSize(2)))
+                .andExpect(jsonPath("$.rows", hasItem(1)))
+                //.andDo(print())
+                .andDo(document("mysql-bulk-create-directors-with-ids"));
+    }
+
     @Test
     @DisplayName("Create many directors with wrong tsid type.")
     void createDirectorWithWrongTsidType() throws Exception {
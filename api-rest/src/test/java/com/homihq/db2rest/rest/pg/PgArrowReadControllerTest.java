@@ -0,0 +1,104 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(106)
+class PgArrowReadControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    private static final String ARROW_STREAM = "application/vnd.apache.arrow.stream";
+
+    @Test
+    @DisplayName("Read films as an Arrow IPC stream")
+    void readFilmsAsArrowStream() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(ARROW_STREAM)
+                        .param("fields", "film_id,title,rental_rate,last_update")
+                        .param("limit", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ARROW_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        int[] messages = readMessages(body);
+        assertEquals(1, messages[0]);
+        assertEquals(5, messages[1]);
+    }
+
+    @Test
+    @DisplayName("Empty result still has a schema")
+    void readNoFilmsAsArrowStream() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(ARROW_STREAM)
+                        .param("filter", "film_id==-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        int[] messages = readMessages(body);
+        assertEquals(1, messages[0]);
+        assertEquals(0, messages[1]);
+    }
+
+    /*
+     * Walks the encapsulated messages up to the end of stream marker, returns the number of schema
+     * messages and the number of rows over all record batches.
+     */
+    private int[] readMessages(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        int schemas = 0;
+        int rows = 0;
+
+        while (true) {
+            assertEquals(0xFFFFFFFF, buffer.getInt());
+            int metadataLength = buffer.getInt();
+            if (metadataLength == 0) {
+                assertEquals(body.length, buffer.position());
+                return new int[]{schemas, rows};
+            }
+
+            int metadata = buffer.position();
+            int message = metadata + buffer.getInt(metadata);
+            int headerType = buffer.get(message + fieldOffset(buffer, message, 1));
+            int header = message + fieldOffset(buffer, message, 2);
+            header += buffer.getInt(header);
+            long bodyLength = buffer.getLong(message + fieldOffset(buffer, message, 3));
+
+            if (headerType == 1) {
+                schemas++;
+            } else if (headerType == 3) {
+                rows += (int) buffer.getLong(header + fieldOffset(buffer, header, 0));
+            }
+
+            buffer.position(metadata + metadataLength + (int) bodyLength);
+        }
+    }
+
+    private int fieldOffset(ByteBuffer buffer, int table, int field) {
+        int vtable = table - buffer.getInt(table);
+        return buffer.getShort(vtable + 4 + 2 * field);
+    }
+}
@@ -0,0 +1,63 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(109)
+class PgBatchReadControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    @Test
+    @DisplayName("Batch returns the reads in request order with per read errors")
+    void readBatch() throws Exception {
+        String reads = """
+                [
+                  {"table": "film", "fields": "film_id,title", "sort": ["film_id"], "limit": 2},
+                  {"table": "no_such_table"},
+                  {"table": "actor", "fields": "actor_id,first_name", "filter": "actor_id==1"},
+                  {"table": "film", "fields": "film_id,title", "filter": "film_id==1",
+                   "joins": [{"table": "language", "on": ["language_id==language_id"], "fields": ["name"]}]}
+                ]
+                """;
+
+        mockMvc.perform(post(VERSION + "/pgsqldb/_batch")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content(reads))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].table").value("film"))
+                .andExpect(jsonPath("$[0].data", hasSize(2)))
+                .andExpect(jsonPath("$[0].error", nullValue()))
+                .andExpect(jsonPath("$[1].table").value("no_such_table"))
+                .andExpect(jsonPath("$[1].data", nullValue()))
+                .andExpect(jsonPath("$[1].error", notNullValue()))
+                .andExpect(jsonPath("$[2].data", hasSize(1)))
+                .andExpect(jsonPath("$[2].data[0].actor_id").value(1))
+                .andExpect(jsonPath("$[3].data", hasSize(1)))
+                .andExpect(jsonPath("$[3].data[0].name", notNullValue()))
+                .andDo(document("pg-batch-read"));
+    }
+
+    @Test
+    @DisplayName("Empty batch is a bad request")
+    void emptyBatch() throws Exception {
+        mockMvc.perform(post(VERSION + "/pgsqldb/_batch")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,82 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(182)
+class PgBulkCopyControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    @Test
+    @DisplayName("Explicit copy loads the rows without keys")
+    void copyCountries() throws Exception {
+        String countries = """
+                [
+                  {"country": "Atlantis, \\"the lost\\""},
+                  {"country": "El Dorado"},
+                  {"country": ""}
+                ]
+                """;
+
+        mockMvc.perform(post(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .param("copy", "true")
+                        .content(countries))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows", hasSize(3)))
+                .andExpect(jsonPath("$.keys", nullValue()))
+                .andDo(document("pg-bulk-copy-countries"));
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/country")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", "country=='Atlantis, \"the lost\"'"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("TSID bulk create is copied and returns the TSIDs")
+    void copyDirectorsWithTsId() throws Exception {
+        String directors = """
+                [
+                  {"first_name": "Satyajit", "last_name": "Ray"},
+                  {"first_name": "Mira", "last_name": "Nair"}
+                ]
+                """;
+
+        mockMvc.perform(post(VERSION + "/pgsqldb/director/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .param("tsIdEnabled", "true")
+                        .content(directors))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows", hasSize(2)))
+                .andExpect(jsonPath("$.keys", hasSize(2)))
+                .andExpect(jsonPath("$.keys[0].director_id", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("Explicit copy with sequences is a bad request")
+    void copyWithSequences() throws Exception {
+        mockMvc.perform(post(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .param("copy", "true")
+                        .param("sequences", "country_id:country_country_id_seq")
+                        .content("[{\"country\": \"Lemuria\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,85 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(183)
+class PgBulkLoadJobControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    Path filmFile = FileSystems.getDefault().getPath("src/test/resources/testdata/BULK_CREATE_FILM_REQUEST.json");
+
+    @Test
+    @DisplayName("Upload job returns at once and reports the rows committed")
+    void uploadJob() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", filmFile.toString(),
+                "application/json", Files.readAllBytes(filmFile));
+
+        String submitted = mockMvc.perform(multipart(VERSION + "/pgsqldb/film/upload")
+                        .file(file)
+                        .param("async", "true")
+                        .contentType("multipart/form-data")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId", notNullValue()))
+                .andDo(document("pg-submit-upload-job"))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = JsonPath.read(submitted, "$.jobId");
+
+        String state = "QUEUED";
+        for (int i = 0; i < 100 && state.matches("QUEUED|RUNNING"); i++) {
+            Thread.sleep(100);
+            String status = mockMvc.perform(get(VERSION + "/pgsqldb/_jobs/{jobId}", jobId)
+                            .accept(APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            state = JsonPath.read(status, "$.state");
+        }
+        assertEquals("COMPLETED", state);
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/_jobs/{jobId}", jobId)
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsCommitted").value(2))
+                .andExpect(jsonPath("$.failedChunks").value(0))
+                .andDo(document("pg-get-upload-job"));
+
+        mockMvc.perform(delete(VERSION + "/pgsqldb/_jobs/{jobId}", jobId)
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(VERSION + "/pgsqldb/_jobs/{jobId}/resume", jobId)
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Unknown job is a bad request")
+    void unknownJob() throws Exception {
+        mockMvc.perform(get(VERSION + "/pgsqldb/_jobs/{jobId}", "no-such-job")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
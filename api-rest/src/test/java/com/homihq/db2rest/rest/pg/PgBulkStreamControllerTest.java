@@ -0,0 +1,101 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.adelean.inject.resources.junit.jupiter.GivenJsonResource;
+import com.adelean.inject.resources.junit.jupiter.TestWithResources;
+import com.adelean.inject.resources.junit.jupiter.WithJacksonMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(187)
+@TestWithResources
+class PgBulkStreamControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    @WithJacksonMapper
+    ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+
+    @GivenJsonResource("/testdata/BULK_CREATE_FILM_REQUEST.json")
+    List<Map<String, Object>> BULK_CREATE_FILM_REQUEST;
+
+    @Test
+    @DisplayName("Create many films from newline delimited JSON.")
+    void createNdjson() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (Map<String, Object> film : BULK_CREATE_FILM_REQUEST) {
+            body.append(objectMapper.writeValueAsString(film)).append('\n');
+        }
+
+        mockMvc.perform(post(VERSION + "/pgsqldb/film/bulk")
+                        .contentType("application/x-ndjson")
+                        .accept(APPLICATION_JSON)
+                        .content(body.toString())
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows", hasSize(2)))
+                .andExpect(jsonPath("$.keys", hasSize(2)))
+                .andDo(document("pg-bulk-create-films-ndjson"));
+    }
+
+    @Test
+    @DisplayName("Create many films from a gzip compressed JSON array.")
+    void createGzip() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            gzip.write(objectMapper.writeValueAsBytes(BULK_CREATE_FILM_REQUEST));
+        }
+
+        mockMvc.perform(post(VERSION + "/pgsqldb/film/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .header("Content-Encoding", "gzip")
+                        .accept(APPLICATION_JSON)
+                        .content(body.toByteArray())
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows", hasSize(2)))
+                .andExpect(jsonPath("$.keys", hasSize(2)))
+                .andDo(document("pg-bulk-create-films-gzip"));
+    }
+
+    @Test
+    @DisplayName("Unsupported content encoding is a bad request.")
+    void unsupportedEncoding() throws Exception {
+        mockMvc.perform(post(VERSION + "/pgsqldb/film/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .header("Content-Encoding", "br")
+                        .accept(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BULK_CREATE_FILM_REQUEST))
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("JSON body that is not an array is a bad request.")
+    void notAnArray() throws Exception {
+        mockMvc.perform(post(VERSION + "/pgsqldb/film/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .accept(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(BULK_CREATE_FILM_REQUEST.get(0)))
+                )
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,66 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.patch;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(185)
+class PgBulkUpdateControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    @Test
+    @DisplayName("Bulk update changes every row by its primary key")
+    void bulkUpdateCountries() throws Exception {
+        mockMvc.perform(post(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"country_id": 9101, "country": "Zembla"},
+                                  {"country_id": 9102, "country": "Ruritania"}
+                                ]
+                                """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(patch(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"country_id": 9101, "country": "Nova Zembla"},
+                                  {"country": "Graustark", "country_id": 9102},
+                                  {"country_id": 9199, "country": "Nowhere"}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows", contains(1, 1, 0)))
+                .andExpect(jsonPath("$.updated").value(2))
+                .andDo(document("pg-bulk-update-countries"));
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/country")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", "country_id==9102"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].country").value("Graustark"));
+    }
+
+    @Test
+    @DisplayName("Row without its primary key is a bad request")
+    void bulkUpdateWithoutKey() throws Exception {
+        mockMvc.perform(patch(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content("[{\"country\": \"Freedonia\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+}
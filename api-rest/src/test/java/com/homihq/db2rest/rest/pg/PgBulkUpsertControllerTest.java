@@ -0,0 +1,90 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(184)
+class PgBulkUpsertControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    @Test
+    @DisplayName("Upsert inserts new rows and updates the existing ones")
+    void upsertCountries() throws Exception {
+        mockMvc.perform(post(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .param("upsert", "true")
+                        .content("""
+                                [
+                                  {"country_id": 9001, "country": "Hyperborea"},
+                                  {"country_id": 9002, "country": "Lyonesse"}
+                                ]
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows", hasSize(2)))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.updated").value(0));
+
+        mockMvc.perform(post(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .param("upsert", "true")
+                        .param("conflictColumns", "country_id")
+                        .content("""
+                                [
+                                  {"country_id": 9001, "country": "Thule"},
+                                  {"country_id": 9003, "country": "Avalon"}
+                                ]
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andDo(document("pg-bulk-upsert-countries"));
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/country")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", "country_id==9001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].country").value("Thule"));
+    }
+
+    @Test
+    @DisplayName("Plain bulk create reports no upsert counts")
+    void bulkCreateWithoutUpsert() throws Exception {
+        mockMvc.perform(post(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content("[{\"country\": \"Mu\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.inserted").doesNotExist())
+                .andExpect(jsonPath("$.updated").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Upsert with copy or an unknown conflict column is a bad request")
+    void invalidUpsert() throws Exception {
+        mockMvc.perform(post(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .param("upsert", "true")
+                        .param("copy", "true")
+                        .content("[{\"country_id\": 9004, \"country\": \"Lemuria\"}]"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .param("upsert", "true")
+                        .param("conflictColumns", "last_update")
+                        .content("[{\"country_id\": 9004, \"country\": \"Lemuria\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+}
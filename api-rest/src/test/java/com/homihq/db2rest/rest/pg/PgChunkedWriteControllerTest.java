@@ -0,0 +1,115 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.patch;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(186)
+class PgChunkedWriteControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    private static final String FILTER = "country_id=ge=9201;country_id=le=9205";
+
+    @Test
+    @DisplayName("Chunked update and delete run batch by batch as jobs")
+    void chunkedUpdateAndDelete() throws Exception {
+        mockMvc.perform(post(VERSION + "/pgsqldb/country/bulk")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"country_id": 9201, "country": "Agartha"},
+                                  {"country_id": 9202, "country": "Shambhala"},
+                                  {"country_id": 9203, "country": "Kitezh"},
+                                  {"country_id": 9204, "country": "Hy-Brasil"},
+                                  {"country_id": 9205, "country": "Quivira"}
+                                ]
+                                """))
+                .andExpect(status().isCreated());
+
+        String submitted = mockMvc.perform(patch(VERSION + "/pgsqldb/country")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .param("filter", FILTER)
+                        .param("chunked", "true")
+                        .param("batchSize", "2")
+                        .content("{\"country\": \"Terra Incognita\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId", notNullValue()))
+                .andDo(document("pg-chunked-update"))
+                .andReturn().getResponse().getContentAsString();
+
+        awaitCompleted(JsonPath.read(submitted, "$.jobId"), 5, 3);
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/country")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", FILTER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[*].country", everyItem(is("Terra Incognita"))));
+
+        submitted = mockMvc.perform(delete(VERSION + "/pgsqldb/country")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", FILTER)
+                        .param("chunked", "true")
+                        .param("batchSize", "2")
+                        .param("pauseMillis", "10"))
+                .andExpect(status().isAccepted())
+                .andDo(document("pg-chunked-delete"))
+                .andReturn().getResponse().getContentAsString();
+
+        awaitCompleted(JsonPath.read(submitted, "$.jobId"), 5, 3);
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/country")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", FILTER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Batch size above the limit is a bad request")
+    void batchSizeTooLarge() throws Exception {
+        mockMvc.perform(delete(VERSION + "/pgsqldb/country")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", FILTER)
+                        .param("chunked", "true")
+                        .param("batchSize", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void awaitCompleted(String jobId, int rows, int batches) throws Exception {
+        String state = "QUEUED";
+        for (int i = 0; i < 100 && state.matches("QUEUED|RUNNING"); i++) {
+            Thread.sleep(100);
+            String status = mockMvc.perform(get(VERSION + "/pgsqldb/_jobs/{jobId}", jobId)
+                            .accept(APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            state = JsonPath.read(status, "$.state");
+        }
+        assertEquals("COMPLETED", state);
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/_jobs/{jobId}", jobId)
+                        .accept(APPLICATION_JSON))
+                .andExpect(jsonPath("$.rowsCommitted").value(rows))
+                .andExpect(jsonPath("$.chunksCommitted").value(batches));
+    }
+}
@@ -34,6 +34,7 @@ class PgJsonFileCreateControllerTest extends PostgreSQLBaseIntegrationTest {
     Path filmFile = dir.resolve("BULK_CREATE_FILM_REQUEST.json");
     Path nonArrayActorFile = dir.resolve("CREATE_ACTOR_REQUEST.json");
     Path directorFile = dir.resolve("director.json");
+    Path filmCsvFile = dir.resolve("CREATE_FILM_REQUEST_CSV.csv");
 
     @Test
     @DisplayName("Create many actors via JSON file upload.")
@@ -109,4 +110,22 @@ class PgJsonFileCreateControllerTest extends PostgreSQLBaseIntegrationTest {
                 .andExpect(jsonPath("$.keys").value("Bulk insert completed successfully"))
                 .andDo(document("postgres-create-films-file-upload"));
     }
+
+    @Test
+    @DisplayName("Create many films via CSV file upload.")
+    void createFilmsViaCsvUpload() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", filmCsvFile.toString(),
+                "text/csv", Files.readAllBytes(filmCsvFile));
+
+        MvcResult mvcResult = mockMvc.perform(multipart(VERSION + "/pgsqldb/film/upload")
+                        .file(file)
+                        .contentType("multipart/form-data")
+                        .accept(APPLICATION_JSON))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.row").value(2))
+                .andExpect(jsonPath("$.keys").value("Bulk insert completed successfully"))
+                .andDo(document("postgres-create-films-csv-file-upload"));
+    }
 }
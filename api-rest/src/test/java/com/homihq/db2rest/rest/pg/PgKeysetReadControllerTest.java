@@ -0,0 +1,92 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(105)
+class PgKeysetReadControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("First keyset page returns a next cursor")
+    void firstPage() throws Exception {
+        mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("fields", "film_id,title")
+                        .param("sort", "title")
+                        .param("limit", "2")
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].*", hasSize(2)))
+                .andExpect(jsonPath("$.next", notNullValue()))
+                .andDo(document("pg-get-films-keyset-page"));
+    }
+
+    @Test
+    @DisplayName("Following the next cursor never repeats a row")
+    void walkAllPages() throws Exception {
+        Set<Object> seen = new HashSet<>();
+        String cursor = "";
+
+        do {
+            String body = mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                            .accept(APPLICATION_JSON)
+                            .param("fields", "film_id,title")
+                            .param("sort", "title;desc")
+                            .param("limit", "3")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode page = objectMapper.readTree(body);
+            for (JsonNode row : page.get("data")) {
+                assertTrue(seen.add(row.get("film_id").asLong()));
+            }
+            cursor = page.get("next").isNull() ? null : page.get("next").asText();
+        } while (cursor != null);
+
+        assertTrue(seen.size() > 3);
+    }
+
+    @Test
+    @DisplayName("Cursor from another sort order is rejected")
+    void cursorForDifferentSort() throws Exception {
+        String body = mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("sort", "title")
+                        .param("limit", "1")
+                        .param("cursor", ""))
+                .andReturn().getResponse().getContentAsString();
+
+        String next = objectMapper.readTree(body).get("next").asText();
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("sort", "release_year")
+                        .param("limit", "1")
+                        .param("cursor", next))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -102,4 +102,30 @@ class PgReadControllerTest extends PostgreSQLBaseIntegrationTest {
                 //.andDo(print())
                 .andDo(document("pg-get-one-film"));
     }
+
+    @Test
+    @DisplayName("Test find films with in filter - bound as one array parameter")
+    void findFilmsWithInFilter() throws Exception {
+        mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("fields", "film_id,title")
+                        .param("filter", "film_id=in=(1,2,3)")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(3)))
+                .andDo(document("pg-find-films-in-filter"));
+    }
+
+    @Test
+    @DisplayName("Test find films with not in filter")
+    void findFilmsWithNotInFilter() throws Exception {
+        mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("fields", "film_id,title")
+                        .param("filter", "film_id=out=(1,2,3);film_id=le=4")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)))
+                .andExpect(jsonPath("$[0].film_id").value(4));
+    }
 }
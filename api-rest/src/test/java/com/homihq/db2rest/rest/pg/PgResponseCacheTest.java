@@ -0,0 +1,95 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.springframework.http.HttpHeaders;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//language is cached in the it-pg profile
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(107)
+class PgResponseCacheTest extends PostgreSQLBaseIntegrationTest {
+
+    @Test
+    @DisplayName("Cached read answers If-None-Match with 304 until the table is written")
+    void notModifiedUntilWrite() throws Exception {
+        String etag = mockMvc.perform(get(VERSION + "/pgsqldb/language")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/language")
+                        .accept(APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        mockMvc.perform(post(VERSION + "/pgsqldb/language")
+                        .contentType(APPLICATION_JSON).accept(APPLICATION_JSON)
+                        .content("{\"name\": \"Klingon\"}"))
+                .andExpect(status().isCreated());
+
+        String changed = mockMvc.perform(get(VERSION + "/pgsqldb/language")
+                        .accept(APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+
+        mockMvc.perform(delete(VERSION + "/pgsqldb/language")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", "name==Klingon"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/language")
+                        .accept(APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, changed))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Count and find one of a cached table carry an ETag")
+    void countAndFindOneHaveETag() throws Exception {
+        String etag = mockMvc.perform(get(VERSION + "/pgsqldb/language/count")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/language/count")
+                        .accept(APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get(VERSION + "/pgsqldb/language/one")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", "language_id==1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Tables that are not cached have no ETag")
+    void uncachedTableHasNoETag() throws Exception {
+        String etag = mockMvc.perform(get(VERSION + "/pgsqldb/film/count")
+                        .accept(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNull(etag);
+    }
+}
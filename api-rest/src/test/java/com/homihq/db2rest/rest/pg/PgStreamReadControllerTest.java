@@ -0,0 +1,76 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(104)
+class PgStreamReadControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    @Test
+    @DisplayName("Stream all films as a JSON array")
+    void streamAllFilmsAsJsonArray() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("stream", "true")
+                        .param("fields", "film_id,title"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$.*").isArray())
+                .andExpect(jsonPath("$[0].*", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Stream films as newline delimited JSON")
+    void streamFilmsAsNdjson() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept("application/x-ndjson")
+                        .param("stream", "true")
+                        .param("fields", "film_id,title")
+                        .param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{") && line.endsWith("}"));
+        }
+    }
+
+    @Test
+    @DisplayName("Stream with invalid filter fails before streaming starts")
+    void streamWithInvalidFilter() throws Exception {
+        mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("stream", "true")
+                        .param("filter", "title=="))
+                .andExpect(status().isBadRequest());
+    }
+}
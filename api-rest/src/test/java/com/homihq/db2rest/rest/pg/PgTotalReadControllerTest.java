@@ -0,0 +1,85 @@
+package com.homihq.db2rest.rest.pg;
+
+import com.homihq.db2rest.PostgreSQLBaseIntegrationTest;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static com.homihq.db2rest.jdbc.rest.RdbmsRestApi.VERSION;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+@Order(108)
+class PgTotalReadControllerTest extends PostgreSQLBaseIntegrationTest {
+
+    private static final String FILTER = "film_id=le=4";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"exact", "window", "estimate"})
+    @DisplayName("First page carries the total and the next offset")
+    void firstPage(String total) throws Exception {
+        mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("fields", "film_id,title")
+                        .param("filter", FILTER)
+                        .param("sort", "film_id")
+                        .param("limit", "3")
+                        .param("total", total))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[0].*", hasSize(2)))
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.next").value(3))
+                .andDo(document("pg-get-films-with-total-" + total));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"exact", "window"})
+    @DisplayName("Last page has no next offset")
+    void lastPage(String total) throws Exception {
+        mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", FILTER)
+                        .param("sort", "film_id")
+                        .param("limit", "3")
+                        .param("offset", "3")
+                        .param("total", total))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.next", nullValue()));
+    }
+
+    @Test
+    @DisplayName("Window total past the last row falls back to a count")
+    void windowPastLastRow() throws Exception {
+        mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("filter", FILTER)
+                        .param("limit", "3")
+                        .param("offset", "10")
+                        .param("total", "window"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(0)))
+                .andExpect(jsonPath("$.total").value(4));
+    }
+
+    @Test
+    @DisplayName("Unknown total strategy is a bad request")
+    void unknownStrategy() throws Exception {
+        mockMvc.perform(get(VERSION + "/pgsqldb/film")
+                        .accept(APPLICATION_JSON)
+                        .param("total", "guess"))
+                .andExpect(status().isBadRequest());
+    }
+}
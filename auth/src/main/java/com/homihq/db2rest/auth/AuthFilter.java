@@ -62,6 +62,9 @@ public class AuthFilter extends OncePerRequestFilter {
                 addError(errorMessage, request, response);
                 return;
             }
+
+            //resources named in the body are authorized by the controllers
+            request.setAttribute(ResourceAuthorizer.USER_DETAIL_ATTRIBUTE, userDetail);
         } else {
             log.debug("URI in whitelist. Security checks not applied.");
         }
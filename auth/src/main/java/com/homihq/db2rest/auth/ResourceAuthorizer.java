@@ -0,0 +1,52 @@
+package com.homihq.db2rest.auth;
+
+import com.homihq.db2rest.auth.common.AbstractAuthProvider;
+import com.homihq.db2rest.auth.common.UserDetail;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Authorizes the resources a request works on besides its own URI, like the tables of a batch
+ * read or the table of a background job, with the rules of the caller {@link AuthFilter}
+ * authenticated. Every resource is allowed when auth is disabled.
+ */
+@Component
+@Slf4j
+public class ResourceAuthorizer {
+
+    static final String USER_DETAIL_ATTRIBUTE = ResourceAuthorizer.class.getName() + ".userDetail";
+
+    private final AbstractAuthProvider authProvider;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public ResourceAuthorizer(Optional<AbstractAuthProvider> authProvider) {
+        this.authProvider = authProvider.orElse(null);
+    }
+
+    /**
+     * The URI of the request as the auth filter matches it against the rules.
+     */
+    public String getRequestUri(HttpServletRequest request) {
+        return urlPathHelper.getRequestUri(request);
+    }
+
+    /**
+     * Whether the caller of {@code request} may send {@code method} to {@code resourceUri}.
+     */
+    public boolean isAuthorized(HttpServletRequest request, String resourceUri, String method) {
+        if (Objects.isNull(authProvider) || authProvider.isExcluded(resourceUri, method)) {
+            return true;
+        }
+
+        UserDetail userDetail = (UserDetail) request.getAttribute(USER_DETAIL_ATTRIBUTE);
+        boolean authorized = Objects.nonNull(userDetail) && authProvider.authorize(userDetail, resourceUri, method);
+
+        log.debug("{} {} authorized - {}", method, resourceUri, authorized);
+        return authorized;
+    }
+}
@@ -0,0 +1,15 @@
+package com.homihq.db2rest.core.dto;
+
+/**
+ * Result of one read of a batch, either the rows or the error that read failed with.
+ */
+public record BatchReadResult(String table, Object data, String error) {
+
+    public static BatchReadResult ok(String table, Object data) {
+        return new BatchReadResult(table, data, null);
+    }
+
+    public static BatchReadResult failed(String table, String error) {
+        return new BatchReadResult(table, null, error);
+    }
+}
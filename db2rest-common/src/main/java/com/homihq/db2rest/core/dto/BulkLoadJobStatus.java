@@ -0,0 +1,26 @@
+package com.homihq.db2rest.core.dto;
+
+/**
+ * Progress of an upload loaded in the background, or of a chunked delete or update whose
+ * chunks are its batches.
+ *
+ * @param operation   what the job writes, {@code upload}, {@code delete} or {@code update}
+ * @param checkpoint  chunks committed without a gap from the start of the file
+ * @param etaSeconds  estimated from the part of the file read so far, null when not running
+ *                    or not known
+ */
+public record BulkLoadJobStatus(
+        String jobId,
+        String dbId,
+        String tableName,
+        String operation,
+        String state,
+        long rowsCommitted,
+        long rowsPerSecond,
+        long chunksCommitted,
+        long checkpoint,
+        int failedChunks,
+        Long etaSeconds,
+        String error
+) {
+}
@@ -1,4 +1,19 @@
 package com.homihq.db2rest.core.dto;
 
-public record CreateBulkResponse(int[] rows, Object keys) {
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * @param inserted rows inserted by an upsert, absent for a plain bulk create
+ * @param updated  existing rows updated by an upsert, absent for a plain bulk create
+ */
+public record CreateBulkResponse(
+        int[] rows,
+        Object keys,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long inserted,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long updated
+) {
+
+    public CreateBulkResponse(int[] rows, Object keys) {
+        this(rows, keys, null, null);
+    }
 }
@@ -0,0 +1,4 @@
+package com.homihq.db2rest.core.dto;
+
+public record CursorPageResponse(Object data, String next) {
+}
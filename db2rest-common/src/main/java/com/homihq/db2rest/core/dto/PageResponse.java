@@ -0,0 +1,11 @@
+package com.homihq.db2rest.core.dto;
+
+/**
+ * Page of rows with the total number of rows matching the filter.
+ *
+ * @param data  rows of the page
+ * @param total rows matching the filter, exact or estimated depending on the requested strategy
+ * @param next  offset of the next page, null on the last page
+ */
+public record PageResponse(Object data, long total, Long next) {
+}
@@ -0,0 +1,8 @@
+package com.homihq.db2rest.core.dto;
+
+/**
+ * @param rows    update count of every row, in the order of the request
+ * @param updated total of the update counts
+ */
+public record UpdateBulkResponse(int[] rows, long updated) {
+}
@@ -12,7 +12,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
 
 @Slf4j
 public class MariaDBDialect extends Dialect {
@@ -26,31 +26,50 @@ public class MariaDBDialect extends Dialect {
     }
 
     @Override
-    public void processTypes(DbTable table, List<String> insertableColumns, Map<String, Object> data) {
+    public ColumnEncoder getColumnEncoder(DbColumn column) {
+        String columnDataTypeName = column.columnDataTypeName();
 
-        try {
-            for (String columnName : insertableColumns) {
-                Object value = data.get(columnName);
+        if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json")) {
+            return this::writeJson;
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "TIMESTAMP")) {
+            return value -> convertToLocalDateTime((String) value);
+        }
+        return null;
+    }
 
-                String columnDataTypeName = table.getColumnDataTypeName(columnName);
+    private String getQuotedName(String name) {
+        return getCoverChar() + name + getCoverChar();
+    }
 
-                if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json")) {
+    @Override
+    public int getMaxInsertRows(DbTable table, List<String> columns, boolean returnKeys) {
+        //the driver only reports the first auto increment key of a multi row insert
+        return returnKeys ? 0 : 1000;
+    }
 
-                    data.put(columnName, getObjectMapper().writeValueAsString(value));
-                } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "TIMESTAMP")) {
-                    LocalDateTime v = convertToLocalDateTime((String) value);
-                    data.put(columnName, v);
-                }
 
-            }
-        } catch (Exception exception) {
-            throw new GenericDataAccessException(exception.getMessage());
-        }
+    @Override
+    protected boolean hasLargeInListStrategy() {
+        return true;
+    }
+
+    /**
+     * Matches the list as a derived table of one row per value, bound as a single parameter that
+     * expands to the rows of the table value constructor.
+     */
+    @Override
+    public String renderLargeInList(String columnName, DbColumn column, List<Object> values, boolean not,
+                                    Function<Object, String> bind) {
+        List<Object[]> rows = values.stream().map(value -> new Object[]{value}).toList();
 
+        return columnName + (not ? " NOT IN " : " IN ")
+                + "(SELECT * FROM (VALUES " + bind.apply(rows) + ") AS in_list)";
     }
 
-    private String getQuotedName(String name) {
-        return getCoverChar() + name + getCoverChar();
+    //matches on any unique key of the table, not only on the conflict columns
+    @Override
+    public String getUpsertSqlTemplate() {
+        return "upsert-mysql";
     }
 
     @Override
@@ -69,6 +88,12 @@ public class MariaDBDialect extends Dialect {
         return getQuotedName(table.schema()) + "." + getQuotedName(table.name());
     }
 
+    @Override
+    public String getEstimatedCountSql() {
+        return "SELECT table_rows FROM information_schema.tables "
+                + "WHERE table_schema = :schemaName AND table_name = :tableName";
+    }
+
     @Override
     public String getAliasedName(DbColumn dbColumn, boolean deleteOp) {
         if (deleteOp) {
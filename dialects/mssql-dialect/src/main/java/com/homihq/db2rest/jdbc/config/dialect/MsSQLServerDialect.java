@@ -3,14 +3,16 @@ package com.homihq.db2rest.jdbc.config.dialect;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.config.model.Database;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
 
 @Slf4j
 public class MsSQLServerDialect extends Dialect {
@@ -24,30 +26,90 @@ public class MsSQLServerDialect extends Dialect {
         return false;
     }
 
+    //a table value constructor takes at most 1000 rows
+    @Override
+    public int getMaxInsertRows(DbTable table, List<String> columns, boolean returnKeys) {
+        return 1000;
+    }
+
+    //hard limit is 2100 parameters per request
+    @Override
+    public int getMaxBindParameters() {
+        return 2000;
+    }
+
+    @Override
+    protected boolean hasLargeInListStrategy() {
+        return true;
+    }
+
+    @Override
+    protected int getMaxInListSize() {
+        return getMaxBindParameters();
+    }
+
+    /**
+     * Binds the list as a single JSON array read back as rows by OPENJSON, numbers and strings
+     * only. Character columns read the values as their own type, so an index on them is still used.
+     */
+    @Override
+    public String renderLargeInList(String columnName, DbColumn column, List<Object> values, boolean not,
+                                    Function<Object, String> bind) {
+        if (!values.stream().allMatch(value -> value instanceof Number || value instanceof String)) {
+            return null;
+        }
+
+        String type = StringUtils.substringBefore(StringUtils.lowerCase(column.columnDataTypeName()), " ");
+        String with = switch (StringUtils.defaultString(type)) {
+            case "varchar", "char" -> " WITH (value varchar(8000) '$')";
+            case "int", "bigint", "smallint", "tinyint" -> " WITH (value " + type + " '$')";
+            default -> "";
+        };
+
+        return columnName + (not ? " NOT IN " : " IN ")
+                + "(SELECT value FROM OPENJSON(" + bind.apply(writeJson(values)) + ")" + with + ")";
+    }
+
+    @Override
+    public String getUpsertSqlTemplate() {
+        return "upsert-mssql";
+    }
+
+    //MERGE ... OUTPUT $action
+    @Override
+    public boolean isUpsertReturningAction() {
+        return true;
+    }
+
+    //a table value constructor takes at most 1000 rows
+    @Override
+    public int getMaxUpsertRows() {
+        return 1000;
+    }
+
     @Override
     public boolean isSupportedDb(String productName, int majorVersion) {
         return StringUtils.equalsIgnoreCase(productName, Database.MSSQL.getProductName());
     }
 
     @Override
-    public void processTypes(DbTable table, List<String> insertableColumns, Map<String, Object> data) {
-        try {
-            for (String columnName : insertableColumns) {
-                Object value = data.get(columnName);
-
-                String columnDataTypeName = table.getColumnDataTypeName(columnName);
-
-                if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json")) {
-                    data.put(columnName, getObjectMapper().writeValueAsString(value));
-                } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "datetime")) {
-                    LocalDateTime v = convertToLocalDateTime((String) value);
-                    data.put(columnName, v);
-                }
-            }
-        } catch (Exception exception) {
-            throw new GenericDataAccessException(exception.getMessage());
+    public ColumnEncoder getColumnEncoder(DbColumn column) {
+        String columnDataTypeName = column.columnDataTypeName();
+
+        if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json")) {
+            return this::writeJson;
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "datetime")) {
+            return value -> convertToLocalDateTime((String) value);
         }
+        return null;
+    }
 
+    @Override
+    public ColumnDecoder getColumnDecoder(String columnTypeName, int sqlType) {
+        if (StringUtils.equalsIgnoreCase(columnTypeName, "datetimeoffset")) {
+            return (rs, index) -> rs.getObject(index, OffsetDateTime.class);
+        }
+        return null;
     }
 
     @Override
@@ -62,6 +124,15 @@ public class MsSQLServerDialect extends Dialect {
         return getQuotedName(table.schema()) + "." + getQuotedName(table.name());
     }
 
+    @Override
+    public String getEstimatedCountSql() {
+        //rows of the heap or clustered index
+        return "SELECT SUM(p.rows) FROM sys.partitions p "
+                + "JOIN sys.tables t ON t.object_id = p.object_id "
+                + "JOIN sys.schemas s ON s.schema_id = t.schema_id "
+                + "WHERE s.name = :schemaName AND t.name = :tableName AND p.index_id IN (0, 1)";
+    }
+
     private String getQuotedName(String name) {
         return getCoverChar() + name + getCoverChar();
     }
@@ -81,6 +152,11 @@ public class MsSQLServerDialect extends Dialect {
         return "read-mssql";
     }
 
+    @Override
+    public String getChunkKeysSqlTemplate() {
+        return "chunk-keys-mssql";
+    }
+
     @Override
     public String getUpdateSqlTemplate() {
         return "update-mssql";
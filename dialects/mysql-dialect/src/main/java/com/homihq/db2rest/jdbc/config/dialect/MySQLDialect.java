@@ -4,6 +4,7 @@ package com.homihq.db2rest.jdbc.config.dialect;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.config.model.Database;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -11,7 +12,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
 
 @Slf4j
 public class MySQLDialect extends Dialect {
@@ -25,32 +26,78 @@ public class MySQLDialect extends Dialect {
     }
 
     @Override
-    public void processTypes(DbTable table, List<String> insertableColumns, Map<String, Object> data) {
+    public ColumnEncoder getColumnEncoder(DbColumn column) {
+        String columnDataTypeName = column.columnDataTypeName();
 
-        try {
-            for (String columnName : insertableColumns) {
-                Object value = data.get(columnName);
+        if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json")) {
+            return this::writeJson;
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "TIMESTAMP")) {
+            return value -> convertToLocalDateTime((String) value);
+        }
+        return null;
+    }
+
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        //Connector/J buffers the full result unless the fetch size is Integer.MIN_VALUE
+        return Integer.MIN_VALUE;
+    }
+
+    //row constructors are range scanned since 5.7
+    @Override
+    public boolean supportRowValueComparison() {
+        return true;
+    }
+
+    private String getQuotedName(String name) {
+        return getCoverChar() + name + getCoverChar();
+    }
 
-                String columnDataTypeName = table.getColumnDataTypeName(columnName);
+    /**
+     * Connector/J reports the keys of a multi row insert counting up from LAST_INSERT_ID, which
+     * is only set when the database fills in an auto increment key. Other inserts that need their
+     * keys back are sent row by row.
+     */
+    @Override
+    public int getMaxInsertRows(DbTable table, List<String> columns, boolean returnKeys) {
+        if (!returnKeys) {
+            return 1000;
+        }
+        boolean generatedKey = table.buildPkColumns().stream()
+                .anyMatch(column -> column.autoIncremented()
+                        && columns.stream().noneMatch(name -> StringUtils.equalsIgnoreCase(name, column.name())));
 
+        return generatedKey ? 1000 : 0;
+    }
 
-                if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json")) {
 
-                    data.put(columnName, getObjectMapper().writeValueAsString(value));
-                } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "TIMESTAMP")) {
-                    LocalDateTime v = convertToLocalDateTime((String) value);
-                    data.put(columnName, v);
-                }
+    @Override
+    protected boolean hasLargeInListStrategy() {
+        return true;
+    }
 
+    /**
+     * Matches the list as a derived table of one row per value, which the optimizer can
+     * semi-join instead of evaluating a range for every value of a long IN list.
+     */
+    @Override
+    public String renderLargeInList(String columnName, DbColumn column, List<Object> values, boolean not,
+                                    Function<Object, String> bind) {
+        StringBuilder sql = new StringBuilder(columnName).append(not ? " NOT IN " : " IN ")
+                .append("(SELECT * FROM (VALUES ");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
             }
-        } catch (Exception exception) {
-            throw new GenericDataAccessException(exception.getMessage());
+            sql.append("ROW(").append(bind.apply(values.get(i))).append(')');
         }
-
+        return sql.append(") AS in_list)").toString();
     }
 
-    private String getQuotedName(String name) {
-        return getCoverChar() + name + getCoverChar();
+    //matches on any unique key of the table, not only on the conflict columns
+    @Override
+    public String getUpsertSqlTemplate() {
+        return "upsert-mysql";
     }
 
     @Override
@@ -63,6 +110,12 @@ public class MySQLDialect extends Dialect {
         return getQuotedName(table.schema()) + "." + getQuotedName(table.name());
     }
 
+    @Override
+    public String getEstimatedCountSql() {
+        return "SELECT table_rows FROM information_schema.tables "
+                + "WHERE table_schema = :schemaName AND table_name = :tableName";
+    }
+
     private LocalDateTime convertToLocalDateTime(String value) {
         try {
             return LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
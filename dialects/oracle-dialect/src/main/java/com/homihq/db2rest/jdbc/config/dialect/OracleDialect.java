@@ -3,14 +3,16 @@ package com.homihq.db2rest.jdbc.config.dialect;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.config.model.Database;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
 
 @Slf4j
 public class OracleDialect extends Dialect {
@@ -28,33 +30,59 @@ public class OracleDialect extends Dialect {
         return "read-ora-12";
     }
 
+    @Override
+    public String getChunkKeysSqlTemplate() {
+        return "chunk-keys-ora-12";
+    }
+
     @Override
     public boolean supportBatchReturnKeys() {
         return false;
     }
 
+    //INSERT ALL evaluates identity and sequence defaults once for the whole statement
     @Override
-    public void processTypes(DbTable table, List<String> insertableColumns, Map<String, Object> data) {
+    public int getMaxInsertRows(DbTable table, List<String> columns, boolean returnKeys) {
+        return table.hasGeneratedColumns() ? 0 : 500;
+    }
 
-        try {
-            for (String columnName : insertableColumns) {
-                Object value = data.get(columnName);
+    @Override
+    public String getUpsertSqlTemplate() {
+        return "upsert-ora";
+    }
 
-                String columnDataTypeName = table.getColumnDataTypeName(columnName);
+    @Override
+    public String getMultiRowInsertSqlTemplate() {
+        return "insert-all-ora";
+    }
 
-                if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json")) {
+    @Override
+    protected boolean hasLargeInListStrategy() {
+        return true;
+    }
 
-                    data.put(columnName, getObjectMapper().writeValueAsString(value));
-                } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "TIMESTAMP(6)")) {
-                    LocalDateTime v = convertToLocalDateTime((String) value);
-                    data.put(columnName, v);
-                }
+    //ORA-01795, at most 1000 expressions in a list
+    @Override
+    protected int getMaxInListSize() {
+        return 1000;
+    }
 
-            }
-        } catch (Exception exception) {
-            throw new GenericDataAccessException(exception.getMessage());
-        }
+    @Override
+    public String renderLargeInList(String columnName, DbColumn column, List<Object> values, boolean not,
+                                    Function<Object, String> bind) {
+        return renderChunkedInList(columnName, values, not, bind);
+    }
+
+    @Override
+    public ColumnEncoder getColumnEncoder(DbColumn column) {
+        String columnDataTypeName = column.columnDataTypeName();
 
+        if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json")) {
+            return this::writeJson;
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "TIMESTAMP(6)")) {
+            return value -> convertToLocalDateTime((String) value);
+        }
+        return null;
     }
 
     private LocalDateTime convertToLocalDateTime(String value) {
@@ -69,6 +97,17 @@ public class OracleDialect extends Dialect {
         return getCoverChar() + name + getCoverChar();
     }
 
+    @Override
+    public ColumnDecoder getColumnDecoder(String columnTypeName, int sqlType) {
+        if (StringUtils.equalsIgnoreCase(columnTypeName, "TIMESTAMP WITH TIME ZONE")) {
+            return (rs, index) -> rs.getObject(index, OffsetDateTime.class);
+        }
+        if (StringUtils.equalsIgnoreCase(columnTypeName, "TIMESTAMP WITH LOCAL TIME ZONE")) {
+            return (rs, index) -> rs.getTimestamp(index);
+        }
+        return null;
+    }
+
     @Override
     public String renderTableName(DbTable table, boolean containsWhere, boolean deleteOp) {
         return getQuotedName(table.schema()) + "." + getQuotedName(table.name()) + " " + table.alias();
@@ -78,4 +117,10 @@ public class OracleDialect extends Dialect {
     public String renderTableNameWithoutAlias(DbTable table) {
         return getQuotedName(table.schema()) + "." + getQuotedName(table.name());
     }
+
+    @Override
+    public String getEstimatedCountSql() {
+        //optimizer statistics, null until the table is first analyzed
+        return "SELECT num_rows FROM all_tables WHERE owner = :schemaName AND table_name = :tableName";
+    }
 }
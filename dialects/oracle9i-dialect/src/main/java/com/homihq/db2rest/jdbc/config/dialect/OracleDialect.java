@@ -1,14 +1,15 @@
 package com.homihq.db2rest.jdbc.config.dialect;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.config.model.Database;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
+
 
 @Slf4j
 public class OracleDialect extends Dialect {
@@ -27,37 +28,70 @@ public class OracleDialect extends Dialect {
         return "read-ora-9";
     }
 
+    @Override
+    public String getChunkKeysSqlTemplate() {
+        return "chunk-keys-ora-9";
+    }
+
     @Override
     public boolean supportBatchReturnKeys() {
         return false;
     }
 
+    //INSERT ALL evaluates identity and sequence defaults once for the whole statement
     @Override
-    public void processTypes(DbTable table, List<String> insertableColumns, Map<String, Object> data) {
+    public int getMaxInsertRows(DbTable table, List<String> columns, boolean returnKeys) {
+        return table.hasGeneratedColumns() ? 0 : 500;
+    }
 
-        try {
-            for (String columnName : insertableColumns) {
-                Object value = data.get(columnName);
+    @Override
+    public String getUpsertSqlTemplate() {
+        return "upsert-ora";
+    }
 
-                String columnDataTypeName = table.getColumnDataTypeName(columnName);
+    @Override
+    public String getMultiRowInsertSqlTemplate() {
+        return "insert-all-ora";
+    }
 
+    @Override
+    protected boolean hasLargeInListStrategy() {
+        return true;
+    }
 
-                if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json")) {
+    //ORA-01795, at most 1000 expressions in a list
+    @Override
+    protected int getMaxInListSize() {
+        return 1000;
+    }
 
-                    data.put(columnName, getObjectMapper().writeValueAsString(value));
-                }
+    @Override
+    public String renderLargeInList(String columnName, DbColumn column, List<Object> values, boolean not,
+                                    Function<Object, String> bind) {
+        return renderChunkedInList(columnName, values, not, bind);
+    }
 
-            }
-        } catch (Exception exception) {
-            throw new GenericDataAccessException(exception.getMessage());
+    @Override
+    public ColumnEncoder getColumnEncoder(DbColumn column) {
+        if (StringUtils.equalsAnyIgnoreCase(column.columnDataTypeName(), "json")) {
+            return this::writeJson;
         }
-
+        return null;
     }
 
     private String getQuotedName(String name) {
         return getCoverChar() + name + getCoverChar();
     }
 
+    @Override
+    public ColumnDecoder getColumnDecoder(String columnTypeName, int sqlType) {
+        //old drivers return oracle.sql.TIMESTAMPTZ / TIMESTAMPLTZ from getObject
+        if (StringUtils.startsWithIgnoreCase(columnTypeName, "TIMESTAMP WITH")) {
+            return (rs, index) -> rs.getTimestamp(index);
+        }
+        return null;
+    }
+
     @Override
     public String renderTableName(DbTable table, boolean containsWhere, boolean deleteOp) {
         return getQuotedName(table.schema()) + "." + getQuotedName(table.name()) + " " + table.alias();
@@ -67,4 +101,10 @@ public class OracleDialect extends Dialect {
     public String renderTableNameWithoutAlias(DbTable table) {
         return getQuotedName(table.schema()) + "." + getQuotedName(table.name());
     }
+
+    @Override
+    public String getEstimatedCountSql() {
+        //optimizer statistics, null until the table is first analyzed
+        return "SELECT num_rows FROM all_tables WHERE owner = :schemaName AND table_name = :tableName";
+    }
 }
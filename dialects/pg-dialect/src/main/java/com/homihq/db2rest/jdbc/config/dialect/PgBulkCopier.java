@@ -0,0 +1,167 @@
+package com.homihq.db2rest.jdbc.config.dialect;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import com.homihq.db2rest.jdbc.config.model.ArrayTypeValueHolder;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.PGobject;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams rows with {@code COPY ... FROM STDIN} in CSV format. Every value is encoded by the
+ * type of its column, non null values are always quoted so an empty string stays distinct from NULL.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PgBulkCopier implements BulkCopier {
+
+    private static final int FLUSH_CHARS = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final String coverChar;
+
+    @Override
+    public long copy(Connection connection, DbTable table, List<String> columns,
+                     List<Map<String, Object>> rows) throws SQLException {
+        List<Function<Object, String>> encoders = columns.stream()
+                .map(column -> encoder(table.getColumnDataTypeName(column)))
+                .toList();
+
+        String sql = copySql(table, columns);
+        log.debug("COPY - {}", sql);
+
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+            for (Map<String, Object> row : rows) {
+                appendRow(buffer, row, columns, encoders);
+                if (buffer.length() >= FLUSH_CHARS) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private String copySql(DbTable table, List<String> columns) {
+        return "COPY " + quote(table.schema()) + "." + quote(table.name())
+                + columns.stream().map(this::quote).collect(Collectors.joining(",", " (", ")"))
+                + " FROM STDIN WITH (FORMAT csv)";
+    }
+
+    private void appendRow(StringBuilder buffer, Map<String, Object> row, List<String> columns,
+                   List<Function<Object, String>> encoders) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            Object value = row.get(columns.get(i));
+            if (Objects.nonNull(value)) {
+                appendQuoted(buffer, encoders.get(i).apply(value));
+            }
+        }
+        buffer.append('\n');
+    }
+
+    private Function<Object, String> encoder(String columnDataTypeName) {
+        if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json", "jsonb")) {
+            return this::encodeJson;
+        }
+        if (StringUtils.equalsIgnoreCase(columnDataTypeName, "bytea")) {
+            return value -> value instanceof byte[] bytes ? "\\x" + HexFormat.of().formatHex(bytes) : value.toString();
+        }
+        //array types are named after their element type with a leading underscore
+        if (StringUtils.startsWith(columnDataTypeName, "_")) {
+            return this::encodeArray;
+        }
+        return Object::toString;
+    }
+
+    private String encodeJson(Object value) {
+        if (value instanceof PGobject pGobject) {
+            return pGobject.getValue();
+        }
+        if (value instanceof String s) {
+            return s;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new GenericDataAccessException("Error converting to JSON type - " + e.getLocalizedMessage());
+        }
+    }
+
+    private String encodeArray(Object value) {
+        Object[] elements;
+        if (value instanceof ArrayTypeValueHolder holder) {
+            elements = holder.values();
+        } else if (value instanceof Collection<?> collection) {
+            elements = collection.toArray();
+        } else if (value instanceof Object[] array) {
+            elements = array;
+        } else {
+            return value.toString();
+        }
+
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < elements.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            if (Objects.isNull(elements[i])) {
+                literal.append("NULL");
+            } else {
+                literal.append('"')
+                        .append(elements[i].toString().replace("\\", "\\\\").replace("\"", "\\\""))
+                        .append('"');
+            }
+        }
+        return literal.append('}').toString();
+    }
+
+    private void appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    private void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private String quote(String name) {
+        return coverChar + name + coverChar;
+    }
+}
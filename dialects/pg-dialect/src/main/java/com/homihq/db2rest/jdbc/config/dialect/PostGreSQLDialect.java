@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.config.model.ArrayTypeValueHolder;
 import com.homihq.db2rest.jdbc.config.model.Database;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -15,62 +16,43 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 
 @Slf4j
 public class PostGreSQLDialect extends Dialect {
+    private final PgBulkCopier bulkCopier;
+
     public PostGreSQLDialect(ObjectMapper objectMapper) {
         super(objectMapper, "\"");
+        this.bulkCopier = new PgBulkCopier(objectMapper, getCoverChar());
     }
 
     //Use during insert, bulk-insert, update
     @Override
-    public void processTypes(DbTable table, List<String> insertableColumns, Map<String, Object> data) {
-
-        for (String columnName : insertableColumns) {
-            Object value = data.get(columnName);
-
-            String columnDataTypeName = table.getColumnDataTypeName(columnName);
-
-            log.debug("columnName : {} || columnDataTypeName - {}", columnName, columnDataTypeName);
-            if (Objects.isNull(value)) {
-                continue;
-            }
-
-            if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json", "jsonb")) {
-                Object v = convertToJson(value, columnDataTypeName);
-                data.put(columnName, v);
-            } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "timestamp")) {
-                LocalDateTime v = convertToLocalDateTime((String) value);
-                data.put(columnName, v);
-
-            } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "timestamptz")) {
-                OffsetDateTime v = convertToOffsetDateTime((String) value);
-                data.put(columnName, v);
-
-            } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "timetz")) {
-                OffsetTime v = convertToOffsetTime((String) value);
-                data.put(columnName, v);
-            } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "int4", "int2", "int8", "int")) {
-                data.put(columnName, Long.valueOf(value.toString().trim()));
-            } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "numeric")) {
-                data.put(columnName, Double.valueOf(value.toString().trim()));
-            } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "year")) {
-                data.put(columnName, Integer.valueOf(value.toString().trim()));
-            } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "_varchar")) {
-
-                log.debug("Array type found");
-
-                data.put(columnName, new ArrayTypeValueHolder("java.sql.Array", "varchar", ((ArrayList) value).toArray()));
-            }
-
+    public ColumnEncoder getColumnEncoder(DbColumn column) {
+        String columnDataTypeName = column.columnDataTypeName();
+
+        if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "json", "jsonb")) {
+            return value -> convertToJson(value, columnDataTypeName);
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "timestamp")) {
+            return value -> convertToLocalDateTime((String) value);
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "timestamptz")) {
+            return value -> convertToOffsetDateTime((String) value);
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "timetz")) {
+            return value -> convertToOffsetTime((String) value);
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "int4", "int2", "int8", "int")) {
+            return value -> Long.valueOf(value.toString().trim());
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "numeric")) {
+            return value -> Double.valueOf(value.toString().trim());
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "year")) {
+            return value -> Integer.valueOf(value.toString().trim());
+        } else if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "_varchar")) {
+            return value -> new ArrayTypeValueHolder("java.sql.Array", "varchar", ((List<?>) value).toArray());
         }
-
+        return null;
     }
 
     private OffsetTime convertToOffsetTime(String value) {
@@ -109,6 +91,17 @@ public class PostGreSQLDialect extends Dialect {
         }
     }
 
+    @Override
+    public ColumnDecoder getColumnDecoder(String columnTypeName, int sqlType) {
+        if (StringUtils.equalsIgnoreCase(columnTypeName, "_varchar")) {
+            return (rs, index) -> convertToStringArray(rs.getArray(index));
+        }
+        if (StringUtils.equalsAnyIgnoreCase(columnTypeName, "json", "jsonb")) {
+            return (rs, index) -> convertJsonToVO(rs.getObject(index));
+        }
+        return null;
+    }
+
     @Override
     public Object convertJsonToVO(Object object) {
 
@@ -129,6 +122,23 @@ public class PostGreSQLDialect extends Dialect {
 
     }
 
+    @Override
+    public Object toArrayParameter(DbColumn column, List<Object> values) {
+        String columnDataTypeName = column.columnDataTypeName();
+
+        if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName,
+                "int2", "int4", "int8", "smallserial", "serial", "bigserial")
+                && values.stream().allMatch(Number.class::isInstance)) {
+            return values.stream().map(v -> ((Number) v).longValue()).toArray(Long[]::new);
+        }
+        if (StringUtils.equalsAnyIgnoreCase(columnDataTypeName, "varchar", "text", "bpchar")
+                && values.stream().allMatch(String.class::isInstance)) {
+            return values.toArray(String[]::new);
+        }
+
+        return null;
+    }
+
     private String getQuotedName(String name) {
         return getCoverChar() + name + getCoverChar();
     }
@@ -143,6 +153,35 @@ public class PostGreSQLDialect extends Dialect {
         return getQuotedName(table.schema()) + "." + getQuotedName(table.name());
     }
 
+    @Override
+    public String getUpsertSqlTemplate() {
+        return "upsert-pg";
+    }
+
+    //xmax of a row inserted by the statement is 0
+    @Override
+    public boolean isUpsertReturningAction() {
+        return true;
+    }
+
+    @Override
+    public BulkCopier getBulkCopier() {
+        return bulkCopier;
+    }
+
+    @Override
+    public boolean supportRowValueComparison() {
+        return true;
+    }
+
+    @Override
+    public String getEstimatedCountSql() {
+        //planner estimate, -1 until the table is first analyzed
+        return "SELECT c.reltuples::bigint FROM pg_catalog.pg_class c "
+                + "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace "
+                + "WHERE n.nspname = :schemaName AND c.relname = :tableName";
+    }
+
     @Override
     public boolean isSupportedDb(String productName, int majorVersion) {
         return StringUtils.equalsIgnoreCase(productName, Database.POSTGRESQL.getProductName());
@@ -162,6 +201,6 @@ public class PostGreSQLDialect extends Dialect {
             }
         }
 
-        return convertToStringArray(object);
+        return null;
     }
 }
@@ -0,0 +1,22 @@
+package com.homihq.db2rest.jdbc.config.dialect;
+
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads rows through the bulk load protocol of the database instead of batched INSERTs.
+ * The rows have been through the {@link CoercionPlan} of the dialect already, no generated keys are returned.
+ */
+@FunctionalInterface
+public interface BulkCopier {
+
+    /**
+     * @return number of rows loaded
+     */
+    long copy(Connection connection, DbTable table, List<String> columns,
+              List<Map<String, Object>> rows) throws SQLException;
+}
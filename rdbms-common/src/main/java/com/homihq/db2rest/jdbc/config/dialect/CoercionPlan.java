@@ -0,0 +1,73 @@
+package com.homihq.db2rest.jdbc.config.dialect;
+
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Type conversions of a table for a list of insertable or updatable columns, the encoder of
+ * a column is at the position of the column, null when its value is bound as it is.
+ * Compiled by {@link Dialect#compileCoercionPlan} and applied to every row, null values are
+ * left untouched.
+ */
+public final class CoercionPlan {
+
+    private final String[] columns;
+    private final ColumnEncoder[] encoders;
+    private final boolean empty;
+
+    CoercionPlan(String[] columns, ColumnEncoder[] encoders) {
+        this.columns = columns;
+        this.encoders = encoders;
+        this.empty = Arrays.stream(encoders).allMatch(Objects::isNull);
+    }
+
+    public void apply(List<Map<String, Object>> rows) {
+        if (empty) {
+            return;
+        }
+        for (Map<String, Object> row : rows) {
+            apply(row);
+        }
+    }
+
+    public void apply(Map<String, Object> row) {
+        if (empty) {
+            return;
+        }
+        for (int i = 0; i < encoders.length; i++) {
+            ColumnEncoder encoder = encoders[i];
+            if (Objects.isNull(encoder)) {
+                continue;
+            }
+
+            Object value = row.get(columns[i]);
+            if (Objects.nonNull(value)) {
+                row.put(columns[i], encode(encoder, value));
+            }
+        }
+    }
+
+    private Object encode(ColumnEncoder encoder, Object value) {
+        try {
+            return encoder.encode(value);
+        } catch (GenericDataAccessException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new GenericDataAccessException(e.getMessage());
+        }
+    }
+
+    /**
+     * Cache key of a plan, the columns in insert order.
+     */
+    public record Key(String tableName, List<String> columns) {
+
+        public Key {
+            columns = List.copyOf(columns);
+        }
+    }
+}
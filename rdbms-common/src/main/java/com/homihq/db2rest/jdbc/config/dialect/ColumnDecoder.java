@@ -0,0 +1,14 @@
+package com.homihq.db2rest.jdbc.config.dialect;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads the value of one result set column. Decoders are picked once per query from the
+ * result set metadata and then applied to every row.
+ */
+@FunctionalInterface
+public interface ColumnDecoder {
+
+    Object decode(ResultSet rs, int index) throws SQLException;
+}
@@ -0,0 +1,11 @@
+package com.homihq.db2rest.jdbc.config.dialect;
+
+/**
+ * Converts a non null request value into the value bound for one column on insert and update.
+ * Encoders are picked once per table and column list, see {@link CoercionPlan}.
+ */
+@FunctionalInterface
+public interface ColumnEncoder {
+
+    Object encode(Object value);
+}
@@ -1,19 +1,23 @@
 package com.homihq.db2rest.jdbc.config.dialect;
 
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Function;
 
 public abstract class Dialect {
     private final ObjectMapper objectMapper;
     private final String coverChar;
+    private int inListThreshold = 1000;
 
     protected Dialect(ObjectMapper objectMapper, String coverChar) {
         this.objectMapper = objectMapper;
@@ -22,7 +26,26 @@ public abstract class Dialect {
 
     public abstract boolean isSupportedDb(String productName, int majorVersion);
 
-    public abstract void processTypes(DbTable table, List<String> insertableColumns, Map<String, Object> data);
+    /**
+     * Conversions of the request values of the columns to the types bound on insert and update.
+     * Column types are resolved once here, callers cache the plan with the table meta-data.
+     */
+    public CoercionPlan compileCoercionPlan(DbTable table, List<String> columns) {
+        ColumnEncoder[] encoders = new ColumnEncoder[columns.size()];
+
+        for (int i = 0; i < encoders.length; i++) {
+            encoders[i] = getColumnEncoder(table.lookupColumn(columns.get(i)));
+        }
+
+        return new CoercionPlan(columns.toArray(String[]::new), encoders);
+    }
+
+    /**
+     * Encoder for the values of a column, or null to bind them as they are.
+     */
+    public ColumnEncoder getColumnEncoder(DbColumn column) {
+        return null;
+    }
 
     public abstract String renderTableName(DbTable table, boolean containsWhere, boolean deleteOp);
 
@@ -36,6 +59,14 @@ public abstract class Dialect {
         return coverChar;
     }
 
+    protected String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new GenericDataAccessException("Error converting to JSON type - " + e.getLocalizedMessage());
+        }
+    }
+
     public boolean supportBatchReturnKeys() {
         return true;
     }
@@ -44,6 +75,22 @@ public abstract class Dialect {
         return true;
     }
 
+    /**
+     * Whether a row value comparison like {@code (a, b) > (:a, :b)} is matched as a range of an
+     * index on its columns. Otherwise seeks are spelled out as comparisons per column.
+     */
+    public boolean supportRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * Fetch size to set on statements whose result set is streamed to the client.
+     * Drivers that only stream with a special value override this.
+     */
+    public int getStreamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
+
     public int getMajorVersion() {
         return -1;
     }
@@ -63,6 +110,83 @@ public abstract class Dialect {
                         .toList();
     }
 
+    /**
+     * Value to bind a whole IN list as a single array parameter, or null when the database
+     * has no array comparison and the list is bound as one parameter per element.
+     */
+    public Object toArrayParameter(DbColumn column, List<Object> values) {
+        return null;
+    }
+
+    /**
+     * Lists of more values than this are rendered by {@link #renderLargeInList}, when the
+     * dialect has a strategy for large lists.
+     */
+    public void setInListThreshold(int inListThreshold) {
+        this.inListThreshold = inListThreshold;
+    }
+
+    /**
+     * Whether an IN list of the size is rendered by {@link #renderLargeInList}. The statement then
+     * depends on the size of the list.
+     */
+    public boolean isLargeInList(int size) {
+        return hasLargeInListStrategy() && size > Math.min(inListThreshold, getMaxInListSize());
+    }
+
+    protected boolean hasLargeInListStrategy() {
+        return false;
+    }
+
+    /**
+     * Values the database accepts in one IN list, larger lists are rendered by
+     * {@link #renderLargeInList} whatever the threshold.
+     */
+    protected int getMaxInListSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Condition matching the column against a list too large for one IN list, or null to bind
+     * it as one IN list anyway.
+     *
+     * @param columnName rendered column
+     * @param values     values converted for the column
+     * @param not        whether the column must match none of the values
+     * @param bind       binds a value as a new parameter and returns its placeholder
+     */
+    public String renderLargeInList(String columnName, DbColumn column, List<Object> values, boolean not,
+                                    Function<Object, String> bind) {
+        return null;
+    }
+
+    /**
+     * The list as IN lists of at most {@link #getMaxInListSize()} values joined by OR, or NOT IN
+     * lists joined by AND. The last list is padded by repeating its last value, the statement then
+     * only depends on the number of lists.
+     */
+    protected String renderChunkedInList(String columnName, List<Object> values, boolean not,
+                                         Function<Object, String> bind) {
+        int chunkSize = getMaxInListSize();
+        StringBuilder sql = new StringBuilder("(");
+
+        for (int from = 0; from < values.size(); from += chunkSize) {
+            List<Object> chunk = new ArrayList<>(chunkSize);
+            chunk.addAll(values.subList(from, Math.min(from + chunkSize, values.size())));
+
+            Object last = chunk.get(chunk.size() - 1);
+            while (chunk.size() < chunkSize) {
+                chunk.add(last);
+            }
+
+            if (from > 0) {
+                sql.append(not ? " AND " : " OR ");
+            }
+            sql.append(columnName).append(not ? " NOT IN (" : " IN (").append(bind.apply(chunk)).append(')');
+        }
+        return sql.append(')').toString();
+    }
+
     //TODO use Spring converter
     @Deprecated
     public Object processValue(String value, Class<?> type, String format) {
@@ -89,6 +213,78 @@ public abstract class Dialect {
 
     }
 
+    /**
+     * Decoder for database specific column types, or null to use the generic one.
+     *
+     * @param columnTypeName database specific type name from the result set metadata
+     * @param sqlType        type from {@link java.sql.Types}
+     */
+    public ColumnDecoder getColumnDecoder(String columnTypeName, int sqlType) {
+        return null;
+    }
+
+    /**
+     * Rows rendered into one multi row INSERT for the table, 0 to insert one row per statement
+     * in a JDBC batch. Statements are also kept below {@link #getMaxBindParameters()}.
+     *
+     * @param columns    columns the statement inserts
+     * @param returnKeys whether the keys generated for every row have to be read back
+     */
+    public int getMaxInsertRows(DbTable table, List<String> columns, boolean returnKeys) {
+        return 0;
+    }
+
+    /**
+     * Bind parameters the driver accepts in one statement.
+     */
+    public int getMaxBindParameters() {
+        return 65_535;
+    }
+
+    public String getMultiRowInsertSqlTemplate() {
+        return "insert-multi";
+    }
+
+    /**
+     * Template of a multi row insert that updates the rows whose conflict columns match an
+     * existing row, or null when the database has no upsert. Bound like a multi row insert.
+     */
+    public String getUpsertSqlTemplate() {
+        return null;
+    }
+
+    /**
+     * Whether the upsert returns the action taken for every row in a column
+     * {@code db2rest_action}, INSERT or UPDATE. Otherwise the rows matching an existing row are
+     * counted before the upsert, in the same transaction.
+     */
+    public boolean isUpsertReturningAction() {
+        return false;
+    }
+
+    /**
+     * Rows rendered into one upsert, kept below {@link #getMaxBindParameters()} as well.
+     */
+    public int getMaxUpsertRows() {
+        return 500;
+    }
+
+    /**
+     * Bulk load path used by bulk create when no generated keys are needed, or null when the
+     * database has none and rows are inserted in JDBC batches.
+     */
+    public BulkCopier getBulkCopier() {
+        return null;
+    }
+
+    /**
+     * Query for the row count kept in the database catalog, with the named parameters
+     * {@code schemaName} and {@code tableName}, or null when the database keeps no estimate.
+     */
+    public String getEstimatedCountSql() {
+        return null;
+    }
+
     public List<String> convertToStringArray(Object object) {
         return List.of();
     }
@@ -124,4 +320,12 @@ public abstract class Dialect {
     public String getUpdateSqlTemplate() {
         return "update";
     }
+
+    /**
+     * Template selecting the next batch of primary keys of a chunked delete or update, in key
+     * order and limited to the named parameter {@code pageLimit}.
+     */
+    public String getChunkKeysSqlTemplate() {
+        return "chunk-keys";
+    }
 }
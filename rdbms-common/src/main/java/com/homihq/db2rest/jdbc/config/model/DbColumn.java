@@ -50,6 +50,19 @@ public record DbColumn(
         return firstPart;
     }
 
+    /**
+     * Appends the column as {@link #renderWithAlias()} renders it to the statement being rendered.
+     */
+    public void renderWithAlias(StringBuilder sql) {
+        sql.append(tableAlias).append('.').append(coverChar).append(name).append(coverChar);
+        if (StringUtils.isNotBlank(jsonParts)) {
+            sql.append(jsonParts);
+        }
+        if (StringUtils.isNotBlank(alias)) {
+            sql.append(" as ").append(coverChar).append(alias).append(coverChar);
+        }
+    }
+
 
     @Deprecated
     public String getAliasedName() {
@@ -0,0 +1,73 @@
+package com.homihq.db2rest.jdbc.config.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Columns of a table by their case folded name, built once with the table. Copies of the table
+ * under another alias are kept here too, shared by the table and all its copies. Aliases are
+ * derived from table names and join positions, so there are few of them per table.
+ */
+public final class DbColumnIndex {
+
+    private final Map<String, DbColumn> columns;
+    private final Map<String, DbTable> aliasCopies;
+
+    private DbColumnIndex(Map<String, DbColumn> columns, Map<String, DbTable> aliasCopies) {
+        this.columns = columns;
+        this.aliasCopies = aliasCopies;
+    }
+
+    static DbColumnIndex of(List<DbColumn> dbColumns) {
+        return of(dbColumns, new ConcurrentHashMap<>());
+    }
+
+    static DbColumnIndex of(List<DbColumn> dbColumns, Map<String, DbTable> aliasCopies) {
+        Map<String, DbColumn> columns = HashMap.newHashMap(Objects.isNull(dbColumns) ? 0 : dbColumns.size());
+
+        if (Objects.nonNull(dbColumns)) {
+            for (DbColumn dbColumn : dbColumns) {
+                //the first column wins, as with a scan of the columns
+                columns.putIfAbsent(fold(dbColumn.name()), dbColumn);
+            }
+        }
+        return new DbColumnIndex(Map.copyOf(columns), aliasCopies);
+    }
+
+    static String fold(String name) {
+        return Objects.isNull(name) ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    DbColumn get(String columnName) {
+        return Objects.isNull(columnName) ? null : columns.get(fold(columnName));
+    }
+
+    DbTable aliasCopy(String tableAlias, Function<String, DbTable> copy) {
+        return aliasCopies.computeIfAbsent(tableAlias, copy);
+    }
+
+    Map<String, DbTable> aliasCopies() {
+        return aliasCopies;
+    }
+
+    //derived from the columns of the table, equal when they are
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DbColumnIndex other && columns.equals(other.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return columns.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DbColumnIndex[" + columns.size() + " columns]";
+    }
+}
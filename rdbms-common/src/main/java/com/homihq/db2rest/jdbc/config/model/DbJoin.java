@@ -22,28 +22,35 @@ public class DbJoin {
     private List<String> additionalWhere;
 
     public String render() {
+        StringBuilder sql = new StringBuilder();
+        render(sql);
+        return sql.toString();
+    }
+
+    public void render(StringBuilder sql) {
 
-        String str = joinType + " JOIN " + tableName + " " + alias + "\n";
+        sql.append(joinType).append(" JOIN ").append(tableName).append(' ').append(alias).append('\n');
 
         if (Objects.nonNull(onLeft)) {
-            str += " ON " + onLeft.render() + " " + onOperator + " " + onRight.render();
+            sql.append(" ON ").append(onLeft.render()).append(' ').append(onOperator).append(' ')
+                    .append(onRight.render());
         }
 
         if (Objects.nonNull(andConditions) && !andConditions.isEmpty()) {
             for (DbJoinAndCondition dbJoinAndCondition : andConditions) {
-                str += "\n AND " + dbJoinAndCondition.leftColumn.render() + " "
-                        + dbJoinAndCondition.operator + " "
-                        + dbJoinAndCondition.rightColumn.render();
+                sql.append("\n AND ").append(dbJoinAndCondition.leftColumn.render()).append(' ')
+                        .append(dbJoinAndCondition.operator).append(' ')
+                        .append(dbJoinAndCondition.rightColumn.render());
             }
         }
 
         if (Objects.nonNull(additionalWhere) && !additionalWhere.isEmpty()) {//filters
             for (String where : additionalWhere) {
-                str += "\n AND " + where;
+                sql.append("\n AND ").append(where);
             }
         }
 
-        return str + " \n ";
+        sql.append(" \n ");
     }
 
     public void addOn(DbColumn leftColumn, String operator, DbColumn rightColumn) {
@@ -5,4 +5,8 @@ public record DbSort(String table, String tableAlias, String column, String sort
     public String render() {
         return tableAlias + "." + column + " " + sortDirection + " ";
     }
+
+    public void render(StringBuilder sql) {
+        sql.append(tableAlias).append('.').append(column).append(' ').append(sortDirection).append(' ');
+    }
 }
@@ -5,43 +5,60 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.List;
+import java.util.Objects;
 
+/**
+ * @param columnIndex columns by case folded name, built from {@code dbColumns}
+ */
 @Slf4j
 public record DbTable(String schema, String name, String fullName, String alias,
-                      List<DbColumn> dbColumns, String type, String coverChar) {
+                      List<DbColumn> dbColumns, String type, String coverChar, DbColumnIndex columnIndex) {
+
+    public DbTable(String schema, String name, String fullName, String alias,
+                   List<DbColumn> dbColumns, String type, String coverChar) {
+        this(schema, name, fullName, alias, dbColumns, type, coverChar, DbColumnIndex.of(dbColumns));
+    }
 
     public String render() {
         return fullName + " " + alias;
     }
 
+    /**
+     * The table under another alias, copied once per alias.
+     */
     public DbTable copyWithAlias(String tableAlias) {
+        if (Objects.equals(alias, tableAlias)) {
+            return this;
+        }
+        return columnIndex.aliasCopy(tableAlias, this::copy);
+    }
+
+    private DbTable copy(String tableAlias) {
         List<DbColumn> columns =
                 dbColumns.stream()
                         .map(col -> col.copyWithTableAlias(tableAlias))
                         .toList();
 
-        return new DbTable(schema, name, fullName, tableAlias, columns, type, coverChar);
+        return new DbTable(schema, name, fullName, tableAlias, columns, type, coverChar,
+                DbColumnIndex.of(columns, columnIndex.aliasCopies()));
     }
 
     public DbColumn buildColumn(String columnName) {
-        log.info("columnName - {}", columnName);
+        log.debug("columnName - {}", columnName);
         DbAlias dbAlias = getAlias(columnName);
 
-        log.info("Db alias - {}", dbAlias);
-
         return getDbColumn(dbAlias);
     }
 
     private DbColumn getDbColumn(DbAlias dbAlias) {
-        return
-                this.dbColumns.stream()
-                        .filter(dbColumn -> StringUtils.equalsAnyIgnoreCase(dbAlias.name(), dbColumn.name()))
-                        .map(dbColumn -> dbColumn.copyWithAlias(dbAlias))
-                        .findFirst().orElseThrow(() -> new InvalidColumnException(name, dbAlias.name()));
+        DbColumn dbColumn = columnIndex.get(dbAlias.name());
+        if (Objects.isNull(dbColumn)) {
+            throw new InvalidColumnException(name, dbAlias.name());
+        }
+        return dbColumn.copyWithAlias(dbAlias);
     }
 
     private DbAlias getAlias(String name) {
-        log.info("Name - {}", name);
         String[] aliasParts = name.split(":");
 
         String columnName = aliasParts[0];
@@ -97,15 +114,19 @@ public record DbTable(String schema, String name, String fullName, String alias,
                 .toList().toArray(String[]::new);
     }
 
+    public boolean hasGeneratedColumns() {
+        return dbColumns.stream().anyMatch(dbColumn -> dbColumn.generated() || dbColumn.autoIncremented());
+    }
+
     public String getColumnDataTypeName(String columnName) {
         return lookupColumn(columnName).columnDataTypeName();
     }
 
-    private DbColumn lookupColumn(String columnName) {
-
-        return dbColumns.stream()
-                .filter(dbColumn -> StringUtils.equalsAnyIgnoreCase(columnName, dbColumn.name()))
-                .findFirst()
-                .orElseThrow(() -> new InvalidColumnException(name, columnName));
+    public DbColumn lookupColumn(String columnName) {
+        DbColumn dbColumn = columnIndex.get(columnName);
+        if (Objects.isNull(dbColumn)) {
+            throw new InvalidColumnException(name, columnName);
+        }
+        return dbColumn;
     }
 }
@@ -2,6 +2,7 @@ package com.homihq.db2rest.jdbc;
 
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.core.exception.InvalidTableException;
+import com.homihq.db2rest.jdbc.config.dialect.CoercionPlan;
 import com.homihq.db2rest.jdbc.config.dialect.Dialect;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import com.homihq.db2rest.jdbc.multidb.DbDetailHolder;
@@ -27,11 +28,15 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Slf4j
 @RequiredArgsConstructor
 public final class JdbcManager {
 
+    //bounds the plans of column lists sent by clients
+    private static final int MAX_COERCION_PLANS = 1024;
+
     private final DataSource dataSource;
     private final List<Dialect> availableDialects;
     private final DatabaseProperties databaseProperties;
@@ -45,19 +50,28 @@ public final class JdbcManager {
     private final Map<String, TransactionTemplate> transactionTemplateMap =
             new ConcurrentHashMap<>();
 
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+
     @PostConstruct
-    private void reload() {
+    public void reload() {
 
         loadAllMetaData();
 
+        reloadListeners.forEach(Runnable::run);
     }
 
-    public DbMeta getDbMetaByDbId(String dbId) {
-        Map<String, DbMeta> dbMetaMap =
-                getDbMetaMap();
+    /**
+     * Registers a callback that is run every time the meta-data is reloaded, so that anything
+     * derived from it can be discarded.
+     */
+    public void registerReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
 
-        return dbMetaMap.get(dbId);
+    public DbMeta getDbMetaByDbId(String dbId) {
+        DbDetailHolder dbDetailHolder = this.dbDetailHolderMap.get(dbId);
 
+        return Objects.isNull(dbDetailHolder) ? null : dbDetailHolder.dbMeta();
     }
 
     public Map<String, DbMeta> getDbMetaMap() {
@@ -131,8 +145,12 @@ public final class JdbcManager {
             DbMeta dbMeta = JdbcUtils.extractDatabaseMetaData(ds,
                     new JdbcMetaDataProvider(includeAllSchemas, schemas));
 
+            Map<DbDetailHolder.SchemaTableKey, DbTable> schemaTableMap = HashMap.newHashMap(dbMeta.dbTables().size());
+
             for (final DbTable dbTable : dbMeta.dbTables()) {
                 dbTableMap.put(dbTable.name(), dbTable);
+                //the first table wins, as with a scan of the tables
+                schemaTableMap.putIfAbsent(DbDetailHolder.schemaTableKey(dbTable.schema(), dbTable.name()), dbTable);
             }
 
             Dialect dialect = availableDialects.stream()
@@ -142,7 +160,8 @@ public final class JdbcManager {
                     ).findFirst()
                     .orElseThrow(() -> new GenericDataAccessException("Dialect not found."));
 
-            dbDetailHolderMap.put(dbId, new DbDetailHolder(dbId, dbMeta, dbTableMap, dialect));
+            dbDetailHolderMap.put(dbId, new DbDetailHolder(dbId, dbMeta, dbTableMap, Map.copyOf(schemaTableMap), dialect,
+                    new ConcurrentHashMap<>()));
 
         } catch (MetaDataAccessException e) {
             throw new RuntimeException(e);
@@ -180,20 +199,14 @@ public final class JdbcManager {
             throw new GenericDataAccessException("DB not found.");
         }
 
-        DbMeta dbMeta = dbDetailHolder.dbMeta();
-
-        return
-                dbMeta.dbTables()
-                        .stream()
-                        .filter(dbTable ->
-                                StringUtils.equalsIgnoreCase(dbTable.schema(), schemaName)
-                                        &&
-                                        StringUtils.equalsIgnoreCase(dbTable.name(), tableName)
-                        ).findFirst()
-                        .orElseThrow(() ->
-                                new GenericDataAccessException(
-                                        "Missing table - schema : " + schemaName + " , table : "
-                                                + tableName));
+        DbTable table = dbDetailHolder.schemaTableMap().get(DbDetailHolder.schemaTableKey(schemaName, tableName));
+
+        if (Objects.isNull(table)) {
+            throw new GenericDataAccessException(
+                    "Missing table - schema : " + schemaName + " , table : " + tableName);
+        }
+
+        return table;
     }
 
     public NamedParameterJdbcTemplate getNamedParameterJdbcTemplate(String dbId) {
@@ -213,4 +226,30 @@ public final class JdbcManager {
 
         return dbDetailHolder.dialect();
     }
+
+    /**
+     * Type coercion plan of the table for the columns. Plans are compiled by the dialect on
+     * first use and kept with the meta-data of the database until it is reloaded.
+     */
+    public CoercionPlan getCoercionPlan(String dbId, DbTable table, List<String> columns) {
+        DbDetailHolder dbDetailHolder = this.dbDetailHolderMap.get(dbId);
+
+        if (Objects.isNull(dbDetailHolder)) {
+            throw new GenericDataAccessException("DB not found.");
+        }
+
+        Map<CoercionPlan.Key, CoercionPlan> coercionPlans = dbDetailHolder.coercionPlans();
+        CoercionPlan.Key key = new CoercionPlan.Key(table.fullName(), columns);
+        CoercionPlan plan = coercionPlans.get(key);
+
+        if (Objects.isNull(plan)) {
+            plan = dbDetailHolder.dialect().compileCoercionPlan(table, key.columns());
+
+            if (coercionPlans.size() < MAX_COERCION_PLANS) {
+                coercionPlans.putIfAbsent(key, plan);
+            }
+        }
+
+        return plan;
+    }
 }
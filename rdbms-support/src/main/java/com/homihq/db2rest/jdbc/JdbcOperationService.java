@@ -5,15 +5,25 @@ import com.homihq.db2rest.core.dto.CreateBulkResponse;
 import com.homihq.db2rest.core.dto.CreateResponse;
 import com.homihq.db2rest.core.dto.ExistsResponse;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import com.homihq.db2rest.jdbc.config.dialect.BulkCopier;
 import com.homihq.db2rest.jdbc.config.dialect.Dialect;
 import com.homihq.db2rest.jdbc.config.model.ArrayTypeValueHolder;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
-import com.homihq.db2rest.jdbc.core.SimpleRowMapper;
+import com.homihq.db2rest.jdbc.core.row.RowDecoder;
+import com.homihq.db2rest.jdbc.core.row.RowHandler;
+import com.homihq.db2rest.jdbc.core.row.RowSet;
+import com.homihq.db2rest.jdbc.core.row.RowSetExtractor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -21,9 +31,13 @@ import org.springframework.jdbc.support.KeyHolder;
 
 import java.sql.Array;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -36,10 +50,43 @@ public class JdbcOperationService implements DbOperationService {
     }
 
     @Override
-    public List<Map<String, Object>> read(NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> paramMap, String sql,
-                                          Dialect dialect) {
+    public RowSet read(NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> paramMap, String sql,
+                       Dialect dialect) {
         return namedParameterJdbcTemplate
-                .query(sql, new MapSqlParameterSource(paramMap), new SimpleRowMapper(dialect));
+                .query(sql, new MapSqlParameterSource(paramMap), new RowSetExtractor(dialect));
+    }
+
+    @Override
+    public void stream(NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> paramMap, String sql,
+                       Dialect dialect, int fetchSize, RowHandler rowHandler) {
+        namedParameterJdbcTemplate.getJdbcOperations().query(
+                streamingStatementCreator(sql, new MapSqlParameterSource(paramMap), dialect.getStreamingFetchSize(fetchSize)),
+                (ResultSet rs) -> {
+                    RowDecoder rowDecoder = RowDecoder.of(rs.getMetaData(), dialect);
+                    rowHandler.start(rowDecoder);
+
+                    while (rs.next()) {
+                        rowHandler.row(rowDecoder.decode(rs));
+                    }
+                    return null;
+                });
+    }
+
+    private PreparedStatementCreator streamingStatementCreator(String sql, SqlParameterSource paramSource, int fetchSize) {
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+        List<SqlParameter> declaredParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
+        Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+
+        PreparedStatementCreatorFactory factory = new PreparedStatementCreatorFactory(sqlToUse, declaredParameters);
+        factory.setResultSetType(ResultSet.TYPE_FORWARD_ONLY);
+        PreparedStatementCreator creator = factory.newPreparedStatementCreator(params);
+
+        return con -> {
+            PreparedStatement ps = creator.createPreparedStatement(con);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        };
     }
 
     @Override
@@ -147,4 +194,67 @@ public class JdbcOperationService implements DbOperationService {
 
         return new CreateBulkResponse(updateCounts, null);
     }
+
+    @Override
+    public CreateBulkResponse multiRowInsert(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> params,
+            String sql, int rows, DbTable dbTable) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        namedParameterJdbcTemplate.update(sql, new MapSqlParameterSource(params), keyHolder, dbTable.getKeyColumnNames());
+
+        //keys come back in the order of the rows in the VALUES list
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows) {
+            throw new GenericDataAccessException("Expected " + rows + " generated keys, driver returned " + keys.size());
+        }
+
+        return new CreateBulkResponse(rowCounts(rows), keys);
+    }
+
+    @Override
+    public CreateBulkResponse multiRowInsert(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> params,
+            String sql, int rows) {
+        namedParameterJdbcTemplate.update(sql, params);
+
+        return new CreateBulkResponse(rowCounts(rows), null);
+    }
+
+    @Override
+    public CreateBulkResponse upsert(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> params,
+            String sql, String matchedSql, int rows) {
+        long updated;
+
+        if (Objects.isNull(matchedSql)) {
+            updated = namedParameterJdbcTemplate.queryForList(sql, params, String.class)
+                    .stream()
+                    .filter("UPDATE"::equalsIgnoreCase)
+                    .count();
+        } else {
+            Long matched = namedParameterJdbcTemplate.queryForObject(matchedSql, params, Long.class);
+            namedParameterJdbcTemplate.update(sql, params);
+            updated = Objects.isNull(matched) ? 0 : matched;
+        }
+
+        return new CreateBulkResponse(rowCounts(rows), null, rows - updated, updated);
+    }
+
+    @Override
+    public CreateBulkResponse copy(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate, BulkCopier bulkCopier,
+            DbTable dbTable, List<String> columns, List<Map<String, Object>> dataList) {
+        Long rows = namedParameterJdbcTemplate.getJdbcTemplate().execute(
+                (ConnectionCallback<Long>) connection -> bulkCopier.copy(connection, dbTable, columns, dataList));
+
+        return new CreateBulkResponse(rowCounts(Math.toIntExact(rows)), null);
+    }
+
+    //one count per row like a batch of single row inserts
+    private int[] rowCounts(int rows) {
+        int[] updateCounts = new int[rows];
+        Arrays.fill(updateCounts, 1);
+        return updateCounts;
+    }
 }
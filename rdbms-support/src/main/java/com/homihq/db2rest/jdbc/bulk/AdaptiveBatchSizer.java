@@ -0,0 +1,117 @@
+package com.homihq.db2rest.jdbc.bulk;
+
+import com.homihq.db2rest.config.BulkIngestProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rows written per batch by bulk create, per table. The time and the bound bytes of every batch
+ * written move the size towards the batches that take the target duration, at most doubling or
+ * halving it at a time and keeping the bytes of a batch below the limit.
+ */
+public class AdaptiveBatchSizer {
+
+    //weight of the last batch in the averages per row
+    private static final double ALPHA = 0.3;
+
+    private final BulkIngestProperties bulkIngestProperties;
+    private final BulkIngestMetrics bulkIngestMetrics;
+    private final Map<String, BatchSize> sizes = new ConcurrentHashMap<>();
+
+    public AdaptiveBatchSizer(BulkIngestProperties bulkIngestProperties, BulkIngestMetrics bulkIngestMetrics) {
+        this.bulkIngestProperties = bulkIngestProperties;
+        this.bulkIngestMetrics = bulkIngestMetrics;
+    }
+
+    /**
+     * Rows of the next batch written to the table.
+     */
+    public int rows(String dbId, String tableName) {
+        return batchSize(dbId, tableName).rows;
+    }
+
+    /**
+     * Rows of the next batch rounded down to whole statements of {@code rowsPerStatement} rows,
+     * at least one statement.
+     */
+    public int rows(String dbId, String tableName, int rowsPerStatement) {
+        int rows = rows(dbId, tableName);
+        return rowsPerStatement > 1 ? Math.max(rowsPerStatement, rows - rows % rowsPerStatement) : rows;
+    }
+
+    /**
+     * Adapts the size of the table to a batch written.
+     *
+     * @param bytes estimated bytes bound by the batch, see {@link #estimateBytes}
+     */
+    public void written(String dbId, String tableName, int rows, long bytes, long nanos) {
+        if (rows <= 0) {
+            return;
+        }
+        batchSize(dbId, tableName).written(rows, bytes, nanos);
+        bulkIngestMetrics.batchWritten(dbId, tableName, rows);
+    }
+
+    /**
+     * Rough size of the values of the rows as bound, strings by their length.
+     */
+    public static long estimateBytes(Iterable<Map<String, Object>> rows) {
+        long bytes = 0;
+        for (Map<String, Object> row : rows) {
+            for (Object value : row.values()) {
+                bytes += switch (value) {
+                    case null -> 1;
+                    case CharSequence text -> text.length();
+                    case byte[] binary -> binary.length;
+                    default -> 8;
+                };
+            }
+        }
+        return bytes;
+    }
+
+    private BatchSize batchSize(String dbId, String tableName) {
+        return sizes.computeIfAbsent(dbId + "." + tableName, key -> {
+            BatchSize batchSize = new BatchSize(bulkIngestProperties);
+            bulkIngestMetrics.batchSize(dbId, tableName, batchSize, size -> size.rows);
+            return batchSize;
+        });
+    }
+
+    static final class BatchSize {
+        private final long targetNanos;
+        private final int minRows;
+        private final int maxRows;
+        private final long maxBytes;
+
+        private volatile int rows;
+        //guarded by this
+        private double nanosPerRow;
+        private double bytesPerRow;
+
+        BatchSize(BulkIngestProperties properties) {
+            this.targetNanos = properties.getBatchTargetMillis() * 1_000_000L;
+            this.minRows = Math.max(1, properties.getBatchMinRows());
+            this.maxRows = Math.max(minRows, properties.getBatchMaxRows());
+            this.maxBytes = properties.getBatchMaxBytes();
+            this.rows = Math.clamp(properties.getBatchInitialRows(), minRows, maxRows);
+        }
+
+        synchronized void written(int batchRows, long bytes, long nanos) {
+            nanosPerRow = average(nanosPerRow, (double) nanos / batchRows);
+            bytesPerRow = average(bytesPerRow, (double) bytes / batchRows);
+
+            long next = nanosPerRow > 0 ? (long) (targetNanos / nanosPerRow) : (long) rows * 2;
+            next = Math.clamp(next, rows / 2, (long) rows * 2);
+            if (maxBytes > 0 && bytesPerRow > 0) {
+                next = Math.min(next, (long) (maxBytes / bytesPerRow));
+            }
+            rows = (int) Math.clamp(next, minRows, maxRows);
+        }
+
+        private static double average(double average, double value) {
+            return average == 0 ? value : ALPHA * value + (1 - ALPHA) * average;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.homihq.db2rest.jdbc.bulk;
+
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A job run in the background by the {@link BulkLoadJobRegistry}. A failed or cancelled job can
+ * be resumed, subclasses keep what they need to continue where the last run stopped.
+ */
+public abstract class BackgroundJob {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    @Getter
+    private final String dbId;
+    @Getter
+    private final String tableName;
+    /**
+     * What the job writes to its table, {@code upload}, {@code delete} or {@code update}.
+     */
+    @Getter
+    private final String operation;
+    protected final AtomicLong rowsCommitted = new AtomicLong();
+
+    @Getter
+    private volatile State state = State.QUEUED;
+    private volatile String error;
+    private volatile Future<?> future;
+    private volatile boolean active;
+    protected volatile long runStartedAt;
+    private volatile long runStartRows;
+    private volatile long runEndedAt;
+    @Getter
+    private volatile long finishedAt;
+    //guarded by this, what a resumed job was before it was queued again
+    private State resumedFrom;
+    private String resumedError;
+
+    protected BackgroundJob(String dbId, String tableName, String operation) {
+        this.dbId = dbId;
+        this.tableName = tableName;
+        this.operation = operation;
+    }
+
+    /**
+     * One run of the job, returns once all its work is committed.
+     */
+    protected abstract void execute();
+
+    /**
+     * Stops the running {@link #execute()} of a job that was just cancelled.
+     */
+    protected void interrupt() {
+    }
+
+    /**
+     * Resets what the last run counted before a resumed job runs again.
+     */
+    protected void resumed() {
+    }
+
+    /**
+     * Frees what the job holds, called once it completed and when it is evicted.
+     */
+    protected void release() {
+    }
+
+    public abstract BulkLoadJobStatus status();
+
+    void submitted(Future<?> future) {
+        this.future = future;
+    }
+
+    void run() {
+        boolean resuming;
+        synchronized (this) {
+            if (state != State.QUEUED) {
+                return;
+            }
+            state = State.RUNNING;
+            active = true;
+            resuming = Objects.nonNull(resumedFrom);
+            resumedFrom = null;
+            resumedError = null;
+        }
+        if (resuming) {
+            resumed();
+        }
+        runStartedAt = System.nanoTime();
+        runStartRows = rowsCommitted.get();
+        error = null;
+
+        try {
+            execute();
+            finish(State.COMPLETED, null);
+            release();
+        } catch (RuntimeException e) {
+            finish(State.FAILED, e.getMessage());
+        } finally {
+            active = false;
+        }
+    }
+
+    synchronized boolean cancel() {
+        if (state.isFinished()) {
+            return false;
+        }
+        finish(State.CANCELLED, null);
+
+        interrupt();
+        if (Objects.nonNull(future)) {
+            future.cancel(true);
+        }
+        return true;
+    }
+
+    synchronized boolean resume() {
+        //a cancelled run may still be stopping
+        if (active || state != State.FAILED && state != State.CANCELLED) {
+            return false;
+        }
+        resumedFrom = state;
+        resumedError = error;
+        state = State.QUEUED;
+        error = null;
+        return true;
+    }
+
+    /**
+     * Puts a resumed job that could not be queued back in the state it was resumed from, so it
+     * can be resumed again later.
+     */
+    synchronized void rejected() {
+        if (state == State.QUEUED && Objects.nonNull(resumedFrom)) {
+            state = resumedFrom;
+            error = resumedError;
+            resumedFrom = null;
+            resumedError = null;
+        }
+    }
+
+    protected String getError() {
+        return error;
+    }
+
+    private synchronized void finish(State finalState, String message) {
+        //a cancelled run fails as it is stopped, it stays cancelled
+        if (state == State.CANCELLED) {
+            return;
+        }
+        state = finalState;
+        error = message;
+        runEndedAt = System.nanoTime();
+        finishedAt = System.currentTimeMillis();
+    }
+
+    protected long rowsPerSecond() {
+        if (runStartedAt == 0) {
+            return 0;
+        }
+        long end = state == State.RUNNING ? System.nanoTime() : runEndedAt;
+        long nanos = end - runStartedAt;
+        return nanos <= 0 ? 0 : (rowsCommitted.get() - runStartRows) * 1_000_000_000L / nanos;
+    }
+}
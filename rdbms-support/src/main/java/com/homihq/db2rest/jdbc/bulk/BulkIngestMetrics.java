@@ -0,0 +1,74 @@
+package com.homihq.db2rest.jdbc.bulk;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Rows written by bulk uploads per table, the rate of the counter is the rows per second, and
+ * the chunks waiting in front of each pipeline stage over all running uploads. The batch size
+ * chosen for every table and the rows of the batches written by bulk create.
+ */
+public class BulkIngestMetrics {
+
+    private static final String METRIC_PREFIX = "db2rest.bulk.ingest";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<BulkIngestPipeline<?>> running = ConcurrentHashMap.newKeySet();
+    private final Map<String, Counter> rows = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> batchRows = new ConcurrentHashMap<>();
+
+    public BulkIngestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        queueDepth("coerce", BulkIngestPipeline::parsedDepth);
+        queueDepth("write", BulkIngestPipeline::coercedDepth);
+        Gauge.builder(METRIC_PREFIX + ".running", running, Set::size)
+                .register(meterRegistry);
+    }
+
+    void register(BulkIngestPipeline<?> pipeline) {
+        running.add(pipeline);
+    }
+
+    void unregister(BulkIngestPipeline<?> pipeline) {
+        running.remove(pipeline);
+    }
+
+    void rowsWritten(String dbId, String tableName, int count) {
+        rows.computeIfAbsent(dbId + "." + tableName, k -> Counter.builder(METRIC_PREFIX + ".rows")
+                        .tag("db", dbId)
+                        .tag("table", tableName)
+                        .register(meterRegistry))
+                .increment(count);
+    }
+
+    <T> void batchSize(String dbId, String tableName, T batchSize, ToDoubleFunction<T> rows) {
+        Gauge.builder(METRIC_PREFIX + ".batch.size", batchSize, rows)
+                .tag("db", dbId)
+                .tag("table", tableName)
+                .register(meterRegistry);
+    }
+
+    void batchWritten(String dbId, String tableName, int count) {
+        batchRows.computeIfAbsent(dbId + "." + tableName, k -> DistributionSummary.builder(METRIC_PREFIX + ".batch.rows")
+                        .tag("db", dbId)
+                        .tag("table", tableName)
+                        .register(meterRegistry))
+                .record(count);
+    }
+
+    private void queueDepth(String stage, ToIntFunction<BulkIngestPipeline<?>> depth) {
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", running,
+                        pipelines -> pipelines.stream().mapToInt(depth).sum())
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,267 @@
+package com.homihq.db2rest.jdbc.bulk;
+
+import com.homihq.db2rest.bulk.FileStreamObserver;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Writes the chunks of an upload in three stages connected by bounded queues - the parser
+ * (the thread streaming the file into {@link #update(List)}), type coercion, and a number of
+ * batch writers each using its own connection. A full queue blocks the stage in front of it,
+ * so parsing pauses while the writers catch up.
+ * <p>
+ * The first failure of any stage stops all of them, {@link #finish()} then rethrows it.
+ * Chunks written before the failure stay committed, a {@link ChunkListener} learns which ones.
+ * Chunks are numbered in the order they are parsed, so a rerun over the same input can
+ * {@link #skip(LongPredicate) skip} the chunks committed by an earlier run.
+ *
+ * @param <T> a chunk ready to be written
+ */
+@Slf4j
+public class BulkIngestPipeline<T> implements FileStreamObserver {
+
+    private static final long POLL_MILLIS = 100;
+
+    @Getter
+    private final String dbId;
+    @Getter
+    private final String tableName;
+    private final Function<List<Map<String, Object>>, T> coercer;
+    private final ToIntFunction<T> writer;
+    private final int writers;
+    private final BulkIngestMetrics metrics;
+
+    private final BlockingQueue<Chunk> parsed;
+    private final BlockingQueue<Batch<T>> coerced;
+
+    //identity markers closing the queues
+    private final Chunk endOfInput = new Chunk(-1, List.of());
+    private final Batch<T> endOfBatches = new Batch<>(-1, null);
+
+    private LongPredicate skip = chunk -> false;
+    private ChunkListener listener = ChunkListener.NONE;
+    private long chunks;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Future<?>> stages = new ArrayList<>();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    private final AtomicLong rows = new AtomicLong();
+    private long startedAt;
+
+    public BulkIngestPipeline(String dbId, String tableName,
+                              Function<List<Map<String, Object>>, T> coercer, ToIntFunction<T> writer,
+                              int writers, int queueCapacity, BulkIngestMetrics metrics) {
+        this.dbId = dbId;
+        this.tableName = tableName;
+        this.coercer = coercer;
+        this.writer = writer;
+        this.writers = Math.max(writers, 1);
+        this.metrics = metrics;
+        this.parsed = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+        this.coerced = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+    }
+
+    /**
+     * Chunks not to write again, called with the number of every parsed chunk.
+     */
+    public BulkIngestPipeline<T> skip(LongPredicate skip) {
+        this.skip = skip;
+        return this;
+    }
+
+    public BulkIngestPipeline<T> listener(ChunkListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public BulkIngestPipeline<T> start() {
+        //aborted before it started
+        throwIfFailed();
+        startedAt = System.nanoTime();
+        metrics.register(this);
+
+        stages.add(executor.submit(this::coerce));
+        for (int i = 0; i < writers; i++) {
+            stages.add(executor.submit(this::write));
+        }
+        return this;
+    }
+
+    /**
+     * Hands a parsed chunk to the coercion stage, blocks while its queue is full.
+     */
+    @Override
+    public void update(List<Map<String, Object>> data) {
+        throwIfFailed();
+        if (Objects.isNull(data) || data.isEmpty()) {
+            return;
+        }
+
+        long chunk = chunks++;
+        if (!skip.test(chunk)) {
+            put(parsed, new Chunk(chunk, data));
+        }
+    }
+
+    /**
+     * Waits for the chunks handed over so far to be written.
+     *
+     * @return number of rows written
+     */
+    public long finish() {
+        try {
+            put(parsed, endOfInput);
+            for (Future<?> stage : stages) {
+                stage.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(new GenericDataAccessException("Bulk insert interrupted"));
+        } catch (ExecutionException e) {
+            fail(new GenericDataAccessException(e.getCause().getMessage()));
+        } catch (RuntimeException e) {
+            fail(e);
+        } finally {
+            close();
+        }
+
+        if (Objects.nonNull(failure.get())) {
+            throw failure.get();
+        }
+
+        log.info("Bulk insert into {}.{} - {} rows, {} rows/s", dbId, tableName, rows.get(), rowsPerSecond());
+        return rows.get();
+    }
+
+    /**
+     * Stops all stages after the parser failed.
+     */
+    public void abort(RuntimeException e) {
+        fail(e);
+        close();
+    }
+
+    public long rowsPerSecond() {
+        long nanos = System.nanoTime() - startedAt;
+        return nanos <= 0 ? 0 : rows.get() * 1_000_000_000L / nanos;
+    }
+
+    int parsedDepth() {
+        return parsed.size();
+    }
+
+    int coercedDepth() {
+        return coerced.size();
+    }
+
+    private void coerce() {
+        Chunk chunk = endOfInput;
+        try {
+            while ((chunk = parsed.take()) != endOfInput) {
+                put(coerced, new Batch<>(chunk.number(), coercer.apply(chunk.rows())));
+            }
+            for (int i = 0; i < writers; i++) {
+                put(coerced, endOfBatches);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            fail(chunk.number(), e);
+        }
+    }
+
+    private void write() {
+        Batch<T> batch = endOfBatches;
+        try {
+            while ((batch = coerced.take()) != endOfBatches) {
+                int written = writer.applyAsInt(batch.value());
+                rows.addAndGet(written);
+                metrics.rowsWritten(dbId, tableName, written);
+                listener.written(batch.number(), written);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            fail(batch.number(), e);
+        }
+    }
+
+    private <E> void put(BlockingQueue<E> queue, E item) {
+        try {
+            while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                throwIfFailed();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenericDataAccessException("Bulk insert interrupted");
+        }
+    }
+
+    private void throwIfFailed() {
+        RuntimeException e = failure.get();
+        if (Objects.nonNull(e)) {
+            throw e;
+        }
+    }
+
+    private void fail(long chunk, RuntimeException e) {
+        //rethrown by a stage stopped after another one failed
+        if (e == failure.get()) {
+            return;
+        }
+        listener.failed(chunk, e);
+        fail(e);
+    }
+
+    private void fail(RuntimeException e) {
+        if (failure.compareAndSet(null, e)) {
+            log.error("Bulk insert into {}.{} failed after {} rows - {}", dbId, tableName, rows.get(), e.getMessage());
+            //wakes up the stages waiting on a queue
+            executor.shutdownNow();
+        }
+    }
+
+    private void close() {
+        executor.shutdownNow();
+        metrics.unregister(this);
+    }
+
+    private record Chunk(long number, List<Map<String, Object>> rows) {
+    }
+
+    private record Batch<T>(long number, T value) {
+    }
+
+    /**
+     * Outcome of every chunk, called from the stage threads.
+     */
+    public interface ChunkListener {
+
+        ChunkListener NONE = new ChunkListener() {
+        };
+
+        default void written(long chunk, int rows) {
+        }
+
+        default void failed(long chunk, RuntimeException e) {
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.homihq.db2rest.jdbc.bulk;
+
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * An upload loaded in the background from a copy of the file. Every chunk is committed on its
+ * own, the job remembers which ones so a failed or cancelled job can be resumed without
+ * writing them again.
+ */
+@Slf4j
+public class BulkLoadJob extends BackgroundJob implements BulkIngestPipeline.ChunkListener {
+
+    private final Path file;
+    private final long fileSize;
+    private final Consumer<BulkLoadJob> loader;
+
+    //guarded by this
+    private final BitSet committedChunks = new BitSet();
+    private final AtomicInteger failedChunks = new AtomicInteger();
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    private volatile BulkIngestPipeline<?> pipeline;
+
+    /**
+     * @param loader streams the file of the job through a pipeline, see {@link #running}
+     */
+    public BulkLoadJob(String dbId, String tableName, Path file, Consumer<BulkLoadJob> loader) throws IOException {
+        super(dbId, tableName, "upload");
+        this.file = file;
+        this.fileSize = Files.size(file);
+        this.loader = loader;
+    }
+
+    /**
+     * The file of the job, the bytes read are the progress of the run.
+     */
+    public InputStream openStream() throws IOException {
+        bytesRead.set(0);
+        return new FilterInputStream(Files.newInputStream(file)) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    bytesRead.incrementAndGet();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    bytesRead.addAndGet(n);
+                }
+                return n;
+            }
+        };
+    }
+
+    /**
+     * Hands the pipeline of the run to the job, so that it can be cancelled.
+     */
+    public void running(BulkIngestPipeline<?> pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public synchronized boolean isCommitted(long chunk) {
+        return committedChunks.get((int) chunk);
+    }
+
+    @Override
+    public void written(long chunk, int rows) {
+        synchronized (this) {
+            committedChunks.set((int) chunk);
+        }
+        rowsCommitted.addAndGet(rows);
+    }
+
+    @Override
+    public void failed(long chunk, RuntimeException e) {
+        //chunks interrupted by a cancel did not fail
+        if (getState() != State.CANCELLED) {
+            failedChunks.incrementAndGet();
+        }
+    }
+
+    @Override
+    protected void execute() {
+        try {
+            loader.accept(this);
+        } finally {
+            pipeline = null;
+        }
+    }
+
+    @Override
+    protected void interrupt() {
+        BulkIngestPipeline<?> running = pipeline;
+        if (Objects.nonNull(running)) {
+            running.abort(new GenericDataAccessException("Bulk load job cancelled"));
+        }
+    }
+
+    @Override
+    protected void resumed() {
+        failedChunks.set(0);
+    }
+
+    @Override
+    protected void release() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Unable to delete the file of bulk load job {} - {}", getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public BulkLoadJobStatus status() {
+        long chunks;
+        long checkpoint;
+        synchronized (this) {
+            chunks = committedChunks.cardinality();
+            checkpoint = committedChunks.nextClearBit(0);
+        }
+
+        return new BulkLoadJobStatus(getId(), getDbId(), getTableName(), getOperation(), getState().name(),
+                rowsCommitted.get(), rowsPerSecond(), chunks, checkpoint, failedChunks.get(), etaSeconds(), getError());
+    }
+
+    private Long etaSeconds() {
+        long read = bytesRead.get();
+        if (getState() != State.RUNNING || read <= 0) {
+            return null;
+        }
+        double elapsedSeconds = (System.nanoTime() - runStartedAt) / 1e9;
+        return Math.round(elapsedSeconds * Math.max(fileSize - read, 0) / read);
+    }
+}
@@ -0,0 +1,110 @@
+package com.homihq.db2rest.jdbc.bulk;
+
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs background jobs, uploads and chunked deletes or updates, on a bounded executor. At most
+ * {@code jobs} of them run at the same time and {@code jobQueue} more wait in line. Finished jobs
+ * are kept for their status and a resume until the retention ends, what they hold is released
+ * with them.
+ */
+@Slf4j
+public class BulkLoadJobRegistry {
+
+    private final ExecutorService executor;
+    private final long retentionMillis;
+    private final Map<String, BackgroundJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkLoadJobRegistry(int jobs, int jobQueue, int retentionMinutes) {
+        int threads = Math.max(jobs, 1);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(jobQueue, 1)),
+                Thread.ofVirtual().name("bulk-load-job-", 0).factory());
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(retentionMinutes);
+    }
+
+    public <T extends BackgroundJob> T submit(T job) {
+        evictExpired();
+
+        jobs.put(job.getId(), job);
+        try {
+            schedule(job);
+        } catch (GenericDataAccessException e) {
+            jobs.remove(job.getId());
+            job.release();
+            throw e;
+        }
+
+        log.info("Background job {} queued for {}.{}", job.getId(), job.getDbId(), job.getTableName());
+        return job;
+    }
+
+    public BackgroundJob get(String dbId, String jobId) {
+        BackgroundJob job = jobs.get(jobId);
+
+        if (Objects.isNull(job) || !job.getDbId().equals(dbId)) {
+            throw new GenericDataAccessException("Job not found - " + jobId);
+        }
+        return job;
+    }
+
+    public BackgroundJob cancel(String dbId, String jobId) {
+        BackgroundJob job = get(dbId, jobId);
+
+        if (!job.cancel()) {
+            throw new GenericDataAccessException("Job is " + job.getState() + " - " + jobId);
+        }
+        log.info("Background job {} cancelled", jobId);
+        return job;
+    }
+
+    /**
+     * Runs a failed or cancelled job again, the chunks it committed are skipped.
+     */
+    public BackgroundJob resume(String dbId, String jobId) {
+        BackgroundJob job = get(dbId, jobId);
+
+        if (!job.resume()) {
+            throw new GenericDataAccessException("Job is " + job.getState() + " - " + jobId);
+        }
+        try {
+            schedule(job);
+        } catch (GenericDataAccessException e) {
+            job.rejected();
+            throw e;
+        }
+
+        log.info("Background job {} resumed at checkpoint {}", jobId, job.status().checkpoint());
+        return job;
+    }
+
+    private void schedule(BackgroundJob job) {
+        try {
+            job.submitted(executor.submit(job::run));
+        } catch (RejectedExecutionException e) {
+            throw new GenericDataAccessException("Too many jobs waiting, try again later");
+        }
+    }
+
+    private void evictExpired() {
+        long expiredBefore = System.currentTimeMillis() - retentionMillis;
+
+        jobs.values().removeIf(job -> {
+            boolean expired = job.getState().isFinished() && job.getFinishedAt() < expiredBefore;
+            if (expired) {
+                job.release();
+            }
+            return expired;
+        });
+    }
+}
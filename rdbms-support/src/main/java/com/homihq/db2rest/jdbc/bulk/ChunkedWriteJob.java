@@ -0,0 +1,59 @@
+package com.homihq.db2rest.jdbc.bulk;
+
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Deletes or updates the rows matching a filter in batches of primary keys, every batch in a
+ * transaction of its own. The key of the last row written is the checkpoint, a resumed job
+ * continues after it.
+ */
+public class ChunkedWriteJob extends BackgroundJob {
+
+    private final Consumer<ChunkedWriteJob> writer;
+    private final AtomicLong batchesCommitted = new AtomicLong();
+
+    private volatile Map<String, Object> lastKey;
+
+    /**
+     * @param operation {@code delete} or {@code update}
+     * @param writer    writes the batches after {@link #getLastKey()} until none is left or the job is cancelled
+     */
+    public ChunkedWriteJob(String dbId, String tableName, String operation, Consumer<ChunkedWriteJob> writer) {
+        super(dbId, tableName, operation);
+        this.writer = writer;
+    }
+
+    /**
+     * Primary key of the last row of the last batch committed, null before the first one.
+     */
+    public Map<String, Object> getLastKey() {
+        return lastKey;
+    }
+
+    public void written(int rows, Map<String, Object> lastKey) {
+        this.lastKey = lastKey;
+        rowsCommitted.addAndGet(rows);
+        batchesCommitted.incrementAndGet();
+    }
+
+    public boolean isCancelled() {
+        return getState() == State.CANCELLED;
+    }
+
+    @Override
+    protected void execute() {
+        writer.accept(this);
+    }
+
+    @Override
+    public BulkLoadJobStatus status() {
+        long batches = batchesCommitted.get();
+
+        return new BulkLoadJobStatus(getId(), getDbId(), getTableName(), getOperation(), getState().name(),
+                rowsCommitted.get(), rowsPerSecond(), batches, batches, getState() == State.FAILED ? 1 : 0, null, getError());
+    }
+}
@@ -0,0 +1,335 @@
+package com.homihq.db2rest.jdbc.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.homihq.db2rest.config.ResponseCacheProperties;
+import com.homihq.db2rest.jdbc.JdbcManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.DigestUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Caches read responses of the configured tables, bounded by the total size of the serialized
+ * responses. Entries are fresh for {@code ttl}, after that they are served for another
+ * {@code staleWhileRevalidate} while a single background load refreshes them.
+ * <p>
+ * Every write to a table drops its entries. A load that started before the write is not stored,
+ * so a response read before the write cannot come back after it. Writes that do not name their
+ * tables, like SQL templates, drop the entries of every table of their database.
+ */
+@Slf4j
+public class ResponseCache {
+
+    private static final String METRIC_PREFIX = "db2rest.response.cache";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final Set<String> tables;
+    private final Executor refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    //access ordered, guarded by this
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<Key>> keysByTable = new HashMap<>();
+    private final Map<String, Long> generations = new HashMap<>();
+    //by the prefix of the table keys of a database
+    private final Map<String, Long> databaseGenerations = new HashMap<>();
+    private long version;
+    private long clearedAt;
+    private long bytes;
+
+    private final Map<String, TableMetrics> metrics = new ConcurrentHashMap<>();
+
+    public ResponseCache(JdbcManager jdbcManager, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                         ResponseCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxBytes = properties.getMaxBytes();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.staleNanos = properties.getStaleWhileRevalidate().toNanos();
+        this.tables = Objects.isNull(properties.getTables()) ? Set.of() : properties.getTables().stream()
+                .filter(StringUtils::isNotBlank)
+                .map(table -> StringUtils.lowerCase(table.trim()))
+                .collect(Collectors.toSet());
+        this.enabled = properties.isEnabled() && !tables.isEmpty();
+
+        Gauge.builder(METRIC_PREFIX + ".bytes", this, ResponseCache::bytes)
+                .register(meterRegistry);
+
+        jdbcManager.registerReloadListener(this::invalidateAll);
+    }
+
+    /**
+     * Returns the cached response for the request, loading it on a miss.
+     *
+     * @param dbId       the database the request reads from
+     * @param tableName  the table the request reads from
+     * @param requestKey everything else that identifies the response - operation and request parameters
+     * @param loader     reads the response from the database
+     * @return the response with its entity tag, the tag is null when the table is not cached
+     */
+    public <T> CachedResponse<T> get(String dbId, String tableName, List<?> requestKey, Supplier<T> loader) {
+        if (!isCached(dbId, tableName)) {
+            return new CachedResponse<>(loader.get(), null);
+        }
+
+        Key key = new Key(tableKey(dbId, tableName), requestKey);
+        TableMetrics tableMetrics = metrics(dbId, tableName);
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+
+        if (Objects.nonNull(entry)) {
+            long age = System.nanoTime() - entry.storedAt;
+
+            if (age <= ttlNanos) {
+                tableMetrics.hits.increment();
+                return entry.response();
+            }
+
+            if (age <= ttlNanos + staleNanos) {
+                tableMetrics.stale.increment();
+                if (entry.refreshing.compareAndSet(false, true)) {
+                    refreshExecutor.execute(() -> refresh(key, entry, loader));
+                }
+                return entry.response();
+            }
+        }
+
+        tableMetrics.misses.increment();
+        return load(key, loader);
+    }
+
+    public boolean isCached(String dbId, String tableName) {
+        return enabled
+                && (tables.contains("*")
+                || tables.contains(StringUtils.lowerCase(tableName))
+                || tables.contains(tableKey(dbId, tableName)));
+    }
+
+    /**
+     * Drops the cached responses of a table, called after every write to it.
+     */
+    public void invalidate(String dbId, String tableName) {
+        if (!isCached(dbId, tableName)) {
+            return;
+        }
+
+        String table = tableKey(dbId, tableName);
+        synchronized (this) {
+            generations.put(table, ++version);
+
+            Set<Key> keys = keysByTable.remove(table);
+            if (Objects.nonNull(keys)) {
+                for (Key key : keys) {
+                    bytes -= entries.remove(key).bytes;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the cached responses of every table of a database, called after a write whose
+     * tables are not known.
+     */
+    public void invalidateDatabase(String dbId) {
+        if (!enabled) {
+            return;
+        }
+
+        String prefix = tableKey(dbId, "");
+        synchronized (this) {
+            databaseGenerations.put(prefix, ++version);
+
+            Iterator<Map.Entry<String, Set<Key>>> tableKeys = keysByTable.entrySet().iterator();
+            while (tableKeys.hasNext()) {
+                Map.Entry<String, Set<Key>> tableKey = tableKeys.next();
+                if (tableKey.getKey().startsWith(prefix)) {
+                    for (Key key : tableKey.getValue()) {
+                        bytes -= entries.remove(key).bytes;
+                    }
+                    tableKeys.remove();
+                }
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        log.debug("Invalidating response cache");
+        clearedAt = ++version;
+        entries.clear();
+        keysByTable.clear();
+        generations.clear();
+        databaseGenerations.clear();
+        bytes = 0;
+    }
+
+    private synchronized long bytes() {
+        return bytes;
+    }
+
+    private <T> void refresh(Key key, Entry entry, Supplier<T> loader) {
+        try {
+            load(key, loader);
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh cached response of {} - {}", key.table(), e.getMessage());
+            entry.refreshing.set(false);
+        }
+    }
+
+    private <T> CachedResponse<T> load(Key key, Supplier<T> loader) {
+        long generation = generation(key.table());
+        T body = loader.get();
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not cache response of {} - {}", key.table(), e.getMessage());
+            return new CachedResponse<>(body, null);
+        }
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        store(key, new Entry(body, etag, json.length, System.nanoTime()), generation);
+
+        return new CachedResponse<>(body, etag);
+    }
+
+    private synchronized void store(Key key, Entry entry, long generation) {
+        if (generation(key.table()) != generation || entry.bytes > maxBytes) {
+            return;
+        }
+
+        Entry previous = entries.put(key, entry);
+        if (Objects.nonNull(previous)) {
+            bytes -= previous.bytes;
+        } else {
+            keysByTable.computeIfAbsent(key.table(), k -> new HashSet<>()).add(key);
+        }
+        bytes += entry.bytes;
+
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Key, Entry> evicted = eldest.next();
+            eldest.remove();
+            bytes -= evicted.getValue().bytes;
+
+            String table = evicted.getKey().table();
+            Set<Key> keys = keysByTable.get(table);
+            keys.remove(evicted.getKey());
+            if (keys.isEmpty()) {
+                keysByTable.remove(table);
+            }
+
+            TableMetrics tableMetrics = metrics.get(table);
+            if (Objects.nonNull(tableMetrics)) {
+                tableMetrics.evictions.increment();
+            }
+        }
+    }
+
+    private synchronized long generation(String table) {
+        long generation = Math.max(generations.getOrDefault(table, 0L), clearedAt);
+        for (Map.Entry<String, Long> database : databaseGenerations.entrySet()) {
+            if (table.startsWith(database.getKey())) {
+                generation = Math.max(generation, database.getValue());
+            }
+        }
+        return generation;
+    }
+
+    private TableMetrics metrics(String dbId, String tableName) {
+        return metrics.computeIfAbsent(tableKey(dbId, tableName),
+                k -> new TableMetrics(meterRegistry, dbId, StringUtils.lowerCase(tableName)));
+    }
+
+    private static String tableKey(String dbId, String tableName) {
+        return StringUtils.lowerCase(dbId + "." + tableName);
+    }
+
+    public record CachedResponse<T>(T body, String etag) {
+    }
+
+    private record Key(String table, List<?> request) {
+    }
+
+    private static final class Entry {
+        private final Object body;
+        private final String etag;
+        private final long bytes;
+        private final long storedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(Object body, String etag, long bytes, long storedAt) {
+            this.body = body;
+            this.etag = etag;
+            this.bytes = bytes;
+            this.storedAt = storedAt;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> CachedResponse<T> response() {
+            return new CachedResponse<>((T) body, etag);
+        }
+    }
+
+    private static final class TableMetrics {
+        private final Counter hits;
+        private final Counter stale;
+        private final Counter misses;
+        private final Counter evictions;
+
+        private TableMetrics(MeterRegistry meterRegistry, String dbId, String tableName) {
+            hits = request(meterRegistry, dbId, tableName, "hit");
+            stale = request(meterRegistry, dbId, tableName, "stale");
+            misses = request(meterRegistry, dbId, tableName, "miss");
+            evictions = Counter.builder(METRIC_PREFIX + ".evictions")
+                    .tag("db", dbId)
+                    .tag("table", tableName)
+                    .register(meterRegistry);
+
+            Gauge.builder(METRIC_PREFIX + ".hit.ratio", this, TableMetrics::hitRatio)
+                    .tag("db", dbId)
+                    .tag("table", tableName)
+                    .register(meterRegistry);
+        }
+
+        private static Counter request(MeterRegistry meterRegistry, String dbId, String tableName, String result) {
+            return Counter.builder(METRIC_PREFIX + ".requests")
+                    .tag("db", dbId)
+                    .tag("table", tableName)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        //stale responses are served from the cache too
+        private double hitRatio() {
+            double served = hits.count() + stale.count();
+            double total = served + misses.count();
+            return total == 0 ? 0 : served / total;
+        }
+    }
+}
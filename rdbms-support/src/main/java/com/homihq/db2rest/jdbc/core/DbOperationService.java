@@ -4,8 +4,11 @@ import com.homihq.db2rest.core.dto.CountResponse;
 import com.homihq.db2rest.core.dto.CreateBulkResponse;
 import com.homihq.db2rest.core.dto.CreateResponse;
 import com.homihq.db2rest.core.dto.ExistsResponse;
+import com.homihq.db2rest.jdbc.config.dialect.BulkCopier;
 import com.homihq.db2rest.jdbc.config.dialect.Dialect;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.core.row.RowHandler;
+import com.homihq.db2rest.jdbc.core.row.RowSet;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 import java.util.List;
@@ -14,9 +17,13 @@ import java.util.Map;
 public interface DbOperationService {
     int update(NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> paramMap, String sql);
 
-    List<Map<String, Object>> read(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
-                                   Map<String, Object> paramMap, String sql,
-                                   Dialect dialect);
+    RowSet read(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                Map<String, Object> paramMap, String sql,
+                Dialect dialect);
+
+    void stream(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                Map<String, Object> paramMap, String sql,
+                Dialect dialect, int fetchSize, RowHandler rowHandler);
 
     Map<String, Object> findOne(NamedParameterJdbcTemplate namedParameterJdbcTemplate, String sql, Map<String, Object> paramMap);
 
@@ -33,4 +40,22 @@ public interface DbOperationService {
     CreateBulkResponse batchUpdate(NamedParameterJdbcTemplate namedParameterJdbcTemplate, List<Map<String, Object>> dataList, String sql, DbTable dbTable);
 
     CreateBulkResponse batchUpdate(NamedParameterJdbcTemplate namedParameterJdbcTemplate, List<Map<String, Object>> dataList, String sql);
+
+    CreateBulkResponse multiRowInsert(NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> params,
+                                      String sql, int rows, DbTable dbTable);
+
+    CreateBulkResponse multiRowInsert(NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> params,
+                                      String sql, int rows);
+
+    /**
+     * Runs a multi row upsert and counts the rows it inserted and updated.
+     *
+     * @param matchedSql count of the rows matching an existing row, run before the upsert,
+     *                   or null when the upsert returns the action of every row
+     */
+    CreateBulkResponse upsert(NamedParameterJdbcTemplate namedParameterJdbcTemplate, Map<String, Object> params,
+                              String sql, String matchedSql, int rows);
+
+    CreateBulkResponse copy(NamedParameterJdbcTemplate namedParameterJdbcTemplate, BulkCopier bulkCopier,
+                            DbTable dbTable, List<String> columns, List<Map<String, Object>> dataList);
 }
@@ -0,0 +1,13 @@
+package com.homihq.db2rest.jdbc.core;
+
+import com.homihq.db2rest.jdbc.core.row.RowHandler;
+
+/**
+ * A prepared query whose rows are handed to a handler one at a time while the
+ * result set is being read, instead of being collected into a list first.
+ */
+@FunctionalInterface
+public interface RowStream {
+
+    void forEach(RowHandler rowHandler);
+}
@@ -0,0 +1,10 @@
+package com.homihq.db2rest.jdbc.core.row;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * A single compact row, serialized as a JSON object.
+ */
+@JsonSerialize(using = RowSerializer.class)
+public record Row(String[] columns, Object[] values) {
+}
@@ -0,0 +1,143 @@
+package com.homihq.db2rest.jdbc.core.row;
+
+import com.homihq.db2rest.jdbc.config.dialect.ColumnDecoder;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Decodes the rows of one result set. The metadata is read once and turned into one decoder per
+ * column, every row is then read without further metadata lookups.
+ * <p>
+ * Columns with the same label are collapsed into one, the last one wins - same as the
+ * case-insensitive row maps that were used before.
+ */
+public final class RowDecoder {
+
+    private static final ColumnDecoder OBJECT = ResultSet::getObject;
+    private static final ColumnDecoder STRING = ResultSet::getString;
+    private static final ColumnDecoder BYTES = ResultSet::getBytes;
+    private static final ColumnDecoder GENERIC = JdbcUtils::getResultSetValue;
+
+    private final String[] columns;
+    private final int[] sqlTypes;
+    private final int[] precisions;
+    private final int[] scales;
+    private final int[] indexes;
+    private final ColumnDecoder[] decoders;
+
+    private RowDecoder(String[] columns, int[] sqlTypes, int[] precisions, int[] scales,
+                       int[] indexes, ColumnDecoder[] decoders) {
+        this.columns = columns;
+        this.sqlTypes = sqlTypes;
+        this.precisions = precisions;
+        this.scales = scales;
+        this.indexes = indexes;
+        this.decoders = decoders;
+    }
+
+    public static RowDecoder of(ResultSetMetaData metaData, Dialect dialect) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+
+        List<String> columns = new ArrayList<>(columnCount);
+        List<Integer> sqlTypes = new ArrayList<>(columnCount);
+        List<Integer> precisions = new ArrayList<>(columnCount);
+        List<Integer> scales = new ArrayList<>(columnCount);
+        List<Integer> indexes = new ArrayList<>(columnCount);
+        List<ColumnDecoder> decoders = new ArrayList<>(columnCount);
+        Map<String, Integer> positions = new HashMap<>();
+
+        for (int index = 1; index <= columnCount; index++) {
+            String column = JdbcUtils.lookupColumnName(metaData, index);
+            int sqlType = metaData.getColumnType(index);
+            int precision = metaData.getPrecision(index);
+            int scale = metaData.getScale(index);
+            ColumnDecoder decoder = decoder(metaData, index, sqlType, dialect);
+
+            Integer position = positions.putIfAbsent(column.toLowerCase(Locale.ROOT), columns.size());
+
+            if (Objects.isNull(position)) {
+                columns.add(column);
+                sqlTypes.add(sqlType);
+                precisions.add(precision);
+                scales.add(scale);
+                indexes.add(index);
+                decoders.add(decoder);
+            } else {
+                sqlTypes.set(position, sqlType);
+                precisions.set(position, precision);
+                scales.set(position, scale);
+                indexes.set(position, index);
+                decoders.set(position, decoder);
+            }
+        }
+
+        return new RowDecoder(
+                columns.toArray(String[]::new),
+                sqlTypes.stream().mapToInt(Integer::intValue).toArray(),
+                precisions.stream().mapToInt(Integer::intValue).toArray(),
+                scales.stream().mapToInt(Integer::intValue).toArray(),
+                indexes.stream().mapToInt(Integer::intValue).toArray(),
+                decoders.toArray(ColumnDecoder[]::new));
+    }
+
+    private static ColumnDecoder decoder(ResultSetMetaData metaData, int index, int sqlType, Dialect dialect)
+            throws SQLException {
+        ColumnDecoder decoder = dialect.getColumnDecoder(metaData.getColumnTypeName(index), sqlType);
+
+        if (Objects.nonNull(decoder)) {
+            return decoder;
+        }
+
+        return switch (sqlType) {
+            case Types.CLOB, Types.NCLOB -> STRING;
+            case Types.BLOB -> BYTES;
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR -> STRING;
+            case Types.DATE -> GENERIC; //may be a timestamp, depends on the column class
+            default -> StringUtils.startsWith(metaData.getColumnClassName(index), "oracle.")
+                    ? GENERIC //driver specific value classes, converted by Spring
+                    : OBJECT;
+        };
+    }
+
+    public Object[] decode(ResultSet rs) throws SQLException {
+        Object[] values = new Object[decoders.length];
+
+        for (int i = 0; i < decoders.length; i++) {
+            values[i] = decoders[i].decode(rs, indexes[i]);
+        }
+
+        return values;
+    }
+
+    public String[] columns() {
+        return columns;
+    }
+
+    public int sqlType(int column) {
+        return sqlTypes[column];
+    }
+
+    public int precision(int column) {
+        return precisions[column];
+    }
+
+    public int scale(int column) {
+        return scales[column];
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+}
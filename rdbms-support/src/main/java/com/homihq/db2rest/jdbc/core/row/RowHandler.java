@@ -0,0 +1,13 @@
+package com.homihq.db2rest.jdbc.core.row;
+
+/**
+ * Receives the rows of a streamed query. {@link #start(RowDecoder)} is called once before the
+ * first row, also when there are no rows.
+ */
+public interface RowHandler {
+
+    default void start(RowDecoder rowDecoder) {
+    }
+
+    void row(Object[] values);
+}
@@ -0,0 +1,28 @@
+package com.homihq.db2rest.jdbc.core.row;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class RowSerializer extends StdSerializer<Row> {
+
+    public RowSerializer() {
+        super(Row.class);
+    }
+
+    @Override
+    public void serialize(Row row, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writeRow(row.columns(), row.values(), gen, provider);
+    }
+
+    static void writeRow(String[] columns, Object[] values, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            provider.defaultSerializeField(columns[i], values[i], gen);
+        }
+        gen.writeEndObject();
+    }
+}
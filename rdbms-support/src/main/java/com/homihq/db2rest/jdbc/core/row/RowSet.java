@@ -0,0 +1,62 @@
+package com.homihq.db2rest.jdbc.core.row;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Query result as one shared column header plus an array of values per row. Serialized as a
+ * JSON array of objects, the same as a list of row maps but without a map per row.
+ */
+@JsonSerialize(using = RowSetSerializer.class)
+public record RowSet(String[] columns, List<Object[]> rows) {
+
+    public int size() {
+        return rows.size();
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    public int indexOf(String column) {
+        for (int i = 0; i < columns.length; i++) {
+            if (StringUtils.equalsIgnoreCase(columns[i], column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public RowSet head(int count) {
+        return count >= rows.size() ? this : new RowSet(columns, rows.subList(0, count));
+    }
+
+    public RowSet withoutColumns(Predicate<String> exclude) {
+        List<Integer> kept = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            if (!exclude.test(columns[i])) {
+                kept.add(i);
+            }
+        }
+
+        if (kept.size() == columns.length) {
+            return this;
+        }
+
+        String[] keptColumns = kept.stream().map(i -> columns[i]).toArray(String[]::new);
+        List<Object[]> keptRows = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] values = new Object[keptColumns.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row[kept.get(i)];
+            }
+            keptRows.add(values);
+        }
+
+        return new RowSet(keptColumns, keptRows);
+    }
+}
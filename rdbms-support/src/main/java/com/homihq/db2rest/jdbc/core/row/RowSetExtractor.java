@@ -0,0 +1,28 @@
+package com.homihq.db2rest.jdbc.core.row;
+
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class RowSetExtractor implements ResultSetExtractor<RowSet> {
+
+    private final Dialect dialect;
+
+    @Override
+    public RowSet extractData(ResultSet rs) throws SQLException {
+        RowDecoder rowDecoder = RowDecoder.of(rs.getMetaData(), dialect);
+
+        List<Object[]> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(rowDecoder.decode(rs));
+        }
+
+        return new RowSet(rowDecoder.columns(), rows);
+    }
+}
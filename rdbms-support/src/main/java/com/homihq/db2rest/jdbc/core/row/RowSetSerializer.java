@@ -0,0 +1,23 @@
+package com.homihq.db2rest.jdbc.core.row;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class RowSetSerializer extends StdSerializer<RowSet> {
+
+    public RowSetSerializer() {
+        super(RowSet.class);
+    }
+
+    @Override
+    public void serialize(RowSet rowSet, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray();
+        for (Object[] values : rowSet.rows()) {
+            RowSerializer.writeRow(rowSet.columns(), values, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+}
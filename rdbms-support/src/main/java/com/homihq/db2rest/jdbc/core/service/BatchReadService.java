@@ -0,0 +1,16 @@
+package com.homihq.db2rest.jdbc.core.service;
+
+import com.homihq.db2rest.core.dto.BatchReadResult;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+public interface BatchReadService {
+
+    /**
+     * @param authorized whether the caller may read what a read of the batch reads, a read it
+     *                   may not is reported as failed without running it
+     */
+    List<BatchReadResult> findAll(List<ReadContext> readContexts, Predicate<ReadContext> authorized);
+}
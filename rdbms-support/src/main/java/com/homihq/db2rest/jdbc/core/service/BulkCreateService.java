@@ -1,11 +1,15 @@
 package com.homihq.db2rest.jdbc.core.service;
 
+import com.homihq.db2rest.bulk.FileSubject;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
 import com.homihq.db2rest.core.dto.CreateBulkResponse;
 import com.homihq.db2rest.core.dto.CreateResponse;
 import com.homihq.db2rest.dtos.FileUploadContext;
+import com.homihq.db2rest.dtos.UpsertOptions;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -17,10 +21,29 @@ public interface BulkCreateService {
             String tableName,
             List<String> includedColumns,
             List<Map<String, Object>> dataList,
-            boolean tsIdEnabled, List<String> sequences);
+            boolean tsIdEnabled, List<String> sequences, Boolean copy, UpsertOptions upsert);
+
+    CreateBulkResponse saveBulkStream(
+            String dbId,
+            String schemaName,
+            String tableName,
+            List<String> includedColumns,
+            FileSubject fileSubject,
+            InputStream inputStream,
+            boolean tsIdEnabled, List<String> sequences, Boolean copy, UpsertOptions upsert);
 
     @Async
     CompletableFuture<CreateResponse> saveMultipartFile(
             FileUploadContext fileUploadContext,
             MultipartFile file);
+
+    BulkLoadJobStatus submitMultipartFile(
+            FileUploadContext fileUploadContext,
+            MultipartFile file);
+
+    BulkLoadJobStatus getJob(String dbId, String jobId);
+
+    BulkLoadJobStatus cancelJob(String dbId, String jobId);
+
+    BulkLoadJobStatus resumeJob(String dbId, String jobId);
 }
@@ -1,9 +1,16 @@
 package com.homihq.db2rest.jdbc.core.service;
 
 
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+
 public interface DeleteService {
 
     int delete(
             String dbId,
             String schemaName, String tableName, String filter);
+
+    BulkLoadJobStatus deleteChunked(
+            String dbId,
+            String schemaName, String tableName, String filter,
+            Integer batchSize, Long pauseMillis);
 }
@@ -0,0 +1,99 @@
+package com.homihq.db2rest.jdbc.core.service;
+
+import com.homihq.db2rest.core.dto.BatchReadResult;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Predicate;
+
+/**
+ * Runs the reads of a batch through the read service at the same time, at most
+ * {@code parallelism} of them at once so a single batch cannot take the whole connection pool.
+ * A failed read is reported in its place of the result, the other reads are not affected. Reads
+ * the caller is not authorized for fail without being run.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JdbcBatchReadService implements BatchReadService {
+
+    private final ReadService readService;
+    private final int parallelism;
+    private final int maxItems;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public List<BatchReadResult> findAll(List<ReadContext> readContexts, Predicate<ReadContext> authorized) {
+        if (Objects.isNull(readContexts) || readContexts.isEmpty()) {
+            throw new GenericDataAccessException("No reads provided");
+        }
+        if (readContexts.size() > maxItems) {
+            throw new GenericDataAccessException("Too many reads in one batch, maximum is " + maxItems);
+        }
+
+        Semaphore permits = new Semaphore(Math.max(parallelism, 1));
+        List<Future<BatchReadResult>> futures = new ArrayList<>(readContexts.size());
+
+        for (ReadContext readContext : readContexts) {
+            //authorized on the request thread, before anything is dispatched
+            if (!authorized.test(readContext)) {
+                futures.add(CompletableFuture.completedFuture(BatchReadResult.failed(readContext.getTableName(),
+                        "Not authorized to read " + readContext.getTableName())));
+                continue;
+            }
+
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return read(readContext);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<BatchReadResult> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(await(readContexts.get(i), futures.get(i)));
+        }
+        return results;
+    }
+
+    private BatchReadResult read(ReadContext readContext) {
+        String tableName = readContext.getTableName();
+
+        if (StringUtils.isBlank(tableName)) {
+            return BatchReadResult.failed(tableName, "Table cannot be empty");
+        }
+
+        try {
+            return BatchReadResult.ok(tableName, readService.findAll(readContext));
+        } catch (RuntimeException e) {
+            log.debug("Batch read of {} failed - {}", tableName, e.getMessage());
+            return BatchReadResult.failed(tableName, e.getMessage());
+        }
+    }
+
+    private BatchReadResult await(ReadContext readContext, Future<BatchReadResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenericDataAccessException("Interrupted while reading batch");
+        } catch (ExecutionException e) {
+            return BatchReadResult.failed(readContext.getTableName(), e.getCause().getMessage());
+        }
+    }
+}
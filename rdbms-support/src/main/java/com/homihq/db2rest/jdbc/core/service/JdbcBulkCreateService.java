@@ -1,12 +1,22 @@
 package com.homihq.db2rest.jdbc.core.service;
 
-import com.homihq.db2rest.bulk.FileStreamObserver;
 import com.homihq.db2rest.bulk.FileSubject;
+import com.homihq.db2rest.config.BulkIngestProperties;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
 import com.homihq.db2rest.core.dto.CreateBulkResponse;
 import com.homihq.db2rest.core.dto.CreateResponse;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.dtos.FileUploadContext;
+import com.homihq.db2rest.dtos.UpsertOptions;
 import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.bulk.AdaptiveBatchSizer;
+import com.homihq.db2rest.jdbc.bulk.BulkIngestMetrics;
+import com.homihq.db2rest.jdbc.bulk.BulkIngestPipeline;
+import com.homihq.db2rest.jdbc.bulk.BulkLoadJob;
+import com.homihq.db2rest.jdbc.bulk.BulkLoadJobRegistry;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
+import com.homihq.db2rest.jdbc.config.dialect.BulkCopier;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
 import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
@@ -16,30 +26,43 @@ import com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate;
 import com.homihq.db2rest.jdbc.tsid.TSIDProcessor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import static org.springframework.util.CollectionUtils.isEmpty;
 
 @Slf4j
 @RequiredArgsConstructor
-public class JdbcBulkCreateService implements BulkCreateService, FileStreamObserver {
+public class JdbcBulkCreateService implements BulkCreateService {
 
     private final TSIDProcessor tsidProcessor;
     private final SqlCreatorTemplate sqlCreatorTemplate;
     private final JdbcManager jdbcManager;
     private final DbOperationService dbOperationService;
-    private final FileSubject fileSubject;
-    private FileUploadContext context;
+    private final List<FileSubject> fileSubjects;
+    private final ResponseCache responseCache;
+    private final BulkIngestProperties bulkIngestProperties;
+    private final BulkIngestMetrics bulkIngestMetrics;
+    private final BulkLoadJobRegistry bulkLoadJobRegistry;
+    private final AdaptiveBatchSizer batchSizer;
 
     /**
      * Saves bulk data into the specified table.
@@ -51,6 +74,8 @@ public class JdbcBulkCreateService implements BulkCreateService, FileStreamObser
      * @param dataList        the data to insert
      * @param tsIdEnabled     whether TSID is enabled
      * @param sequences       the sequences to use
+     * @param copy            whether to use the bulk load protocol, null to use it when no generated keys are needed
+     * @param upsert          how to update the rows that already exist, null to insert every row
      * @return the response of the bulk create operation
      */
     public CreateBulkResponse saveBulk(
@@ -58,35 +83,102 @@ public class JdbcBulkCreateService implements BulkCreateService, FileStreamObser
             String schemaName, String tableName,
             List<String> includedColumns,
             List<Map<String, Object>> dataList,
-            boolean tsIdEnabled, List<String> sequences) {
+            boolean tsIdEnabled, List<String> sequences, Boolean copy, UpsertOptions upsert) {
 
         if (Objects.isNull(dataList) || dataList.isEmpty()) {
             throw new GenericDataAccessException("No data provided");
         }
+        checkMaxRows(dataList.size());
 
         log.debug("** Bulk Insert **");
 
         try {
-            DbTable dbTable = jdbcManager.getTable(dbId, schemaName, tableName);
-            List<String> insertableColumns = determineInsertableColumns(includedColumns, dataList);
-            List<Map<String, Object>> tsIds = handleTsId(tsIdEnabled, dbTable, insertableColumns, dataList);
-            List<InsertableColumn> insertableColumnList = convertToInsertableColumnList(insertableColumns, sequences, dbTable);
+            //generated keys are only known up front with TSIDs
+            boolean useCopy = useCopy(dbId, copy, tsIdEnabled, sequences, upsert);
+            PreparedBatch batch = prepare(dbId, schemaName, tableName, includedColumns, dataList, tsIdEnabled, sequences,
+                    useCopy, !tsIdEnabled, upsert);
 
-            processTypes(dbId, dbTable, insertableColumns, dataList);
+            CreateBulkResponse createBulkResponse = write(dbId, batch);
 
-            CreateContext context = new CreateContext(dbId, dbTable, insertableColumns, insertableColumnList);
-            String sql = sqlCreatorTemplate.create(context);
+            responseCache.invalidate(dbId, tableName);
 
-            log.debug("SQL - {}", sql);
-            log.debug("Data - {}", dataList);
+            return new CreateBulkResponse(createBulkResponse.rows(), keys(batch, createBulkResponse, tsIdEnabled),
+                    createBulkResponse.inserted(), createBulkResponse.updated());
 
-            CreateBulkResponse createBulkResponse = executeBatchUpdate(dbId, dataList, sql, dbTable);
+        } catch (DataAccessException e) {
+            log.error("Error", e);
+            throw new GenericDataAccessException(e.getMostSpecificCause().getMessage());
+        }
+    }
 
-            if (tsIdEnabled && Objects.isNull(createBulkResponse.keys())) {
-                return new CreateBulkResponse(createBulkResponse.rows(), tsIds);
-            }
+    /**
+     * Saves the rows parsed from a stream chunk by chunk, only one chunk is held in memory.
+     * All chunks are written in one transaction, like a bulk create of a parsed list.
+     */
+    @Override
+    public CreateBulkResponse saveBulkStream(
+            String dbId,
+            String schemaName, String tableName,
+            List<String> includedColumns,
+            FileSubject fileSubject, InputStream inputStream,
+            boolean tsIdEnabled, List<String> sequences, Boolean copy, UpsertOptions upsert) {
 
-            return createBulkResponse;
+        log.debug("** Bulk Insert Stream **");
+
+        try {
+            boolean useCopy = useCopy(dbId, copy, tsIdEnabled, sequences, upsert);
+            IntStream.Builder rows = IntStream.builder();
+            List<Object> keys = new ArrayList<>();
+            LongAdder updated = new LongAdder();
+            LongAdder received = new LongAdder();
+            String batchTable = jdbcManager.getTable(dbId, schemaName, tableName).name();
+            List<Map<String, Object>> pending = new ArrayList<>();
+
+            Consumer<List<Map<String, Object>>> writer = chunk -> {
+                PreparedBatch batch = prepare(dbId, schemaName, tableName, includedColumns, chunk, tsIdEnabled,
+                        sequences, useCopy, !tsIdEnabled, upsert);
+
+                CreateBulkResponse createBulkResponse = write(dbId, batch);
+
+                Arrays.stream(createBulkResponse.rows()).forEach(rows::add);
+                if (Objects.nonNull(createBulkResponse.updated())) {
+                    updated.add(createBulkResponse.updated());
+                }
+                List<?> chunkKeys = keys(batch, createBulkResponse, tsIdEnabled);
+                if (Objects.nonNull(chunkKeys)) {
+                    keys.addAll(chunkKeys);
+                }
+            };
+
+            this.jdbcManager.getTxnTemplate(dbId).executeWithoutResult(status -> {
+                fileSubject.startStreaming(inputStream, chunk -> {
+                    //checked before the chunk is written, the rows written so far are rolled back
+                    received.add(chunk.size());
+                    checkMaxRows(received.sum());
+
+                    //parsed chunks are merged up to the batch size of the table, write splits larger ones
+                    pending.addAll(chunk);
+                    if (pending.size() >= batchSizer.rows(dbId, batchTable)) {
+                        writer.accept(new ArrayList<>(pending));
+                        pending.clear();
+                    }
+                });
+                if (!pending.isEmpty()) {
+                    writer.accept(pending);
+                }
+            });
+
+            responseCache.invalidate(dbId, tableName);
+
+            int[] rowCounts = rows.build().toArray();
+            if (rowCounts.length == 0) {
+                throw new GenericDataAccessException("No data provided");
+            }
+            if (Objects.isNull(upsert)) {
+                return new CreateBulkResponse(rowCounts, keys.isEmpty() ? null : keys);
+            }
+            return new CreateBulkResponse(rowCounts, keys.isEmpty() ? null : keys,
+                    rowCounts.length - updated.sum(), updated.sum());
 
         } catch (DataAccessException e) {
             log.error("Error", e);
@@ -95,7 +187,9 @@ public class JdbcBulkCreateService implements BulkCreateService, FileStreamObser
     }
 
     /**
-     * Asynchronously saves a multipart file by streaming its content and performing a bulk insert.
+     * Asynchronously saves a multipart file by streaming its content through a bulk ingest pipeline.
+     * Parsing, type coercion and the batch inserts run at the same time, the inserts on
+     * several connections.
      *
      * @param fileUploadContext the context containing details about the file upload request
      * @param file              the multipart file to be saved
@@ -106,54 +200,321 @@ public class JdbcBulkCreateService implements BulkCreateService, FileStreamObser
     public CompletableFuture<CreateResponse> saveMultipartFile(
             FileUploadContext fileUploadContext,
             MultipartFile file) {
+        //the upload response carries no keys
+        boolean useCopy = useCopy(fileUploadContext.dbId(), fileUploadContext.copy(), true,
+                fileUploadContext.sequences(), fileUploadContext.upsert());
+        LongAdder updated = new LongAdder();
+
+        long rows;
+        try {
+            rows = load(fileUploadContext, fileSubject(file), new BufferedInputStream(file.getInputStream()),
+                    uploadPipeline(fileUploadContext, useCopy, updated));
+        } catch (IOException e) {
+            throw new GenericDataAccessException("Error inserting JSON file: " + e.getMessage());
+        }
+
+        String message = Objects.isNull(fileUploadContext.upsert())
+                ? "Bulk insert completed successfully"
+                : "Bulk upsert completed successfully - " + (rows - updated.sum()) + " inserted, "
+                + updated.sum() + " updated";
+        return CompletableFuture.completedFuture(new CreateResponse((int) rows, message));
+    }
+
+    /**
+     * Copies the upload to a temporary file and loads it in the background like
+     * {@link #saveMultipartFile}, the returned job reports the progress.
+     */
+    @Override
+    public BulkLoadJobStatus submitMultipartFile(FileUploadContext fileUploadContext, MultipartFile file) {
+        boolean useCopy = useCopy(fileUploadContext.dbId(), fileUploadContext.copy(), true,
+                fileUploadContext.sequences(), fileUploadContext.upsert());
+        FileSubject fileSubject = fileSubject(file);
+
+        Path path = null;
+        try {
+            path = Files.createTempFile("db2rest-bulk-", ".upload");
+            file.transferTo(path);
+
+            BulkLoadJob job = new BulkLoadJob(fileUploadContext.dbId(), fileUploadContext.tableName(), path,
+                    j -> loadJob(j, fileUploadContext, fileSubject, useCopy));
+
+            return bulkLoadJobRegistry.submit(job).status();
+        } catch (IOException e) {
+            deleteQuietly(path);
+            throw new GenericDataAccessException("Error storing upload: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public BulkLoadJobStatus getJob(String dbId, String jobId) {
+        return bulkLoadJobRegistry.get(dbId, jobId).status();
+    }
 
-        context = fileUploadContext;
+    @Override
+    public BulkLoadJobStatus cancelJob(String dbId, String jobId) {
+        return bulkLoadJobRegistry.cancel(dbId, jobId).status();
+    }
 
-        try (InputStream inputStream = new BufferedInputStream(file.getInputStream())) {
-            fileSubject.register(this);
+    @Override
+    public BulkLoadJobStatus resumeJob(String dbId, String jobId) {
+        return bulkLoadJobRegistry.resume(dbId, jobId).status();
+    }
 
-            fileSubject.startStreaming(inputStream);
+    //one run of a job, chunks committed by an earlier run are skipped
+    private void loadJob(BulkLoadJob job, FileUploadContext fileUploadContext, FileSubject fileSubject, boolean useCopy) {
+        BulkIngestPipeline<PreparedBatch> pipeline = uploadPipeline(fileUploadContext, useCopy, new LongAdder())
+                .skip(job::isCommitted)
+                .listener(job);
+        job.running(pipeline);
 
+        try {
+            load(fileUploadContext, fileSubject, new BufferedInputStream(job.openStream()), pipeline);
+        } catch (IOException e) {
+            throw new GenericDataAccessException("Error inserting JSON file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pipeline writing the chunks of an upload, parsing, type coercion and the batch inserts
+     * run at the same time, the inserts on several connections.
+     *
+     * @param updated counts the existing rows updated by an upsert
+     */
+    private BulkIngestPipeline<PreparedBatch> uploadPipeline(FileUploadContext fileUploadContext, boolean useCopy,
+                                                             LongAdder updated) {
+        String dbId = fileUploadContext.dbId();
+        String tableName = fileUploadContext.tableName();
+
+        return new BulkIngestPipeline<>(dbId, tableName,
+                chunk -> prepare(dbId, fileUploadContext.schemaName(), tableName, fileUploadContext.includeColumns(),
+                        chunk, fileUploadContext.tsIdEnabled(), fileUploadContext.sequences(), useCopy, false,
+                        fileUploadContext.upsert()),
+                batch -> {
+                    CreateBulkResponse createBulkResponse = write(dbId, batch);
+                    if (Objects.nonNull(createBulkResponse.updated())) {
+                        updated.add(createBulkResponse.updated());
+                    }
+                    return createBulkResponse.rows().length;
+                },
+                bulkIngestProperties.getWriters(dbId), bulkIngestProperties.getQueueCapacity(), bulkIngestMetrics);
+    }
+
+    /**
+     * Streams the upload through the pipeline and waits for the chunks to be written.
+     *
+     * @return number of rows written
+     */
+    private long load(FileUploadContext fileUploadContext, FileSubject fileSubject, InputStream inputStream,
+                      BulkIngestPipeline<PreparedBatch> pipeline) {
+        pipeline.start();
+
+        try (inputStream) {
+            fileSubject.startStreaming(inputStream, pipeline);
+
+            return pipeline.finish();
         } catch (Exception e) {
+            pipeline.abort(new GenericDataAccessException(e.getMessage()));
             log.error("Error during JSON file insert: {}", e.getMessage(), e);
             throw new GenericDataAccessException("Error inserting JSON file: " + e.getMessage());
+        } finally {
+            responseCache.invalidate(fileUploadContext.dbId(), fileUploadContext.tableName());
         }
+    }
 
-        return CompletableFuture.completedFuture(new CreateResponse(context.rows(), "Bulk insert completed successfully"));
+    private void deleteQuietly(Path path) {
+        if (Objects.isNull(path)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Unable to delete {} - {}", path, e.getMessage());
+        }
     }
 
     /**
-     * Updates the observer with the provided data.
+     * Parser for the upload by its content type, a .csv file name is read as CSV whatever its
+     * content type. Uploads of other types are read as JSON.
+     */
+    private FileSubject fileSubject(MultipartFile file) {
+        String contentType = StringUtils.endsWithIgnoreCase(file.getOriginalFilename(), ".csv")
+                ? "text/csv"
+                : StringUtils.endsWithIgnoreCase(file.getOriginalFilename(), ".ndjson")
+                ? "application/x-ndjson"
+                : file.getContentType();
+
+        return fileSubjects.stream()
+                .filter(subject -> subject.handle(contentType))
+                .findFirst()
+                .or(() -> fileSubjects.stream().filter(subject -> subject.handle("application/json")).findFirst())
+                .orElseThrow(() -> new GenericDataAccessException("Unable to process content type : " + contentType));
+    }
+
+    private void checkMaxRows(long rows) {
+        long maxRows = bulkIngestProperties.getMaxRows();
+        if (maxRows > 0 && rows > maxRows) {
+            throw new GenericDataAccessException("Bulk create accepts at most " + maxRows + " rows");
+        }
+    }
+
+    //keys generated by the database, or the TSIDs when the database returned none
+    private List<?> keys(PreparedBatch batch, CreateBulkResponse createBulkResponse, boolean tsIdEnabled) {
+        if (tsIdEnabled && Objects.isNull(createBulkResponse.keys())) {
+            return batch.tsIds();
+        }
+        return (List<?>) createBulkResponse.keys();
+    }
+
+    /**
+     * Whether rows are loaded through the bulk copier of the dialect. An explicit request fails
+     * when the dialect has none or sequences are used, as COPY cannot evaluate nextval, and
+     * with an upsert, as COPY cannot update existing rows.
      *
-     * @param data a list of maps containing the data to update
+     * @param copy      the client choice, null to decide here
+     * @param keysKnown whether the response needs no keys generated by the database
      */
-    @Override
-    public void update(List<Map<String, Object>> data) {
-        if (data == null || data.isEmpty()) {
-            log.warn("No data to process.");
-            return;
+    private boolean useCopy(String dbId, Boolean copy, boolean keysKnown, List<String> sequences,
+                            UpsertOptions upsert) {
+        if (Boolean.FALSE.equals(copy)) {
+            return false;
         }
 
-        try {
-            CreateBulkResponse response = saveBulk(
-                    context.dbId(), context.schemaName(), context.tableName(), context.includeColumns(), data,
-                    context.tsIdEnabled(), context.sequences());
-
-            context = new FileUploadContext(
-                    context.dbId(),
-                    context.schemaName(),
-                    context.tableName(),
-                    context.includeColumns(),
-                    context.tsIdEnabled(),
-                    context.sequences(),
-                    context.rows() + response.rows().length
-            );
+        if (Objects.nonNull(upsert)) {
+            if (Boolean.TRUE.equals(copy)) {
+                throw new GenericDataAccessException("Bulk copy cannot be combined with upsert");
+            }
+            return false;
+        }
 
-        } catch (Exception e) {
-            fileSubject.unregister();
-            log.error("Error during bulk insert: {}", e.getMessage(), e);
-            throw new GenericDataAccessException("Error inserting chunk: " + e.getMessage());
+        boolean supported = Objects.nonNull(jdbcManager.getDialect(dbId).getBulkCopier()) && isEmpty(sequences);
+
+        if (Boolean.TRUE.equals(copy) && !supported) {
+            throw new GenericDataAccessException("Bulk copy is not supported by the database or with sequences");
+        }
+
+        return Boolean.TRUE.equals(copy) || supported && keysKnown && bulkIngestProperties.isCopy();
+    }
+
+    /**
+     * Resolves the columns, TSIDs and types of a chunk and renders its insert statement.
+     *
+     * @param keysNeeded whether the response has to carry the keys generated by the database
+     * @param upsert     how to update the rows that already exist, null to insert every row
+     */
+    private PreparedBatch prepare(
+            String dbId, String schemaName, String tableName, List<String> includedColumns,
+            List<Map<String, Object>> dataList, boolean tsIdEnabled, List<String> sequences, boolean copy,
+            boolean keysNeeded, UpsertOptions upsert) {
+        Dialect dialect = jdbcManager.getDialect(dbId);
+        DbTable dbTable = jdbcManager.getTable(dbId, schemaName, tableName);
+        List<String> insertableColumns = determineInsertableColumns(includedColumns, dataList);
+        List<Map<String, Object>> tsIds = handleTsId(tsIdEnabled, dbTable, insertableColumns, dataList);
+        List<InsertableColumn> insertableColumnList = convertToInsertableColumnList(insertableColumns, sequences, dbTable);
+
+        processTypes(dbId, dbTable, insertableColumns, dataList);
+
+        CreateContext context = new CreateContext(dbId, dbTable, insertableColumns, insertableColumnList);
+
+        if (Objects.nonNull(upsert)) {
+            return prepareUpsert(dialect, dbTable, context, dataList, tsIds, upsert);
+        }
+
+        boolean returnKeys = keysNeeded && dialect.supportBatchReturnKeys();
+        int rowsPerStatement = copy || !bulkIngestProperties.isMultiRowInsert() ? 0
+                : Math.min(rowsPerStatement(dialect, dbTable, insertableColumnList, returnKeys), dataList.size());
+
+        String sql = rowsPerStatement > 1
+                ? sqlCreatorTemplate.createMultiRow(context, rowsPerStatement)
+                : sqlCreatorTemplate.create(context);
+
+        log.debug("SQL - {}", sql);
+        log.debug("Data - {}", dataList);
+
+        return new PreparedBatch(dbTable, context, sql, dataList, tsIds, copy, rowsPerStatement, returnKeys,
+                null, null);
+    }
+
+    /**
+     * Renders the upsert statement of a chunk, keys generated for updated rows are not read back.
+     */
+    private PreparedBatch prepareUpsert(
+            Dialect dialect, DbTable dbTable, CreateContext context, List<Map<String, Object>> dataList,
+            List<Map<String, Object>> tsIds, UpsertOptions upsert) {
+        UpsertOptions resolved = resolveUpsert(dialect, dbTable, context.insertableColumnList(), upsert);
+
+        int rowsPerStatement = Math.max(1, Math.min(Math.min(dialect.getMaxUpsertRows(),
+                dialect.getMaxBindParameters() / context.insertableColumnList().size()), dataList.size()));
+
+        String sql = sqlCreatorTemplate.upsert(context, resolved.conflictColumns(), resolved.updateColumns(),
+                rowsPerStatement);
+        String matchedSql = dialect.isUpsertReturningAction()
+                ? null
+                : sqlCreatorTemplate.upsertMatched(context, resolved.conflictColumns(), rowsPerStatement);
+
+        log.debug("SQL - {}", sql);
+        log.debug("Data - {}", dataList);
+
+        return new PreparedBatch(dbTable, context, sql, dataList, tsIds, false, rowsPerStatement, false,
+                resolved, matchedSql);
+    }
+
+    /**
+     * Conflict and update columns of an upsert under the names of the inserted columns. Conflict
+     * columns default to the primary key, update columns to the other inserted columns.
+     */
+    private UpsertOptions resolveUpsert(
+            Dialect dialect, DbTable dbTable, List<InsertableColumn> insertableColumnList, UpsertOptions upsert) {
+        if (Objects.isNull(dialect.getUpsertSqlTemplate())) {
+            throw new GenericDataAccessException("Upsert is not supported by the database");
+        }
+        if (insertableColumnList.stream().anyMatch(column -> Objects.nonNull(column.getSequence()))) {
+            throw new GenericDataAccessException("Upsert cannot be combined with sequences");
+        }
+
+        List<String> columns = insertableColumnList.stream().map(InsertableColumn::getColumnName).toList();
+
+        List<String> conflictColumns = isEmpty(upsert.conflictColumns())
+                ? Arrays.asList(dbTable.getKeyColumnNames())
+                : upsert.conflictColumns();
+        if (conflictColumns.isEmpty()) {
+            throw new GenericDataAccessException("Upsert needs conflict columns, table has no primary key - "
+                    + dbTable.name());
+        }
+        conflictColumns = conflictColumns.stream()
+                .map(name -> insertedColumn(columns, name, "Conflict"))
+                .toList();
+
+        List<String> conflicting = conflictColumns;
+        List<String> updateColumns = isEmpty(upsert.updateColumns())
+                ? columns.stream().filter(column -> !conflicting.contains(column)).toList()
+                : upsert.updateColumns().stream().map(name -> insertedColumn(columns, name, "Update")).toList();
+        if (updateColumns.isEmpty()) {
+            throw new GenericDataAccessException("Upsert has no columns to update");
+        }
+
+        return new UpsertOptions(conflictColumns, updateColumns);
+    }
+
+    private String insertedColumn(List<String> columns, String name, String role) {
+        return columns.stream()
+                .filter(column -> StringUtils.equalsIgnoreCase(column, name))
+                .findFirst()
+                .orElseThrow(() -> new GenericDataAccessException(role + " column is not inserted - " + name));
+    }
+
+    /**
+     * Rows per multi row insert, the dialect limit kept below its bind parameter limit.
+     * Sequence columns are rendered as nextval expressions, these tables are inserted row by row.
+     */
+    private int rowsPerStatement(
+            Dialect dialect, DbTable dbTable, List<InsertableColumn> insertableColumnList, boolean returnKeys) {
+        if (insertableColumnList.isEmpty()
+                || insertableColumnList.stream().anyMatch(column -> Objects.nonNull(column.getSequence()))) {
+            return 0;
         }
+        List<String> columns = insertableColumnList.stream().map(InsertableColumn::getColumnName).toList();
+        return Math.min(dialect.getMaxInsertRows(dbTable, columns, returnKeys),
+                dialect.getMaxBindParameters() / insertableColumnList.size());
     }
 
 
@@ -238,9 +599,7 @@ public class JdbcBulkCreateService implements BulkCreateService, FileStreamObser
      */
     private void processTypes(
             String dbId, DbTable dbTable, List<String> insertableColumns, List<Map<String, Object>> dataList) {
-        for (Map<String, Object> data : dataList) {
-            this.jdbcManager.getDialect(dbId).processTypes(dbTable, insertableColumns, data);
-        }
+        this.jdbcManager.getCoercionPlan(dbId, dbTable, insertableColumns).apply(dataList);
         log.debug("Finally insertable columns - {}", insertableColumns);
     }
 
@@ -269,4 +628,193 @@ public class JdbcBulkCreateService implements BulkCreateService, FileStreamObser
             }
         });
     }
+
+    /**
+     * Writes the prepared rows in one transaction. Rows bound over JDBC are split into batches of
+     * the size adapted to the table, every batch timed to adapt it further.
+     */
+    private CreateBulkResponse write(String dbId, PreparedBatch batch) {
+        if (batch.copy()) {
+            return executeCopy(dbId, batch);
+        }
+
+        String tableName = batch.dbTable().name();
+        List<Map<String, Object>> dataList = batch.dataList();
+        if (dataList.size() <= batchSizer.rows(dbId, tableName, batch.rowsPerStatement())) {
+            return executeTimed(dbId, batch);
+        }
+
+        return this.jdbcManager.getTxnTemplate(dbId).execute(status -> {
+            List<CreateBulkResponse> responses = new ArrayList<>();
+
+            for (int from = 0; from < dataList.size(); ) {
+                int to = Math.min(from + batchSizer.rows(dbId, tableName, batch.rowsPerStatement()), dataList.size());
+                responses.add(executeTimed(dbId, batch.withRows(dataList.subList(from, to))));
+                from = to;
+            }
+            return merge(responses, Objects.nonNull(batch.upsert()));
+        });
+    }
+
+    private CreateBulkResponse executeTimed(String dbId, PreparedBatch batch) {
+        long start = System.nanoTime();
+        CreateBulkResponse createBulkResponse = execute(dbId, batch);
+
+        batchSizer.written(dbId, batch.dbTable().name(), batch.dataList().size(),
+                AdaptiveBatchSizer.estimateBytes(batch.dataList()), System.nanoTime() - start);
+        return createBulkResponse;
+    }
+
+    //responses of the batches of one write in the order of their rows
+    private CreateBulkResponse merge(List<CreateBulkResponse> responses, boolean upsert) {
+        int[] rowCounts = responses.stream().flatMapToInt(response -> Arrays.stream(response.rows())).toArray();
+
+        List<Object> keys = null;
+        for (CreateBulkResponse response : responses) {
+            if (Objects.nonNull(response.keys())) {
+                keys = Objects.isNull(keys) ? new ArrayList<>() : keys;
+                keys.addAll((List<?>) response.keys());
+            }
+        }
+
+        if (!upsert) {
+            return new CreateBulkResponse(rowCounts, keys);
+        }
+        return new CreateBulkResponse(rowCounts, keys,
+                responses.stream().mapToLong(CreateBulkResponse::inserted).sum(),
+                responses.stream().mapToLong(CreateBulkResponse::updated).sum());
+    }
+
+    private CreateBulkResponse execute(String dbId, PreparedBatch batch) {
+        if (Objects.nonNull(batch.upsert())) {
+            return executeUpsert(dbId, batch);
+        }
+        return batch.rowsPerStatement() > 1
+                ? executeMultiRowInsert(dbId, batch)
+                : executeBatchUpdate(dbId, batch.dataList(), batch.sql(), batch.dbTable());
+    }
+
+    /**
+     * Inserts the batch with multi row inserts of {@code rowsPerStatement} rows in one transaction,
+     * the last one rendered for the rows left over.
+     *
+     * @param dbId  the database ID
+     * @param batch the prepared rows
+     * @return the response of the bulk create operation, keys in the order of the rows
+     */
+    private CreateBulkResponse executeMultiRowInsert(String dbId, PreparedBatch batch) {
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = jdbcManager.getNamedParameterJdbcTemplate(dbId);
+        List<Map<String, Object>> dataList = batch.dataList();
+        int rowsPerStatement = batch.rowsPerStatement();
+
+        return this.jdbcManager.getTxnTemplate(dbId).execute(status -> {
+            try {
+                List<Object> keys = batch.returnKeys() ? new ArrayList<>(dataList.size()) : null;
+
+                for (int from = 0; from < dataList.size(); from += rowsPerStatement) {
+                    List<Map<String, Object>> rows = dataList.subList(from, Math.min(from + rowsPerStatement, dataList.size()));
+                    String sql = rows.size() == rowsPerStatement
+                            ? batch.sql()
+                            : sqlCreatorTemplate.createMultiRow(batch.context(), rows.size());
+                    Map<String, Object> params = batch.context().bindRows(rows);
+
+                    if (Objects.nonNull(keys)) {
+                        keys.addAll((List<?>) dbOperationService.multiRowInsert(
+                                namedParameterJdbcTemplate, params, sql, rows.size(), batch.dbTable()).keys());
+                    } else {
+                        dbOperationService.multiRowInsert(namedParameterJdbcTemplate, params, sql, rows.size());
+                    }
+                }
+
+                int[] rowCounts = new int[dataList.size()];
+                Arrays.fill(rowCounts, 1);
+                return new CreateBulkResponse(rowCounts, keys);
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new GenericDataAccessException("Error Bulk insert - " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Upserts the batch with multi row upserts of {@code rowsPerStatement} rows in one transaction,
+     * the last one rendered for the rows left over.
+     *
+     * @param dbId  the database ID
+     * @param batch the prepared rows
+     * @return the response of the bulk create operation with the rows inserted and updated, without keys
+     */
+    private CreateBulkResponse executeUpsert(String dbId, PreparedBatch batch) {
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = jdbcManager.getNamedParameterJdbcTemplate(dbId);
+        List<Map<String, Object>> dataList = batch.dataList();
+        int rowsPerStatement = batch.rowsPerStatement();
+        UpsertOptions upsert = batch.upsert();
+
+        return this.jdbcManager.getTxnTemplate(dbId).execute(status -> {
+            try {
+                long inserted = 0;
+                long updated = 0;
+
+                for (int from = 0; from < dataList.size(); from += rowsPerStatement) {
+                    List<Map<String, Object>> rows = dataList.subList(from, Math.min(from + rowsPerStatement, dataList.size()));
+                    boolean full = rows.size() == rowsPerStatement;
+                    String sql = full
+                            ? batch.sql()
+                            : sqlCreatorTemplate.upsert(batch.context(), upsert.conflictColumns(),
+                            upsert.updateColumns(), rows.size());
+                    String matchedSql = full || Objects.isNull(batch.matchedSql())
+                            ? batch.matchedSql()
+                            : sqlCreatorTemplate.upsertMatched(batch.context(), upsert.conflictColumns(), rows.size());
+
+                    CreateBulkResponse response = dbOperationService.upsert(namedParameterJdbcTemplate,
+                            batch.context().bindRows(rows), sql, matchedSql, rows.size());
+                    inserted += response.inserted();
+                    updated += response.updated();
+                }
+
+                int[] rowCounts = new int[dataList.size()];
+                Arrays.fill(rowCounts, 1);
+                return new CreateBulkResponse(rowCounts, null, inserted, updated);
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new GenericDataAccessException("Error Bulk upsert - " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Loads the batch through the bulk copier of the dialect in one transaction.
+     *
+     * @param dbId  the database ID
+     * @param batch the prepared rows
+     * @return the response of the bulk create operation, without keys
+     */
+    private CreateBulkResponse executeCopy(String dbId, PreparedBatch batch) {
+        BulkCopier bulkCopier = jdbcManager.getDialect(dbId).getBulkCopier();
+
+        return this.jdbcManager.getTxnTemplate(dbId).execute(status -> {
+            try {
+                return dbOperationService.copy(jdbcManager.getNamedParameterJdbcTemplate(dbId), bulkCopier,
+                        batch.dbTable(), batch.context().insertableColumns(), batch.dataList());
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new GenericDataAccessException("Error Bulk copy - " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @param upsert     resolved conflict and update columns, null for an insert
+     * @param matchedSql count of the rows an upsert updates, null when the upsert returns its actions
+     */
+    private record PreparedBatch(DbTable dbTable, CreateContext context, String sql,
+                                 List<Map<String, Object>> dataList, List<Map<String, Object>> tsIds,
+                                 boolean copy, int rowsPerStatement, boolean returnKeys,
+                                 UpsertOptions upsert, String matchedSql) {
+
+        PreparedBatch withRows(List<Map<String, Object>> rows) {
+            return new PreparedBatch(dbTable, context, sql, rows, tsIds, copy, rowsPerStatement, returnKeys,
+                    upsert, matchedSql);
+        }
+    }
 }
@@ -0,0 +1,246 @@
+package com.homihq.db2rest.jdbc.core.service;
+
+import com.homihq.db2rest.config.BulkIngestProperties;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.bulk.BulkLoadJobRegistry;
+import com.homihq.db2rest.jdbc.bulk.ChunkedWriteJob;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.config.model.DbWhere;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
+import com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Deletes or updates the rows matching a filter as a background job. The primary keys of the
+ * next batch are selected in key order after the last key written, the batch is then written
+ * by its keys in a short transaction of its own. Locks and undo are held for one batch at a time.
+ * <p>
+ * The write repeats the filter, a row changed by another transaction after its keys were selected
+ * is left alone when it no longer matches.
+ * <p>
+ * Physical row locators like ctid or ROWID are not used, they are not stable from the
+ * transaction that selects a batch to the one that writes it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JdbcChunkedWriter {
+
+    //the keys of a batch are bound as one IN list, Oracle accepts at most 1000 elements
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final JdbcManager jdbcManager;
+    private final SqlCreatorTemplate sqlCreatorTemplate;
+    private final ResponseCache responseCache;
+    private final BulkIngestProperties bulkIngestProperties;
+    private final BulkLoadJobRegistry bulkLoadJobRegistry;
+    private final RsqlFilterCache filterCache;
+
+    /**
+     * @param operation   {@code delete} or {@code update}
+     * @param batchSize   rows per batch, null for the configured size
+     * @param pauseMillis pause between batches, null for the configured pause
+     * @param statement   renders the delete or update of one batch for the condition on its keys
+     * @param params      parameters of the statement besides the keys
+     */
+    public BulkLoadJobStatus submit(String dbId, DbTable table, String operation, String filter, Integer batchSize, Long pauseMillis,
+                                    Function<String, String> statement, Map<String, Object> params) {
+        List<DbColumn> keyColumns = table.buildPkColumns();
+        if (keyColumns.isEmpty()) {
+            throw new GenericDataAccessException("Chunked write needs a primary key - " + table.name());
+        }
+
+        int size = Objects.isNull(batchSize) ? bulkIngestProperties.getChunkedWriteBatchSize() : batchSize;
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new GenericDataAccessException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        long pause = Objects.isNull(pauseMillis) ? bulkIngestProperties.getChunkedWritePauseMillis() : pauseMillis;
+        if (pause < 0) {
+            throw new GenericDataAccessException("Pause must not be negative");
+        }
+
+        Map<String, Object> filterParams = new HashMap<>();
+        String where = renderWhere(dbId, table, filter, "read", filterParams);
+
+        //the filter of the write is rendered for its operation, next to the parameters of the statement
+        Map<String, Object> writeParams = new HashMap<>(params);
+        String writeWhere = renderWhere(dbId, table, filter, operation, writeParams);
+
+        int maxSize = maxBatchSize(jdbcManager.getDialect(dbId), keyColumns, writeParams);
+        if (maxSize < 1) {
+            throw new GenericDataAccessException("Too many parameters for a chunked write - " + table.name());
+        }
+        if (size > maxSize) {
+            log.debug("Batch size of {} limited to {} by the bind parameters of the database", table.name(), maxSize);
+        }
+        int limitedSize = Math.min(size, maxSize);
+
+        ChunkedWriteJob job = new ChunkedWriteJob(dbId, table.name(), operation,
+                j -> writeBatches(j, table, keyColumns, where, filterParams, limitedSize, pause,
+                        keyWhere -> statement.apply(and(writeWhere, keyWhere)), writeParams));
+
+        return bulkLoadJobRegistry.submit(job).status();
+    }
+
+    private void writeBatches(ChunkedWriteJob job, DbTable table, List<DbColumn> keyColumns, String where,
+                              Map<String, Object> filterParams, int batchSize, long pauseMillis,
+                              Function<String, String> statement, Map<String, Object> params) {
+        String dbId = job.getDbId();
+        Dialect dialect = jdbcManager.getDialect(dbId);
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = jdbcManager.getNamedParameterJdbcTemplate(dbId);
+
+        List<String> aliasedKeys = keyColumns.stream().map(column -> dialect.getAliasedName(column, false)).toList();
+        String firstSql = sqlCreatorTemplate.chunkKeys(dbId, table, aliasedKeys, where);
+        String nextSql = sqlCreatorTemplate.chunkKeys(dbId, table, aliasedKeys,
+                and(where, renderAfterKey(dialect, aliasedKeys)));
+
+        while (!job.isCancelled()) {
+            Map<String, Object> lastKey = job.getLastKey();
+
+            Map<String, Object> selectParams = new HashMap<>(filterParams);
+            selectParams.put("pageLimit", batchSize);
+            if (Objects.nonNull(lastKey)) {
+                for (int i = 0; i < keyColumns.size(); i++) {
+                    selectParams.put("chunk_last_" + i, lastKey.get(keyColumns.get(i).name()));
+                }
+            }
+
+            try {
+                List<Map<String, Object>> keys = namedParameterJdbcTemplate.queryForList(
+                        Objects.isNull(lastKey) ? firstSql : nextSql, selectParams);
+                if (keys.isEmpty()) {
+                    return;
+                }
+
+                Map<String, Object> writeParams = new HashMap<>(params);
+                String sql = statement.apply(bindKeys(keyColumns, keys, writeParams));
+                log.debug("{}", sql);
+
+                Integer rows = jdbcManager.getTxnTemplate(dbId).execute(status ->
+                        namedParameterJdbcTemplate.update(sql, writeParams));
+
+                job.written(Objects.isNull(rows) ? 0 : rows, keys.get(keys.size() - 1));
+                responseCache.invalidate(dbId, table.name());
+
+                if (keys.size() < batchSize) {
+                    return;
+                }
+            } catch (DataAccessException e) {
+                log.error("Error in chunked write : ", e);
+                throw new GenericDataAccessException(e.getMostSpecificCause().getMessage());
+            }
+
+            pause(pauseMillis);
+        }
+    }
+
+    /**
+     * Rows of a batch whose keys fit in the bind parameters of the database next to the parameters
+     * of the write statement and its filter, each key column of each row is bound separately.
+     */
+    static int maxBatchSize(Dialect dialect, List<DbColumn> keyColumns, Map<String, Object> writeParams) {
+        int bound = 0;
+        for (Object value : writeParams.values()) {
+            //a collection expands to one parameter per element
+            bound += value instanceof Collection<?> values ? values.size() : 1;
+        }
+        return Math.min(MAX_BATCH_SIZE, (dialect.getMaxBindParameters() - bound) / keyColumns.size());
+    }
+
+    private String renderWhere(String dbId, DbTable table, String filter, String op, Map<String, Object> paramMap) {
+        if (StringUtils.isBlank(filter)) {
+            return null;
+        }
+
+        DbWhere dbWhere = new DbWhere(table.name(), table, table.buildColumns(), paramMap, op);
+
+        return filterCache.render(dbId, filter, dbWhere);
+    }
+
+    /**
+     * Keys after the last key written in key order. A row value comparison where the database
+     * scans it as an index range, else spelled out per column with a bound on the leading key
+     * column so the scan still starts at the last key.
+     */
+    static String renderAfterKey(Dialect dialect, List<String> aliasedKeys) {
+        if (aliasedKeys.size() == 1) {
+            return aliasedKeys.get(0) + " > :chunk_last_0";
+        }
+
+        List<String> params = new ArrayList<>();
+        for (int i = 0; i < aliasedKeys.size(); i++) {
+            params.add(":chunk_last_" + i);
+        }
+        if (dialect.supportRowValueComparison()) {
+            return "(" + String.join(", ", aliasedKeys) + ") > (" + String.join(", ", params) + ")";
+        }
+
+        List<String> terms = new ArrayList<>();
+
+        for (int i = 0; i < aliasedKeys.size(); i++) {
+            List<String> parts = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                parts.add(aliasedKeys.get(j) + " = :chunk_last_" + j);
+            }
+            parts.add(aliasedKeys.get(i) + " > :chunk_last_" + i);
+            terms.add("(" + String.join(" AND ", parts) + ")");
+        }
+        return aliasedKeys.get(0) + " >= :chunk_last_0 AND (" + String.join(" OR ", terms) + ")";
+    }
+
+    private String and(String where, String condition) {
+        return Objects.isNull(where) ? condition : "(" + where + ") AND (" + condition + ")";
+    }
+
+    /**
+     * Condition matching the rows of a batch by their keys, a single key column as one IN list.
+     */
+    private String bindKeys(List<DbColumn> keyColumns, List<Map<String, Object>> keys, Map<String, Object> params) {
+        if (keyColumns.size() == 1) {
+            String name = keyColumns.get(0).name();
+            params.put("chunk_keys", keys.stream().map(key -> key.get(name)).toList());
+            return name + " IN (:chunk_keys)";
+        }
+
+        List<String> rows = new ArrayList<>(keys.size());
+        for (int row = 0; row < keys.size(); row++) {
+            List<String> parts = new ArrayList<>(keyColumns.size());
+            for (int column = 0; column < keyColumns.size(); column++) {
+                String name = keyColumns.get(column).name();
+                String param = "chunk_" + row + "_" + column;
+                params.put(param, keys.get(row).get(name));
+                parts.add(name + " = :" + param);
+            }
+            rows.add("(" + String.join(" AND ", parts) + ")");
+        }
+        return String.join(" OR ", rows);
+    }
+
+    private void pause(long pauseMillis) {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenericDataAccessException("Chunked write interrupted");
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.JdbcManager;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.plan.ReadPlanCache;
 import com.homihq.db2rest.jdbc.processor.ReadProcessor;
 import com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate;
 import lombok.RequiredArgsConstructor;
@@ -20,14 +21,11 @@ public class JdbcCountQueryService implements CountQueryService {
     private final DbOperationService dbOperationService;
     private final List<ReadProcessor> processorList;
     private final SqlCreatorTemplate sqlCreatorTemplate;
+    private final ReadPlanCache readPlanCache;
 
     @Override
     public CountResponse count(ReadContext readContext) {
-        for (ReadProcessor processor : processorList) {
-            processor.process(readContext);
-        }
-
-        String sql = sqlCreatorTemplate.count(readContext);
+        String sql = readPlanCache.compile(readContext, "count", processorList, sqlCreatorTemplate::count);
         log.debug("{}", sql);
         log.debug("{}", readContext.getParamMap());
 
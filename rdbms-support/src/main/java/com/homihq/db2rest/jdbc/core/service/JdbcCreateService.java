@@ -3,6 +3,7 @@ package com.homihq.db2rest.jdbc.core.service;
 import com.homihq.db2rest.core.dto.CreateResponse;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
 import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
@@ -30,6 +31,7 @@ public class JdbcCreateService implements CreateService {
     private final SqlCreatorTemplate sqlCreatorTemplate;
     private final JdbcManager jdbcManager;
     private final DbOperationService dbOperationService;
+    private final ResponseCache responseCache;
 
     @Override
     public CreateResponse save(
@@ -76,7 +78,7 @@ public class JdbcCreateService implements CreateService {
                 }
             }
 
-            this.jdbcManager.getDialect(dbId).processTypes(dbTable, insertableColumns, data);
+            this.jdbcManager.getCoercionPlan(dbId, dbTable, insertableColumns).apply(data);
 
             CreateContext context = new CreateContext(dbId, dbTable, insertableColumns, insertableColumnList);
             String sql = sqlCreatorTemplate.create(context);
@@ -99,6 +101,7 @@ public class JdbcCreateService implements CreateService {
                             }
                     );
 
+            responseCache.invalidate(dbId, tableName);
 
             if (tsIdEnabled) {
                 assert createResponse != null;
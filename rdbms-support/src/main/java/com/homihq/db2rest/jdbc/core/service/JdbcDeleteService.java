@@ -1,21 +1,23 @@
 package com.homihq.db2rest.jdbc.core.service;
 
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import com.homihq.db2rest.jdbc.config.model.DbWhere;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
 import com.homihq.db2rest.jdbc.dto.DeleteContext;
-import com.homihq.db2rest.jdbc.rsql.parser.RSQLParserBuilder;
-import com.homihq.db2rest.jdbc.rsql.visitor.BaseRSQLVisitor;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
 import com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate;
-import cz.jirutka.rsql.parser.ast.Node;
+import com.homihq.db2rest.jdbc.sql.SqlTextMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
 import java.util.Objects;
 
 @Slf4j
@@ -25,6 +27,10 @@ public class JdbcDeleteService implements DeleteService {
     private final JdbcManager jdbcManager;
     private final SqlCreatorTemplate sqlCreatorTemplate;
     private final DbOperationService dbOperationService;
+    private final SqlTextMetrics sqlTextMetrics;
+    private final ResponseCache responseCache;
+    private final JdbcChunkedWriter chunkedWriter;
+    private final RsqlFilterCache filterCache;
 
 
     @Override
@@ -41,6 +47,24 @@ public class JdbcDeleteService implements DeleteService {
 
     }
 
+    /**
+     * Deletes the rows matching the filter in a background job, batch by batch.
+     */
+    @Override
+    public BulkLoadJobStatus deleteChunked(String dbId, String schemaName, String tableName, String filter,
+                                           Integer batchSize, Long pauseMillis) {
+        DbTable dbTable = jdbcManager.getTable(dbId, schemaName, tableName);
+
+        return chunkedWriter.submit(dbId, dbTable, "delete", filter, batchSize, pauseMillis,
+                keyWhere -> sqlCreatorTemplate.deleteQuery(DeleteContext.builder()
+                        .dbId(dbId)
+                        .tableName(tableName)
+                        .table(dbTable)
+                        .where(keyWhere)
+                        .build()),
+                Map.of());
+    }
+
     private int executeDelete(String dbId, String filter, DbTable table, DeleteContext context) {
 
         addWhere(dbId, filter, table, context);
@@ -50,6 +74,8 @@ public class JdbcDeleteService implements DeleteService {
         log.debug("{}", sql);
         log.debug("{}", context.getParamMap());
 
+        sqlTextMetrics.record(dbId, context.getTableName(), sql, context.getParamMap());
+
         Integer i = this.jdbcManager.getTxnTemplate(dbId).execute(status -> {
             try {
                 return dbOperationService.delete(
@@ -62,6 +88,8 @@ public class JdbcDeleteService implements DeleteService {
             }
         });
 
+        responseCache.invalidate(dbId, context.getTableName());
+
         return Objects.isNull(i) ? 0 : i;
     }
 
@@ -80,11 +108,7 @@ public class JdbcDeleteService implements DeleteService {
                     "delete"
             );
 
-            Node rootNode = RSQLParserBuilder.newRSQLParser().parse(filter);
-
-            String where = rootNode
-                    .accept(new BaseRSQLVisitor(
-                            dbWhere, jdbcManager.getDialect(dbId)));
+            String where = filterCache.render(dbId, filter, dbWhere);
             context.setWhere(where);
 
         }
@@ -4,6 +4,7 @@ import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.JdbcManager;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.plan.ReadPlanCache;
 import com.homihq.db2rest.jdbc.processor.ReadProcessor;
 import com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate;
 import lombok.RequiredArgsConstructor;
@@ -21,15 +22,12 @@ public class JdbcFindOneService implements FindOneService {
     private final SqlCreatorTemplate sqlCreatorTemplate;
     private final List<ReadProcessor> processorList;
     private final DbOperationService dbOperationService;
+    private final ReadPlanCache readPlanCache;
 
     @Override
     public Map<String, Object> findOne(ReadContext readContext) {
 
-        for (ReadProcessor processor : processorList) {
-            processor.process(readContext);
-        }
-
-        String sql = sqlCreatorTemplate.findOne(readContext);
+        String sql = readPlanCache.compile(readContext, "find-one", processorList, sqlCreatorTemplate::findOne);
         Map<String, Object> bindValues = readContext.getParamMap();
 
         log.debug("SQL - {}", sql);
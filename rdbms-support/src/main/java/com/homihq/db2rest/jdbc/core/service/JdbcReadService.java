@@ -1,16 +1,35 @@
 package com.homihq.db2rest.jdbc.core.service;
 
+import com.homihq.db2rest.core.dto.CursorPageResponse;
+import com.homihq.db2rest.core.dto.PageResponse;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
+import com.homihq.db2rest.jdbc.core.RowStream;
+import com.homihq.db2rest.jdbc.core.row.RowSet;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.pagination.KeysetCursor;
+import com.homihq.db2rest.jdbc.pagination.TotalStrategy;
+import com.homihq.db2rest.jdbc.plan.ReadPlanCache;
+import com.homihq.db2rest.jdbc.processor.KeysetProcessor;
 import com.homihq.db2rest.jdbc.processor.ReadProcessor;
 import com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.dao.DataAccessException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 
 @Slf4j
@@ -20,32 +39,243 @@ public class JdbcReadService implements ReadService {
     private final DbOperationService dbOperationService;
     private final List<ReadProcessor> processorList;
     private final SqlCreatorTemplate sqlCreatorTemplate;
+    private final ReadPlanCache readPlanCache;
+    private final long estimateThreshold;
+
+    //count queries of paged reads, each runs on its own connection next to the data query
+    private final ExecutorService countExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Override
     public Object findAll(ReadContext readContext) {
 
         log.debug("readContext : {}", readContext);
 
+        String sql = compile(readContext);
+
         try {
-            for (ReadProcessor processor : processorList) {
-                processor.process(readContext);
+            return dbOperationService.read(
+                    jdbcManager.getNamedParameterJdbcTemplate(readContext.getDbId()),
+                    readContext.getParamMap(), sql, jdbcManager.getDialect(readContext.getDbId()));
+        } catch (DataAccessException e) {
+            log.error("Error in read op : ", e);
+            throw new GenericDataAccessException(e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    @Override
+    public RowStream stream(ReadContext readContext) {
+
+        log.debug("readContext : {}", readContext);
+
+        String sql = compile(readContext);
+        String dbId = readContext.getDbId();
+
+        return rowHandler -> {
+            try {
+                jdbcManager.getTxnTemplate(dbId).executeWithoutResult(status ->
+                        dbOperationService.stream(
+                                jdbcManager.getNamedParameterJdbcTemplate(dbId),
+                                readContext.getParamMap(), sql, jdbcManager.getDialect(dbId),
+                                readContext.getFetchSize(), rowHandler));
+            } catch (DataAccessException e) {
+                log.error("Error in stream op : ", e);
+                throw new GenericDataAccessException(e.getMostSpecificCause().getMessage());
             }
+        };
+    }
 
-            String sql = sqlCreatorTemplate.query(readContext);
-            log.debug("{}", sql);
-            log.debug("{}", readContext.getParamMap());
-            return dbOperationService.read(
+    @Override
+    public CursorPageResponse findPage(ReadContext readContext) {
+
+        log.debug("readContext : {}", readContext);
+
+        if (readContext.getPageLimit() < 1) {
+            throw new GenericDataAccessException("Cursor pagination needs a limit greater than 0.");
+        }
+
+        String sql = compile(readContext);
+        readContext.bindKeyset();
+
+        RowSet rows;
+        try {
+            rows = dbOperationService.read(
                     jdbcManager.getNamedParameterJdbcTemplate(readContext.getDbId()),
                     readContext.getParamMap(), sql, jdbcManager.getDialect(readContext.getDbId()));
         } catch (DataAccessException e) {
             log.error("Error in read op : ", e);
             throw new GenericDataAccessException(e.getMostSpecificCause().getMessage());
-        } catch (Exception e) {
+        }
+
+        int pageSize = readContext.getPageLimit();
+        List<String> keysetSpec = readContext.getKeysetSpec();
+        String next = null;
+
+        if (rows.size() > pageSize) {
+            rows = rows.head(pageSize);
+
+            Object[] lastRow = rows.rows().get(pageSize - 1);
+            List<Object> values = new ArrayList<>();
+            for (int i = 0; i < keysetSpec.size(); i++) {
+                values.add(lastRow[rows.indexOf(KeysetProcessor.KEY_ALIAS_PREFIX + i)]);
+            }
+            next = new KeysetCursor(keysetSpec, values).encode();
+        }
+
+        return new CursorPageResponse(
+                rows.withoutColumns(column -> StringUtils.startsWithIgnoreCase(column, KeysetProcessor.KEY_ALIAS_PREFIX)),
+                next);
+    }
+
+    @Override
+    public PageResponse findAllWithTotal(ReadContext readContext, TotalStrategy totalStrategy) {
+
+        log.debug("readContext : {}, total : {}", readContext, totalStrategy);
+
+        return switch (totalStrategy) {
+            case EXACT -> findAllWithCount(readContext);
+            case WINDOW -> findAllWithWindowCount(readContext);
+            case ESTIMATE -> findAllWithEstimate(readContext);
+        };
+    }
+
+    private PageResponse findAllWithCount(ReadContext readContext) {
+        //the processors fill in the context, the count needs its own
+        ReadContext countContext = readContext.toBuilder().build();
+        Future<Long> total = countExecutor.submit(() -> count(countContext));
+
+        RowSet rows;
+        try {
+            rows = read(readContext, compile(readContext));
+        } catch (RuntimeException e) {
+            total.cancel(true);
+            throw e;
+        }
+
+        return page(readContext, rows, await(total), false);
+    }
+
+    private PageResponse findAllWithWindowCount(ReadContext readContext) {
+        ReadContext countContext = readContext.toBuilder().build();
+
+        RowSet rows = read(readContext, compile(readContext, "read-total", sqlCreatorTemplate::queryWithTotal));
+        int totalIndex = rows.indexOf(SqlCreatorTemplate.TOTAL_ALIAS);
+
+        long total;
+        if (!rows.isEmpty()) {
+            total = ((Number) rows.rows().get(0)[totalIndex]).longValue();
+        } else if (readContext.getOffset() > 0) {
+            //paged past the last row, the window had nothing to count
+            total = count(countContext);
+        } else {
+            total = 0;
+        }
+
+        return page(readContext,
+                rows.withoutColumns(column -> StringUtils.equalsIgnoreCase(column, SqlCreatorTemplate.TOTAL_ALIAS)),
+                total, false);
+    }
+
+    private PageResponse findAllWithEstimate(ReadContext readContext) {
+        if (StringUtils.isBlank(readContext.getFilter())) {
+            Long estimate = estimate(readContext);
+
+            if (Objects.nonNull(estimate) && estimate >= estimateThreshold) {
+                return page(readContext, read(readContext, compile(readContext)), estimate, true);
+            }
+        }
+
+        return findAllWithCount(readContext);
+    }
+
+    private PageResponse page(ReadContext readContext, RowSet rows, long total, boolean estimated) {
+        Integer pageLimit = readContext.getPageLimit();
+        long start = Math.max(readContext.getOffset(), 0);
+        long end = start + rows.size();
+
+        //an estimate can be short of the actual count, a full page may be followed by another one
+        boolean more = Objects.nonNull(pageLimit) && rows.size() == pageLimit && (estimated || end < total);
+
+        return new PageResponse(rows, total, more ? end : null);
+    }
+
+    private RowSet read(ReadContext readContext, String sql) {
+        try {
+            return dbOperationService.read(
+                    jdbcManager.getNamedParameterJdbcTemplate(readContext.getDbId()),
+                    readContext.getParamMap(), sql, jdbcManager.getDialect(readContext.getDbId()));
+        } catch (DataAccessException e) {
             log.error("Error in read op : ", e);
-            throw new GenericDataAccessException("Failed to parse RQL - " + e.getMessage());
+            throw new GenericDataAccessException(e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private long count(ReadContext readContext) {
+        String sql = readPlanCache.compile(readContext, "count", processorList, sqlCreatorTemplate::count);
+        log.debug("{}", sql);
+        log.debug("{}", readContext.getParamMap());
+
+        try {
+            return dbOperationService.count(
+                    jdbcManager.getNamedParameterJdbcTemplate(readContext.getDbId()),
+                    readContext.getParamMap(), sql).count();
+        } catch (DataAccessException e) {
+            log.error("Error in count op : ", e);
+            throw new GenericDataAccessException(e.getMostSpecificCause().getMessage());
         }
     }
 
+    private long await(Future<Long> total) {
+        try {
+            return total.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenericDataAccessException("Interrupted while counting rows.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new GenericDataAccessException(e.getCause().getMessage());
+        }
+    }
+
+    private Long estimate(ReadContext readContext) {
+        String dbId = readContext.getDbId();
+        Dialect dialect = jdbcManager.getDialect(dbId);
+        String sql = dialect.getEstimatedCountSql();
+
+        if (Objects.isNull(sql)) {
+            return null;
+        }
+
+        DbTable table = jdbcManager.getTable(dbId, readContext.getSchemaName(), readContext.getTableName());
+
+        try {
+            Number estimate = jdbcManager.getNamedParameterJdbcTemplate(dbId).queryForObject(sql,
+                    Map.of("schemaName", table.schema(), "tableName", table.name()), Number.class);
+            return Objects.isNull(estimate) ? null : estimate.longValue();
+        } catch (DataAccessException e) {
+            log.debug("No row estimate for {} - {}", table.name(), e.getMessage());
+            return null;
+        }
+    }
 
+    private String compile(ReadContext readContext) {
+        return compile(readContext, "read", sqlCreatorTemplate::query);
+    }
 
+    private String compile(ReadContext readContext, String op, Function<ReadContext, String> renderer) {
+        try {
+            String sql = readPlanCache.compile(readContext, op, processorList, renderer);
+            readContext.bindPaging();
+            log.debug("{}", sql);
+            log.debug("{}", readContext.getParamMap());
+            return sql;
+        } catch (DataAccessException e) {
+            log.error("Error in read op : ", e);
+            throw new GenericDataAccessException(e.getMostSpecificCause().getMessage());
+        } catch (Exception e) {
+            log.error("Error in read op : ", e);
+            throw new GenericDataAccessException("Failed to parse RQL - " + e.getMessage());
+        }
+    }
 }
@@ -1,23 +1,35 @@
 package com.homihq.db2rest.jdbc.core.service;
 
+import com.homihq.db2rest.bulk.FileSubject;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+import com.homihq.db2rest.core.dto.UpdateBulkResponse;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
+import com.homihq.db2rest.jdbc.config.dialect.CoercionPlan;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import com.homihq.db2rest.jdbc.config.model.DbWhere;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
 import com.homihq.db2rest.jdbc.dto.UpdateContext;
-import com.homihq.db2rest.jdbc.rsql.parser.RSQLParserBuilder;
-import com.homihq.db2rest.jdbc.rsql.visitor.BaseRSQLVisitor;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
 import com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate;
-import cz.jirutka.rsql.parser.ast.Node;
+import com.homihq.db2rest.jdbc.sql.SqlTextMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionStatus;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
 
 
 @Slf4j
@@ -27,6 +39,10 @@ public class JdbcUpdateService implements UpdateService {
     private final JdbcManager jdbcManager;
     private final SqlCreatorTemplate sqlCreatorTemplate;
     private final DbOperationService dbOperationService;
+    private final SqlTextMetrics sqlTextMetrics;
+    private final ResponseCache responseCache;
+    private final JdbcChunkedWriter chunkedWriter;
+    private final RsqlFilterCache filterCache;
 
     @Override
     public int patch(String dbId, String schemaName, String tableName, Map<String, Object> data, String filter) {
@@ -35,7 +51,7 @@ public class JdbcUpdateService implements UpdateService {
 
         List<String> updatableColumns = data.keySet().stream().toList();
 
-        jdbcManager.getDialect(dbId).processTypes(dbTable, updatableColumns, data);
+        jdbcManager.getCoercionPlan(dbId, dbTable, updatableColumns).apply(data);
 
         UpdateContext context = UpdateContext.builder()
                 .dbId(dbId)
@@ -51,6 +67,180 @@ public class JdbcUpdateService implements UpdateService {
 
     }
 
+    /**
+     * Updates the rows matching the filter in a background job, batch by batch.
+     */
+    @Override
+    public BulkLoadJobStatus patchChunked(String dbId, String schemaName, String tableName, Map<String, Object> data,
+                                          String filter, Integer batchSize, Long pauseMillis) {
+        DbTable dbTable = jdbcManager.getTable(dbId, schemaName, tableName);
+
+        List<String> updatableColumns = data.keySet().stream().toList();
+
+        jdbcManager.getCoercionPlan(dbId, dbTable, updatableColumns).apply(data);
+
+        UpdateContext context = UpdateContext.builder().build();
+        context.createParamMap(data);
+
+        return chunkedWriter.submit(dbId, dbTable, "update", filter, batchSize, pauseMillis,
+                keyWhere -> sqlCreatorTemplate.updateQuery(UpdateContext.builder()
+                        .dbId(dbId)
+                        .tableName(tableName)
+                        .table(dbTable)
+                        .updatableColumns(updatableColumns)
+                        .where(keyWhere)
+                        .build()),
+                context.getParamMap());
+    }
+
+    /**
+     * Updates every row by its primary key with the other columns of the row. Rows changing the
+     * same columns share one statement and are sent as one JDBC batch, all in one transaction.
+     */
+    @Override
+    public UpdateBulkResponse patchBulk(String dbId, String schemaName, String tableName,
+                                        List<Map<String, Object>> dataList) {
+        if (Objects.isNull(dataList) || dataList.isEmpty()) {
+            throw new GenericDataAccessException("No data provided");
+        }
+
+        DbTable dbTable = jdbcManager.getTable(dbId, schemaName, tableName);
+
+        int[] rows = this.jdbcManager.getTxnTemplate(dbId).execute(status ->
+                executeBulkUpdate(dbId, dbTable, dataList, status));
+
+        responseCache.invalidate(dbId, tableName);
+
+        return bulkResponse(rows);
+    }
+
+    /**
+     * Updates the rows parsed from a stream chunk by chunk like {@link #patchBulk}, only one chunk
+     * is held in memory. All chunks are updated in one transaction.
+     */
+    @Override
+    public UpdateBulkResponse patchBulkStream(String dbId, String schemaName, String tableName,
+                                              FileSubject fileSubject, InputStream inputStream) {
+        DbTable dbTable = jdbcManager.getTable(dbId, schemaName, tableName);
+        IntStream.Builder rows = IntStream.builder();
+
+        try {
+            this.jdbcManager.getTxnTemplate(dbId).executeWithoutResult(status ->
+                    fileSubject.startStreaming(inputStream, chunk ->
+                            Arrays.stream(executeBulkUpdate(dbId, dbTable, chunk, status)).forEach(rows::add)));
+        } finally {
+            responseCache.invalidate(dbId, tableName);
+        }
+
+        int[] rowCounts = rows.build().toArray();
+        if (rowCounts.length == 0) {
+            throw new GenericDataAccessException("No data provided");
+        }
+        return bulkResponse(rowCounts);
+    }
+
+    private int[] executeBulkUpdate(String dbId, DbTable dbTable, List<Map<String, Object>> dataList,
+                                    TransactionStatus status) {
+        List<String> keyColumns = Arrays.asList(dbTable.getKeyColumnNames());
+        if (keyColumns.isEmpty()) {
+            throw new GenericDataAccessException("Bulk update needs a primary key - " + dbTable.name());
+        }
+
+        int[] rows = new int[dataList.size()];
+
+        for (Map.Entry<List<String>, List<Integer>> group : groupBySetColumns(dataList, keyColumns).entrySet()) {
+            List<String> setColumns = group.getKey();
+            List<Integer> positions = group.getValue();
+
+            List<String> columns = new ArrayList<>(setColumns);
+            columns.addAll(keyColumns);
+            CoercionPlan coercionPlan = jdbcManager.getCoercionPlan(dbId, dbTable, columns);
+
+            UpdateContext context = UpdateContext.builder()
+                    .dbId(dbId)
+                    .tableName(dbTable.name())
+                    .table(dbTable)
+                    .updatableColumns(setColumns)
+                    .where(renderKeyWhere(keyColumns))
+                    .build();
+            String sql = sqlCreatorTemplate.updateQuery(context);
+
+            List<Map<String, Object>> batch = new ArrayList<>(positions.size());
+            for (int position : positions) {
+                Map<String, Object> data = new HashMap<>(dataList.get(position));
+                coercionPlan.apply(data);
+                batch.add(bindRow(setColumns, keyColumns, data));
+            }
+
+            log.debug("{}", sql);
+            sqlTextMetrics.record(dbId, dbTable.name(), sql, batch.get(0));
+
+            int[] counts;
+            try {
+                counts = dbOperationService.batchUpdate(
+                        jdbcManager.getNamedParameterJdbcTemplate(dbId), batch, sql).rows();
+            } catch (DataAccessException e) {
+                log.error("Error in bulk update op : ", e);
+                status.setRollbackOnly();
+                throw new GenericDataAccessException(e.getMostSpecificCause().getMessage());
+            }
+
+            for (int i = 0; i < counts.length; i++) {
+                rows[positions.get(i)] = counts[i];
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Positions of the rows by the columns they change, sorted so that the order of the keys
+     * in a row does not matter. Groups keep the order they first appear in.
+     */
+    private Map<List<String>, List<Integer>> groupBySetColumns(List<Map<String, Object>> dataList,
+                                                               List<String> keyColumns) {
+        Map<List<String>, List<Integer>> groups = new LinkedHashMap<>();
+
+        for (int position = 0; position < dataList.size(); position++) {
+            Map<String, Object> data = dataList.get(position);
+
+            TreeSet<String> setColumns = new TreeSet<>(data.keySet());
+            for (String keyColumn : keyColumns) {
+                if (Objects.isNull(data.get(keyColumn))) {
+                    throw new GenericDataAccessException("Row " + position + " has no value for primary key column - "
+                            + keyColumn);
+                }
+                setColumns.remove(keyColumn);
+            }
+            if (setColumns.isEmpty()) {
+                throw new GenericDataAccessException("Row " + position + " has no columns to update");
+            }
+
+            groups.computeIfAbsent(List.copyOf(setColumns), k -> new ArrayList<>()).add(position);
+        }
+        return groups;
+    }
+
+    private String renderKeyWhere(List<String> keyColumns) {
+        return StringUtils.join(keyColumns.stream().map(k -> k + " = :key_" + k).toList(), " AND ");
+    }
+
+    private Map<String, Object> bindRow(List<String> setColumns, List<String> keyColumns, Map<String, Object> data) {
+        Map<String, Object> params = new HashMap<>((setColumns.size() + keyColumns.size()) * 2);
+        for (String column : setColumns) {
+            params.put("set_" + column, data.get(column));
+        }
+        for (String column : keyColumns) {
+            params.put("key_" + column, data.get(column));
+        }
+        return params;
+    }
+
+    private UpdateBulkResponse bulkResponse(int[] rows) {
+        //drivers report an unknown count of a batched statement as a negative value
+        return new UpdateBulkResponse(rows, Arrays.stream(rows).filter(count -> count > 0).asLongStream().sum());
+    }
+
     private int executeUpdate(String dbId, String filter, DbTable table, UpdateContext context) {
 
         addWhere(filter, table, context);
@@ -60,6 +250,8 @@ public class JdbcUpdateService implements UpdateService {
         log.debug("{}", sql);
         log.debug("{}", context.getParamMap());
 
+        sqlTextMetrics.record(dbId, context.getTableName(), sql, context.getParamMap());
+
 
         Integer i = this.jdbcManager.getTxnTemplate(dbId).execute(status -> {
             try {
@@ -74,6 +266,8 @@ public class JdbcUpdateService implements UpdateService {
 
         });
 
+        responseCache.invalidate(dbId, context.getTableName());
+
         return Objects.isNull(i) ? 0 : i;
     }
 
@@ -91,11 +285,7 @@ public class JdbcUpdateService implements UpdateService {
                     "update"
             );
 
-            Node rootNode = RSQLParserBuilder.newRSQLParser().parse(filter);
-
-            String where = rootNode
-                    .accept(new BaseRSQLVisitor(
-                            dbWhere, jdbcManager.getDialect(context.getDbId())));
+            String where = filterCache.render(context.getDbId(), filter, dbWhere);
             context.setWhere(where);
         }
     }
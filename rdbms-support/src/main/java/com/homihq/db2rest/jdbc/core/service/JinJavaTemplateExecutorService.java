@@ -5,7 +5,9 @@ import com.homihq.db2rest.core.exception.SqlTemplateNotFoundException;
 import com.homihq.db2rest.core.exception.SqlTemplateReadException;
 import com.homihq.db2rest.core.exception.UnsupportedConstraintException;
 import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.cache.ResponseCache;
 import com.homihq.db2rest.jdbc.core.DbOperationService;
+import com.homihq.db2rest.jdbc.core.RowStream;
 import com.homihq.db2rest.jdbc.dto.Placeholder;
 import com.homihq.db2rest.jdbc.validator.ConstraintValidator;
 import com.homihq.db2rest.jdbc.validator.CustomPlaceholderValidators;
@@ -28,6 +30,12 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+/**
+ * Runs the SQL templates. A template may write to any table, the statement does not name them in
+ * a form the response cache can rely on. After a template that is not a plain read every cached
+ * response of its database is dropped. A read that writes, like a SELECT of a function with side
+ * effects, is not detected, tables it writes to should not be cached.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class JinJavaTemplateExecutorService implements SQLTemplateExecutorService {
@@ -35,11 +43,18 @@ public class JinJavaTemplateExecutorService implements SQLTemplateExecutorServic
     private static final String SQL_TEMPLATE_EXTENSION = ".sql";
     private static final String PLACEHOLDER_REGEX =
             "\\{\\{\\s*([^|}]+?)\\s*(?:\\|\\s*([^}]+?))*\\s*}}";
+    private static final Pattern SQL_COMMENT = Pattern.compile("(?s)/\\*.*?\\*/|--[^\\n]*");
+    private static final Pattern READ_STATEMENT =
+            Pattern.compile("^\\s*(SELECT|WITH|VALUES|TABLE|SHOW)\\b", Pattern.CASE_INSENSITIVE);
+    //data modifying statements of a WITH
+    private static final Pattern WRITE_KEYWORD =
+            Pattern.compile("\\b(INSERT|UPDATE|DELETE|MERGE)\\b", Pattern.CASE_INSENSITIVE);
     private final Jinjava jinjava;
     private final Db2RestConfigProperties db2RestConfigProperties;
     private final DbOperationService dbOperationService;
     private final JdbcManager jdbcManager;
     private final CustomPlaceholderValidators validators;
+    private final ResponseCache responseCache;
     private final Map<String, String> templateCache = new ConcurrentHashMap<>();
 
     private static String buildNamedParameterQuery(String template) {
@@ -73,7 +88,53 @@ public class JinJavaTemplateExecutorService implements SQLTemplateExecutorServic
                 executeInternal(templateFile, context);
         final String namedParamsSQL = queryParamPair.getLeft();
         final Map<String, Object> paramMap = queryParamPair.getRight();
-        return executeQuery(dbId, paramMap, namedParamsSQL);
+        try {
+            return executeQuery(dbId, paramMap, namedParamsSQL);
+        } finally {
+            invalidateAfterWrite(dbId, namedParamsSQL);
+        }
+    }
+
+    @Override
+    public RowStream stream(String dbId, String templateFile, Map<String, Object> context) {
+        final Pair<String, Map<String, Object>> queryParamPair =
+                executeInternal(templateFile, context);
+        final String namedParamsSQL = queryParamPair.getLeft();
+        final Map<String, Object> paramMap = queryParamPair.getRight();
+
+        log.debug("Stream: {}", namedParamsSQL);
+
+        return rowHandler -> {
+            try {
+                jdbcManager.getTxnTemplate(dbId).executeWithoutResult(status ->
+                        dbOperationService.stream(
+                                jdbcManager.getNamedParameterJdbcTemplate(dbId),
+                                paramMap,
+                                namedParamsSQL,
+                                jdbcManager.getDialect(dbId),
+                                db2RestConfigProperties.getStreaming().getFetchSize(),
+                                rowHandler
+                        ));
+            } finally {
+                invalidateAfterWrite(dbId, namedParamsSQL);
+            }
+        };
+    }
+
+    private void invalidateAfterWrite(String dbId, String sql) {
+        if (isWrite(sql)) {
+            log.debug("Template may have written, invalidating cached responses of {}", dbId);
+            responseCache.invalidateDatabase(dbId);
+        }
+    }
+
+    static boolean isWrite(String sql) {
+        String statement = SQL_COMMENT.matcher(sql).replaceAll(" ");
+        Matcher read = READ_STATEMENT.matcher(statement);
+        if (!read.find()) {
+            return true;
+        }
+        return read.group(1).equalsIgnoreCase("WITH") && WRITE_KEYWORD.matcher(statement).find();
     }
 
     private Object executeQuery(String dbId, Map<String, Object> paramMap, String sql) {
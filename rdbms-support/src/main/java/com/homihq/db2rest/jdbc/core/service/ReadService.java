@@ -1,7 +1,17 @@
 package com.homihq.db2rest.jdbc.core.service;
 
+import com.homihq.db2rest.core.dto.CursorPageResponse;
+import com.homihq.db2rest.core.dto.PageResponse;
+import com.homihq.db2rest.jdbc.core.RowStream;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.pagination.TotalStrategy;
 
 public interface ReadService {
     Object findAll(ReadContext readContext);
+
+    RowStream stream(ReadContext readContext);
+
+    CursorPageResponse findPage(ReadContext readContext);
+
+    PageResponse findAllWithTotal(ReadContext readContext, TotalStrategy totalStrategy);
 }
@@ -1,10 +1,14 @@
 package com.homihq.db2rest.jdbc.core.service;
 
 
+import com.homihq.db2rest.jdbc.core.RowStream;
+
 import java.util.Map;
 
 public interface SQLTemplateExecutorService {
 
     Object execute(String dbId, String templateFile, Map<String, Object> context);
 
+    RowStream stream(String dbId, String templateFile, Map<String, Object> context);
+
 }
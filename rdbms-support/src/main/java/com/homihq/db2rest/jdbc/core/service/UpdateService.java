@@ -1,9 +1,23 @@
 package com.homihq.db2rest.jdbc.core.service;
 
 
+import com.homihq.db2rest.bulk.FileSubject;
+import com.homihq.db2rest.core.dto.BulkLoadJobStatus;
+import com.homihq.db2rest.core.dto.UpdateBulkResponse;
+
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 
 public interface UpdateService {
 
     int patch(String dbId, String schemaName, String tableName, Map<String, Object> data, String filter);
+
+    BulkLoadJobStatus patchChunked(String dbId, String schemaName, String tableName, Map<String, Object> data,
+                                   String filter, Integer batchSize, Long pauseMillis);
+
+    UpdateBulkResponse patchBulk(String dbId, String schemaName, String tableName, List<Map<String, Object>> dataList);
+
+    UpdateBulkResponse patchBulkStream(String dbId, String schemaName, String tableName,
+                                       FileSubject fileSubject, InputStream inputStream);
 }
@@ -0,0 +1,18 @@
+package com.homihq.db2rest.jdbc.dto;
+
+import java.util.List;
+
+/**
+ * One read of a batch, same options as the read end point.
+ */
+public record BatchReadRequest(
+        String schemaName,
+        String table,
+        String fields,
+        String filter,
+        List<String> sort,
+        Integer limit,
+        Long offset,
+        List<JoinDetail> joins
+) {
+}
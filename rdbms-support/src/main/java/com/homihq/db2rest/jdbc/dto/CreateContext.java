@@ -1,9 +1,14 @@
 package com.homihq.db2rest.jdbc.dto;
 
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public record CreateContext(
         String dbId,
@@ -32,4 +37,58 @@ public record CreateContext(
     public String renderParams() {
         return StringUtils.join(getParamNames(), ",");
     }
+
+    /**
+     * Parameters of one row of a multi row insert, named by row and column position.
+     */
+    public String renderRowParams(int row) {
+        return IntStream.range(0, insertableColumnList.size())
+                .mapToObj(column -> ":" + rowParamName(row, column))
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Values of the rows of a multi row insert under the names of {@link #renderRowParams(int)}.
+     */
+    public Map<String, Object> bindRows(List<Map<String, Object>> rows) {
+        Map<String, Object> params = new HashMap<>(rows.size() * insertableColumnList.size() * 2);
+        for (int row = 0; row < rows.size(); row++) {
+            Map<String, Object> data = rows.get(row);
+            for (int column = 0; column < insertableColumnList.size(); column++) {
+                params.put(rowParamName(row, column), data.get(insertableColumnList.get(column).columnName));
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Parameters of one row as a select list aliased with the column names.
+     */
+    public String renderRowSelect(int row) {
+        return IntStream.range(0, insertableColumnList.size())
+                .mapToObj(column -> ":" + rowParamName(row, column) + " AS " + insertableColumnList.get(column).columnName)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Condition matching one row on the given columns, bound with {@link #bindRows(List)}.
+     */
+    public String renderRowMatch(int row, List<String> columns) {
+        return columns.stream()
+                .map(name -> name + " = :" + rowParamName(row, columnPosition(name)))
+                .collect(Collectors.joining(" AND "));
+    }
+
+    private int columnPosition(String name) {
+        for (int column = 0; column < insertableColumnList.size(); column++) {
+            if (StringUtils.equalsIgnoreCase(insertableColumnList.get(column).columnName, name)) {
+                return column;
+            }
+        }
+        throw new GenericDataAccessException("Column is not inserted - " + name);
+    }
+
+    private static String rowParamName(int row, int column) {
+        return "r" + row + "_" + column;
+    }
 }
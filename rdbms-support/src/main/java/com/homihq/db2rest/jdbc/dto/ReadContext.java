@@ -1,15 +1,20 @@
 package com.homihq.db2rest.jdbc.dto;
 
 
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbJoin;
 import com.homihq.db2rest.jdbc.config.model.DbSort;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.pagination.KeysetCursor;
+import com.homihq.db2rest.jdbc.plan.ParamBinding;
+import com.homihq.db2rest.jdbc.processor.KeysetProcessor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -17,7 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -35,6 +40,9 @@ public class ReadContext {
     long offset;
     List<JoinDetail> joins;
     int defaultFetchLimit;
+    int fetchSize;
+    boolean keyset;
+    String cursor;
 
 
     /* Derived attributes */
@@ -44,6 +52,8 @@ public class ReadContext {
     Map<String, Object> paramMap;
     List<DbJoin> dbJoins;
     List<DbSort> dbSortList;
+    List<ParamBinding> paramBindings;
+    List<String> keysetSpec;
 
     public void createParamMap() {
         if (Objects.isNull(paramMap)) {
@@ -51,6 +61,47 @@ public class ReadContext {
         }
     }
 
+    public Integer getPageLimit() {
+        if (limit > -1) {
+            return limit;
+        }
+        if (limit == -1 || keyset) {
+            return defaultFetchLimit;
+        }
+        return null;
+    }
+
+    public void bindPaging() {
+        createParamMap();
+
+        Integer pageLimit = getPageLimit();
+        if (Objects.nonNull(pageLimit)) {
+            paramMap.put("pageLimit", pageLimit);
+        }
+        if (offset > -1) {
+            paramMap.put("pageOffset", offset);
+        }
+    }
+
+    public void bindKeyset() {
+        createParamMap();
+
+        //one extra row tells whether there is a next page
+        paramMap.put("pageLimit", getPageLimit() + 1);
+
+        if (StringUtils.isNotBlank(cursor)) {
+            KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+
+            if (!keysetCursor.matches(keysetSpec)) {
+                throw new GenericDataAccessException("Cursor does not match the requested sort order.");
+            }
+
+            for (int i = 0; i < keysetCursor.values().size(); i++) {
+                paramMap.put(KeysetProcessor.KEY_PARAM_PREFIX + i, keysetCursor.values().get(i));
+            }
+        }
+    }
+
     public void addColumns(List<DbColumn> columnList) {
         this.cols.addAll(columnList);
     }
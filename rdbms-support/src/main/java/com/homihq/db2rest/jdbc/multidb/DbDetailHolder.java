@@ -1,15 +1,33 @@
 package com.homihq.db2rest.jdbc.multidb;
 
+import com.homihq.db2rest.jdbc.config.dialect.CoercionPlan;
 import com.homihq.db2rest.jdbc.config.dialect.Dialect;
 import com.homihq.db2rest.jdbc.config.model.DbTable;
 import com.homihq.db2rest.jdbc.sql.DbMeta;
 
+import java.util.Locale;
 import java.util.Map;
 
+/**
+ * @param schemaTableMap tables by case folded schema and table name, see {@link #schemaTableKey}
+ */
 public record DbDetailHolder(
         String dbId,
         DbMeta dbMeta,
         Map<String, DbTable> dbTableMap,
-        Dialect dialect
+        Map<SchemaTableKey, DbTable> schemaTableMap,
+        Dialect dialect,
+        Map<CoercionPlan.Key, CoercionPlan> coercionPlans
 ) {
+
+    public static SchemaTableKey schemaTableKey(String schemaName, String tableName) {
+        return new SchemaTableKey(fold(schemaName), fold(tableName));
+    }
+
+    private static String fold(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    public record SchemaTableKey(String schemaName, String tableName) {
+    }
 }
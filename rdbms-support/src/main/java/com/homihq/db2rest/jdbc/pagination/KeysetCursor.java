@@ -0,0 +1,135 @@
+package com.homihq.db2rest.jdbc.pagination;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Opaque cursor of a keyset page. Holds the seek columns with their sort direction and the
+ * values of the last row of the previous page. Values are stored with a type tag so they can
+ * be bound again without looking up the column types.
+ *
+ * @param seekColumns seek columns in order, e.g. {@code last_name ASC}
+ * @param values      values of the seek columns of the last row returned
+ */
+public record KeysetCursor(List<String> seekColumns, List<Object> values) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public String encode() {
+        ObjectNode root = MAPPER.createObjectNode();
+        ArrayNode columns = root.putArray("k");
+        seekColumns.forEach(columns::add);
+
+        ArrayNode vals = root.putArray("v");
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (Objects.isNull(value)) {
+                throw new GenericDataAccessException(
+                        "Cursor pagination needs non null sort columns, found null in - " + seekColumns.get(i));
+            }
+            vals.addArray().add(tag(value)).add(asString(value));
+        }
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(root));
+        } catch (Exception e) {
+            throw new GenericDataAccessException("Failed to create cursor - " + e.getMessage());
+        }
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            JsonNode root = MAPPER.readTree(
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+
+            List<String> columns = new ArrayList<>();
+            root.get("k").forEach(node -> columns.add(node.asText()));
+
+            List<Object> values = new ArrayList<>();
+            root.get("v").forEach(node -> values.add(parse(node.get(0).asText(), node.get(1).asText())));
+
+            if (columns.size() != values.size()) {
+                throw new IllegalArgumentException("column and value count differ");
+            }
+
+            return new KeysetCursor(columns, values);
+        } catch (Exception e) {
+            throw new GenericDataAccessException("Invalid cursor - " + token);
+        }
+    }
+
+    public boolean matches(List<String> expectedSeekColumns) {
+        if (Objects.isNull(expectedSeekColumns) || expectedSeekColumns.size() != seekColumns.size()) {
+            return false;
+        }
+        for (int i = 0; i < seekColumns.size(); i++) {
+            if (!StringUtils.equalsIgnoreCase(seekColumns.get(i), expectedSeekColumns.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String tag(Object value) {
+        return switch (value) {
+            case Integer i -> "i";
+            case Long l -> "i";
+            case Short s -> "i";
+            case Byte b -> "i";
+            case BigInteger b -> "bi";
+            case BigDecimal b -> "d";
+            case Float f -> "f";
+            case Double d -> "f";
+            case Boolean b -> "b";
+            case java.sql.Timestamp t -> "ts";
+            case LocalDateTime t -> "ts";
+            case java.sql.Date d -> "dt";
+            case LocalDate d -> "dt";
+            case java.sql.Time t -> "t";
+            case LocalTime t -> "t";
+            case OffsetDateTime t -> "tz";
+            default -> "s";
+        };
+    }
+
+    private static String asString(Object value) {
+        return switch (value) {
+            case java.sql.Timestamp t -> t.toLocalDateTime().toString();
+            case java.sql.Date d -> d.toLocalDate().toString();
+            case java.sql.Time t -> t.toLocalTime().toString();
+            default -> String.valueOf(value);
+        };
+    }
+
+    private static Object parse(String tag, String value) {
+        return switch (tag) {
+            case "i" -> Long.valueOf(value);
+            case "bi" -> new BigInteger(value);
+            case "d" -> new BigDecimal(value);
+            case "f" -> Double.valueOf(value);
+            case "b" -> Boolean.valueOf(value);
+            case "ts" -> LocalDateTime.parse(value);
+            case "dt" -> LocalDate.parse(value);
+            case "t" -> LocalTime.parse(value);
+            case "tz" -> OffsetDateTime.parse(value);
+            case "s" -> value;
+            default -> throw new IllegalArgumentException("Unknown value type - " + tag);
+        };
+    }
+}
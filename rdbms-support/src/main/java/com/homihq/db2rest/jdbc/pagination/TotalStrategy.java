@@ -0,0 +1,35 @@
+package com.homihq.db2rest.jdbc.pagination;
+
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+
+import java.util.Arrays;
+
+/**
+ * How the total of a paged read is found.
+ */
+public enum TotalStrategy {
+
+    /**
+     * Count query run next to the data query, on its own connection.
+     */
+    EXACT,
+
+    /**
+     * {@code COUNT(*) OVER()} added to the data query, one query and one connection.
+     */
+    WINDOW,
+
+    /**
+     * Row count from the database catalog for unfiltered reads of large tables, exact count
+     * otherwise.
+     */
+    ESTIMATE;
+
+    public static TotalStrategy of(String value) {
+        return Arrays.stream(values())
+                .filter(strategy -> strategy.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new GenericDataAccessException(
+                        "Unknown total strategy - " + value + ", use exact, window or estimate."));
+    }
+}
@@ -0,0 +1,47 @@
+package com.homihq.db2rest.jdbc.plan;
+
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbWhere;
+import com.homihq.db2rest.jdbc.rsql.operator.OperatorHandler;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Recipe to re-create one named parameter of a cached plan from the literals of a new request.
+ *
+ * @param source     filter the comparison came from - 0 for the root filter, n for the n-th join filter
+ * @param index      position of the comparison node inside that filter (depth first)
+ * @param column     resolved column of the comparison
+ * @param handler    operator handler that produced the parameter
+ * @param multiValue whether the operator takes a list of arguments
+ * @param op         operation the where clause was built for (read, update, delete)
+ * @param paramKey   name of the parameter in the cached SQL
+ */
+public record ParamBinding(
+        int source,
+        int index,
+        DbColumn column,
+        OperatorHandler handler,
+        boolean multiValue,
+        String op,
+        String paramKey
+) {
+
+    public void bind(Dialect dialect, ComparisonNode node, Map<String, Object> paramMap) {
+        Map<String, Object> values = new HashMap<>();
+        DbWhere dbWhere = new DbWhere(column.tableName(), null, null, values, op);
+
+        if (multiValue) {
+            handler.handle(dialect, column, dbWhere, node.getArguments(), column.typeMappedClass(), values);
+        } else {
+            handler.handle(dialect, column, dbWhere, node.getArguments().get(0), column.typeMappedClass(), values);
+        }
+
+        for (Object value : values.values()) {
+            paramMap.put(paramKey, value);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.homihq.db2rest.jdbc.plan;
+
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finished SQL of a read request shape plus the recipe to bind the values of a new request to it.
+ * For keyset reads the seek columns are kept as well, they are needed to check and build cursors.
+ */
+public record ReadPlan(String sql, List<ParamBinding> bindings, List<String> keysetSpec) {
+
+    public void bind(Dialect dialect, ReadShape readShape, Map<String, Object> paramMap) {
+        for (ParamBinding binding : bindings) {
+            binding.bind(dialect, readShape.comparison(binding.source(), binding.index()), paramMap);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.homihq.db2rest.jdbc.plan;
+
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.processor.ReadProcessor;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
+import com.homihq.db2rest.jdbc.sql.SqlTextMetrics;
+import com.homihq.db2rest.jdbc.util.LruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Caches the SQL produced by the read processor chain and the SQL templates per request shape.
+ * On a hit only the filter values of the current request are bound, the processors and
+ * templates are skipped.
+ */
+@Slf4j
+public class ReadPlanCache {
+
+    private static final String METRIC_PREFIX = "db2rest.read.plan.cache";
+
+    private final JdbcManager jdbcManager;
+    private final SqlTextMetrics sqlTextMetrics;
+    private final RsqlFilterCache filterCache;
+    private final boolean enabled;
+    private final LruCache<ReadPlanKey, ReadPlan> plans;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ReadPlanCache(JdbcManager jdbcManager, MeterRegistry meterRegistry, SqlTextMetrics sqlTextMetrics,
+                         RsqlFilterCache filterCache, boolean enabled, int maxSize) {
+        this.jdbcManager = jdbcManager;
+        this.sqlTextMetrics = sqlTextMetrics;
+        this.filterCache = filterCache;
+        this.enabled = enabled;
+        this.plans = new LruCache<>(maxSize);
+
+        this.hits = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", plans, LruCache::size)
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", plans, LruCache::evictionCount)
+                .register(meterRegistry);
+
+        jdbcManager.registerReloadListener(this::invalidateAll);
+    }
+
+    /**
+     * Returns the SQL for the given read request and fills its parameter map.
+     *
+     * @param readContext the read request
+     * @param op          the kind of query - read, count, exists, find-one
+     * @param processors  the read processor chain to run on a cache miss
+     * @param renderer    renders the SQL once the processors have run
+     * @return SQL with named parameters matching {@link ReadContext#getParamMap()}
+     */
+    public String compile(ReadContext readContext, String op,
+                          List<ReadProcessor> processors, Function<ReadContext, String> renderer) {
+        if (!enabled) {
+            return record(readContext, render(readContext, processors, renderer));
+        }
+
+        ReadShape readShape = ReadShape.of(readContext, filterCache);
+        //large IN lists render a statement per list size, those are not worth caching
+        if (readShape.hasLargeInList(jdbcManager.getDialect(readContext.getDbId()))) {
+            return record(readContext, render(readContext, processors, renderer));
+        }
+
+        ReadPlanKey key = readShape.key(readContext, op);
+
+        ReadPlan plan = plans.get(key);
+
+        if (Objects.nonNull(plan)) {
+            hits.increment();
+            readContext.createParamMap();
+            plan.bind(jdbcManager.getDialect(readContext.getDbId()), readShape, readContext.getParamMap());
+            readContext.setKeysetSpec(plan.keysetSpec());
+            return record(readContext, plan.sql());
+        }
+
+        misses.increment();
+        readContext.setParamBindings(new ArrayList<>());
+
+        String sql = render(readContext, processors, renderer);
+        plans.put(key, new ReadPlan(sql, List.copyOf(readContext.getParamBindings()), readContext.getKeysetSpec()));
+
+        return record(readContext, sql);
+    }
+
+    public void invalidateAll() {
+        log.debug("Invalidating read plan cache");
+        plans.clear();
+    }
+
+    private String record(ReadContext readContext, String sql) {
+        sqlTextMetrics.record(readContext.getDbId(), readContext.getTableName(), sql, readContext.getParamMap());
+        return sql;
+    }
+
+    private String render(ReadContext readContext,
+                          List<ReadProcessor> processors, Function<ReadContext, String> renderer) {
+        for (ReadProcessor processor : processors) {
+            processor.process(readContext);
+        }
+        return renderer.apply(readContext);
+    }
+}
@@ -0,0 +1,19 @@
+package com.homihq.db2rest.jdbc.plan;
+
+import java.util.List;
+
+public record ReadPlanKey(
+        String dbId,
+        String schemaName,
+        String tableName,
+        String op,
+        String fields,
+        String filterShape,
+        List<String> sorts,
+        String joinShape,
+        boolean limit,
+        boolean offset,
+        boolean keyset,
+        boolean seek
+) {
+}
@@ -0,0 +1,109 @@
+package com.homihq.db2rest.jdbc.plan;
+
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.dto.JoinDetail;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+import com.homihq.db2rest.jdbc.rsql.parser.ParsedFilter;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Normalized shape of a read request. Filter literals are replaced by placeholders so that requests
+ * which only differ in their values share the same shape, while the parsed comparison nodes are kept
+ * to bind the values of the current request.
+ */
+public class ReadShape {
+
+    private final RsqlFilterCache filterCache;
+    private final List<List<ComparisonNode>> comparisons = new ArrayList<>();
+    private final String filterShape;
+    private final String joinShape;
+
+    private ReadShape(ReadContext readContext, RsqlFilterCache filterCache) {
+        this.filterCache = filterCache;
+        this.filterShape = addFilter(readContext, readContext.getTableName(), readContext.getFilter());
+        this.joinShape = joinShape(readContext);
+    }
+
+    public static ReadShape of(ReadContext readContext, RsqlFilterCache filterCache) {
+        return new ReadShape(readContext, filterCache);
+    }
+
+    public ReadPlanKey key(ReadContext readContext, String op) {
+        return new ReadPlanKey(
+                readContext.getDbId(),
+                readContext.getSchemaName(),
+                readContext.getTableName(),
+                op,
+                StringUtils.trim(readContext.getFields()),
+                filterShape,
+                Objects.isNull(readContext.getSorts()) ? List.of() : List.copyOf(readContext.getSorts()),
+                joinShape,
+                Objects.nonNull(readContext.getPageLimit()),
+                readContext.getOffset() > -1,
+                readContext.isKeyset(),
+                readContext.isKeyset() && StringUtils.isNotBlank(readContext.getCursor())
+        );
+    }
+
+    /**
+     * Whether a list of the filters is rendered by the large IN list strategy of the dialect,
+     * the statement then depends on the size of the list.
+     */
+    public boolean hasLargeInList(Dialect dialect) {
+        for (List<ComparisonNode> filterComparisons : comparisons) {
+            for (ComparisonNode comparison : filterComparisons) {
+                if (comparison.getOperator().isMultiValue()
+                        && dialect.isLargeInList(comparison.getArguments().size())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public ComparisonNode comparison(int source, int index) {
+        return comparisons.get(source).get(index);
+    }
+
+    private String joinShape(ReadContext readContext) {
+        List<JoinDetail> joins = readContext.getJoins();
+        if (Objects.isNull(joins) || joins.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder shape = new StringBuilder();
+        for (JoinDetail join : joins) {
+            shape.append('[')
+                    .append(join.schemaName()).append('|')
+                    .append(join.table()).append('|')
+                    .append(join.withTable()).append('|')
+                    .append(join.fields()).append('|')
+                    .append(join.on()).append('|')
+                    .append(join.getJoinType()).append('|')
+                    .append(addFilter(readContext, join.table(), join.filter()))
+                    .append(']');
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Filters are parsed for the table they are rendered on, as that is what they are optimized for.
+     */
+    private String addFilter(ReadContext readContext, String tableName, String filter) {
+        if (StringUtils.isBlank(filter)) {
+            comparisons.add(List.of());
+            return "";
+        }
+
+        ParsedFilter parsedFilter = filterCache.parse(readContext.getDbId(), readContext.getSchemaName(),
+                tableName, filter);
+        comparisons.add(parsedFilter.comparisons());
+        return parsedFilter.shape();
+    }
+}
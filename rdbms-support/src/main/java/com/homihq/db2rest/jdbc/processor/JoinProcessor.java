@@ -7,9 +7,7 @@ import com.homihq.db2rest.jdbc.config.model.DbTable;
 import com.homihq.db2rest.jdbc.config.model.DbWhere;
 import com.homihq.db2rest.jdbc.dto.JoinDetail;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
-import com.homihq.db2rest.jdbc.rsql.parser.RSQLParserBuilder;
-import com.homihq.db2rest.jdbc.rsql.visitor.BaseRSQLVisitor;
-import cz.jirutka.rsql.parser.ast.Node;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -22,7 +20,7 @@ import java.util.Optional;
 
 import static com.homihq.db2rest.jdbc.rsql.operator.OperatorMap.getRSQLOperator;
 import static com.homihq.db2rest.jdbc.rsql.operator.OperatorMap.getSQLOperator;
-import static com.homihq.db2rest.jdbc.util.AliasGenerator.getAlias;
+import static com.homihq.db2rest.jdbc.util.AliasGenerator.getJoinAlias;
 
 
 @Slf4j
@@ -31,6 +29,7 @@ import static com.homihq.db2rest.jdbc.util.AliasGenerator.getAlias;
 public class JoinProcessor implements ReadProcessor {
 
     private final JdbcManager jdbcManager;
+    private final RsqlFilterCache filterCache;
 
     @Override
     public void process(ReadContext readContext) {
@@ -45,7 +44,9 @@ public class JoinProcessor implements ReadProcessor {
         List<DbTable> allJoinTables = new ArrayList<>();
         allJoinTables.add(rootTable);
 
+        int joinIndex = 0;
         for (JoinDetail joinDetail : joins) {
+            joinIndex++;
 
             rootTable = reviewRootTable(readContext.getDbId(), allJoinTables, joinDetail, rootTable);
 
@@ -54,11 +55,11 @@ public class JoinProcessor implements ReadProcessor {
                     .getTable(readContext.getDbId(), readContext.getSchemaName(), tableName);
 
 
-            table = table.copyWithAlias(getAlias(tableName));
+            table = table.copyWithAlias(getJoinAlias(tableName, joinIndex));
 
             List<DbColumn> columnList = addColumns(table, joinDetail.fields());
             readContext.addColumns(columnList);
-            addJoin(table, rootTable, joinDetail, readContext);
+            addJoin(table, rootTable, joinDetail, readContext, joinIndex);
 
             allJoinTables.add(rootTable);
 
@@ -85,7 +86,8 @@ public class JoinProcessor implements ReadProcessor {
         return rootTable;
     }
 
-    private void addJoin(DbTable table, DbTable rootTable, JoinDetail joinDetail, ReadContext readContext) {
+    private void addJoin(DbTable table, DbTable rootTable, JoinDetail joinDetail, ReadContext readContext,
+                         int joinIndex) {
         DbJoin join = new DbJoin();
         join.setTableName(table.fullName());
         join.setAlias(table.alias());
@@ -93,13 +95,13 @@ public class JoinProcessor implements ReadProcessor {
 
         addCondition(table, rootTable, joinDetail, join);
 
-        processFilter(table, joinDetail, join, readContext);
+        processFilter(table, joinDetail, join, readContext, joinIndex);
 
         readContext.addJoin(join);
     }
 
     private void processFilter(DbTable table, JoinDetail joinDetail, DbJoin join,
-                               ReadContext readContext) {
+                               ReadContext readContext, int joinIndex) {
         if (joinDetail.hasFilter()) {
             readContext.createParamMap();
 
@@ -108,11 +110,8 @@ public class JoinProcessor implements ReadProcessor {
                     table, table.buildColumns(), readContext.getParamMap(), "read");
 
 
-            Node rootNode = RSQLParserBuilder.newRSQLParser().parse(joinDetail.filter());
-
-            String where = rootNode
-                    .accept(new BaseRSQLVisitor(
-                            dbWhere, jdbcManager.getDialect(readContext.getDbId())));
+            String where = filterCache.render(readContext.getDbId(), joinDetail.filter(), dbWhere,
+                    readContext.getParamBindings(), joinIndex);
 
             join.addAdditionalWhere(where);
         }
@@ -0,0 +1,138 @@
+package com.homihq.db2rest.jdbc.processor;
+
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.config.dialect.Dialect;
+import com.homihq.db2rest.jdbc.config.model.DbAlias;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbSort;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.dto.ReadContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.annotation.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Turns a read into a keyset page. The primary key is appended to the sort list as tiebreaker,
+ * the seek columns are added to the projection under hidden aliases and, when a cursor is given,
+ * the seek predicate on the last values of the previous page is added to the root where clause.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Order(13)
+public class KeysetProcessor implements ReadProcessor {
+
+    public static final String KEY_ALIAS_PREFIX = "db2rest_key_";
+    public static final String KEY_PARAM_PREFIX = "keyset_";
+
+    private final JdbcManager jdbcManager;
+
+    @Override
+    public void process(ReadContext readContext) {
+        if (!readContext.isKeyset()) {
+            return;
+        }
+
+        DbTable root = readContext.getRoot();
+        List<DbColumn> pkColumns = root.buildPkColumns();
+
+        if (pkColumns.isEmpty()) {
+            throw new GenericDataAccessException(
+                    "Cursor pagination needs a primary key on table - " + root.name());
+        }
+
+        List<DbSort> sorts = new ArrayList<>();
+        if (Objects.nonNull(readContext.getDbSortList())) {
+            sorts.addAll(readContext.getDbSortList());
+        }
+
+        for (DbColumn pkColumn : pkColumns) {
+            boolean sorted = sorts.stream()
+                    .anyMatch(sort -> StringUtils.equalsIgnoreCase(sort.column(), pkColumn.name()));
+            if (!sorted) {
+                sorts.add(new DbSort(readContext.getTableName(), root.alias(), pkColumn.name(), "ASC"));
+            }
+        }
+
+        List<DbColumn> seekColumns = new ArrayList<>();
+        List<String> seekSpec = new ArrayList<>();
+
+        for (int i = 0; i < sorts.size(); i++) {
+            DbSort sort = sorts.get(i);
+            DbColumn column = root.buildColumn(sort.column());
+
+            seekColumns.add(column);
+            seekSpec.add(column.name() + " " + (isDescending(sort) ? "DESC" : "ASC"));
+            readContext.getCols().add(column.copyWithAlias(new DbAlias(column.name(), KEY_ALIAS_PREFIX + i, "")));
+        }
+
+        readContext.setDbSortList(sorts);
+        readContext.setKeysetSpec(seekSpec);
+
+        if (StringUtils.isNotBlank(readContext.getCursor())) {
+            String seek = seekPredicate(jdbcManager.getDialect(readContext.getDbId()), seekColumns, sorts);
+
+            log.debug("Seek - {}", seek);
+
+            readContext.setRootWhere(StringUtils.isBlank(readContext.getRootWhere())
+                    ? seek
+                    : "(" + readContext.getRootWhere() + ") AND " + seek);
+        }
+    }
+
+    /*
+     * (a, b) > (:k0, :k1) when every column is sorted the same way and the database scans it
+     * as an index range. Otherwise the expanded form, a >= :k0 AND ((a > :k0) OR (a = :k0 AND b > :k1)),
+     * works on every dialect and with mixed sort directions. The bound on the leading column
+     * lets the planner start the index scan at the cursor instead of the start of the index.
+     */
+    String seekPredicate(Dialect dialect, List<DbColumn> seekColumns, List<DbSort> sorts) {
+        boolean leadingDescending = isDescending(sorts.get(0));
+        boolean sameDirection = sorts.stream().allMatch(sort -> isDescending(sort) == leadingDescending);
+
+        if (seekColumns.size() > 1 && sameDirection && dialect.supportRowValueComparison()) {
+            List<String> columns = new ArrayList<>();
+            List<String> params = new ArrayList<>();
+            for (int i = 0; i < seekColumns.size(); i++) {
+                columns.add(columnName(dialect, seekColumns.get(i)));
+                params.add(":" + KEY_PARAM_PREFIX + i);
+            }
+            return "((" + StringUtils.join(columns, ", ") + ")" + (leadingDescending ? " < " : " > ")
+                    + "(" + StringUtils.join(params, ", ") + "))";
+        }
+
+        List<String> terms = new ArrayList<>();
+
+        for (int i = 0; i < seekColumns.size(); i++) {
+            List<String> parts = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                parts.add(columnName(dialect, seekColumns.get(j)) + " = :" + KEY_PARAM_PREFIX + j);
+            }
+            String operator = isDescending(sorts.get(i)) ? " < :" : " > :";
+            parts.add(columnName(dialect, seekColumns.get(i)) + operator + KEY_PARAM_PREFIX + i);
+
+            terms.add("(" + StringUtils.join(parts, " AND ") + ")");
+        }
+
+        if (seekColumns.size() == 1) {
+            return "(" + terms.get(0) + ")";
+        }
+
+        String leadingBound = columnName(dialect, seekColumns.get(0)) + (leadingDescending ? " <= :" : " >= :")
+                + KEY_PARAM_PREFIX + 0;
+        return "(" + leadingBound + " AND (" + StringUtils.join(terms, " OR ") + "))";
+    }
+
+    private String columnName(Dialect dialect, DbColumn column) {
+        return dialect.supportAlias() ? dialect.getAliasedName(column, false) : column.name();
+    }
+
+    private boolean isDescending(DbSort sort) {
+        return StringUtils.equalsIgnoreCase(StringUtils.trim(sort.sortDirection()), "DESC");
+    }
+}
@@ -1,12 +1,9 @@
 package com.homihq.db2rest.jdbc.processor;
 
 
-import com.homihq.db2rest.jdbc.JdbcManager;
 import com.homihq.db2rest.jdbc.config.model.DbWhere;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
-import com.homihq.db2rest.jdbc.rsql.parser.RSQLParserBuilder;
-import com.homihq.db2rest.jdbc.rsql.visitor.BaseRSQLVisitor;
-import cz.jirutka.rsql.parser.ast.Node;
+import com.homihq.db2rest.jdbc.rsql.parser.RsqlFilterCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -16,7 +13,7 @@ import org.springframework.core.annotation.Order;
 @Order(8)
 @RequiredArgsConstructor
 public class RootWhereProcessor implements ReadProcessor {
-    private final JdbcManager jdbcManager;
+    private final RsqlFilterCache filterCache;
 
     @Override
     public void process(ReadContext readContext) {
@@ -29,11 +26,8 @@ public class RootWhereProcessor implements ReadProcessor {
 
             log.debug("-Creating root where condition -");
 
-            Node rootNode = RSQLParserBuilder.newRSQLParser().parse(readContext.getFilter());
-
-            String where = rootNode
-                    .accept(new BaseRSQLVisitor(
-                            dbWhere, jdbcManager.getDialect(readContext.getDbId())));
+            String where = filterCache.render(readContext.getDbId(), readContext.getFilter(), dbWhere,
+                    readContext.getParamBindings(), 0);
 
             log.debug("Where - {}", where);
             log.debug("param map - {}", readContext.getParamMap());
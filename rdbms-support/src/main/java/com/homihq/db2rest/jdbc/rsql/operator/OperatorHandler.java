@@ -6,7 +6,6 @@ import com.homihq.db2rest.jdbc.config.model.DbWhere;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 
 public interface OperatorHandler {
@@ -16,23 +15,45 @@ public interface OperatorHandler {
     String handle(Dialect dialect, DbColumn column, DbWhere dbWhere, String value, Class type, Map<String, Object> paramMap);
 
     default String reviewAndSetParam(String key, Object value, Map<String, Object> paramMap) {
-        Random random = new Random();
+        //numbered in order of appearance so that the same filter always renders the same SQL
+        String newKey = key;
+        int suffix = 0;
 
-        if (paramMap.containsKey(key)) {
-            String newKey = key + "_" + random.nextInt(20);
-            paramMap.put(newKey, value);
-
-            return newKey;
-        } else {
-            paramMap.put(key, value);
-            return key;
+        while (paramMap.containsKey(newKey)) {
+            newKey = key + "_" + (++suffix);
         }
+
+        paramMap.put(newKey, value);
+        return newKey;
     }
 
     default String handle(Dialect dialect, DbColumn column, DbWhere dbWhere, List<String> value, Class type, Map<String, Object> paramMap) {
         return handle(dialect, column, dbWhere, value.get(0), type, paramMap);
     }
 
+    /**
+     * Renders a list above the IN list threshold of the dialect, its parameters named after
+     * {@code paramName}, or null when the dialect binds it as one IN list anyway.
+     */
+    default String handleLargeInList(Dialect dialect, DbColumn column, String columnName, String paramName,
+                                     List<Object> values, boolean not, Map<String, Object> paramMap) {
+        if (!dialect.isLargeInList(values.size())) {
+            return null;
+        }
+
+        int[] position = {0};
+        return dialect.renderLargeInList(columnName, column, values, not,
+                value -> PREFIX + reviewAndSetParam(paramName + "_" + position[0]++, value, paramMap));
+    }
+
+    /**
+     * Handlers that write the value into the SQL text instead of binding it as a parameter
+     * produce a different statement per value, so those values are part of the query shape.
+     */
+    default boolean inlinesValue() {
+        return false;
+    }
+
 
 
 }
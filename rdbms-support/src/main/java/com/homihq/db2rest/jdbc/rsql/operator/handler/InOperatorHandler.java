@@ -4,16 +4,19 @@ import com.homihq.db2rest.jdbc.config.dialect.Dialect;
 import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbWhere;
 import com.homihq.db2rest.jdbc.rsql.operator.OperatorHandler;
+import com.homihq.db2rest.jdbc.util.InListBuckets;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 public class InOperatorHandler implements OperatorHandler {
 
     private static final String OPERATOR = " in ";
+    private static final String ARRAY_OPERATOR = " = ANY(";
 
     @Override
     public String handle(Dialect dialect, DbColumn column, DbWhere dbWhere, String value, Class type, Map<String, Object> paramMap) {
@@ -25,14 +28,22 @@ public class InOperatorHandler implements OperatorHandler {
 
         List<Object> vo = dialect.parseListValues(values, type);
 
-        if (dialect.supportAlias()) {
-            String key =
-                    reviewAndSetParam(dialect.getAliasedNameParam(column, dbWhere.isDelete()), vo, paramMap);
-            return dialect.getAliasedName(column, dbWhere.isDelete()) + OPERATOR + " ( " + PREFIX
-                    + key + " ) ";
-        } else {
-            String key = reviewAndSetParam(column.name(), vo, paramMap);
-            return column.name() + OPERATOR + " ( " + PREFIX + key + " ) ";
+        String columnName = dialect.supportAlias() ? dialect.getAliasedName(column, dbWhere.isDelete()) : column.name();
+        String paramName = dialect.supportAlias() ? dialect.getAliasedNameParam(column, dbWhere.isDelete()) : column.name();
+
+        Object arrayValue = dialect.toArrayParameter(column, vo);
+
+        if (Objects.nonNull(arrayValue)) {
+            String key = reviewAndSetParam(paramName, arrayValue, paramMap);
+            return columnName + ARRAY_OPERATOR + PREFIX + key + ") ";
         }
+
+        String largeInList = handleLargeInList(dialect, column, columnName, paramName, vo, false, paramMap);
+        if (Objects.nonNull(largeInList)) {
+            return largeInList;
+        }
+
+        String key = reviewAndSetParam(paramName, InListBuckets.pad(vo), paramMap);
+        return columnName + OPERATOR + " ( " + PREFIX + key + " ) ";
     }
 }
@@ -21,4 +21,9 @@ public class JsonContainInArrayOperatorHandler implements OperatorHandler {
         }
     }
 
+    @Override
+    public boolean inlinesValue() {
+        return true;
+    }
+
 }
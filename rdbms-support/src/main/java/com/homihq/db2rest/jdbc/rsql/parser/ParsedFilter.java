@@ -0,0 +1,58 @@
+package com.homihq.db2rest.jdbc.rsql.parser;
+
+import com.homihq.db2rest.jdbc.rsql.operator.OperatorHandler;
+import com.homihq.db2rest.jdbc.rsql.operator.RSQLOperatorHandlers;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A parsed RSQL filter, immutable and shared by the requests with the same filter.
+ *
+ * @param root        the AST
+ * @param comparisons the comparison nodes in the order they are visited
+ * @param shape       the filter with the bound values replaced by placeholders
+ * @param selectors   selector and operator of every comparison, what resolving the columns depends on
+ */
+public record ParsedFilter(Node root, List<ComparisonNode> comparisons, String shape, String selectors) {
+
+    public static ParsedFilter of(Node root) {
+        List<ComparisonNode> comparisons = new ArrayList<>();
+        StringBuilder shape = new StringBuilder();
+        walk(root, comparisons, shape);
+
+        StringBuilder selectors = new StringBuilder();
+        for (ComparisonNode comparison : comparisons) {
+            selectors.append(comparison.getSelector()).append(comparison.getOperator().getSymbol()).append(';');
+        }
+
+        return new ParsedFilter(root, List.copyOf(comparisons), shape.toString(), selectors.toString());
+    }
+
+    private static void walk(Node node, List<ComparisonNode> comparisons, StringBuilder shape) {
+        if (node instanceof LogicalNode logicalNode) {
+            shape.append(logicalNode.getOperator()).append('(');
+            for (Node child : logicalNode.getChildren()) {
+                walk(child, comparisons, shape);
+                shape.append(',');
+            }
+            shape.append(')');
+        } else if (node instanceof ComparisonNode comparisonNode) {
+            comparisons.add(comparisonNode);
+
+            String symbol = comparisonNode.getOperator().getSymbol();
+            shape.append(comparisonNode.getSelector()).append(symbol);
+
+            OperatorHandler handler = RSQLOperatorHandlers.getOperatorHandler(symbol);
+            if (Objects.nonNull(handler) && handler.inlinesValue()) {
+                shape.append(comparisonNode.getArguments());
+            } else {
+                shape.append('?');
+            }
+        }
+    }
+}
@@ -5,8 +5,15 @@ import cz.jirutka.rsql.parser.RSQLParser;
 
 public class RSQLParserBuilder {
 
+    //the parser keeps no state between calls, one instance serves all threads
+    private static final RSQLParser SHARED = newRSQLParser();
+
     public static RSQLParser newRSQLParser() {
         return new RSQLParser(CustomRSQLOperators.customOperators());
     }
 
+    public static RSQLParser sharedRSQLParser() {
+        return SHARED;
+    }
+
 }
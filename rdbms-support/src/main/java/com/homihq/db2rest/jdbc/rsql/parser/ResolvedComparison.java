@@ -0,0 +1,10 @@
+package com.homihq.db2rest.jdbc.rsql.parser;
+
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.rsql.operator.OperatorHandler;
+
+/**
+ * Column and operator handler of a comparison node, resolved once per table and filter shape.
+ */
+public record ResolvedComparison(DbColumn column, OperatorHandler operatorHandler) {
+}
@@ -0,0 +1,162 @@
+package com.homihq.db2rest.jdbc.rsql.parser;
+
+import com.homihq.db2rest.jdbc.JdbcManager;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import com.homihq.db2rest.jdbc.config.model.DbWhere;
+import com.homihq.db2rest.jdbc.plan.ParamBinding;
+import com.homihq.db2rest.jdbc.rsql.operator.OperatorHandler;
+import com.homihq.db2rest.jdbc.rsql.operator.RSQLOperatorHandlers;
+import com.homihq.db2rest.jdbc.rsql.visitor.BaseRSQLVisitor;
+import com.homihq.db2rest.jdbc.util.LruCache;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Caches parsed RSQL filters by their table and text, and the columns and operator handlers of
+ * their comparisons per table and selectors. The visitor then only binds the values of the request.
+ * Filters are optimized for their table by {@link RsqlOptimizer} when parsed, both are dropped when
+ * the meta-data is reloaded.
+ */
+@Slf4j
+public class RsqlFilterCache {
+
+    private static final String METRIC_PREFIX = "db2rest.rsql.cache";
+
+    private final JdbcManager jdbcManager;
+    private final boolean enabled;
+    private final boolean optimize;
+    private final LruCache<FilterKey, ParsedFilter> filters;
+    private final LruCache<ResolvedKey, List<ResolvedComparison>> resolved;
+    private final Counter parseHits;
+    private final Counter parseMisses;
+    private final Counter resolveHits;
+    private final Counter resolveMisses;
+
+    public RsqlFilterCache(JdbcManager jdbcManager, MeterRegistry meterRegistry, boolean enabled, boolean optimize,
+                           int maxSize) {
+        this.jdbcManager = jdbcManager;
+        this.enabled = enabled;
+        this.optimize = optimize;
+        this.filters = new LruCache<>(maxSize);
+        this.resolved = new LruCache<>(maxSize);
+
+        this.parseHits = requests(meterRegistry, "parse", "hit");
+        this.parseMisses = requests(meterRegistry, "parse", "miss");
+        this.resolveHits = requests(meterRegistry, "resolve", "hit");
+        this.resolveMisses = requests(meterRegistry, "resolve", "miss");
+        Gauge.builder(METRIC_PREFIX + ".size", filters, LruCache::size)
+                .tag("level", "parse")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", resolved, LruCache::size)
+                .tag("level", "resolve")
+                .register(meterRegistry);
+
+        jdbcManager.registerReloadListener(() -> {
+            filters.clear();
+            resolved.clear();
+        });
+    }
+
+    /**
+     * Parses the filter on a table looked up by its name.
+     */
+    public ParsedFilter parse(String dbId, String schemaName, String tableName, String filter) {
+        return parse(dbId, jdbcManager.getTable(dbId, schemaName, tableName), filter);
+    }
+
+    public ParsedFilter parse(String dbId, DbTable table, String filter) {
+        if (!enabled) {
+            return parseFilter(table, filter);
+        }
+
+        FilterKey key = new FilterKey(dbId, table.schema(), table.name(), filter);
+        ParsedFilter parsedFilter = filters.get(key);
+        if (Objects.nonNull(parsedFilter)) {
+            parseHits.increment();
+            return parsedFilter;
+        }
+
+        parseMisses.increment();
+        parsedFilter = parseFilter(table, filter);
+        filters.put(key, parsedFilter);
+        return parsedFilter;
+    }
+
+    private ParsedFilter parseFilter(DbTable table, String filter) {
+        Node root = RSQLParserBuilder.sharedRSQLParser().parse(filter);
+
+        return ParsedFilter.of(optimize ? RsqlOptimizer.optimize(root, table) : root);
+    }
+
+    /**
+     * Renders the filter as a where condition on the table of {@code dbWhere}, its values added
+     * to the parameter map of {@code dbWhere}.
+     */
+    public String render(String dbId, String filter, DbWhere dbWhere) {
+        return render(dbId, filter, dbWhere, null, 0);
+    }
+
+    /**
+     * @param paramBindings when not null, receives a {@link ParamBinding} for every parameter added
+     * @param source        filter index recorded with the bindings
+     */
+    public String render(String dbId, String filter, DbWhere dbWhere, List<ParamBinding> paramBindings, int source) {
+        ParsedFilter parsedFilter = parse(dbId, dbWhere.table(), filter);
+
+        return parsedFilter.root().accept(new BaseRSQLVisitor(dbWhere, jdbcManager.getDialect(dbId),
+                paramBindings, source, resolve(dbId, dbWhere.table(), parsedFilter)));
+    }
+
+    private List<ResolvedComparison> resolve(String dbId, DbTable table, ParsedFilter parsedFilter) {
+        if (!enabled) {
+            return resolveComparisons(table, parsedFilter);
+        }
+
+        ResolvedKey key = new ResolvedKey(dbId, table.schema(), table.name(), table.alias(), parsedFilter.selectors());
+        List<ResolvedComparison> comparisons = resolved.get(key);
+        if (Objects.nonNull(comparisons)) {
+            resolveHits.increment();
+            return comparisons;
+        }
+
+        resolveMisses.increment();
+        comparisons = resolveComparisons(table, parsedFilter);
+        resolved.put(key, comparisons);
+        return comparisons;
+    }
+
+    private List<ResolvedComparison> resolveComparisons(DbTable table, ParsedFilter parsedFilter) {
+        List<ResolvedComparison> comparisons = new ArrayList<>(parsedFilter.comparisons().size());
+
+        for (ComparisonNode node : parsedFilter.comparisons()) {
+            String symbol = node.getOperator().getSymbol();
+            OperatorHandler operatorHandler = RSQLOperatorHandlers.getOperatorHandler(symbol);
+            if (operatorHandler == null) {
+                throw new IllegalArgumentException(String.format("Operator '%s' is invalid", symbol));
+            }
+            comparisons.add(new ResolvedComparison(table.buildColumn(node.getSelector()), operatorHandler));
+        }
+        return List.copyOf(comparisons);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record FilterKey(String dbId, String schema, String table, String filter) {
+    }
+
+    private record ResolvedKey(String dbId, String schema, String table, String alias, String selectors) {
+    }
+}
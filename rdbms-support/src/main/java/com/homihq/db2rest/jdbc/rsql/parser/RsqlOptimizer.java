@@ -0,0 +1,261 @@
+package com.homihq.db2rest.jdbc.rsql.parser;
+
+import com.homihq.db2rest.core.exception.InvalidColumnException;
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbTable;
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.ComparisonOperator;
+import cz.jirutka.rsql.parser.ast.LogicalNode;
+import cz.jirutka.rsql.parser.ast.LogicalOperator;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLOperators;
+import org.apache.commons.lang3.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Rewrites a parsed filter into an equivalent one with fewer comparisons and parameters, before
+ * it is rendered for a table:
+ * <ul>
+ *     <li>nested groups of the same operator are flattened, groups of one term unwrapped</li>
+ *     <li>duplicate terms of a group are removed</li>
+ *     <li>equalities and IN lists on the same column of an OR group are merged into one IN list</li>
+ *     <li>lower and upper bounds on the same column of a group are folded into the tightest bound
+ *     of an AND group and the loosest of an OR group</li>
+ *     <li>comparisons on primary key columns come first in an AND group</li>
+ * </ul>
+ * Bounds are only folded when their values are equal, or when the column is numeric and both
+ * values are numbers. Comparisons on unknown columns and on JSON paths are left as they are.
+ */
+public final class RsqlOptimizer {
+
+    private final DbTable table;
+    private final Map<String, DbColumn> columns = new HashMap<>();
+
+    private RsqlOptimizer(DbTable table) {
+        this.table = table;
+    }
+
+    public static Node optimize(Node root, DbTable table) {
+        return new RsqlOptimizer(table).rewrite(root);
+    }
+
+    private Node rewrite(Node node) {
+        if (!(node instanceof LogicalNode logicalNode)) {
+            return node;
+        }
+
+        LogicalOperator operator = logicalNode.getOperator();
+
+        Set<Node> distinct = new LinkedHashSet<>();
+        for (Node child : logicalNode.getChildren()) {
+            Node rewritten = rewrite(child);
+            if (rewritten instanceof LogicalNode nested && nested.getOperator() == operator) {
+                distinct.addAll(nested.getChildren());
+            } else {
+                distinct.add(rewritten);
+            }
+        }
+
+        List<Node> children = new ArrayList<>(distinct);
+        if (operator == LogicalOperator.OR) {
+            mergeEqualities(children);
+        }
+        foldBounds(children, operator == LogicalOperator.AND);
+        if (operator == LogicalOperator.AND) {
+            children = primaryKeysFirst(children);
+        }
+
+        if (children.size() == 1) {
+            return children.get(0);
+        }
+        return operator == LogicalOperator.AND ? new AndNode(children) : new OrNode(children);
+    }
+
+    /**
+     * Replaces the equalities and IN lists on a column by one IN list at the place of the first.
+     */
+    private void mergeEqualities(List<Node> children) {
+        Map<String, List<ComparisonNode>> bySelector = new LinkedHashMap<>();
+        for (Node child : children) {
+            if (child instanceof ComparisonNode comparison && isEquality(comparison.getOperator())
+                    && Objects.nonNull(column(comparison.getSelector()))) {
+                bySelector.computeIfAbsent(comparison.getSelector(), s -> new ArrayList<>()).add(comparison);
+            }
+        }
+
+        for (Map.Entry<String, List<ComparisonNode>> entry : bySelector.entrySet()) {
+            List<ComparisonNode> comparisons = entry.getValue();
+            if (comparisons.size() < 2) {
+                continue;
+            }
+
+            Set<String> values = new LinkedHashSet<>();
+            for (ComparisonNode comparison : comparisons) {
+                values.addAll(comparison.getArguments());
+            }
+
+            int index = children.indexOf(comparisons.get(0));
+            children.removeAll(comparisons);
+            children.add(index, new ComparisonNode(RSQLOperators.IN, entry.getKey(), new ArrayList<>(values)));
+        }
+    }
+
+    private void foldBounds(List<Node> children, boolean and) {
+        Map<String, List<ComparisonNode>> lower = new LinkedHashMap<>();
+        Map<String, List<ComparisonNode>> upper = new LinkedHashMap<>();
+        for (Node child : children) {
+            if (child instanceof ComparisonNode comparison && Objects.nonNull(column(comparison.getSelector()))) {
+                ComparisonOperator operator = comparison.getOperator();
+                if (isLowerBound(operator)) {
+                    lower.computeIfAbsent(comparison.getSelector(), s -> new ArrayList<>()).add(comparison);
+                } else if (isUpperBound(operator)) {
+                    upper.computeIfAbsent(comparison.getSelector(), s -> new ArrayList<>()).add(comparison);
+                }
+            }
+        }
+
+        //of two lower bounds the higher one is tighter, of two upper bounds the lower one
+        for (List<ComparisonNode> bounds : lower.values()) {
+            fold(children, bounds, and ? 1 : -1, and);
+        }
+        for (List<ComparisonNode> bounds : upper.values()) {
+            fold(children, bounds, and ? -1 : 1, and);
+        }
+    }
+
+    /**
+     * Keeps the one bound of {@code bounds} all others are redundant to, or all of them when
+     * their values cannot be compared.
+     *
+     * @param keep   sign of the comparison of a value with the kept value it replaces it
+     * @param strict whether the strict bound is kept of two with the same value
+     */
+    private void fold(List<Node> children, List<ComparisonNode> bounds, int keep, boolean strict) {
+        if (bounds.size() < 2) {
+            return;
+        }
+
+        DbColumn column = column(bounds.get(0).getSelector());
+        ComparisonNode kept = bounds.get(0);
+        for (ComparisonNode bound : bounds.subList(1, bounds.size())) {
+            Integer comparison = compare(column, bound.getArguments().get(0), kept.getArguments().get(0));
+            if (Objects.isNull(comparison)) {
+                return;
+            }
+            if (Integer.signum(comparison) == keep || (comparison == 0 && isStrict(bound.getOperator()) == strict)) {
+                kept = bound;
+            }
+        }
+
+        for (ComparisonNode bound : bounds) {
+            if (bound != kept) {
+                children.remove(bound);
+            }
+        }
+    }
+
+    private List<Node> primaryKeysFirst(List<Node> children) {
+        List<Node> ordered = new ArrayList<>(children.size());
+        List<Node> others = new ArrayList<>(children.size());
+        for (Node child : children) {
+            if (child instanceof ComparisonNode comparison && Objects.nonNull(column(comparison.getSelector()))
+                    && column(comparison.getSelector()).pk()) {
+                ordered.add(child);
+            } else {
+                others.add(child);
+            }
+        }
+        ordered.addAll(others);
+        return ordered;
+    }
+
+    /**
+     * @return null when the values cannot be compared
+     */
+    private static Integer compare(DbColumn column, String value, String other) {
+        if (value.equals(other)) {
+            return 0;
+        }
+
+        BigDecimal number = toNumber(column.typeMappedClass(), value);
+        BigDecimal otherNumber = toNumber(column.typeMappedClass(), other);
+        if (Objects.isNull(number) || Objects.isNull(otherNumber)) {
+            return null;
+        }
+        return number.compareTo(otherNumber);
+    }
+
+    /**
+     * The value as a number when it is bound to the column as one, else null. Integer columns
+     * parse their values like the dialect binding them, so an out of range value is never
+     * folded away.
+     */
+    private static BigDecimal toNumber(Class<?> type, String value) {
+        try {
+            if (Integer.class == type || int.class == type) {
+                return BigDecimal.valueOf(Integer.parseInt(value));
+            } else if (Long.class == type || long.class == type) {
+                return BigDecimal.valueOf(Long.parseLong(value));
+            } else if (Short.class == type || short.class == type) {
+                return BigDecimal.valueOf(Short.parseShort(value));
+            } else if (BigInteger.class == type || BigDecimal.class == type || Double.class == type
+                    || double.class == type || Float.class == type || float.class == type) {
+                return new BigDecimal(value);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * The column of a plain column selector, null for unknown columns and JSON paths.
+     */
+    private DbColumn column(String selector) {
+        if (columns.containsKey(selector)) {
+            return columns.get(selector);
+        }
+
+        DbColumn column = null;
+        if (!StringUtils.containsAny(selector, ':', '*')) {
+            try {
+                column = table.buildColumn(selector);
+            } catch (InvalidColumnException e) {
+                column = null;
+            }
+            if (Objects.nonNull(column) && StringUtils.isNotBlank(column.jsonParts())) {
+                column = null;
+            }
+        }
+        columns.put(selector, column);
+        return column;
+    }
+
+    private static boolean isEquality(ComparisonOperator operator) {
+        return RSQLOperators.EQUAL.equals(operator) || RSQLOperators.IN.equals(operator);
+    }
+
+    private static boolean isLowerBound(ComparisonOperator operator) {
+        return RSQLOperators.GREATER_THAN.equals(operator) || RSQLOperators.GREATER_THAN_OR_EQUAL.equals(operator);
+    }
+
+    private static boolean isUpperBound(ComparisonOperator operator) {
+        return RSQLOperators.LESS_THAN.equals(operator) || RSQLOperators.LESS_THAN_OR_EQUAL.equals(operator);
+    }
+
+    private static boolean isStrict(ComparisonOperator operator) {
+        return RSQLOperators.GREATER_THAN.equals(operator) || RSQLOperators.LESS_THAN.equals(operator);
+    }
+}
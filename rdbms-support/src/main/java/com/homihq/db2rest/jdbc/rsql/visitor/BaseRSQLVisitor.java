@@ -3,24 +3,58 @@ package com.homihq.db2rest.jdbc.rsql.visitor;
 import com.homihq.db2rest.jdbc.config.dialect.Dialect;
 import com.homihq.db2rest.jdbc.config.model.DbColumn;
 import com.homihq.db2rest.jdbc.config.model.DbWhere;
+import com.homihq.db2rest.jdbc.plan.ParamBinding;
 import com.homihq.db2rest.jdbc.rsql.operator.OperatorHandler;
 import com.homihq.db2rest.jdbc.rsql.operator.RSQLOperatorHandlers;
+import com.homihq.db2rest.jdbc.rsql.parser.ResolvedComparison;
 import cz.jirutka.rsql.parser.ast.AndNode;
 import cz.jirutka.rsql.parser.ast.ComparisonNode;
 import cz.jirutka.rsql.parser.ast.ComparisonOperator;
 import cz.jirutka.rsql.parser.ast.OrNode;
 import cz.jirutka.rsql.parser.ast.RSQLVisitor;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 @Slf4j
 public class BaseRSQLVisitor implements RSQLVisitor<String, Object> {
 
     private final DbWhere dbWhere;
     private final Dialect dialect;
+    private final List<ParamBinding> paramBindings;
+    private final int source;
+    private final List<ResolvedComparison> resolved;
+    private int comparisonIndex;
+
+    public BaseRSQLVisitor(DbWhere dbWhere, Dialect dialect) {
+        this(dbWhere, dialect, null, 0);
+    }
+
+    /**
+     * @param paramBindings when not null, receives a {@link ParamBinding} for every parameter added
+     * @param source        filter index recorded with the bindings
+     */
+    public BaseRSQLVisitor(DbWhere dbWhere, Dialect dialect, List<ParamBinding> paramBindings, int source) {
+        this(dbWhere, dialect, paramBindings, source, null);
+    }
+
+    /**
+     * @param resolved column and operator handler of every comparison in visiting order, null to
+     *                 resolve them from the nodes
+     */
+    public BaseRSQLVisitor(DbWhere dbWhere, Dialect dialect, List<ParamBinding> paramBindings, int source,
+                           List<ResolvedComparison> resolved) {
+        this.dbWhere = dbWhere;
+        this.dialect = dialect;
+        this.paramBindings = paramBindings;
+        this.source = source;
+        this.resolved = resolved;
+    }
 
     @Override
     public String visit(AndNode andNode, Object o) {
@@ -42,22 +76,43 @@ public class BaseRSQLVisitor implements RSQLVisitor<String, Object> {
 
         log.debug("Handling column - {}", node.getSelector());
 
-        DbColumn dbColumn = this.dbWhere.table().buildColumn(node.getSelector());
+        int index = comparisonIndex++;
 
-        Class<?> type = dbColumn.typeMappedClass();
+        DbColumn dbColumn;
+        OperatorHandler operatorHandler;
+        if (Objects.nonNull(resolved)) {
+            dbColumn = resolved.get(index).column();
+            operatorHandler = resolved.get(index).operatorHandler();
+        } else {
+            dbColumn = this.dbWhere.table().buildColumn(node.getSelector());
+            operatorHandler = RSQLOperatorHandlers.getOperatorHandler(op.getSymbol());
+            if (operatorHandler == null) {
+                throw new IllegalArgumentException(String.format("Operator '%s' is invalid", op.getSymbol()));
+            }
+        }
 
+        Class<?> type = dbColumn.typeMappedClass();
 
-        OperatorHandler operatorHandler = RSQLOperatorHandlers.getOperatorHandler(op.getSymbol());
-        if (operatorHandler == null) {
-            throw new IllegalArgumentException(String.format("Operator '%s' is invalid", op.getSymbol()));
-        }
+        Map<String, Object> paramMap = this.dbWhere.paramMap();
+        Set<String> existingKeys = Objects.isNull(paramBindings) ? Set.of() : new HashSet<>(paramMap.keySet());
 
+        String where;
         if (op.isMultiValue()) {
-            return operatorHandler.handle(dialect, dbColumn, this.dbWhere, node.getArguments(), type, this.dbWhere.paramMap());
+            where = operatorHandler.handle(dialect, dbColumn, this.dbWhere, node.getArguments(), type, paramMap);
         } else {
-            return operatorHandler.handle(dialect, dbColumn, this.dbWhere, node.getArguments().get(0), type, this.dbWhere.paramMap());
+            where = operatorHandler.handle(dialect, dbColumn, this.dbWhere, node.getArguments().get(0), type, paramMap);
+        }
+
+        if (Objects.nonNull(paramBindings)) {
+            for (String key : paramMap.keySet()) {
+                if (!existingKeys.contains(key)) {
+                    paramBindings.add(new ParamBinding(source, index, dbColumn, operatorHandler,
+                            op.isMultiValue(), this.dbWhere.op(), key));
+                }
+            }
         }
 
+        return where;
     }
 
 
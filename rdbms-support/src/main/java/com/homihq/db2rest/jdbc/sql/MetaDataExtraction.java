@@ -73,7 +73,7 @@ public interface MetaDataExtraction {
                 String catalog = resultSet.getString(ColumnLabel.TABLE_CAT.name());
                 String schema = resultSet.getString(ColumnLabel.TABLE_SCHEM.name());
                 String tableType = resultSet.getString(ColumnLabel.TABLE_TYPE.name());
-                String tableAlias = getAlias(tableName);
+                String tableAlias = getAlias(tableName, tables.size());
                 MetaDataTable metaDataTable =
                         new MetaDataTable(tableName, catalog, schema, tableType, tableAlias);
 
@@ -9,6 +9,16 @@ import com.homihq.db2rest.jdbc.dto.CreateContext;
 import com.homihq.db2rest.jdbc.dto.DeleteContext;
 import com.homihq.db2rest.jdbc.dto.ReadContext;
 import com.homihq.db2rest.jdbc.dto.UpdateContext;
+import com.homihq.db2rest.jdbc.sql.ast.SqlAstRenderer;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Count;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Delete;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Exists;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.FindOne;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Insert;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Page;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Select;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Update;
 import gg.jte.TemplateEngine;
 import gg.jte.TemplateOutput;
 import gg.jte.output.StringOutput;
@@ -19,33 +29,28 @@ import org.apache.commons.lang3.StringUtils;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.stream.IntStream;
 
 
 @Slf4j
 @RequiredArgsConstructor
 public class SqlCreatorTemplate {
 
+    public static final String TOTAL_ALIAS = "db2rest_total";
+
     private final TemplateEngine templateEngine;
     private final JdbcManager jdbcManager;
+    private final SqlAstRenderer sqlAstRenderer;
 
     public String updateQuery(UpdateContext updateContext) {
 
-        Map<String, Object> params = new HashMap<>();
         DbTable table = updateContext.getTable();
         Dialect dialect = jdbcManager.getDialect(updateContext.getDbId());
 
-        if (dialect.supportAlias()) {
-            params.put("rootTable", table.render());
-        } else {
-            params.put("rootTable", table.name());
-        }
-
-        params.put("rootWhere", updateContext.getWhere());
-        params.put("columnSets", updateContext.renderSetColumns());
-        params.put("rootTableAlias", table.alias());
+        Update update = new Update(dialect.supportAlias() ? table.render() : table.name(), table.alias(),
+                updateContext.renderSetColumns(), updateContext.getWhere());
 
-        return renderSqlTemplate(dialect.getUpdateSqlTemplate(), params);
+        return render(dialect.getUpdateSqlTemplate(), update);
     }
 
     public String deleteQuery(DeleteContext deleteContext) {
@@ -57,100 +62,209 @@ public class SqlCreatorTemplate {
                 true
         );
 
-        log.info("rendererTableName - {}", rendererTableName);
+        log.debug("rendererTableName - {}", rendererTableName);
 
-        Map<String, Object> params = new HashMap<>();
-        params.put("rootTable", rendererTableName);
-        params.put("rootWhere", deleteContext.getWhere());
-        params.put("rootTableAlias", deleteContext.getTable().alias());
+        Delete delete = new Delete(rendererTableName, deleteContext.getTable().alias(), deleteContext.getWhere());
 
-        return this.renderSqlTemplate(dialect.getDeleteSqlTemplate(), params);
+        return render(dialect.getDeleteSqlTemplate(), delete);
     }
 
     public String create(CreateContext createContext) {
 
+        Insert insert = new Insert(createContext.table().fullName(), createContext.renderColumns(),
+                createContext.renderParams());
+
+        Dialect dialect = jdbcManager.getDialect(createContext.dbId());
+
+        return render(dialect.getInsertSqlTemplate(), insert);
+    }
+
+    /**
+     * Insert of the given number of rows in one statement, bound with {@link CreateContext#bindRows(List)}.
+     */
+    public String createMultiRow(CreateContext createContext, int rows) {
+
         Map<String, Object> params = new HashMap<>();
 
         params.put("table", createContext.table().fullName());
         params.put("columns", createContext.renderColumns());
-        params.put("parameters", createContext.renderParams());
+        params.put("rows", IntStream.range(0, rows).mapToObj(createContext::renderRowParams).toList());
 
         Dialect dialect = jdbcManager.getDialect(createContext.dbId());
 
-        return this.renderSqlTemplate(dialect.getInsertSqlTemplate(), params);
+        return this.renderSqlTemplate(dialect.getMultiRowInsertSqlTemplate(), params);
     }
 
-    public String findOne(ReadContext readContext) {
+    /**
+     * Upsert of the given number of rows in one statement, bound with {@link CreateContext#bindRows(List)}.
+     */
+    public String upsert(CreateContext createContext, List<String> conflictColumns, List<String> updateColumns,
+                         int rows) {
+
         Map<String, Object> params = new HashMap<>();
-        params.put("columns", projections(readContext.getCols()));
-        params.put("rootTable", readContext.getRoot().render());
-        params.put("rootWhere", readContext.getRootWhere());
 
-        Dialect dialect = jdbcManager.getDialect(readContext.getDbId());
+        params.put("table", createContext.table().fullName());
+        params.put("columns", createContext.renderColumns());
+        params.put("columnNames", createContext.insertableColumns());
+        params.put("rows", IntStream.range(0, rows).mapToObj(createContext::renderRowParams).toList());
+        params.put("selectRows", IntStream.range(0, rows).mapToObj(createContext::renderRowSelect).toList());
+        params.put("conflictColumns", conflictColumns);
+        params.put("updateColumns", updateColumns);
+
+        Dialect dialect = jdbcManager.getDialect(createContext.dbId());
 
-        return this.renderSqlTemplate(dialect.getFindOneSqlTemplate(), params);
+        return this.renderSqlTemplate(dialect.getUpsertSqlTemplate(), params);
     }
 
-    public String count(ReadContext readContext) {
+    /**
+     * Count of the existing rows an upsert of the given number of rows updates, bound like the upsert.
+     */
+    public String upsertMatched(CreateContext createContext, List<String> conflictColumns, int rows) {
+
         Map<String, Object> params = new HashMap<>();
 
-        params.put("rootTable", readContext.getRoot().render());
-        params.put("rootWhere", readContext.getRootWhere());
+        params.put("table", createContext.table().fullName());
+        params.put("keyRows", IntStream.range(0, rows)
+                .mapToObj(row -> createContext.renderRowMatch(row, conflictColumns)).toList());
+
+        return this.renderSqlTemplate("upsert-matched", params);
+    }
+
+    /**
+     * Next batch of primary keys of a chunked delete or update, the limit bound as {@code pageLimit}.
+     *
+     * @param keyColumns key columns qualified with the table alias, in key order
+     */
+    public String chunkKeys(String dbId, DbTable table, List<String> keyColumns, String where) {
+        Map<String, Object> params = new HashMap<>();
+
+        params.put("rootTable", table.render());
+        params.put("columns", String.join(",", keyColumns));
+        params.put("rootWhere", where);
+        params.put("sorts", String.join(",", keyColumns));
+
+        Dialect dialect = jdbcManager.getDialect(dbId);
+
+        return this.renderSqlTemplate(dialect.getChunkKeysSqlTemplate(), params);
+    }
+
+    public String findOne(ReadContext readContext) {
+        FindOne findOne = new FindOne(readContext.getCols(), readContext.getRoot().render(),
+                readContext.getRootWhere());
 
         Dialect dialect = jdbcManager.getDialect(readContext.getDbId());
 
-        return this.renderSqlTemplate(dialect.getCountSqlTemplate(), params);
+        return render(dialect.getFindOneSqlTemplate(), findOne);
     }
 
-    public String exists(ReadContext readContext) {
-        Map<String, Object> params = new HashMap<>();
+    public String count(ReadContext readContext) {
+        Count count = new Count(readContext.getRoot().render(), readContext.getRootWhere());
 
-        params.put("rootTable", readContext.getRoot().render());
-        params.put("rootWhere", readContext.getRootWhere());
-        params.put("joins", readContext.getDbJoins());
+        Dialect dialect = jdbcManager.getDialect(readContext.getDbId());
+
+        return render(dialect.getCountSqlTemplate(), count);
+    }
+
+    public String exists(ReadContext readContext) {
+        Exists exists = new Exists(readContext.getRoot().render(), readContext.getDbJoins(),
+                readContext.getRootWhere());
 
         Dialect dialect = jdbcManager.getDialect(readContext.getDbId());
 
-        return this.renderSqlTemplate(dialect.getExistSqlTemplate(), params);
+        return render(dialect.getExistSqlTemplate(), exists);
     }
 
     public String query(ReadContext readContext) {
+        return query(readContext, false);
+    }
 
-        log.debug("**** Preparing to render ****");
-
-        Map<String, Object> params = new HashMap<>();
-        params.put("columns", projections(readContext.getCols()));
-        params.put("rootTable", readContext.getRoot().render());
-        params.put("rootWhere", readContext.getRootWhere());
-        params.put("joins", readContext.getDbJoins());
-
-        if (Objects.nonNull(readContext.getDbSortList())
-                && !readContext.getDbSortList().isEmpty()) {
-            params.put("sorts", orderBy(readContext.getDbSortList()));
-        }
+    /**
+     * Read query that also returns the number of rows matching the filter, before paging,
+     * on every row as {@link #TOTAL_ALIAS}.
+     */
+    public String queryWithTotal(ReadContext readContext) {
+        return query(readContext, true);
+    }
 
+    private String query(ReadContext readContext, boolean withTotal) {
 
         log.debug("limit - {}", readContext.getLimit());
         log.debug("offset - {}", readContext.getOffset());
 
+        Page page = new Page(readContext.getPageLimit(),
+                readContext.getOffset() > -1 ? readContext.getOffset() : null);
 
-        if (readContext.getLimit() > -1) {
-            params.put("limit", readContext.getLimit());
-        }
+        Select select = new Select(readContext.getCols(), withTotal, readContext.getRoot().render(),
+                readContext.getDbJoins(), readContext.getRootWhere(), readContext.getDbSortList(), page);
 
-        if (readContext.getLimit() == -1) {
-            params.put("limit", readContext.getDefaultFetchLimit());
+        Dialect dialect = jdbcManager.getDialect(readContext.getDbId());
+
+        return render(dialect.getReadSqlTemplate(), select);
+    }
+
+    /**
+     * Renders with the {@link SqlAstRenderer} when it has the layout of the template, with the
+     * template otherwise.
+     */
+    String render(String template, SqlStatement statement) {
+        if (sqlAstRenderer.supports(template)) {
+            return sqlAstRenderer.render(template, statement);
         }
+        return renderSqlTemplate(template, templateParams(statement));
+    }
+
+    private Map<String, Object> templateParams(SqlStatement statement) {
+        Map<String, Object> params = new HashMap<>();
 
-        if (readContext.getOffset() > -1) {
-            params.put("offset", readContext.getOffset());
+        switch (statement) {
+            case Select select -> {
+                String columns = projections(select.columns());
+                params.put("columns", select.withTotal()
+                        ? columns + "\n\t,COUNT(*) OVER() AS " + TOTAL_ALIAS : columns);
+                params.put("rootTable", select.table());
+                params.put("rootWhere", select.where());
+                params.put("joins", select.joins());
+                if (select.hasOrderBy()) {
+                    params.put("sorts", orderBy(select.orderBy()));
+                }
+                params.put("limit", select.page().limit());
+                params.put("offset", select.page().offset());
+            }
+            case FindOne findOne -> {
+                params.put("columns", projections(findOne.columns()));
+                params.put("rootTable", findOne.table());
+                params.put("rootWhere", findOne.where());
+            }
+            case Count count -> {
+                params.put("rootTable", count.table());
+                params.put("rootWhere", count.where());
+            }
+            case Exists exists -> {
+                params.put("rootTable", exists.table());
+                params.put("rootWhere", exists.where());
+                params.put("joins", exists.joins());
+            }
+            case Update update -> {
+                params.put("rootTable", update.table());
+                params.put("rootWhere", update.where());
+                params.put("columnSets", update.columnSets());
+                params.put("rootTableAlias", update.tableAlias());
+            }
+            case Delete delete -> {
+                params.put("rootTable", delete.table());
+                params.put("rootWhere", delete.where());
+                params.put("rootTableAlias", delete.tableAlias());
+            }
+            case Insert insert -> {
+                params.put("table", insert.table());
+                params.put("columns", insert.columns());
+                params.put("parameters", insert.parameters());
+            }
         }
 
         log.debug("data - {}", params);
 
-        Dialect dialect = jdbcManager.getDialect(readContext.getDbId());
-
-        return this.renderSqlTemplate(dialect.getReadSqlTemplate(), params);
+        return params;
     }
 
     private String renderSqlTemplate(String template, Map<String, Object> params) {
@@ -0,0 +1,65 @@
+package com.homihq.db2rest.jdbc.sql;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the distinct SQL texts sent to the database per table. A count that keeps growing under
+ * steady traffic means statements are not reused by the driver or database plan caches.
+ * <p>
+ * The text is identified by the SQL with named parameters plus the size of every list parameter,
+ * since lists are expanded into one placeholder per element before the statement is prepared.
+ */
+@RequiredArgsConstructor
+public class SqlTextMetrics {
+
+    private static final String METRIC = "db2rest.sql.distinct.texts";
+
+    //stop tracking new texts for a table beyond this, the gauge has made its point by then
+    private static final int MAX_TRACKED = 10_000;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Set<Long>> textsPerTable = new ConcurrentHashMap<>();
+
+    public void record(String dbId, String tableName, String sql, Map<String, Object> paramMap) {
+        Set<Long> texts = textsPerTable.computeIfAbsent(dbId + "." + tableName,
+                k -> register(dbId, tableName));
+
+        if (texts.size() < MAX_TRACKED) {
+            texts.add(fingerprint(sql, paramMap));
+        }
+    }
+
+    private Set<Long> register(String dbId, String tableName) {
+        Set<Long> texts = ConcurrentHashMap.newKeySet();
+
+        Gauge.builder(METRIC, texts, Set::size)
+                .tag("db", dbId)
+                .tag("table", tableName)
+                .register(meterRegistry);
+
+        return texts;
+    }
+
+    private long fingerprint(String sql, Map<String, Object> paramMap) {
+        long listShape = 0;
+
+        if (Objects.nonNull(paramMap)) {
+            for (Map.Entry<String, Object> entry : paramMap.entrySet()) {
+                if (entry.getValue() instanceof Collection<?> values) {
+                    //order independent, the map iteration order is not part of the text
+                    listShape += 31L * entry.getKey().hashCode() + values.size();
+                }
+            }
+        }
+
+        return ((long) sql.hashCode() << 32) ^ (listShape * 0x9E3779B97F4A7C15L) ^ sql.length();
+    }
+}
@@ -0,0 +1,373 @@
+package com.homihq.db2rest.jdbc.sql.ast;
+
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbJoin;
+import com.homihq.db2rest.jdbc.config.model.DbSort;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Count;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Delete;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Exists;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.FindOne;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Insert;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Page;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Select;
+import com.homihq.db2rest.jdbc.sql.ast.SqlStatement.Update;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.homihq.db2rest.jdbc.sql.SqlCreatorTemplate.TOTAL_ALIAS;
+
+/**
+ * Renders statements straight into a string builder reused by the thread, without the
+ * parameter map and template output of a JTE template.
+ * <p>
+ * The layout of every template it knows is the one of the template of the same name, down to
+ * the whitespace, so the SQL text is the same whichever renders it. Templates it does not know
+ * are left to JTE.
+ */
+public class SqlAstRenderer {
+
+    private static final Set<String> TEMPLATES = Set.of(
+            "read", "read-mssql", "read-ora-12", "read-ora-9", "find-one", "count", "exists", "exists-mssql",
+            "update", "update-mssql", "delete", "delete-mssql", "insert");
+
+    private static final String[] INDENT = {"", "    ", "        ", "            ", "                ",
+            "                    ", "                        "};
+
+    //a builder grown by a huge statement is not kept for the next one
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final boolean enabled;
+
+    public SqlAstRenderer(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean supports(String template) {
+        return enabled && TEMPLATES.contains(template);
+    }
+
+    /**
+     * @param template name of the template the statement would be rendered with, it selects the layout
+     */
+    public String render(String template, SqlStatement statement) {
+        StringBuilder sql = BUFFER.get();
+        sql.setLength(0);
+
+        switch (template) {
+            case "read" -> read(sql, (Select) statement);
+            case "read-mssql" -> readMsSql(sql, (Select) statement);
+            case "read-ora-12" -> readOracle12(sql, (Select) statement);
+            case "read-ora-9" -> readOracle9(sql, (Select) statement);
+            case "find-one" -> findOne(sql, (FindOne) statement);
+            case "count" -> count(sql, (Count) statement);
+            case "exists" -> exists(sql, (Exists) statement, false);
+            case "exists-mssql" -> exists(sql, (Exists) statement, true);
+            case "update" -> update(sql, (Update) statement);
+            case "update-mssql" -> updateMsSql(sql, (Update) statement);
+            case "delete" -> delete(sql, (Delete) statement);
+            case "delete-mssql" -> deleteMsSql(sql, (Delete) statement);
+            case "insert" -> insert(sql, (Insert) statement);
+            default -> throw new IllegalArgumentException("No layout for template " + template);
+        }
+
+        String text = sql.toString();
+        if (sql.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return text;
+    }
+
+    private void read(StringBuilder sql, Select select) {
+        selectFromWhereOrderBy(sql, select);
+
+        Page page = select.page();
+        if (Objects.nonNull(page.limit())) {
+            sql.append("\n    LIMIT :pageLimit\n    ");
+            if (Objects.nonNull(page.offset())) {
+                sql.append("\n        OFFSET :pageOffset\n    ");
+            }
+            sql.append('\n');
+        }
+        sql.append('\n');
+    }
+
+    private void readOracle12(StringBuilder sql, Select select) {
+        selectFromWhereOrderBy(sql, select);
+
+        Page page = select.page();
+        if (Objects.nonNull(page.limit())) {
+            sql.append("\n    ");
+            if (Objects.nonNull(page.offset())) {
+                sql.append("\n        OFFSET :pageOffset ROWS\n        FETCH NEXT :pageLimit ROWS ONLY\n    ");
+            } else {
+                sql.append("\n        FETCH FIRST :pageLimit ROWS ONLY\n    ");
+            }
+            sql.append('\n');
+        }
+        sql.append('\n');
+    }
+
+    private void selectFromWhereOrderBy(StringBuilder sql, Select select) {
+        sql.append("\nSELECT\n    ");
+        columns(sql, select.columns(), select.withTotal());
+        sql.append("\nFROM\n    ");
+        value(sql, select.table());
+        sql.append('\n');
+        joins(sql, select.joins(), 0);
+        sql.append('\n');
+        where(sql, select.where(), 0);
+        sql.append('\n');
+        orderBy(sql, select, 0);
+        sql.append('\n');
+    }
+
+    private void readMsSql(StringBuilder sql, Select select) {
+        Page page = select.page();
+
+        sql.append('\n');
+        if (select.hasOrderBy()) {
+            sql.append("\n    SELECT\n        ");
+            columns(sql, select.columns(), select.withTotal());
+            sql.append("\n    FROM ");
+            value(sql, select.table());
+            sql.append("\n    ");
+            joins(sql, select.joins(), 1);
+            sql.append("\n    ");
+            where(sql, select.where(), 1);
+            sql.append("\n    ORDER BY ");
+            sorts(sql, select.orderBy());
+            sql.append("\n    ");
+            if (Objects.nonNull(page.limit())) {
+                sql.append("\n        OFFSET ")
+                        .append(Objects.isNull(page.offset()) ? "0" : ":pageOffset")
+                        .append(" ROWS FETCH NEXT :pageLimit ROWS ONLY\n    ");
+            }
+            sql.append('\n');
+        } else if (Objects.nonNull(page.limit())) {
+            sql.append("\n    ");
+            if (Objects.nonNull(page.offset())) {
+                sql.append("\n        SELECT T.* FROM\n        (\n            SELECT\n                ");
+                columns(sql, select.columns(), select.withTotal());
+                sql.append(",\n                ROW_NUMBER() OVER(ORDER BY (SELECT 1)) AS rowIndex\n            FROM ");
+                value(sql, select.table());
+                sql.append("\n            ");
+                joins(sql, select.joins(), 3);
+                sql.append("\n            ");
+                where(sql, select.where(), 3);
+                sql.append("\n        ) AS T\n        WHERE rowIndex > :pageOffset AND rowIndex <= :pageOffset + :pageLimit\n    ");
+            } else {
+                sql.append("\n        SELECT TOP (:pageLimit) ");
+                columns(sql, select.columns(), select.withTotal());
+                sql.append("\n        FROM ");
+                value(sql, select.table());
+                sql.append("\n        ");
+                joins(sql, select.joins(), 2);
+                sql.append("\n        ");
+                where(sql, select.where(), 2);
+                sql.append("\n    ");
+            }
+            sql.append('\n');
+        } else {
+            sql.append("\n    SELECT\n        ");
+            columns(sql, select.columns(), select.withTotal());
+            sql.append("\n    FROM ");
+            value(sql, select.table());
+            sql.append("\n    ");
+            joins(sql, select.joins(), 1);
+            sql.append("\n    ");
+            where(sql, select.where(), 1);
+            sql.append('\n');
+        }
+        sql.append('\n');
+    }
+
+    private void readOracle9(StringBuilder sql, Select select) {
+        Page page = select.page();
+
+        sql.append('\n');
+        if (Objects.nonNull(page.limit())) {
+            sql.append("\n    ");
+            if (Objects.nonNull(page.offset())) {
+                sql.append("\n        SELECT T.* FROM\n        (\n            SELECT T.*, rownum as rowIndex FROM\n"
+                        + "            (\n                SELECT\n                    ");
+                columns(sql, select.columns(), select.withTotal());
+                sql.append("\n                FROM\n                    ");
+                value(sql, select.table());
+                sql.append("\n                ");
+                joins(sql, select.joins(), 4);
+                sql.append("\n                ");
+                where(sql, select.where(), 4);
+                sql.append("\n                ");
+                orderBy(sql, select, 4);
+                sql.append("\n            ) T\n        ) T\n"
+                        + "        WHERE rowIndex > :pageOffset AND rowIndex <= :pageOffset + :pageLimit\n    ");
+            } else {
+                sql.append("\n        SELECT * FROM (\n            SELECT\n                ");
+                columns(sql, select.columns(), select.withTotal());
+                sql.append("\n            FROM\n                ");
+                value(sql, select.table());
+                sql.append("\n            ");
+                joins(sql, select.joins(), 3);
+                sql.append("\n            ");
+                where(sql, select.where(), 3);
+                sql.append("\n            ");
+                orderBy(sql, select, 3);
+                sql.append("\n        )\n        WHERE ROWNUM <= :pageLimit\n    ");
+            }
+            sql.append('\n');
+        } else {
+            sql.append("\n    SELECT\n        ");
+            columns(sql, select.columns(), select.withTotal());
+            sql.append("\n    FROM\n        ");
+            value(sql, select.table());
+            sql.append("\n    ");
+            joins(sql, select.joins(), 1);
+            sql.append("\n    ");
+            where(sql, select.where(), 1);
+            sql.append("\n    ");
+            orderBy(sql, select, 1);
+            sql.append('\n');
+        }
+        sql.append('\n');
+    }
+
+    private void findOne(StringBuilder sql, FindOne findOne) {
+        sql.append("\nSELECT\n    ");
+        columns(sql, findOne.columns(), false);
+        sql.append("\nFROM\n    ");
+        value(sql, findOne.table());
+        sql.append('\n');
+        where(sql, findOne.where(), 0);
+        sql.append('\n');
+    }
+
+    private void count(StringBuilder sql, Count count) {
+        sql.append("\nSELECT\n    COUNT(*)\nFROM\n    ");
+        value(sql, count.table());
+        sql.append('\n');
+        where(sql, count.where(), 0);
+        sql.append('\n');
+    }
+
+    private void exists(StringBuilder sql, Exists exists, boolean top) {
+        sql.append(top ? "\nSELECT TOP 1 1\nFROM " : "\nSELECT\n    1\nFROM ");
+        value(sql, exists.table());
+        sql.append('\n');
+        joins(sql, exists.joins(), 0);
+        sql.append('\n');
+        where(sql, exists.where(), 0);
+        sql.append(top ? "\n" : "\nLIMIT 1\n");
+    }
+
+    private void update(StringBuilder sql, Update update) {
+        sql.append("\nUPDATE ");
+        value(sql, update.table());
+        sql.append("\nSET ");
+        value(sql, update.columnSets());
+        sql.append('\n');
+        where(sql, update.where(), 0);
+        sql.append('\n');
+    }
+
+    private void updateMsSql(StringBuilder sql, Update update) {
+        sql.append("\nUPDATE ");
+        value(sql, update.tableAlias());
+        sql.append("\nSET ");
+        value(sql, update.columnSets());
+        sql.append("\nFROM ");
+        value(sql, update.table());
+        sql.append('\n');
+        where(sql, update.where(), 0);
+        sql.append('\n');
+    }
+
+    private void delete(StringBuilder sql, Delete delete) {
+        sql.append("\nDELETE FROM\n    ");
+        value(sql, delete.table());
+        sql.append('\n');
+        where(sql, delete.where(), 0);
+        sql.append('\n');
+    }
+
+    private void deleteMsSql(StringBuilder sql, Delete delete) {
+        sql.append("\nDELETE FROM ");
+        value(sql, delete.tableAlias());
+        sql.append("\nFROM ");
+        value(sql, delete.table());
+        sql.append("\n\n");
+        where(sql, delete.where(), 0);
+        sql.append('\n');
+    }
+
+    private void insert(StringBuilder sql, Insert insert) {
+        sql.append("\nINSERT INTO ");
+        value(sql, insert.table());
+        sql.append("\n    (");
+        value(sql, insert.columns());
+        sql.append(")\nVALUES\n    (");
+        value(sql, insert.parameters());
+        sql.append(")\n");
+    }
+
+    private void columns(StringBuilder sql, List<DbColumn> columns, boolean withTotal) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append("\n\t,");
+            }
+            columns.get(i).renderWithAlias(sql);
+        }
+        if (withTotal) {
+            sql.append("\n\t,COUNT(*) OVER() AS ").append(TOTAL_ALIAS);
+        }
+    }
+
+    private void sorts(StringBuilder sql, List<DbSort> sorts) {
+        for (int i = 0; i < sorts.size(); i++) {
+            if (i > 0) {
+                sql.append("\n\t,");
+            }
+            sorts.get(i).render(sql);
+        }
+    }
+
+    private void joins(StringBuilder sql, List<DbJoin> joins, int level) {
+        if (Objects.isNull(joins)) {
+            return;
+        }
+        sql.append('\n').append(INDENT[level + 1]);
+        for (DbJoin join : joins) {
+            sql.append('\n').append(INDENT[level + 2]);
+            join.render(sql);
+            sql.append('\n').append(INDENT[level + 1]);
+        }
+        sql.append('\n').append(INDENT[level]);
+    }
+
+    private void where(StringBuilder sql, String where, int level) {
+        if (Objects.isNull(where)) {
+            return;
+        }
+        sql.append('\n').append(INDENT[level + 1]).append("WHERE ").append(where)
+                .append('\n').append(INDENT[level]);
+    }
+
+    private void orderBy(StringBuilder sql, Select select, int level) {
+        if (!select.hasOrderBy()) {
+            return;
+        }
+        sql.append('\n').append(INDENT[level + 1]).append("ORDER BY ");
+        sorts(sql, select.orderBy());
+        sql.append('\n').append(INDENT[level]);
+    }
+
+    //a null value renders nothing, as in a template
+    private void value(StringBuilder sql, String value) {
+        if (Objects.nonNull(value)) {
+            sql.append(value);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.homihq.db2rest.jdbc.sql.ast;
+
+import com.homihq.db2rest.jdbc.config.model.DbColumn;
+import com.homihq.db2rest.jdbc.config.model.DbJoin;
+import com.homihq.db2rest.jdbc.config.model.DbSort;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Statements rendered by {@link SqlAstRenderer}. Tables and conditions are already rendered
+ * for the dialect, a null condition renders no WHERE clause.
+ */
+public sealed interface SqlStatement {
+
+    /**
+     * @param joins      null for no joins
+     * @param orderBy    null or empty for no ORDER BY
+     * @param withTotal  whether to also select the number of rows matching the filter
+     */
+    record Select(List<DbColumn> columns, boolean withTotal, String table, List<DbJoin> joins, String where,
+                  List<DbSort> orderBy, Page page) implements SqlStatement {
+
+        public boolean hasOrderBy() {
+            return Objects.nonNull(orderBy) && !orderBy.isEmpty();
+        }
+    }
+
+    /**
+     * Paging bound as {@code pageLimit} and {@code pageOffset}.
+     *
+     * @param limit  null for all rows
+     * @param offset null for no offset
+     */
+    record Page(Integer limit, Long offset) {
+
+        public static final Page NONE = new Page(null, null);
+    }
+
+    record FindOne(List<DbColumn> columns, String table, String where) implements SqlStatement {
+    }
+
+    record Count(String table, String where) implements SqlStatement {
+    }
+
+    record Exists(String table, List<DbJoin> joins, String where) implements SqlStatement {
+    }
+
+    record Update(String table, String tableAlias, String columnSets, String where) implements SqlStatement {
+    }
+
+    record Delete(String table, String tableAlias, String where) implements SqlStatement {
+    }
+
+    record Insert(String table, String columns, String parameters) implements SqlStatement {
+    }
+}
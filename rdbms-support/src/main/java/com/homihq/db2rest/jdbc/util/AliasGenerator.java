@@ -1,20 +1,37 @@
 package com.homihq.db2rest.jdbc.util;
 
 
+/**
+ * Table aliases are derived from the table name and its position only, so the same request
+ * always renders the same SQL text and database plan caches can be reused.
+ */
+public class AliasGenerator {
+    private static final int LENGTH = 4;
 
-import java.util.Random;
-
+    private AliasGenerator() {
+    }
 
-public class
-AliasGenerator {
-    private static final Random random = new Random();
+    /**
+     * Alias of a table loaded from the metadata.
+     *
+     * @param sqlIdentifier table name
+     * @param index         position of the table in its schema
+     */
+    public static String getAlias(String sqlIdentifier, int index) {
+        return prefix(sqlIdentifier) + "_" + index;
+    }
 
-    public static String getAlias(String sqlIdentifier) {
-        int LENGTH = 4;
-        return
-                sqlIdentifier.length() > LENGTH ?
-                        sqlIdentifier.substring(0, LENGTH) + "_" + random.nextInt(100)
-                        : sqlIdentifier + "_" + random.nextInt(1000);
+    /**
+     * Alias of a table joined into a query.
+     *
+     * @param sqlIdentifier table name
+     * @param joinIndex     position of the join in the request, starting at 1
+     */
+    public static String getJoinAlias(String sqlIdentifier, int joinIndex) {
+        return prefix(sqlIdentifier) + "_j" + joinIndex;
+    }
 
+    private static String prefix(String sqlIdentifier) {
+        return sqlIdentifier.length() > LENGTH ? sqlIdentifier.substring(0, LENGTH) : sqlIdentifier;
     }
 }
@@ -0,0 +1,42 @@
+package com.homihq.db2rest.jdbc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pads IN lists to the next power of two by repeating the last value. The expanded
+ * statement then only has a handful of distinct shapes instead of one per list size,
+ * repeated values do not change the result of IN or NOT IN.
+ */
+public final class InListBuckets {
+
+    //larger lists are left alone, padding them could cross the IN list limit of some databases
+    private static final int MAX_BUCKET = 512;
+
+    private InListBuckets() {
+    }
+
+    public static List<Object> pad(List<Object> values) {
+        int size = values.size();
+
+        if (size <= 1 || size > MAX_BUCKET) {
+            return values;
+        }
+
+        int bucket = Integer.highestOneBit(size - 1) << 1;
+
+        if (bucket == size) {
+            return values;
+        }
+
+        List<Object> padded = new ArrayList<>(bucket);
+        padded.addAll(values);
+
+        Object last = values.get(size - 1);
+        while (padded.size() < bucket) {
+            padded.add(last);
+        }
+
+        return padded;
+    }
+}
@@ -0,0 +1,48 @@
+package com.homihq.db2rest.jdbc.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small bounded, thread-safe map that evicts the least recently used entry once
+ * {@code maxSize} is exceeded.
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+    private final LongAdder evictions = new LongAdder();
+
+    public LruCache(int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                boolean evict = size() > maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+}
@@ -4,14 +4,15 @@ package com.homihq.db2rest.bulk;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -20,46 +21,69 @@ import java.util.Map;
 
 @Component
 @Slf4j
-public class CSVDataProcessor implements DataProcessor {
+public class CSVDataProcessor implements DataProcessor, FileSubject {
 
-    private final CsvMapper csvMapper = new CsvMapper();
+    private static final int CHUNK_ROWS = 500;
+
+    private final ObjectReader rowReader = new CsvMapper()
+            .readerForArrayOf(String.class)
+            .with(CsvParser.Feature.WRAP_AS_ARRAY)
+            .with(CsvParser.Feature.SKIP_EMPTY_LINES);
 
     @Override
     public List<Map<String, Object>> getData(InputStream inputStream) throws Exception {
+        List<Map<String, Object>> data = new ArrayList<>();
+        startStreaming(inputStream, data::addAll);
+        return data;
+    }
 
-        CsvSchema schema = CsvSchema.emptySchema().withHeader();
-
-        ObjectReader oReader = csvMapper.readerFor(Map.class).with(schema);
+    /**
+     * Reads the header once, every row is keyed by the same header strings. Values are passed on
+     * as read, the dialect converts them to the column types.
+     */
+    @Override
+    public void startStreaming(InputStream inputStream, FileStreamObserver observer) {
+        try (MappingIterator<String[]> rows =
+                     rowReader.readValues(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            if (!rows.hasNext()) {
+                return;
+            }
+            String[] header = rows.next();
 
-        List<Map<String, Object>> data = new ArrayList<>();
-        try (Reader reader = new InputStreamReader(inputStream)) {
-            MappingIterator<Map<String, String>> mi = oReader.readValues(reader);
-            while (mi.hasNext()) {
-                Map<String, String> current = mi.next();
-                Map<String, Object> transformedRow = transform(current);
-                data.add(transformedRow);
+            List<Map<String, Object>> chunk = new ArrayList<>(CHUNK_ROWS);
+            while (rows.hasNext()) {
+                chunk.add(toRow(header, rows.next()));
 
+                if (chunk.size() == CHUNK_ROWS) {
+                    observer.update(chunk);
+                    chunk = new ArrayList<>(CHUNK_ROWS);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                observer.update(chunk);
             }
+        } catch (IOException e) {
+            log.error("Error during CSV streaming: {}", e.getMessage(), e);
+            throw new GenericDataAccessException("Error reading CSV - " + e.getMessage());
         }
-
-        return data;
     }
 
     @Override
     public boolean handle(String contentType) {
-        return StringUtils.equalsIgnoreCase(contentType, "text/csv");
+        return MediaTypes.matches(contentType, "text/csv");
     }
 
-
-    private Map<String, Object> transform(Map<String, String> data) {
-        Map<String, Object> objectMap = new HashMap<>();
-
-        for (String key : data.keySet()) {
-            String val = data.get(key);
-            objectMap.put(key, val);
+    private Map<String, Object> toRow(String[] header, String[] values) {
+        if (values.length > header.length) {
+            throw new GenericDataAccessException("CSV row has " + values.length + " values for "
+                    + header.length + " columns");
         }
 
-        return objectMap;
+        Map<String, Object> row = HashMap.newHashMap(header.length);
+        for (int i = 0; i < header.length; i++) {
+            row.put(header[i], i < values.length ? values[i] : null);
+        }
+        return row;
     }
 
 }
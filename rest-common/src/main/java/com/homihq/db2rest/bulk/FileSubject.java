@@ -3,9 +3,12 @@ package com.homihq.db2rest.bulk;
 import java.io.InputStream;
 
 public interface FileSubject {
-    void register(FileStreamObserver observer);
 
-    void startStreaming(InputStream inputStream);
+    boolean handle(String contentType);
 
-    void unregister();
+    /**
+     * Parses the stream on the calling thread and hands the rows to the observer in chunks.
+     * Implementations keep no state between calls, uploads may stream at the same time.
+     */
+    void startStreaming(InputStream inputStream, FileStreamObserver observer);
 }
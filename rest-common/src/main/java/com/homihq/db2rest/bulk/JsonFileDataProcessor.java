@@ -1,11 +1,9 @@
 package com.homihq.db2rest.bulk;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.homihq.db2rest.core.exception.GenericDataAccessException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -18,84 +16,58 @@ import java.util.Map;
 
 @Component
 @Slf4j
-public class JsonFileDataProcessor implements FileSubject {
-    private static final int CHUNK_OBJECTS = 500;
+public class JsonFileDataProcessor implements DataProcessor, FileSubject {
+
+    private static final int CHUNK_ROWS = 500;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final JsonFactory jsonFactory = new JsonFactory();
-    private JsonParser jsonParser;
-    private FileStreamObserver observer;
-    private boolean isInitialized = false;
+    private final ObjectReader rowReader = objectMapper.readerFor(Map.class);
 
     @Override
-    public void register(FileStreamObserver observer) {
-        this.observer = observer;
+    public List<Map<String, Object>> getData(InputStream inputStream) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        startStreaming(inputStream, data::addAll);
+        return data;
     }
 
+    /**
+     * Reads the elements of a JSON array one by one, only the current chunk is held in memory.
+     * An empty body has no rows.
+     */
     @Override
-    public void unregister() {
-        this.observer = null;
-        if (jsonParser != null) {
-            try {
-                jsonParser.close();
-            } catch (IOException e) {
-                log.error("Error closing JsonParser: {}", e.getMessage(), e);
-            } finally {
-                jsonParser = null;
-                isInitialized = false;
+    public void startStreaming(InputStream inputStream, FileStreamObserver observer) {
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return;
             }
-        }
-    }
-
-    @Override
-    public void startStreaming(InputStream inputStream) {
-        try {
-            initializeParser(inputStream);
-            List<Map<String, Object>> dataChunk;
-            while (inputStream.available() >= 0 && !((dataChunk = getData()).isEmpty())) {
-                notifyObserver(dataChunk);
+            if (token != JsonToken.START_ARRAY) {
+                throw new GenericDataAccessException("Expected a JSON array");
             }
-        } catch (Exception e) {
-            log.error("Error during JSON streaming: {}", e.getMessage(), e);
-            throw new GenericDataAccessException(e.getMessage());
-        } finally {
-            unregister();
-        }
-    }
 
-    private List<Map<String, Object>> getData() throws IOException {
-        List<Map<String, Object>> result = new ArrayList<>();
-        int count = 0;
-        try {
-            while (jsonParser.nextToken() != JsonToken.END_ARRAY && count < CHUNK_OBJECTS) {
-                Map<String, Object> item = objectMapper.readValue(jsonParser, new TypeReference<>() {});
-                result.add(item);
-                count++;
-            }
-        } catch (MismatchedInputException e) {
-            log.error("Error reading JSON data: {}", e.getLocalizedMessage());
-        }
-        return result;
-    }
-
-    private void notifyObserver(List<Map<String, Object>> dataChunk) {
-        if (observer != null) {
-            observer.update(dataChunk);
-        } else {
-            log.warn("No observer registered for file streaming.");
-        }
-    }
+            List<Map<String, Object>> chunk = new ArrayList<>(CHUNK_ROWS);
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                chunk.add(rowReader.readValue(parser));
 
-    private void initializeParser(InputStream inputStream) throws IOException {
-        if (!isInitialized) {
-            if (inputStream == null || inputStream.available() == 0) {
-                throw new IllegalArgumentException("Input stream is empty or null");
+                if (chunk.size() == CHUNK_ROWS) {
+                    observer.update(chunk);
+                    chunk = new ArrayList<>(CHUNK_ROWS);
+                }
             }
-            jsonParser = jsonFactory.createParser(inputStream);
-
-            if (jsonParser.nextToken() != JsonToken.START_ARRAY) {
-                throw new GenericDataAccessException("Expected a JSON array");
+            if (token != JsonToken.END_ARRAY) {
+                throw new GenericDataAccessException("Expected a JSON object at " + parser.currentLocation().offsetDescription());
             }
-            isInitialized = true;
+            if (!chunk.isEmpty()) {
+                observer.update(chunk);
+            }
+        } catch (IOException e) {
+            log.error("Error during JSON streaming: {}", e.getMessage(), e);
+            throw new GenericDataAccessException("Error reading JSON - " + e.getMessage());
         }
     }
+
+    @Override
+    public boolean handle(String contentType) {
+        return MediaTypes.matches(contentType, "application/json");
+    }
 }
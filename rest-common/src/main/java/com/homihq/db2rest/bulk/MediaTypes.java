@@ -0,0 +1,40 @@
+package com.homihq.db2rest.bulk;
+
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+public final class MediaTypes {
+
+    private MediaTypes() {
+    }
+
+    /**
+     * Whether the content type is the media type, parameters like charset are ignored.
+     */
+    public static boolean matches(String contentType, String mediaType) {
+        return StringUtils.equalsIgnoreCase(StringUtils.substringBefore(contentType, ";").trim(), mediaType);
+    }
+
+    /**
+     * The request body decoded as it is read, for the gzip content encoding.
+     *
+     * @param contentEncoding value of the Content-Encoding header, null for none
+     */
+    public static InputStream decode(InputStream inputStream, String contentEncoding) {
+        if (StringUtils.isBlank(contentEncoding) || StringUtils.equalsIgnoreCase(contentEncoding.trim(), "identity")) {
+            return inputStream;
+        }
+        if (StringUtils.equalsAnyIgnoreCase(contentEncoding.trim(), "gzip", "x-gzip")) {
+            try {
+                return new GZIPInputStream(inputStream);
+            } catch (IOException e) {
+                throw new GenericDataAccessException("Error reading gzip body - " + e.getMessage());
+            }
+        }
+        throw new GenericDataAccessException("Unsupported content encoding : " + contentEncoding);
+    }
+}
@@ -0,0 +1,59 @@
+package com.homihq.db2rest.bulk;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.homihq.db2rest.core.exception.GenericDataAccessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Newline delimited JSON, one object per line. Blank lines are skipped.
+ */
+@Component
+@Slf4j
+public class NdjsonDataProcessor implements DataProcessor, FileSubject {
+
+    private static final int CHUNK_ROWS = 500;
+
+    private final ObjectReader rowReader = new ObjectMapper().readerFor(Map.class);
+
+    @Override
+    public List<Map<String, Object>> getData(InputStream inputStream) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        startStreaming(inputStream, data::addAll);
+        return data;
+    }
+
+    @Override
+    public void startStreaming(InputStream inputStream, FileStreamObserver observer) {
+        try (MappingIterator<Map<String, Object>> rows = rowReader.readValues(inputStream)) {
+            List<Map<String, Object>> chunk = new ArrayList<>(CHUNK_ROWS);
+            while (rows.hasNextValue()) {
+                chunk.add(rows.nextValue());
+
+                if (chunk.size() == CHUNK_ROWS) {
+                    observer.update(chunk);
+                    chunk = new ArrayList<>(CHUNK_ROWS);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                observer.update(chunk);
+            }
+        } catch (IOException e) {
+            log.error("Error during NDJSON streaming: {}", e.getMessage(), e);
+            throw new GenericDataAccessException("Error reading NDJSON - " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean handle(String contentType) {
+        return MediaTypes.matches(contentType, "application/x-ndjson");
+    }
+}
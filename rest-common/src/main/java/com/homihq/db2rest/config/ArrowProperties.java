@@ -0,0 +1,8 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+@Data
+public class ArrowProperties {
+    private int batchSize = 8192;
+}
@@ -0,0 +1,10 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+@Data
+public class BatchReadProperties {
+    //reads of one batch running at the same time, keep well below the connection pool size
+    private int parallelism = 4;
+    private int maxItems = 50;
+}
@@ -0,0 +1,59 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class BulkIngestProperties {
+    //batch writers of one upload, each holds a connection while it writes
+    private int writers = 2;
+
+    //writers per dbId, overrides writers
+    private Map<String, Integer> dbWriters = new HashMap<>();
+
+    //parsed and coerced chunks waiting in front of each stage
+    private int queueCapacity = 4;
+
+    //load with the bulk load protocol of the database when no generated keys are needed
+    private boolean copy = true;
+
+    //insert many rows per statement on databases without a bulk load path
+    private boolean multiRowInsert = true;
+
+    //upload jobs loading at the same time, the others wait in line
+    private int jobs = 4;
+
+    //upload jobs waiting to run, more are rejected
+    private int jobQueue = 32;
+
+    //minutes a finished job and its file are kept for status and resume
+    private int jobRetentionMinutes = 60;
+
+    //rows deleted or updated per transaction by a chunked delete or update
+    private int chunkedWriteBatchSize = 1000;
+
+    //pause between the batches of a chunked delete or update, room for other traffic
+    private long chunkedWritePauseMillis = 0;
+
+    //rows accepted by one bulk create request, 0 for no limit
+    private long maxRows = 1_000_000;
+
+    //duration bulk create aims at for one batch, the rows per batch adapt to it per table
+    private long batchTargetMillis = 250;
+
+    //rows of the first batch written to a table
+    private int batchInitialRows = 500;
+
+    private int batchMinRows = 10;
+
+    private int batchMaxRows = 10_000;
+
+    //estimated bytes bound by one batch, 0 for no limit
+    private long batchMaxBytes = 16L * 1024 * 1024;
+
+    public int getWriters(String dbId) {
+        return dbWriters.getOrDefault(dbId, writers);
+    }
+}
@@ -31,6 +31,26 @@ public class Db2RestConfigProperties {
 
     private String templates;
 
+    private ReadPlanCacheProperties readPlanCache = new ReadPlanCacheProperties();
+
+    private FilterCacheProperties filterCache = new FilterCacheProperties();
+
+    private SqlRendererProperties sqlRenderer = new SqlRendererProperties();
+
+    private InListProperties inList = new InListProperties();
+
+    private StreamingProperties streaming = new StreamingProperties();
+
+    private ArrowProperties arrow = new ArrowProperties();
+
+    private ResponseCacheProperties responseCache = new ResponseCacheProperties();
+
+    private TotalCountProperties totalCount = new TotalCountProperties();
+
+    private BatchReadProperties batchRead = new BatchReadProperties();
+
+    private BulkIngestProperties bulkIngest = new BulkIngestProperties();
+
     public boolean isAllSchema() {
 
         if (Objects.isNull(includeSchemas)) {
@@ -0,0 +1,10 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+@Data
+public class FilterCacheProperties {
+    private boolean enabled = true;
+    private boolean optimize = true;
+    private int maxSize = 1000;
+}
@@ -0,0 +1,9 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+@Data
+public class InListProperties {
+    //lists with more values use the large IN list strategy of the dialect
+    private int largeThreshold = 1000;
+}
@@ -0,0 +1,9 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+@Data
+public class ReadPlanCacheProperties {
+    private boolean enabled = true;
+    private int maxSize = 1000;
+}
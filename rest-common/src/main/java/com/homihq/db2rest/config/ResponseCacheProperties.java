@@ -0,0 +1,18 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ResponseCacheProperties {
+    private boolean enabled = false;
+    private long maxBytes = 64L * 1024 * 1024;
+    private Duration ttl = Duration.ofSeconds(60);
+    private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+
+    //table, dbId.table or * for every table
+    private List<String> tables = new ArrayList<>();
+}
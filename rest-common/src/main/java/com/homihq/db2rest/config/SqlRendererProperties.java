@@ -0,0 +1,9 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+@Data
+public class SqlRendererProperties {
+    //render the statements the AST renderer has a layout for without JTE
+    private boolean astEnabled = true;
+}
@@ -0,0 +1,8 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+@Data
+public class StreamingProperties {
+    private int fetchSize = 1000;
+}
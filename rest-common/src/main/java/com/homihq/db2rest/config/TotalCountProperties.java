@@ -0,0 +1,9 @@
+package com.homihq.db2rest.config;
+
+import lombok.Data;
+
+@Data
+public class TotalCountProperties {
+    //catalog estimates below this are replaced by an exact count
+    private long estimateThreshold = 100_000;
+}
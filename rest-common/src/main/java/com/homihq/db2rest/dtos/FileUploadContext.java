@@ -9,6 +9,8 @@ public record FileUploadContext(
         List<String> includeColumns,
         boolean tsIdEnabled,
         List<String> sequences,
+        Boolean copy,
+        UpsertOptions upsert,
         int rows
 ) {
 }
@@ -0,0 +1,16 @@
+package com.homihq.db2rest.dtos;
+
+import java.util.List;
+
+/**
+ * Bulk create updating the rows that already exist.
+ *
+ * @param conflictColumns columns identifying an existing row, the primary key when empty
+ * @param updateColumns   columns updated on an existing row, the inserted columns other than
+ *                        the conflict columns when empty
+ */
+public record UpsertOptions(
+        List<String> conflictColumns,
+        List<String> updateColumns
+) {
+}